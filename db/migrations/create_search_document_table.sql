@@ -0,0 +1,92 @@
+-- ============================================================================
+-- Migration: V6 - Create Search Document Table
+-- ============================================================================
+-- Description: Denormalized autocomplete read model (one row per ticker) with a
+--              single trigram index, kept in sync with ticker_summary and
+--              cik_lookup by triggers
+-- Date: 2026-10-18
+-- ============================================================================
+
+-- Ensure pg_trgm extension is available for trigram GIN indexes (required for gin_trgm_ops)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE IF NOT EXISTS search_document (
+    ticker VARCHAR(20) NOT NULL,
+    cik INTEGER NOT NULL,
+    company_name VARCHAR(255) NOT NULL,
+    ticker_lower VARCHAR(20) NOT NULL,
+    company_name_search VARCHAR(255) NOT NULL DEFAULT '',
+    -- ticker and normalized name as two words, so one word-similarity match covers both arms
+    search_key TEXT GENERATED ALWAYS AS (ticker_lower || ' ' || company_name_search) STORED,
+    last_updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT idx_search_document_ticker PRIMARY KEY (ticker)
+);
+
+-- The only trigram index the autocomplete search needs
+CREATE INDEX IF NOT EXISTS "idx_search_document_search_key_trgm" ON search_document USING gin (search_key gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS "idx_search_document_cik" ON search_document(cik);
+
+-- Queries match with "query <% search_key" (word similarity). Every ticker or company
+-- name passing the 0.3 similarity threshold of the two-table search has a word similarity
+-- of at least 0.3 against its search_key; the search lowers pg_trgm.word_similarity_threshold
+-- from its default (0.6) to 0.3 for its own transaction (SearchDocumentRepository), so no
+-- database-wide setting is needed.
+
+-- Keep documents in sync when tickers are loaded, re-pointed or removed
+CREATE OR REPLACE FUNCTION search_document_sync_ticker() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM search_document WHERE ticker = OLD.ticker;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.cik IS NOT NULL THEN
+        INSERT INTO search_document (ticker, cik, company_name, ticker_lower, company_name_search)
+        SELECT NEW.ticker, c.cik, c.company_name, lower(NEW.ticker), c.company_name_search
+        FROM cik_lookup c
+        WHERE c.cik = NEW.cik
+        ON CONFLICT (ticker) DO UPDATE SET
+            cik = EXCLUDED.cik,
+            company_name = EXCLUDED.company_name,
+            ticker_lower = EXCLUDED.ticker_lower,
+            company_name_search = EXCLUDED.company_name_search,
+            last_updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_search_document_ticker ON ticker_summary;
+CREATE TRIGGER trg_search_document_ticker
+    AFTER INSERT OR DELETE OR UPDATE OF ticker, cik ON ticker_summary
+    FOR EACH ROW EXECUTE FUNCTION search_document_sync_ticker();
+
+-- Keep documents in sync when company names are reloaded
+CREATE OR REPLACE FUNCTION search_document_sync_company() RETURNS trigger AS $$
+BEGIN
+    UPDATE search_document
+    SET company_name = NEW.company_name,
+        company_name_search = NEW.company_name_search,
+        last_updated_at = CURRENT_TIMESTAMP
+    WHERE cik = NEW.cik;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_search_document_company ON cik_lookup;
+CREATE TRIGGER trg_search_document_company
+    AFTER UPDATE OF company_name, company_name_search ON cik_lookup
+    FOR EACH ROW EXECUTE FUNCTION search_document_sync_company();
+
+-- Initial fill from the existing tables (same join as the autocomplete search).
+-- SearchDocumentBackfill re-derives company_name_search with the Java normalizer.
+INSERT INTO search_document (ticker, cik, company_name, ticker_lower, company_name_search)
+SELECT t.ticker, c.cik, c.company_name, lower(t.ticker), c.company_name_search
+FROM ticker_summary t
+JOIN cik_lookup c ON t.cik = c.cik
+ON CONFLICT (ticker) DO NOTHING;
+
+-- Add table and column comments
+COMMENT ON TABLE search_document IS 'Denormalized autocomplete read model: one row per searchable ticker';
+COMMENT ON COLUMN search_document.ticker IS 'Stock ticker symbol as stored in ticker_summary (primary key)';
+COMMENT ON COLUMN search_document.ticker_lower IS 'Lowercase ticker used for the ticker similarity arm';
+COMMENT ON COLUMN search_document.company_name_search IS 'Normalized company name used for the company similarity arm';
+COMMENT ON COLUMN search_document.search_key IS 'Lowercase ticker and normalized company name, trigram indexed';
@@ -0,0 +1,22 @@
+package com.stockInformation.common.cache;
+
+/**
+ * Instruction to drop L1 entries on the other instances.
+ *
+ * @param cacheName cache the entries belong to
+ * @param key       key to evict, or null to clear the whole cache
+ */
+public record CacheInvalidation(String cacheName, String key) {
+
+    public static CacheInvalidation evict(String cacheName, String key) {
+        return new CacheInvalidation(cacheName, key);
+    }
+
+    public static CacheInvalidation clear(String cacheName) {
+        return new CacheInvalidation(cacheName, null);
+    }
+
+    public boolean isClear() {
+        return key == null;
+    }
+}
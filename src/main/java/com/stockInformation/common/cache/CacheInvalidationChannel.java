@@ -0,0 +1,14 @@
+package com.stockInformation.common.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link CacheInvalidation}s between application instances.
+ * Implementations do not deliver an instance's own messages back to it.
+ */
+public interface CacheInvalidationChannel {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,36 @@
+package com.stockInformation.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Multi-get over any Spring {@link Cache}: uses {@link MultiGetCache} when
+ * the (possibly transaction-aware) cache supports it and falls back to one
+ * lookup per key otherwise, e.g. for the no-op cache used in tests.
+ */
+public final class CacheMultiGet {
+
+    private CacheMultiGet() {
+        // utility
+    }
+
+    public static Map<Object, Cache.ValueWrapper> getAll(Cache cache, Collection<?> keys) {
+        if (cache == null || keys.isEmpty()) return Map.of();
+
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        if (target instanceof MultiGetCache multiGet) {
+            return multiGet.getAll(keys);
+        }
+
+        Map<Object, Cache.ValueWrapper> found = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = target.get(key);
+            if (wrapper != null) found.put(key, wrapper);
+        }
+        return found;
+    }
+}
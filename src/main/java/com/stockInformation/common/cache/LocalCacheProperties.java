@@ -0,0 +1,49 @@
+package com.stockInformation.common.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the in-process (L1) layer of {@link TwoTierCacheManager}.
+ *
+ * {@code maximumSize} and {@code ttl} apply to every cache unless overridden
+ * under {@code cache.local.caches.<name>}. A cache with a maximum size of 0
+ * is served straight from Redis.
+ *
+ * @param enabled              turn the L1 layer on or off for all caches
+ * @param maximumSize          default maximum number of entries per cache
+ * @param ttl                  default time an entry stays in L1 after it was written
+ * @param invalidationChannel  Redis pub/sub channel used for cross-node invalidation
+ * @param caches               per-cache overrides
+ */
+@ConfigurationProperties(prefix = "cache.local")
+public record LocalCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("60s") Duration ttl,
+    @DefaultValue("stock-information:cache-invalidation") String invalidationChannel,
+    Map<String, Spec> caches
+) {
+
+    public LocalCacheProperties {
+        caches = caches == null ? Map.of() : Map.copyOf(caches);
+    }
+
+    /**
+     * Override for a single cache; unset values fall back to the defaults.
+     */
+    public record Spec(Long maximumSize, Duration ttl) {}
+
+    long maximumSizeFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.maximumSize() != null ? spec.maximumSize() : maximumSize;
+    }
+
+    Duration ttlFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.ttl() != null ? spec.ttl() : ttl;
+    }
+}
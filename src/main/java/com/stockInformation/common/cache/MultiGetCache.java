@@ -0,0 +1,17 @@
+package com.stockInformation.common.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A cache that can look up many keys in one round trip.
+ */
+public interface MultiGetCache {
+
+    /**
+     * @return the cached entries for the keys that are present; absent keys are left out
+     */
+    Map<Object, Cache.ValueWrapper> getAll(Collection<?> keys);
+}
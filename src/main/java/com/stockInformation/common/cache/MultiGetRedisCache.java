@@ -0,0 +1,63 @@
+package com.stockInformation.common.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RedisCache with a single-round-trip multi-get ({@code MGET}) using the
+ * cache's own key prefix and value serializer.
+ */
+public class MultiGetRedisCache extends RedisCache implements MultiGetCache {
+
+    // RedisCache stores null values as the JDK-serialized NullValue
+    private static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+
+    private final RedisConnectionFactory connectionFactory;
+
+    protected MultiGetRedisCache(
+            String name,
+            RedisCacheWriter cacheWriter,
+            RedisCacheConfiguration cacheConfiguration,
+            RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) return Map.of();
+
+        List<Object> ordered = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[ordered.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(ordered.get(i)));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        if (rawValues == null) return Map.of();
+
+        Map<Object, ValueWrapper> found = new HashMap<>();
+        for (int i = 0; i < rawValues.size(); i++) {
+            byte[] raw = rawValues.get(i);
+            if (raw == null) continue;
+            Object storeValue = Arrays.equals(raw, BINARY_NULL_VALUE) ? NullValue.INSTANCE : deserializeCacheValue(raw);
+            found.put(ordered.get(i), toValueWrapper(storeValue));
+        }
+        return found;
+    }
+}
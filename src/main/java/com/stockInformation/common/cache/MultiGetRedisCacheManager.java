@@ -0,0 +1,31 @@
+package com.stockInformation.common.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * RedisCacheManager whose caches support {@link MultiGetCache}.
+ */
+public class MultiGetRedisCacheManager extends RedisCacheManager {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public MultiGetRedisCacheManager(
+            RedisConnectionFactory connectionFactory,
+            RedisCacheConfiguration defaultCacheConfiguration,
+            Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+            defaultCacheConfiguration, initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new MultiGetRedisCache(name, getCacheWriter(), cacheConfiguration, connectionFactory);
+    }
+}
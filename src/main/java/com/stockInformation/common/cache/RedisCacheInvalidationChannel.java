@@ -0,0 +1,90 @@
+package com.stockInformation.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheInvalidationChannel} over Redis pub/sub.
+ *
+ * Messages are plain text so other writers (e.g. the ingestion jobs) can
+ * publish them after a data refresh:
+ * <pre>
+ *   {origin}|C|{cacheName}          clear a cache
+ *   {origin}|E|{cacheName}|{key}    evict one key
+ * </pre>
+ * {@code origin} identifies the sender; messages carrying this instance's id are ignored.
+ * Pub/sub is fire-and-forget: an instance that misses a message serves its L1
+ * entry until the entry's TTL expires.
+ */
+public class RedisCacheInvalidationChannel implements CacheInvalidationChannel, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheInvalidationChannel.class);
+
+    private static final String CLEAR = "C";
+    private static final String EVICT = "E";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisCacheInvalidationChannel(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, encode(instanceId, invalidation));
+        } catch (RuntimeException e) {
+            // the local change already happened; other nodes catch up when their entries expire
+            log.warn("Failed to publish cache invalidation for cache '{}'", invalidation.cacheName(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || parts[0].equals(instanceId)) return;
+
+        CacheInvalidation invalidation;
+        if (CLEAR.equals(parts[1])) {
+            invalidation = CacheInvalidation.clear(parts[2]);
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            invalidation = CacheInvalidation.evict(parts[2], parts[3]);
+        } else {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            listener.accept(invalidation);
+        }
+    }
+
+    static String encode(String origin, CacheInvalidation invalidation) {
+        return invalidation.isClear()
+            ? origin + '|' + CLEAR + '|' + invalidation.cacheName()
+            : origin + '|' + EVICT + '|' + invalidation.cacheName() + '|' + invalidation.key();
+    }
+}
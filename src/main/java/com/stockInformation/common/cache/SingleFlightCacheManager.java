@@ -0,0 +1,53 @@
+package com.stockInformation.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps any CacheManager so its caches coalesce concurrent loads of the same
+ * key (see {@link SingleFlightCache}). Services opt in with
+ * {@code @Cacheable(sync = true)}.
+ *
+ * Callers that waited on another caller's load are counted as
+ * {@code cache.singleflight.coalesced}, tagged with the cache name.
+ */
+public class SingleFlightCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SingleFlightCache> caches = new ConcurrentHashMap<>();
+
+    public SingleFlightCacheManager(CacheManager delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        SingleFlightCache cache = caches.get(name);
+        if (cache != null) return cache;
+
+        Cache target = delegate.getCache(name);
+        if (target == null) return null;
+        return caches.computeIfAbsent(name, n -> new SingleFlightCache(target, coalescedCounter(n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private Counter coalescedCounter(String cacheName) {
+        return Counter.builder("cache.singleflight.coalesced")
+            .description("Cache loads that waited for a concurrent load of the same key instead of running their own")
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.stockInformation.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A Spring {@link org.springframework.cache.Cache} with a bounded in-process
+ * Caffeine layer (L1) in front of a shared remote cache (L2, Redis).
+ *
+ * Reads try L1 first and populate it from L2 on a miss, so a hit costs no
+ * network round trip or deserialization. Writes go to both layers. Puts,
+ * evictions and clears also drop the key on the other instances through the
+ * {@link CacheInvalidationChannel}, so their next read picks up the new
+ * remote copy instead of serving a stale L1 one until the L1 TTL.
+ *
+ * L1 holds value wrappers rather than values so cached nulls keep working.
+ */
+public class TwoTierCache implements org.springframework.cache.Cache, MultiGetCache {
+
+    private final String name;
+    private final Cache<Object, ValueWrapper> local;
+    private final org.springframework.cache.Cache remote;
+    private final CacheInvalidationChannel invalidationChannel;
+
+    public TwoTierCache(
+            String name,
+            Cache<Object, ValueWrapper> local,
+            org.springframework.cache.Cache remote,
+            CacheInvalidationChannel invalidationChannel) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public org.springframework.cache.Cache getRemote() {
+        return remote;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) return wrapper;
+
+        wrapper = remote.get(key);
+        if (wrapper != null) {
+            local.put(key, wrapper);
+        }
+        return wrapper;
+    }
+
+    /**
+     * L1 hits are served locally; the remaining keys are fetched from L2 in
+     * one multi-get when it supports it, and copied into L1.
+     */
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new HashMap<>(local.getAllPresent(keys));
+        if (found.size() == keys.size()) return found;
+
+        List<Object> misses = new ArrayList<>(keys.size() - found.size());
+        for (Object key : keys) {
+            if (!found.containsKey(key)) misses.add(key);
+        }
+        Map<Object, ValueWrapper> remoteHits = CacheMultiGet.getAll(remote, misses);
+        local.putAll(remoteHits);
+        found.putAll(remoteHits);
+        return found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) return null;
+
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) return (T) wrapper.get();
+
+        T value = remote.get(key, valueLoader);
+        local.put(key, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key, new SimpleValueWrapper(value));
+        publishEvict(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing != null) {
+            local.put(key, existing);
+        } else {
+            local.put(key, new SimpleValueWrapper(value));
+            publishEvict(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+        publishEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.invalidate(key);
+        publishEvict(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationChannel.publish(CacheInvalidation.clear(name));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = remote.invalidate();
+        local.invalidateAll();
+        invalidationChannel.publish(CacheInvalidation.clear(name));
+        return hadEntries;
+    }
+
+    /**
+     * Apply an invalidation received from another instance to L1 only.
+     */
+    void invalidateLocal(CacheInvalidation invalidation) {
+        if (invalidation.isClear()) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(invalidation.key());
+        }
+    }
+
+    private void publishEvict(Object key) {
+        // keys travel as text; anything else clears the cache on the other instances
+        invalidationChannel.publish(key instanceof String text
+            ? CacheInvalidation.evict(name, text)
+            : CacheInvalidation.clear(name));
+    }
+}
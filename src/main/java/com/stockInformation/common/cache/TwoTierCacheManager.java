@@ -0,0 +1,100 @@
+package com.stockInformation.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CacheManager that layers a bounded W-TinyLFU in-process cache (Caffeine)
+ * over the caches of a remote CacheManager (Redis).
+ *
+ * Every cache name gets its own L1 sized and expired according to
+ * {@link LocalCacheProperties}; the remote layer stays the shared source for
+ * cold instances. Puts, evictions and clears are broadcast through the
+ * {@link CacheInvalidationChannel} so other instances drop their L1 copies.
+ * The subscription is made in {@link #afterPropertiesSet()}.
+ *
+ * L1 statistics are published to Micrometer as {@code cache.*} meters tagged
+ * with {@code cache=<name>.local}.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheManager remote;
+    private final LocalCacheProperties properties;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final MeterRegistry meterRegistry;
+
+    public TwoTierCacheManager(
+            CacheManager remote,
+            LocalCacheProperties properties,
+            CacheInvalidationChannel invalidationChannel,
+            MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.properties = properties;
+        this.invalidationChannel = invalidationChannel;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Subscribes to invalidations from other instances once the manager is
+     * fully constructed, then loads the caches.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        invalidationChannel.subscribe(this::onInvalidation);
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : remote.getCacheNames()) {
+            Cache cache = remote.getCache(name);
+            if (cache != null) caches.add(layer(cache));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache cache = remote.getCache(name);
+        return cache == null ? null : layer(cache);
+    }
+
+    private Cache layer(Cache remoteCache) {
+        String name = remoteCache.getName();
+        long maximumSize = properties.maximumSizeFor(name);
+        if (!properties.enabled() || maximumSize <= 0) {
+            return remoteCache;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Cache.ValueWrapper> local = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(properties.ttlFor(name))
+            .recordStats()
+            .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, local, name + ".local");
+        }
+        return new TwoTierCache(name, local, remoteCache, invalidationChannel);
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        Cache cache = lookupCache(invalidation.cacheName());
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof TwoTierCache twoTier) {
+            twoTier.invalidateLocal(invalidation);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.stockInformation.common.dto;
+
+import java.util.List;
+
+/**
+ * Page of a keyset-paginated listing. Pass {@code nextCursor} back as the
+ * {@code cursor} parameter to read the following page; it is null on the last page.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int pageSize,
+        int numberOfElements,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -5,6 +5,8 @@ import java.util.List;
 
 /**
  * Compact page response to avoid duplicative pagination fields produced by Spring's Page serialization.
+ *
+ * {@code totalExact} is false when {@code totalElements} (and {@code totalPages}) are estimates.
  */
 public record PageResponse<T>(
         List<T> content,
@@ -13,6 +15,12 @@ public record PageResponse<T>(
         long totalElements,
         int totalPages,
         int numberOfElements,
-        Sort sort
+        Sort sort,
+        boolean totalExact
 ) {
+
+    public PageResponse(List<T> content, int pageNumber, int pageSize, long totalElements,
+                        int totalPages, int numberOfElements, Sort sort) {
+        this(content, pageNumber, pageSize, totalElements, totalPages, numberOfElements, sort, true);
+    }
 }
@@ -0,0 +1,196 @@
+package com.stockInformation.common.dto;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Fixed-point decimal with two fraction digits, held as a long scaled by 100:
+ * the type of the {@code NUMERIC(p,2)} columns in list responses, so a row
+ * costs one small object per value instead of a {@link BigDecimal}, and JSON
+ * output writes the digits without formatting a {@link BigDecimal}.
+ *
+ * Serialized as a JSON number with both fraction digits, which is how the
+ * {@link BigDecimal}s read from those columns were written
+ * ({@code 150.25}, {@code 10.00}).
+ */
+@Schema(type = "number")
+@JsonSerialize(using = ScaledDecimal.Serializer.class)
+@JsonDeserialize(using = ScaledDecimal.Deserializer.class)
+public final class ScaledDecimal extends Number implements Comparable<ScaledDecimal> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int SCALE = 2;
+
+    // "-92233720368547758.08"
+    static final int MAX_CHARS = 21;
+
+    private final long unscaled;
+
+    private ScaledDecimal(long unscaled) {
+        this.unscaled = unscaled;
+    }
+
+    /** The value {@code unscaled / 100}. */
+    public static ScaledDecimal ofUnscaled(long unscaled) {
+        return new ScaledDecimal(unscaled);
+    }
+
+    /**
+     * @return the value, or null for null
+     * @throws ArithmeticException if {@code value} has more than two fraction digits or does not fit
+     */
+    public static ScaledDecimal of(BigDecimal value) {
+        if (value == null) return null;
+        return new ScaledDecimal(value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * @throws NumberFormatException if {@code text} is not a decimal number
+     * @throws ArithmeticException if it has more than two fraction digits or does not fit
+     */
+    public static ScaledDecimal of(String text) {
+        return of(new BigDecimal(text));
+    }
+
+    public long unscaled() {
+        return unscaled;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, SCALE);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return unscaled / 100;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return unscaled / 100.0;
+    }
+
+    @Override
+    public int compareTo(ScaledDecimal other) {
+        return Long.compare(unscaled, other.unscaled);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ScaledDecimal decimal && decimal.unscaled == unscaled;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(unscaled);
+    }
+
+    /** Plain notation with both fraction digits, e.g. {@code -0.05}. */
+    @Override
+    public String toString() {
+        char[] chars = new char[MAX_CHARS];
+        return new String(chars, 0, writeTo(chars));
+    }
+
+    /**
+     * Writes {@link #toString()} into {@code buffer} from index 0.
+     *
+     * @param buffer at least {@value #MAX_CHARS} chars
+     * @return the number of chars written
+     */
+    int writeTo(char[] buffer) {
+        // digits are produced from the end of the buffer, then moved to the front
+        int at = MAX_CHARS;
+        long remaining = Math.abs(unscaled);
+        if (remaining < 0) {
+            // Long.MIN_VALUE: take off the last digit while still negative
+            buffer[--at] = (char) ('0' - unscaled % 10);
+            remaining = -(unscaled / 10);
+        } else {
+            buffer[--at] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        buffer[--at] = (char) ('0' + remaining % 10);
+        remaining /= 10;
+        buffer[--at] = '.';
+        do {
+            buffer[--at] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (unscaled < 0) buffer[--at] = '-';
+
+        int length = MAX_CHARS - at;
+        System.arraycopy(buffer, at, buffer, 0, length);
+        return length;
+    }
+
+    /** Writes the digits straight to the generator as a number token. */
+    static final class Serializer extends StdScalarSerializer<ScaledDecimal> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_CHARS]);
+
+        Serializer() {
+            super(ScaledDecimal.class);
+        }
+
+        @Override
+        public void serialize(ScaledDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buffer = BUFFER.get();
+            gen.writeNumber(buffer, 0, value.writeTo(buffer));
+        }
+    }
+
+    /** Reads a JSON number (or numeric string) with at most two fraction digits. */
+    static final class Deserializer extends StdScalarDeserializer<ScaledDecimal> {
+
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(ScaledDecimal.class);
+        }
+
+        @Override
+        public ScaledDecimal deserialize(JsonParser p, DeserializationContext context) throws IOException {
+            JsonToken token = p.currentToken();
+            try {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return of(p.getDecimalValue());
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    String text = p.getText().trim();
+                    return text.isEmpty() ? null : of(text);
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                return (ScaledDecimal) context.handleWeirdStringValue(ScaledDecimal.class, p.getText(),
+                    "not a decimal with at most %d fraction digits", SCALE);
+            }
+            return (ScaledDecimal) context.handleUnexpectedToken(ScaledDecimal.class, p);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.stockInformation.common.query;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A cancellation scope for the database statements run by one unit of work.
+ *
+ * The caller runs its work inside the scope ({@link #run(Supplier)}) and may
+ * {@link #cancel()} it from any other thread. Repositories wrap each statement
+ * in {@link #register(Runnable)} with a callback that cancels the statement
+ * (e.g. Hibernate's {@code Session.cancelQuery()}, which calls
+ * {@code Statement.cancel()}), so a cancelled scope aborts the running statement
+ * and refuses to start new ones. Outside of a scope registration is a no-op.
+ * Work fanned out to other threads carries the scope along with
+ * {@link #current()} and {@link #run(Supplier)}; several statements may be
+ * registered at once.
+ *
+ * A cancel that lands after registration but before the driver has started the
+ * statement cannot abort it; the statement then runs to completion.
+ */
+public final class QueryCancellation {
+
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private static final Registration NONE = () -> { };
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final Set<Runnable> cancellers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return the scope bound to the current thread, or null
+     */
+    public static QueryCancellation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run {@code work} on the current thread with this scope bound.
+     */
+    public <T> T run(Supplier<T> work) {
+        QueryCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Cancel the running statements, if any, and every later one in this scope.
+     */
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) return;
+        for (Runnable running : cancellers) {
+            running.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Register the statement about to run on the current thread.
+     *
+     * @param canceller aborts the statement from another thread
+     * @return handle to close once the statement has finished
+     * @throws CancellationException if the current scope has already been cancelled
+     */
+    public static Registration register(Runnable canceller) {
+        QueryCancellation scope = CURRENT.get();
+        if (scope == null) return NONE;
+
+        // a distinct handle per statement, even if callers pass the same callback
+        Runnable handle = canceller::run;
+        scope.cancellers.add(handle);
+        if (scope.cancelled.get()) {
+            scope.cancellers.remove(handle);
+            throw new CancellationException("Query was cancelled before it started");
+        }
+        return () -> scope.cancellers.remove(handle);
+    }
+
+    /**
+     * Registration of a running statement; closing it does not throw.
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
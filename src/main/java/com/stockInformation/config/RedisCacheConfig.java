@@ -1,7 +1,16 @@
 package com.stockInformation.config;
 
+import com.stockInformation.common.cache.LocalCacheProperties;
+import com.stockInformation.common.cache.MultiGetRedisCacheManager;
+import com.stockInformation.common.cache.RedisCacheInvalidationChannel;
+import com.stockInformation.common.cache.SingleFlightCacheManager;
+import com.stockInformation.common.cache.TwoTierCacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +21,9 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -25,6 +37,12 @@ import java.util.Map;
  * Declares a primary CacheManager backed by Redis so existing in-memory
  * configuration is overridden when Redis is available at runtime.
  *
+ * The primary CacheManager layers a bounded in-process cache per cache name
+ * over the Redis caches (see {@link TwoTierCacheManager}), configured with
+ * {@code cache.local.*}. Redis stays the shared source for cold instances and
+ * evictions are broadcast to the other instances over Redis pub/sub.
+ * Concurrent misses on the same key share one load ({@link SingleFlightCacheManager}).
+ *
  * This configuration is conditional on Redis being properly configured.
  * If Redis is unavailable, the application will fallback to no-op caching.
  */
@@ -34,6 +52,7 @@ import java.util.Map;
 // runs disable caching by setting `spring.cache.type=none` or `CACHE_TYPE=none`.
 @ConditionalOnProperty(name = "spring.redis.host")
 @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@EnableConfigurationProperties(LocalCacheProperties.class)
 public class RedisCacheConfig {
 
     @Value("${spring.redis.host}")
@@ -73,9 +92,9 @@ public class RedisCacheConfig {
 
         return new LettuceConnectionFactory(config, clientConfig.build());
     }
-    @Primary
+
     @Bean(name = "redisCacheManager")
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
 
         RedisSerializationContext.SerializationPair<Object> valuePair =
@@ -89,13 +108,54 @@ public class RedisCacheConfig {
 
         // shorter TTL for autocomplete results
         Map<String, RedisCacheConfiguration> cacheConfigs = Map.of(
-            "autocomplete", defaultConfig.entryTtl(Duration.ofMinutes(15))
+            "autocomplete", defaultConfig.entryTtl(Duration.ofMinutes(15)),
+            // last heavy-hitter list, read back by the autocomplete warmer after a restart
+            "autocompleteheavyhitters", defaultConfig.entryTtl(Duration.ofDays(1)),
+            // list totals are keyed by data version; the TTL only bounds staleness without it
+            "tickersummarycount", defaultConfig.entryTtl(Duration.ofMinutes(5)),
+            // screener pages, keyed by canonical query and data version like the totals
+            "tickersummarypage", defaultConfig.entryTtl(Duration.ofMinutes(5)),
+            // facet histograms, keyed by canonical filter and data version
+            "tickersummaryfacets", defaultConfig.entryTtl(Duration.ofMinutes(5)),
+            // single ticker summaries (and misses) of the detail and batch endpoints, keyed by data version
+            "tickersummary", defaultConfig.entryTtl(Duration.ofMinutes(5))
         );
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware()
-                .build();
+        // supports single-round-trip multi-gets for the batch endpoints
+        return new MultiGetRedisCacheManager(redisConnectionFactory, defaultConfig, cacheConfigs);
+    }
+
+    @Bean
+    public RedisCacheInvalidationChannel cacheInvalidationChannel(
+            RedisConnectionFactory redisConnectionFactory,
+            LocalCacheProperties localCacheProperties) {
+        return new RedisCacheInvalidationChannel(
+                new StringRedisTemplate(redisConnectionFactory), localCacheProperties.invalidationChannel());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            RedisCacheInvalidationChannel cacheInvalidationChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationChannel, new ChannelTopic(cacheInvalidationChannel.channel()));
+        return container;
+    }
+
+    @Primary
+    @Bean(name = "cacheManager")
+    public CacheManager cacheManager(
+            RedisCacheManager redisCacheManager,
+            LocalCacheProperties localCacheProperties,
+            RedisCacheInvalidationChannel cacheInvalidationChannel,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+                redisCacheManager, localCacheProperties, cacheInvalidationChannel, meterRegistry.getIfAvailable());
+        // transaction awareness now lives on the composite so both layers are written after commit
+        cacheManager.setTransactionAware(true);
+        cacheManager.afterPropertiesSet();
+        // one loader per key when a hot entry expires (@Cacheable(sync = true))
+        return new SingleFlightCacheManager(cacheManager, meterRegistry.getIfAvailable());
     }
 }
@@ -1,11 +1,18 @@
 package com.stockInformation.config;
 
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.DelegatingJwtGrantedAuthoritiesConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -17,19 +24,25 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
         http
             // Ensure Spring Security processes CORS using the application CORS configuration
             .cors(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
                 // Public endpoints that do not require an access token
-                // - Search autocomplete (used by public UI)
-                // - Ticker summary list (paginated public listing)
+                // - Search autocomplete, batch and streaming autocomplete (used by public UI)
+                // - Ticker summary list (paginated public listing, offset and cursor based), expression screens, facets and leaderboards
                 .requestMatchers(
                     "/api/public/**",
                     "/api/v1/search/auto-complete",
+                    "/api/v1/search/auto-complete/batch",
+                    "/api/v1/search/auto-complete/stream",
                     "/api/v1/ticker-summary/list",
+                    "/api/v1/ticker-summary/list/cursor",
+                    "/api/v1/ticker-summary/screen",
+                    "/api/v1/ticker-summary/facets",
+                    "/api/v1/ticker-summary/leaderboard",
                     "/api/v1/stock-details/summary/{ticker}",
                     "/",
                     "/index.html",
@@ -38,12 +51,14 @@ public class SecurityConfig {
                     "/swagger-ui.html",
                     "/v3/api-docs.yaml"
                 ).permitAll()
+                // Internal diagnostics (e.g. the most frequent search queries) are for admins only
+                .requestMatchers("/api/v1/search/internal/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
                 .bearerTokenResolver(bearerTokenResolver())
                 .jwt(jwt -> jwt
-                    .jwtAuthenticationConverter(jwtAuthenticationConverter())
+                    .jwtAuthenticationConverter(jwtAuthenticationConverter)
                 )
             );
         return http.build();
@@ -66,9 +81,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+    public JwtAuthenticationConverter jwtAuthenticationConverter(@Value("${security.roles-claim:roles}") String rolesClaim) {
+        // Roles of the token's roles claim become ROLE_ authorities, e.g. "admin" -> ROLE_ADMIN,
+        // alongside the default SCOPE_ authorities of its scope claim
+        JwtGrantedAuthoritiesConverter roles = new JwtGrantedAuthoritiesConverter();
+        roles.setAuthoritiesClaimName(rolesClaim);
+        roles.setAuthorityPrefix("ROLE_");
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        // Configure claims mapping if needed
+        converter.setJwtGrantedAuthoritiesConverter(new DelegatingJwtGrantedAuthoritiesConverter(
+            new JwtGrantedAuthoritiesConverter(),
+            jwt -> roles.convert(jwt).stream()
+                .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.getAuthority().toUpperCase(Locale.ROOT)))
+                .toList()));
         return converter;
     }
 }
@@ -0,0 +1,38 @@
+package com.stockInformation.config;
+
+import com.stockInformation.search.api.v1.AutocompleteStreamHandler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.util.Arrays;
+
+/**
+ * WebSocket endpoints (streaming autocomplete), restricted to the same
+ * origins as the CORS configuration in {@link WebConfig}.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AutocompleteStreamHandler autocompleteStreamHandler;
+
+    @Value("${cors.allowed-origins:http://localhost:3000,https://marketease-a45u.onrender.com}")
+    private String allowedOriginsConfig;
+
+    @Override
+    public void registerWebSocketHandlers(@NonNull WebSocketHandlerRegistry registry) {
+        String[] origins = Arrays.stream(allowedOriginsConfig.split(","))
+                .map(String::trim)
+                .toArray(String[]::new);
+
+        registry.addHandler(autocompleteStreamHandler, "/api/v1/search/auto-complete/stream")
+                .setAllowedOrigins(origins);
+    }
+}
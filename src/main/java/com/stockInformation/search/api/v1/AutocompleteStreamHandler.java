@@ -0,0 +1,190 @@
+package com.stockInformation.search.api.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockInformation.common.query.QueryCancellation;
+import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.service.AutocompleteNarrowing;
+import com.stockInformation.search.service.QueryHeavyHitters;
+import com.stockInformation.search.service.SearchService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming autocomplete over a WebSocket at {@code /api/v1/search/auto-complete/stream}.
+ *
+ * The client sends each query as a text message while the user types and
+ * receives an {@link AutocompleteResponse} (JSON) for the latest one. When a
+ * new query arrives, the search still running for the previous query of the
+ * same connection is cancelled, which aborts its JDBC statement
+ * ({@code Statement.cancel}) and returns the connection to the pool instead
+ * of finishing a search nobody will read. Results of superseded queries are
+ * never sent.
+ *
+ * Each connection searches on at most one thread at a time: queries arriving
+ * while a search runs only replace the connection's next query, so a client
+ * flooding the socket holds one thread and one queued query, not one thread
+ * per message.
+ *
+ * Searches go through {@link SearchService#autocomplete(String, String)} with
+ * the connection id as the typing session, so cache hits and keystroke
+ * narrowing apply as for the HTTP endpoint.
+ *
+ * Superseded searches are counted as {@code search.autocomplete.stream.cancelled}.
+ */
+@Component
+public class AutocompleteStreamHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteStreamHandler.class);
+
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 64 * 1024;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchService searchService;
+    private final AutocompleteNarrowing autocompleteNarrowing;
+    private final QueryHeavyHitters queryHeavyHitters;
+    private final ObjectMapper objectMapper;
+    private final Counter cancelled;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+
+    public AutocompleteStreamHandler(
+            SearchService searchService,
+            AutocompleteNarrowing autocompleteNarrowing,
+            QueryHeavyHitters queryHeavyHitters,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.searchService = searchService;
+        this.autocompleteNarrowing = autocompleteNarrowing;
+        this.queryHeavyHitters = queryHeavyHitters;
+        this.objectMapper = objectMapper;
+        this.cancelled = Counter.builder("search.autocomplete.stream.cancelled")
+            .description("Streamed autocomplete searches cancelled because a newer query arrived")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        streams.put(session.getId(), new Stream(
+            new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES)));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Stream stream = streams.get(session.getId());
+        if (stream == null) return;
+
+        String query = message.getPayload();
+        if (query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        queryHeavyHitters.record(query);
+
+        long sequence = stream.latest.incrementAndGet();
+        QueryCancellation scope = new QueryCancellation();
+        QueryCancellation previous = stream.inFlight.getAndSet(scope);
+        if (previous != null && !previous.isCancelled()) {
+            previous.cancel();
+            cancelled.increment();
+        }
+
+        stream.next.set(new Search(query, sequence, scope));
+        if (stream.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(session.getId(), stream));
+        }
+    }
+
+    /**
+     * Run the connection's next query until there is none; the only thread
+     * searching for the connection while {@code draining} is set.
+     */
+    private void drain(String sessionId, Stream stream) {
+        do {
+            try {
+                Search next;
+                while ((next = stream.next.getAndSet(null)) != null) {
+                    search(sessionId, stream, next.query(), next.sequence(), next.scope());
+                }
+            } finally {
+                stream.draining.set(false);
+            }
+            // a query that arrived after the last poll but saw the flag still set
+        } while (stream.next.get() != null && stream.draining.compareAndSet(false, true));
+    }
+
+    private void search(String sessionId, Stream stream, String query, long sequence, QueryCancellation scope) {
+        try {
+            if (scope.isCancelled()) return;
+            AutocompleteResponse response = scope.run(() -> searchService.autocomplete(query, sessionId));
+            autocompleteNarrowing.record(sessionId, query, response.results());
+
+            // only the latest query's results are emitted
+            if (stream.latest.get() == sequence && stream.session.isOpen()) {
+                stream.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            }
+        } catch (CancellationException e) {
+            log.debug("Streamed autocomplete for '{}' cancelled before it started", query);
+        } catch (IOException e) {
+            log.debug("Could not send streamed autocomplete results", e);
+        } catch (RuntimeException e) {
+            if (scope.isCancelled()) {
+                // the driver reports the cancelled statement as an error
+                log.debug("Streamed autocomplete for '{}' cancelled", query);
+            } else {
+                log.error("Streamed autocomplete for '{}' failed", query, e);
+            }
+        } finally {
+            stream.inFlight.compareAndSet(scope, null);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Stream stream = streams.remove(session.getId());
+        if (stream == null) return;
+        stream.next.set(null);
+        QueryCancellation inFlight = stream.inFlight.getAndSet(null);
+        if (inFlight != null) inFlight.cancel();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Stream {
+        private final WebSocketSession session;
+        private final AtomicLong latest = new AtomicLong();
+        private final AtomicReference<QueryCancellation> inFlight = new AtomicReference<>();
+        private final AtomicReference<Search> next = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Stream(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    private record Search(String query, long sequence, QueryCancellation scope) {
+    }
+}
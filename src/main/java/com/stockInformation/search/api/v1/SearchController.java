@@ -1,31 +1,75 @@
 package com.stockInformation.search.api.v1;
 
 import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.dto.BatchAutocompleteRequest;
+import com.stockInformation.search.dto.HeavyHittersResponse;
+import com.stockInformation.search.service.AutocompleteNarrowing;
+import com.stockInformation.search.service.QueryHeavyHitters;
 import com.stockInformation.search.service.SearchService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
- 
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/search")
 @RequiredArgsConstructor
 public class SearchController {
     private final SearchService searchService;
+    private final AutocompleteNarrowing autocompleteNarrowing;
+    private final QueryHeavyHitters queryHeavyHitters;
 
     /**
      * Search by company name and ticker symbol.
      * Query Parameters:
      *  - query: the keyword to search for in company names and ticker symbols
      *    (e.g. /api/v1/search/auto-complete?query=apple+inc)
+     *  - sessionId (optional): opaque id the client keeps for one typing
+     *    session, letting later keystrokes be narrowed from earlier results
      *
      * The controller forwards the raw query to the service which handles
      * normalization (trimming/lowercasing) and the search logic.
      */
     @GetMapping("/auto-complete")
-    public ResponseEntity<AutocompleteResponse> searchTickerSummaries(@RequestParam String query) {
+    public ResponseEntity<AutocompleteResponse> searchTickerSummaries(
+            @RequestParam String query,
+            @RequestParam(required = false) String sessionId) {
+        // counted here so cache hits are tracked too
+        queryHeavyHitters.record(query);
+
         // Delegate creation of the AutocompleteResponse to the service layer
-        AutocompleteResponse response = searchService.autocomplete(query);
+        if (sessionId == null || sessionId.isBlank()) {
+            return ResponseEntity.ok(searchService.autocomplete(query));
+        }
+
+        AutocompleteResponse response = searchService.autocomplete(query, sessionId);
+        // recorded here so cache hits also count as the session's latest results
+        autocompleteNarrowing.record(sessionId, query, response.results());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolve several queries at once (e.g. a pasted watchlist).
+     * Request body: {"queries": ["AAPL", "microsoft", ...]} (at most 50)
+     *
+     * Returns one AutocompleteResponse per query, in request order.
+     */
+    @PostMapping("/auto-complete/batch")
+    public ResponseEntity<List<AutocompleteResponse>> searchTickerSummariesBatch(
+            @Valid @RequestBody BatchAutocompleteRequest request) {
+        request.queries().forEach(queryHeavyHitters::record);
+        return ResponseEntity.ok(searchService.autocompleteBatch(request.queries()));
+    }
+
+    /**
+     * Internal: the most frequent autocomplete queries on this instance (the
+     * ones kept warm in the cache) and the memory used to track them.
+     * Requires the admin role.
+     */
+    @GetMapping("/internal/heavy-hitters")
+    public ResponseEntity<HeavyHittersResponse> heavyHitters() {
+        return ResponseEntity.ok(queryHeavyHitters.describe());
+    }
+}
@@ -0,0 +1,19 @@
+package com.stockInformation.search.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "Several autocomplete queries resolved in one request", example = """
+{
+    "queries": ["AAPL", "microsoft", "berkshire hathaway"]
+}
+""")
+public record BatchAutocompleteRequest(
+
+    @Schema(description = "Queries to resolve, answered in the same order", example = "[\"AAPL\", \"microsoft\"]")
+    @NotEmpty(message = "At least one query is required")
+    @Size(max = 50, message = "At most 50 queries can be resolved per request")
+    List<String> queries
+){}
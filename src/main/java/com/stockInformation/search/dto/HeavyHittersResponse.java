@@ -0,0 +1,37 @@
+package com.stockInformation.search.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Most frequent autocomplete queries tracked by this instance")
+public record HeavyHittersResponse(
+
+    @Schema(description = "Heavy-hitter queries (cache keys), most frequent first")
+    List<HeavyHitter> topQueries,
+
+    @Schema(description = "Count-min sketch backing the estimates")
+    SketchStats sketch
+) {
+
+    public record HeavyHitter(
+        @Schema(description = "Lowercased query as used for the autocomplete cache key", example = "apple")
+        String query,
+
+        @Schema(description = "Estimated number of requests (decayed over time)", example = "1532")
+        long estimatedCount
+    ) {}
+
+    public record SketchStats(
+        @Schema(description = "Number of hash rows", example = "4")
+        int depth,
+
+        @Schema(description = "Counters per row", example = "8192")
+        int width,
+
+        @Schema(description = "Heap used by the counters, in bytes", example = "262144")
+        long memoryBytes,
+
+        @Schema(description = "Queries counted (decayed over time)", example = "48211")
+        long totalCount
+    ) {}
+}
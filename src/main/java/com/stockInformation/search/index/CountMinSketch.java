@@ -0,0 +1,110 @@
+package com.stockInformation.search.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe count-min sketch over strings.
+ *
+ * Estimates never undercount; they overcount by at most
+ * {@code e / width * total} with probability {@code 1 - e^-depth}.
+ * Counters can be halved to let old traffic fade out.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * @param depth number of hash rows
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        int rounded = Integer.highestOneBit(width);
+        if (rounded < width) rounded <<= 1;
+        this.depth = depth;
+        this.width = rounded;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Count one occurrence of {@code item}.
+     *
+     * @return the estimated count of {@code item} including this occurrence
+     */
+    public long add(String item) {
+        total.incrementAndGet();
+        long hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public long estimate(String item) {
+        long hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halve every counter (exponential decay of old traffic).
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        total.getAndUpdate(count -> count >>> 1);
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /** Occurrences counted since creation, subject to {@link #halve()}. */
+    public long total() {
+        return total.get();
+    }
+
+    /** Approximate heap footprint of the counters. */
+    public long memoryBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    private int index(long hash, int row) {
+        // Kirsch-Mitzenmacher: row hashes derived from two halves of one 64-bit hash
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return row * width + ((h1 + row * h2) & mask);
+    }
+
+    private static long hash(String item) {
+        // 64-bit mix of the string's characters (FNV-1a followed by a murmur3 finalizer)
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            h ^= item.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,112 @@
+package com.stockInformation.search.index;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.repository.SearchCorpusRepository;
+import com.stockInformation.search.repository.SearchRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder for the current {@link PrefixAutocompleteTable}, consulted by the
+ * search service before the SearchRepository is called.
+ *
+ * The table is rebuilt from the database on a fixed delay and swapped in
+ * atomically. Enabled with {@code search.prefix-table.enabled=true}; while
+ * disabled (or before the first build) every lookup is a miss.
+ *
+ * Lookups are counted as {@code search.autocomplete.prefix_table} with an
+ * {@code outcome} tag of {@code exact}, {@code prefix} or {@code miss}.
+ */
+@Component
+public class PrefixAutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PrefixAutocompleteIndex.class);
+
+    private final SearchCorpusRepository searchCorpusRepository;
+    private final boolean enabled;
+    private final AtomicReference<PrefixAutocompleteTable> table = new AtomicReference<>(PrefixAutocompleteTable.empty());
+
+    private final Counter exactHits;
+    private final Counter prefixHits;
+    private final Counter misses;
+
+    public PrefixAutocompleteIndex(
+            SearchCorpusRepository searchCorpusRepository,
+            MeterRegistry meterRegistry,
+            @Value("${search.prefix-table.enabled:false}") boolean enabled) {
+        this.searchCorpusRepository = searchCorpusRepository;
+        this.enabled = enabled;
+        this.exactHits = lookupCounter(meterRegistry, "exact");
+        this.prefixHits = lookupCounter(meterRegistry, "prefix");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("search.autocomplete.prefix_table.keys", table, t -> t.get().prefixCount())
+            .description("Number of precomputed short prefixes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Answer a query from the precomputed table if possible.
+     *
+     * @param query      original user query (used for the exact ticker lookup)
+     * @param normalized query after {@code normalizeCompanyNameForSearch} (used for the prefix lookup)
+     * @return the precomputed results, or empty when the query must go to the SearchRepository
+     */
+    public Optional<List<AutocompleteResult>> lookup(String query, String normalized) {
+        if (!enabled) return Optional.empty();
+
+        PrefixAutocompleteTable current = table.get();
+
+        List<AutocompleteResult> results = current.exactTicker(query.trim().toLowerCase(Locale.ROOT));
+        if (results != null) {
+            exactHits.increment();
+            return Optional.of(results);
+        }
+
+        results = current.prefix(normalized);
+        if (results != null) {
+            prefixHits.increment();
+            return Optional.of(results);
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Rebuild the table from the database and swap it in.
+     */
+    @Scheduled(
+        initialDelayString = "${search.prefix-table.initial-delay-ms:0}",
+        fixedDelayString = "${search.prefix-table.refresh-interval-ms:900000}")
+    public void rebuild() {
+        if (!enabled) return;
+        try {
+            PrefixAutocompleteTable rebuilt = PrefixAutocompleteTable.build(
+                searchCorpusRepository.findAllSearchable(), SearchRepository.RESULT_LIMIT);
+            table.set(rebuilt);
+            log.info("Prefix autocomplete table rebuilt: {} tickers, {} prefixes", rebuilt.tickerCount(), rebuilt.prefixCount());
+        } catch (RuntimeException e) {
+            // keep serving the previous table
+            log.error("Failed to rebuild prefix autocomplete table", e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("search.autocomplete.prefix_table")
+            .description("Autocomplete lookups answered by the precomputed prefix table")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
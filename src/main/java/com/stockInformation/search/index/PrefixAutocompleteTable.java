@@ -0,0 +1,191 @@
+package com.stockInformation.search.index;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.utils.TrigramSimilarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, precomputed autocomplete answers for the cheapest-to-answer and
+ * most frequent queries:
+ *  - every 1 to {@value #MAX_PREFIX_LENGTH} character prefix of a lowercase
+ *    ticker or a normalized company name maps to its top results
+ *  - every lowercase ticker maps to its own top results, for an O(1) exact
+ *    ticker lookup regardless of length
+ *
+ * Candidates for a key are the tickers whose lowercase symbol or normalized
+ * company name starts with the key. They are ranked by the SQL search's
+ * score, the average trigram similarity of the symbol and the name to the
+ * key (see {@link TrigramSimilarity#unthresholdedScore}).
+ */
+public final class PrefixAutocompleteTable {
+
+    public static final int MAX_PREFIX_LENGTH = 3;
+
+    private static final PrefixAutocompleteTable EMPTY = new PrefixAutocompleteTable(Map.of(), Map.of(), 0);
+
+    private static final Comparator<AutocompleteResult> RANKING = Comparator
+        .comparingDouble(AutocompleteResult::score).reversed()
+        .thenComparing(AutocompleteResult::symbol);
+
+    private final Map<String, List<AutocompleteResult>> byPrefix;
+    private final Map<String, List<AutocompleteResult>> byExactTicker;
+    private final int tickerCount;
+
+    private PrefixAutocompleteTable(
+            Map<String, List<AutocompleteResult>> byPrefix,
+            Map<String, List<AutocompleteResult>> byExactTicker,
+            int tickerCount) {
+        this.byPrefix = byPrefix;
+        this.byExactTicker = byExactTicker;
+        this.tickerCount = tickerCount;
+    }
+
+    public static PrefixAutocompleteTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Precompute the table for the given corpus, keeping at most {@code limit} results per key.
+     */
+    public static PrefixAutocompleteTable build(List<SearchCorpusEntry> corpus, int limit) {
+        int size = corpus.size();
+        String[] tickerKeys = new String[size];
+        String[] companyKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            SearchCorpusEntry entry = corpus.get(i);
+            tickerKeys[i] = entry.ticker().toLowerCase(Locale.ROOT);
+            companyKeys[i] = entry.companyNameSearch() == null ? "" : entry.companyNameSearch();
+        }
+
+        SortedKeys tickers = SortedKeys.of(tickerKeys);
+        SortedKeys companies = SortedKeys.of(companyKeys);
+        long[][] tickerTrigrams = new long[size][];
+        long[][] companyTrigrams = new long[size][];
+        for (int i = 0; i < size; i++) {
+            tickerTrigrams[i] = TrigramSimilarity.trigrams(tickerKeys[i]);
+            companyTrigrams[i] = TrigramSimilarity.trigrams(companyKeys[i]);
+        }
+        Arms arms = new Arms(corpus, tickers, companies, tickerTrigrams, companyTrigrams);
+
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            addPrefixes(prefixes, tickerKeys[i]);
+            addPrefixes(prefixes, companyKeys[i]);
+        }
+
+        Map<String, List<AutocompleteResult>> byPrefix = new HashMap<>(prefixes.size() * 2);
+        for (String prefix : prefixes) {
+            byPrefix.put(prefix, arms.rank(prefix, limit));
+        }
+
+        Map<String, List<AutocompleteResult>> byExactTicker = new HashMap<>(size * 2);
+        for (String ticker : tickerKeys) {
+            if (!ticker.isEmpty() && !byExactTicker.containsKey(ticker)) {
+                byExactTicker.put(ticker, arms.rank(ticker, limit));
+            }
+        }
+
+        return new PrefixAutocompleteTable(Map.copyOf(byPrefix), Map.copyOf(byExactTicker), size);
+    }
+
+    /**
+     * Results for a query that exactly equals a ticker symbol (case-insensitive).
+     */
+    public List<AutocompleteResult> exactTicker(String lowercaseTicker) {
+        return byExactTicker.get(lowercaseTicker);
+    }
+
+    /**
+     * Results for a short normalized prefix, or null when the prefix is out of range or unknown.
+     */
+    public List<AutocompleteResult> prefix(String normalizedPrefix) {
+        if (normalizedPrefix.isEmpty() || normalizedPrefix.length() > MAX_PREFIX_LENGTH) return null;
+        return byPrefix.get(normalizedPrefix);
+    }
+
+    public int prefixCount() {
+        return byPrefix.size();
+    }
+
+    public int tickerCount() {
+        return tickerCount;
+    }
+
+    private static void addPrefixes(Set<String> prefixes, String key) {
+        for (int length = 1; length <= Math.min(MAX_PREFIX_LENGTH, key.length()); length++) {
+            prefixes.add(key.substring(0, length));
+        }
+    }
+
+    /** Both arms of the corpus: its sorted keys to find candidates by, and their trigrams to score them by. */
+    private record Arms(
+            List<SearchCorpusEntry> corpus,
+            SortedKeys tickers,
+            SortedKeys companies,
+            long[][] tickerTrigrams,
+            long[][] companyTrigrams) {
+
+        List<AutocompleteResult> rank(String key, int limit) {
+            Set<Integer> candidates = new LinkedHashSet<>();
+            tickers.collectWithPrefix(key, candidates);
+            companies.collectWithPrefix(key, candidates);
+
+            long[] query = TrigramSimilarity.trigrams(key);
+            List<AutocompleteResult> ranked = new ArrayList<>(candidates.size());
+            for (int index : candidates) {
+                SearchCorpusEntry entry = corpus.get(index);
+                double score = TrigramSimilarity.unthresholdedScore(query, tickerTrigrams[index], companyTrigrams[index]);
+                ranked.add(new AutocompleteResult(entry.ticker(), entry.companyName(), score));
+            }
+            ranked.sort(RANKING);
+            return List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+        }
+    }
+
+    /**
+     * Keys sorted lexicographically with their corpus positions, so all keys
+     * sharing a prefix form one contiguous range.
+     */
+    private record SortedKeys(String[] keys, int[] positions) {
+
+        static SortedKeys of(String[] values) {
+            Integer[] order = new Integer[values.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparing(i -> values[i]));
+
+            String[] keys = new String[values.length];
+            int[] positions = new int[values.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = values[order[i]];
+                positions[i] = order[i];
+            }
+            return new SortedKeys(keys, positions);
+        }
+
+        void collectWithPrefix(String prefix, Set<Integer> into) {
+            for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+                into.add(positions[i]);
+            }
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
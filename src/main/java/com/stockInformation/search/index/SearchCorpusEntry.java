@@ -0,0 +1,14 @@
+package com.stockInformation.search.index;
+
+/**
+ * One searchable ticker as loaded from {@code ticker_summary} joined with {@code cik_lookup}.
+ *
+ * @param ticker            ticker symbol as stored (original case)
+ * @param companyName       display company name
+ * @param companyNameSearch normalized company name (the {@code company_name_search} column)
+ */
+public record SearchCorpusEntry(
+    String ticker,
+    String companyName,
+    String companyNameSearch
+) {}
@@ -0,0 +1,109 @@
+package com.stockInformation.search.index;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.repository.SearchCorpusRepository;
+import com.stockInformation.search.repository.SearchRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder for the current {@link SpellingAutocompleteTable}, consulted by the
+ * search service after the prefix table and before the SearchRepository.
+ *
+ * Queries of at least {@value SpellingAutocompleteTable#MIN_QUERY_LENGTH}
+ * characters are answered in memory, typos included, when the index finds at
+ * least {@code search.spelling.min-candidates} tickers; otherwise the query
+ * falls back to the SearchRepository. The table is rebuilt from the database
+ * on a fixed delay and swapped in atomically. Enabled with
+ * {@code search.spelling.enabled=true}; while disabled (or before the first
+ * build) every lookup falls back.
+ *
+ * Lookups are counted as {@code search.autocomplete.spelling} with an
+ * {@code outcome} tag of {@code hit} or {@code fallback}.
+ */
+@Component
+public class SpellingAutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SpellingAutocompleteIndex.class);
+
+    private final SearchCorpusRepository searchCorpusRepository;
+    private final boolean enabled;
+    private final int minCandidates;
+    private final AtomicReference<SpellingAutocompleteTable> table = new AtomicReference<>(SpellingAutocompleteTable.empty());
+
+    private final Counter hits;
+    private final Counter fallbacks;
+
+    public SpellingAutocompleteIndex(
+            SearchCorpusRepository searchCorpusRepository,
+            MeterRegistry meterRegistry,
+            @Value("${search.spelling.enabled:false}") boolean enabled,
+            @Value("${search.spelling.min-candidates:3}") int minCandidates) {
+        this.searchCorpusRepository = searchCorpusRepository;
+        this.enabled = enabled;
+        this.minCandidates = minCandidates;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.fallbacks = lookupCounter(meterRegistry, "fallback");
+        Gauge.builder("search.autocomplete.spelling.memory", table, t -> t.get().memoryBytes())
+            .description("Heap used by the spelling index keys and postings")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Answer a query from the spelling index if it yields enough candidates.
+     *
+     * @param normalized query after {@code normalizeCompanyNameForSearch}
+     * @return the ranked results, or empty when the query must go to the SearchRepository
+     */
+    public Optional<List<AutocompleteResult>> lookup(String normalized) {
+        if (!enabled || normalized.length() < SpellingAutocompleteTable.MIN_QUERY_LENGTH) {
+            return Optional.empty();
+        }
+
+        List<AutocompleteResult> results = table.get().lookup(normalized, SearchRepository.RESULT_LIMIT);
+        if (results.size() < minCandidates) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(results);
+    }
+
+    /**
+     * Rebuild the table from the database and swap it in.
+     */
+    @Scheduled(
+        initialDelayString = "${search.spelling.initial-delay-ms:0}",
+        fixedDelayString = "${search.spelling.refresh-interval-ms:900000}")
+    public void rebuild() {
+        if (!enabled) return;
+        try {
+            SpellingAutocompleteTable rebuilt = SpellingAutocompleteTable.build(searchCorpusRepository.findAllSearchable());
+            table.set(rebuilt);
+            log.info("Spelling autocomplete index rebuilt: {} terms, {} delete keys, {} bytes",
+                rebuilt.termCount(), rebuilt.keyCount(), rebuilt.memoryBytes());
+        } catch (RuntimeException e) {
+            // keep serving the previous table
+            log.error("Failed to rebuild spelling autocomplete index", e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("search.autocomplete.spelling")
+            .description("Autocomplete lookups answered by the in-memory spelling index")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
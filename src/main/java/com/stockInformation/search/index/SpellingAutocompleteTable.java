@@ -0,0 +1,305 @@
+package com.stockInformation.search.index;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.utils.TrigramSimilarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable symmetric-delete (SymSpell) spelling index over lowercase tickers
+ * and normalized company names, for typo-tolerant autocomplete.
+ *
+ * Every 4 to {@value #PREFIX_LENGTH} character prefix of a term is stored
+ * under all strings obtained by deleting up to {@value #MAX_DISTANCE}
+ * characters from it. A query generates the deletes of its own first
+ * {@value #PREFIX_LENGTH} characters; terms sharing a delete are candidates,
+ * which are then verified with the optimal string alignment distance
+ * (Damerau-Levenshtein with adjacent transpositions) between the query and a
+ * prefix of the term of about the query's length. A query matches terms
+ * within distance 1 up to 5 characters and within distance 2 from 6 on.
+ *
+ * Deletes are packed into longs (6 bits per character) and kept in one sorted
+ * array with CSR postings, so a lookup is a handful of binary searches and
+ * the index costs about 12 bytes per (delete, term) pair.
+ *
+ * Candidates are ranked like {@link PrefixAutocompleteTable}'s, by the SQL
+ * search's score: the average trigram similarity of the symbol and the name
+ * to the query (see {@link TrigramSimilarity#unthresholdedScore}). The edit
+ * distance only decides which tickers are candidates.
+ */
+public final class SpellingAutocompleteTable {
+
+    public static final int MIN_QUERY_LENGTH = 4;
+
+    static final int PREFIX_LENGTH = 7;
+    static final int MAX_DISTANCE = 2;
+
+    private static final int BITS_PER_CHAR = 6;
+    private static final int TERM_BITS = 21;
+    private static final long TERM_MASK = (1L << TERM_BITS) - 1;
+
+    private static final int TICKER_ARM = 0;
+    private static final int COMPANY_ARM = 1;
+
+    private static final SpellingAutocompleteTable EMPTY = new SpellingAutocompleteTable(
+        List.of(), new long[0][], new long[0][], new String[0], new int[0][], new long[0], new int[] {0}, new int[0]);
+
+    private static final Comparator<AutocompleteResult> RANKING = Comparator
+        .comparingDouble(AutocompleteResult::score).reversed()
+        .thenComparing(AutocompleteResult::symbol);
+
+    private final List<SearchCorpusEntry> corpus;
+    // per corpus position: trigrams of the lowercase ticker and of the normalized company name
+    private final long[][] tickerTrigrams;
+    private final long[][] companyTrigrams;
+    private final String[] terms;
+    // per term: corpus position * 2 + arm
+    private final int[][] termRefs;
+    private final long[] keys;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private SpellingAutocompleteTable(
+            List<SearchCorpusEntry> corpus,
+            long[][] tickerTrigrams,
+            long[][] companyTrigrams,
+            String[] terms,
+            int[][] termRefs,
+            long[] keys,
+            int[] offsets,
+            int[] postings) {
+        this.corpus = corpus;
+        this.tickerTrigrams = tickerTrigrams;
+        this.companyTrigrams = companyTrigrams;
+        this.terms = terms;
+        this.termRefs = termRefs;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    public static SpellingAutocompleteTable empty() {
+        return EMPTY;
+    }
+
+    public static SpellingAutocompleteTable build(List<SearchCorpusEntry> corpus) {
+        Map<String, List<Integer>> refsByTerm = new LinkedHashMap<>();
+        long[][] tickerTrigrams = new long[corpus.size()][];
+        long[][] companyTrigrams = new long[corpus.size()][];
+        for (int i = 0; i < corpus.size(); i++) {
+            SearchCorpusEntry entry = corpus.get(i);
+            String ticker = entry.ticker().toLowerCase(Locale.ROOT);
+            addTerm(refsByTerm, ticker, i * 2 + TICKER_ARM);
+            addTerm(refsByTerm, entry.companyNameSearch(), i * 2 + COMPANY_ARM);
+            tickerTrigrams[i] = TrigramSimilarity.trigrams(ticker);
+            companyTrigrams[i] = TrigramSimilarity.trigrams(entry.companyNameSearch());
+        }
+        if (refsByTerm.size() > TERM_MASK) {
+            throw new IllegalArgumentException("Too many terms for the spelling index: " + refsByTerm.size());
+        }
+
+        String[] terms = new String[refsByTerm.size()];
+        int[][] termRefs = new int[refsByTerm.size()][];
+        PairBuffer pairs = new PairBuffer(refsByTerm.size() * 32);
+        Set<String> deletes = new HashSet<>();
+
+        int termId = 0;
+        for (Map.Entry<String, List<Integer>> term : refsByTerm.entrySet()) {
+            terms[termId] = term.getKey();
+            termRefs[termId] = term.getValue().stream().mapToInt(Integer::intValue).toArray();
+
+            deletes.clear();
+            for (int length = MIN_QUERY_LENGTH; length <= Math.min(PREFIX_LENGTH, term.getKey().length()); length++) {
+                collectDeletes(term.getKey().substring(0, length), MAX_DISTANCE, deletes);
+            }
+            for (String delete : deletes) {
+                pairs.add(encode(delete) << TERM_BITS | termId);
+            }
+            termId++;
+        }
+
+        long[] sorted = pairs.toSortedArray();
+        long[] keys = new long[sorted.length];
+        int[] offsets = new int[sorted.length + 1];
+        int[] postings = new int[sorted.length];
+        int keyCount = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            long key = sorted[i] >>> TERM_BITS;
+            if (keyCount == 0 || keys[keyCount - 1] != key) {
+                keys[keyCount] = key;
+                offsets[keyCount] = i;
+                keyCount++;
+            }
+            postings[i] = (int) (sorted[i] & TERM_MASK);
+        }
+        offsets[keyCount] = sorted.length;
+
+        return new SpellingAutocompleteTable(
+            List.copyOf(corpus), tickerTrigrams, companyTrigrams, terms, termRefs,
+            Arrays.copyOf(keys, keyCount), Arrays.copyOf(offsets, keyCount + 1), postings);
+    }
+
+    /**
+     * Rank the tickers whose symbol or normalized company name is within the
+     * allowed edit distance of {@code normalizedQuery} (as a prefix).
+     *
+     * @return up to {@code limit} results, empty for queries shorter than {@value #MIN_QUERY_LENGTH}
+     */
+    public List<AutocompleteResult> lookup(String normalizedQuery, int limit) {
+        int length = normalizedQuery.length();
+        if (length < MIN_QUERY_LENGTH || keys.length == 0) return List.of();
+
+        int maxDistance = length < 6 ? 1 : MAX_DISTANCE;
+        Set<String> probes = new HashSet<>();
+        collectDeletes(normalizedQuery.substring(0, Math.min(length, PREFIX_LENGTH)), maxDistance, probes);
+
+        Map<Integer, Integer> distanceByTerm = new HashMap<>();
+        for (String probe : probes) {
+            int slot = Arrays.binarySearch(keys, encode(probe));
+            if (slot < 0) continue;
+            for (int i = offsets[slot]; i < offsets[slot + 1]; i++) {
+                int term = postings[i];
+                if (!distanceByTerm.containsKey(term)) {
+                    distanceByTerm.put(term, prefixDistance(normalizedQuery, terms[term], maxDistance));
+                }
+            }
+        }
+
+        Set<Integer> candidates = new HashSet<>();
+        for (Map.Entry<Integer, Integer> candidate : distanceByTerm.entrySet()) {
+            if (candidate.getValue() > maxDistance) continue;
+            for (int ref : termRefs[candidate.getKey()]) candidates.add(ref >>> 1);
+        }
+
+        long[] query = TrigramSimilarity.trigrams(normalizedQuery);
+        List<AutocompleteResult> ranked = new ArrayList<>(candidates.size());
+        for (int position : candidates) {
+            SearchCorpusEntry entry = corpus.get(position);
+            double score = TrigramSimilarity.unthresholdedScore(query, tickerTrigrams[position], companyTrigrams[position]);
+            ranked.add(new AutocompleteResult(entry.ticker(), entry.companyName(), score));
+        }
+        ranked.sort(RANKING);
+        return List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    public int keyCount() {
+        return keys.length;
+    }
+
+    /** Approximate heap footprint of the delete keys, postings and trigrams. */
+    public long memoryBytes() {
+        long trigrams = 0;
+        for (int i = 0; i < tickerTrigrams.length; i++) {
+            trigrams += tickerTrigrams[i].length + companyTrigrams[i].length;
+        }
+        return (long) keys.length * Long.BYTES + (long) offsets.length * Integer.BYTES + (long) postings.length * Integer.BYTES
+            + trigrams * Long.BYTES;
+    }
+
+    /**
+     * Smallest optimal string alignment distance between {@code query} and a
+     * prefix of {@code term} whose length is within {@code maxDistance} of the
+     * query's; {@code maxDistance + 1} when there is none.
+     */
+    static int prefixDistance(String query, String term, int maxDistance) {
+        int n = query.length();
+        int m = Math.min(term.length(), n + maxDistance);
+        if (m < n - maxDistance) return maxDistance + 1;
+
+        int[] beforePrevious = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            char q = query.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char t = term.charAt(j - 1);
+                int distance = Math.min(
+                    Math.min(previous[j] + 1, current[j - 1] + 1),
+                    previous[j - 1] + (q == t ? 0 : 1));
+                if (i > 1 && j > 1 && q == term.charAt(j - 2) && query.charAt(i - 2) == t) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        int best = maxDistance + 1;
+        for (int k = Math.max(0, n - maxDistance); k <= m; k++) {
+            best = Math.min(best, previous[k]);
+        }
+        return best;
+    }
+
+    private static void addTerm(Map<String, List<Integer>> refsByTerm, String term, int ref) {
+        if (term == null || term.length() < MIN_QUERY_LENGTH) return;
+        refsByTerm.computeIfAbsent(term, t -> new ArrayList<>(1)).add(ref);
+    }
+
+    private static void collectDeletes(String word, int distance, Set<String> into) {
+        into.add(word);
+        if (distance == 0 || word.length() <= 1) return;
+        for (int i = 0; i < word.length(); i++) {
+            collectDeletes(word.substring(0, i) + word.substring(i + 1), distance - 1, into);
+        }
+    }
+
+    /**
+     * Pack up to {@value #PREFIX_LENGTH} characters into a long. Codes start
+     * at 1 so strings of different lengths never collide; characters other
+     * than [a-z0-9] share one code and are told apart by the distance check.
+     */
+    private static long encode(String value) {
+        long key = 0;
+        for (int i = 0; i < value.length(); i++) {
+            key = key << BITS_PER_CHAR | code(value.charAt(i));
+        }
+        return key;
+    }
+
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') return 1 + (c - 'a');
+        if (c >= '0' && c <= '9') return 27 + (c - '0');
+        return 37;
+    }
+
+    /** Growable array of packed (delete key, term id) pairs. */
+    private static final class PairBuffer {
+        private long[] values;
+        private int size;
+
+        private PairBuffer(int capacity) {
+            this.values = new long[Math.max(16, capacity)];
+        }
+
+        private void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        private long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
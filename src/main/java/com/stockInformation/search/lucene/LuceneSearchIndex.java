@@ -0,0 +1,272 @@
+package com.stockInformation.search.lucene;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.index.SearchCorpusEntry;
+import com.stockInformation.search.utils.TrigramSimilarity;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene trigram index over the autocomplete corpus.
+ *
+ * Lucene is only used as the inverted index: every ticker is indexed with the
+ * pg_trgm trigrams of its lowercase symbol and of its normalized company name.
+ * A query retrieves the rows sharing enough trigrams to possibly pass the
+ * similarity threshold, and those candidates are then scored exactly with
+ * {@link TrigramSimilarity} so ranking matches the SQL:
+ * {@code (similarity(ticker) + similarity(company_name_search)) / 2}, where an
+ * arm below the threshold contributes zero.
+ *
+ * Each rebuild writes a fresh index generation into its own MMapDirectory and
+ * atomically swaps it in. Readers are reference counted so in-flight searches
+ * finish on the old generation, which is closed and deleted afterwards.
+ */
+public class LuceneSearchIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchIndex.class);
+
+    static final String TICKER_TRIGRAMS = "ticker_trgm";
+    static final String COMPANY_TRIGRAMS = "company_trgm";
+    static final String ORDINAL = "ordinal";
+
+    private static final Comparator<AutocompleteResult> WORST_FIRST = Comparator
+        .comparingDouble(AutocompleteResult::score)
+        .thenComparing(AutocompleteResult::symbol, Comparator.reverseOrder());
+
+    private final Path rootDirectory;
+    private final AtomicReference<Generation> current = new AtomicReference<>();
+    private long generationCounter;
+
+    public LuceneSearchIndex(Path rootDirectory) {
+        this.rootDirectory = rootDirectory;
+    }
+
+    /**
+     * Build a new index generation from the corpus and swap it in.
+     * Not thread-safe with itself; callers serialize rebuilds.
+     */
+    public void rebuild(List<SearchCorpusEntry> corpus) throws IOException {
+        Files.createDirectories(rootDirectory);
+        deleteStaleGenerations();
+
+        Path path = rootDirectory.resolve("gen-" + System.currentTimeMillis() + "-" + (++generationCounter));
+        Directory directory = new MMapDirectory(path);
+        IndexedEntry[] entries = new IndexedEntry[corpus.size()];
+
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig()
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE))) {
+            for (int i = 0; i < corpus.size(); i++) {
+                SearchCorpusEntry entry = corpus.get(i);
+                IndexedEntry indexed = IndexedEntry.of(entry);
+                entries[i] = indexed;
+
+                Document doc = new Document();
+                doc.add(new NumericDocValuesField(ORDINAL, i));
+                for (long trigram : indexed.tickerTrigrams()) {
+                    doc.add(new StringField(TICKER_TRIGRAMS, TrigramSimilarity.toTerm(trigram), Field.Store.NO));
+                }
+                for (long trigram : indexed.companyTrigrams()) {
+                    doc.add(new StringField(COMPANY_TRIGRAMS, TrigramSimilarity.toTerm(trigram), Field.Store.NO));
+                }
+                writer.addDocument(doc);
+            }
+            // merges may reorder documents, so hits are mapped back through ORDINAL, not the doc id
+            writer.forceMerge(1);
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            directory.close();
+            deleteRecursively(path);
+            throw e;
+        }
+
+        DirectoryReader reader = DirectoryReader.open(directory);
+        reader.getReaderCacheHelper().addClosedListener(key -> {
+            directory.close();
+            deleteRecursively(path);
+        });
+
+        Generation previous = current.getAndSet(new Generation(reader, new IndexSearcher(reader), entries));
+        if (previous != null) {
+            // drop the index's own reference; the reader closes once in-flight searches release theirs
+            previous.reader().decRef();
+        }
+        log.info("Lucene autocomplete index rebuilt with {} tickers at {}", entries.length, path);
+    }
+
+    public boolean isReady() {
+        return current.get() != null;
+    }
+
+    /**
+     * Search the current generation.
+     *
+     * @return the top {@code limit} results, or empty if no generation has been built yet
+     */
+    public Optional<List<AutocompleteResult>> search(String query, int limit) {
+        Generation generation = acquire();
+        if (generation == null) return Optional.empty();
+        try {
+            return Optional.of(search(generation, query, limit));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(generation);
+        }
+    }
+
+    private List<AutocompleteResult> search(Generation generation, String query, int limit) throws IOException {
+        long[] queryTrigrams = TrigramSimilarity.trigrams(query);
+        if (queryTrigrams.length == 0) return List.of();
+
+        PriorityQueue<AutocompleteResult> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        IndexedEntry[] entries = generation.entries();
+
+        generation.searcher().search(candidateQuery(queryTrigrams), new SimpleCollector() {
+            private NumericDocValues ordinals;
+
+            @Override
+            protected void doSetNextReader(LeafReaderContext context) throws IOException {
+                ordinals = context.reader().getNumericDocValues(ORDINAL);
+            }
+
+            @Override
+            public void collect(int doc) throws IOException {
+                if (!ordinals.advanceExact(doc)) return;
+                IndexedEntry entry = entries[(int) ordinals.longValue()];
+                double sTicker = TrigramSimilarity.armScore(queryTrigrams, entry.tickerTrigrams());
+                double sCompany = TrigramSimilarity.armScore(queryTrigrams, entry.companyTrigrams());
+                if (sTicker == 0.0 && sCompany == 0.0) return;
+
+                top.add(new AutocompleteResult(entry.ticker(), entry.companyName(), (sTicker + sCompany) / 2.0));
+                if (top.size() > limit) top.poll();
+            }
+
+            @Override
+            public ScoreMode scoreMode() {
+                return ScoreMode.COMPLETE_NO_SCORES;
+            }
+        });
+
+        List<AutocompleteResult> results = new ArrayList<>(top);
+        results.sort(WORST_FIRST.reversed());
+        return results;
+    }
+
+    /**
+     * A row can only reach similarity t if it shares at least t * |query trigrams|
+     * trigrams with the query, which bounds the terms each arm must match.
+     */
+    private static Query candidateQuery(long[] queryTrigrams) {
+        int minimumShared = Math.max(1, (int) Math.ceil(TrigramSimilarity.DEFAULT_THRESHOLD * queryTrigrams.length));
+        return new BooleanQuery.Builder()
+            .add(armQuery(TICKER_TRIGRAMS, queryTrigrams, minimumShared), BooleanClause.Occur.SHOULD)
+            .add(armQuery(COMPANY_TRIGRAMS, queryTrigrams, minimumShared), BooleanClause.Occur.SHOULD)
+            .build();
+    }
+
+    private static Query armQuery(String field, long[] queryTrigrams, int minimumShared) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().setMinimumNumberShouldMatch(minimumShared);
+        for (long trigram : queryTrigrams) {
+            builder.add(new TermQuery(new Term(field, TrigramSimilarity.toTerm(trigram))), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private Generation acquire() {
+        while (true) {
+            Generation generation = current.get();
+            if (generation == null) return null;
+            if (generation.reader().tryIncRef()) return generation;
+            // lost a race with a swap; retry against the new generation
+        }
+    }
+
+    private void release(Generation generation) {
+        try {
+            generation.reader().decRef();
+        } catch (IOException e) {
+            log.warn("Failed to release Lucene autocomplete reader", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Generation generation = current.getAndSet(null);
+        if (generation != null) {
+            generation.reader().decRef();
+        }
+    }
+
+    private void deleteStaleGenerations() throws IOException {
+        Generation generation = current.get();
+        try (Stream<Path> children = Files.list(rootDirectory)) {
+            children
+                .filter(child -> child.getFileName().toString().startsWith("gen-"))
+                .filter(child -> generation == null || !(generation.reader().directory() instanceof MMapDirectory dir
+                    && dir.getDirectory().equals(child)))
+                .forEach(LuceneSearchIndex::deleteRecursively);
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) return;
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    log.debug("Could not delete {}", p, e);
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Could not delete {}", path, e);
+        }
+    }
+
+    private record Generation(DirectoryReader reader, IndexSearcher searcher, IndexedEntry[] entries) {}
+
+    private record IndexedEntry(String ticker, String companyName, long[] tickerTrigrams, long[] companyTrigrams) {
+
+        static IndexedEntry of(SearchCorpusEntry entry) {
+            return new IndexedEntry(
+                entry.ticker(),
+                entry.companyName(),
+                TrigramSimilarity.trigrams(entry.ticker().toLowerCase(Locale.ROOT)),
+                TrigramSimilarity.trigrams(entry.companyNameSearch())
+            );
+        }
+    }
+}
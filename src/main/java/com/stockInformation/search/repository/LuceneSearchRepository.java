@@ -0,0 +1,79 @@
+package com.stockInformation.search.repository;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.lucene.LuceneSearchIndex;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SearchRepository backed by an embedded Lucene trigram index instead of the
+ * pg_trgm query. Enabled with {@code search.repository=lucene}.
+ *
+ * The index is rebuilt from the database on a fixed delay in the background;
+ * requests only read the current index generation. Until the first build has
+ * completed, queries fall back to the SQL implementation so a cold instance
+ * never caches empty results.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "search.repository", havingValue = "lucene")
+public class LuceneSearchRepository implements SearchRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchRepository.class);
+
+    private final LuceneSearchIndex index;
+    private final SearchCorpusRepository searchCorpusRepository;
+    private final SearchRepositoryImpl fallback;
+
+    public LuceneSearchRepository(
+            SearchCorpusRepository searchCorpusRepository,
+            SearchRepositoryImpl fallback,
+            @Value("${search.lucene.index-dir:${java.io.tmpdir}/stock-information/search-index}") String indexDir) {
+        this.searchCorpusRepository = searchCorpusRepository;
+        this.fallback = fallback;
+        this.index = new LuceneSearchIndex(Path.of(indexDir));
+    }
+
+    @Override
+    public List<AutocompleteResult> searchByInputIgnoreCase(String query) {
+        Optional<List<AutocompleteResult>> results = index.search(query, RESULT_LIMIT);
+        if (results.isPresent()) {
+            return results.get();
+        }
+        log.debug("Lucene autocomplete index not built yet, using SQL search");
+        return fallback.searchByInputIgnoreCase(query);
+    }
+
+    /**
+     * Rebuild the index from ticker_summary + cik_lookup and swap it in.
+     * Runs once shortly after startup and then on a fixed delay.
+     */
+    @Scheduled(
+        initialDelayString = "${search.lucene.initial-delay-ms:0}",
+        fixedDelayString = "${search.lucene.refresh-interval-ms:900000}")
+    public void rebuildIndex() {
+        try {
+            index.rebuild(searchCorpusRepository.findAllSearchable());
+        } catch (IOException | RuntimeException e) {
+            // keep serving the previous generation
+            log.error("Failed to rebuild Lucene autocomplete index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+}
@@ -0,0 +1,14 @@
+package com.stockInformation.search.repository;
+
+import com.stockInformation.search.index.SearchCorpusEntry;
+
+import java.util.List;
+
+/**
+ * Bulk loader for the rows the autocomplete search runs over. Used to build
+ * in-memory search structures off the request path.
+ */
+public interface SearchCorpusRepository {
+
+    List<SearchCorpusEntry> findAllSearchable();
+}
@@ -0,0 +1,37 @@
+package com.stockInformation.search.repository;
+
+import com.stockInformation.search.index.SearchCorpusEntry;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+public class SearchCorpusRepositoryImpl implements SearchCorpusRepository {
+
+    private final EntityManager entityManager;
+
+    public SearchCorpusRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<SearchCorpusEntry> findAllSearchable() {
+        // Same join as the autocomplete SQL: tickers without a CIK are not searchable there either
+        String sql = """
+                SELECT t.ticker, c.company_name, c.company_name_search
+                FROM ticker_summary t
+                JOIN cik_lookup c ON t.cik = c.cik
+                ORDER BY t.ticker
+                """;
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql).getResultList();
+
+        return rows.stream()
+            .map(row -> new SearchCorpusEntry((String) row[0], (String) row[1], (String) row[2]))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,105 @@
+package com.stockInformation.search.repository;
+
+import com.stockInformation.search.utils.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rebuilds every {@code search_document} row from {@code ticker_summary} and
+ * {@code cik_lookup}, deriving {@code company_name_search} with the Java
+ * normalizer ({@link utils#normalizeCompanyNameForSearch(String)}) so the
+ * indexed names are normalized exactly like the queries.
+ *
+ * The migration's triggers keep documents in sync between backfills by
+ * copying {@code cik_lookup.company_name_search} as loaded. Runs after
+ * startup when {@code search.search-document.backfill-on-startup=true};
+ * documents whose ticker no longer exists (or moved to another CIK) are removed.
+ */
+@Component
+@ConditionalOnProperty(name = "search.repository", havingValue = "search-document")
+public class SearchDocumentBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchDocumentBackfill.class);
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String SELECT_SQL = """
+            SELECT t.ticker, c.cik, c.company_name
+            FROM ticker_summary t
+            JOIN cik_lookup c ON t.cik = c.cik
+            ORDER BY t.ticker
+            """;
+
+    static final String UPSERT_SQL = """
+            INSERT INTO search_document (ticker, cik, company_name, ticker_lower, company_name_search)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (ticker) DO UPDATE SET
+                cik = EXCLUDED.cik,
+                company_name = EXCLUDED.company_name,
+                ticker_lower = EXCLUDED.ticker_lower,
+                company_name_search = EXCLUDED.company_name_search,
+                last_updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM search_document d
+            WHERE NOT EXISTS (SELECT 1 FROM ticker_summary t WHERE t.ticker = d.ticker AND t.cik = d.cik)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean onStartup;
+
+    public SearchDocumentBackfill(
+            JdbcTemplate jdbcTemplate,
+            @Value("${search.search-document.backfill-on-startup:false}") boolean onStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!onStartup) return;
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            // the triggers keep serving the documents as loaded
+            log.error("Failed to backfill search_document", e);
+        }
+    }
+
+    /**
+     * @return number of documents written
+     */
+    public int backfill() {
+        List<Object[]> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            String ticker = rs.getString(1);
+            String companyName = rs.getString(3);
+            return new Object[] {
+                ticker,
+                rs.getInt(2),
+                companyName,
+                ticker.toLowerCase(Locale.ROOT),
+                utils.normalizeCompanyNameForSearch(companyName)
+            };
+        });
+
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE))));
+        }
+        int removed = jdbcTemplate.update(DELETE_STALE_SQL);
+
+        log.info("Backfilled search_document: {} documents written, {} stale removed", rows.size(), removed);
+        return rows.size();
+    }
+}
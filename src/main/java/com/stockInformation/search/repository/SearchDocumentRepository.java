@@ -0,0 +1,146 @@
+package com.stockInformation.search.repository;
+
+import com.stockInformation.common.query.QueryCancellation;
+import com.stockInformation.search.dto.AutocompleteResult;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SearchRepository backed by the denormalized {@code search_document} table
+ * (see {@code db/migrations/create_search_document_table.sql}). Enabled with
+ * {@code search.repository=search-document}.
+ *
+ * Candidates come from one scan of the single trigram index on
+ * {@code search_key} ({@code query <% search_key}); the ticker and company arm
+ * scores are then computed on the matched rows only, with the same threshold
+ * gating as the two-table search, and rows passing neither arm are dropped.
+ * Results are scored per ticker ({@code (s_ticker + s_company) / 2}) without
+ * any join, so tickers sharing a CIK are not paired with each other.
+ *
+ * {@code <%} matches at {@code pg_trgm.word_similarity_threshold}, whose
+ * default (0.6) would miss candidates of the 0.3 similarity threshold; each
+ * search lowers it to 0.3 with {@code set_config(..., true)}, which lasts
+ * until the end of the search's transaction only, so pooled connections and
+ * other clients keep their own setting.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "search.repository", havingValue = "search-document")
+public class SearchDocumentRepository implements SearchRepository {
+
+    private static final String WORD_SIMILARITY_THRESHOLD = "0.3";
+
+    private final EntityManager entityManager;
+
+    public SearchDocumentRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AutocompleteResult> searchByInputIgnoreCase(String query) {
+        String sql = """
+                SELECT ticker, company_name, score
+                FROM (
+                    SELECT
+                        d.ticker,
+                        d.company_name,
+                        CAST((CASE WHEN d.ticker_lower % LOWER(?1) THEN similarity(d.ticker_lower, LOWER(?1)) ELSE 0 END
+                            + CASE WHEN d.company_name_search % LOWER(?1) THEN similarity(d.company_name_search, LOWER(?1)) ELSE 0 END
+                        ) / 2.0 AS double precision) AS score
+                    FROM search_document d
+                    WHERE LOWER(?1) <% d.search_key
+                ) scored
+                WHERE score > 0
+                ORDER BY score DESC, ticker
+                LIMIT 10
+                """;
+
+        Query nativeQuery = entityManager.createNativeQuery(sql);
+        nativeQuery.setParameter(1, query);
+
+        return getResultList(nativeQuery).stream()
+            .map(row -> new AutocompleteResult((String) row[0], (String) row[1], ((Number) row[2]).doubleValue()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Same search for every query in one statement: the queries are unnested
+     * into rows and each row is searched through a LATERAL subquery.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<AutocompleteResult>> searchByInputsIgnoreCase(List<String> queries) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(queries));
+        Map<String, List<AutocompleteResult>> resultsByQuery = new LinkedHashMap<>();
+        for (String query : distinct) {
+            resultsByQuery.put(query, new ArrayList<>());
+        }
+        if (distinct.isEmpty()) return resultsByQuery;
+
+        String sql = """
+                SELECT q.ord, r.ticker, r.company_name, r.score
+                FROM unnest(CAST(?1 AS text[])) WITH ORDINALITY AS q(query, ord)
+                CROSS JOIN LATERAL (
+                    SELECT ticker, company_name, score
+                    FROM (
+                        SELECT
+                            d.ticker,
+                            d.company_name,
+                            CAST((CASE WHEN d.ticker_lower % LOWER(q.query) THEN similarity(d.ticker_lower, LOWER(q.query)) ELSE 0 END
+                                + CASE WHEN d.company_name_search % LOWER(q.query) THEN similarity(d.company_name_search, LOWER(q.query)) ELSE 0 END
+                            ) / 2.0 AS double precision) AS score
+                        FROM search_document d
+                        WHERE LOWER(q.query) <% d.search_key
+                    ) scored
+                    WHERE score > 0
+                    ORDER BY score DESC, ticker
+                    LIMIT 10
+                ) r
+                ORDER BY q.ord, r.score DESC, r.ticker
+                """;
+
+        Query nativeQuery = entityManager.createNativeQuery(sql);
+        nativeQuery.setParameter(1, distinct.toArray(String[]::new));
+
+        for (Object[] row : getResultList(nativeQuery)) {
+            String query = distinct.get(((Number) row[0]).intValue() - 1);
+            resultsByQuery.get(query).add(
+                new AutocompleteResult((String) row[1], (String) row[2], ((Number) row[3]).doubleValue()));
+        }
+        return resultsByQuery;
+    }
+
+    /**
+     * Run the query so a {@link QueryCancellation} scope of the calling thread
+     * can abort it, after lowering the word similarity threshold for the
+     * current transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> getResultList(Query nativeQuery) {
+        entityManager.createNativeQuery("SELECT set_config('pg_trgm.word_similarity_threshold', ?1, true)")
+            .setParameter(1, WORD_SIMILARITY_THRESHOLD)
+            .getSingleResult();
+
+        Session session = entityManager.unwrap(Session.class);
+        QueryCancellation.Registration registration = QueryCancellation.register(session::cancelQuery);
+        try {
+            return nativeQuery.getResultList();
+        } finally {
+            registration.close();
+        }
+    }
+}
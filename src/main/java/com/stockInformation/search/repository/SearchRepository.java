@@ -2,9 +2,30 @@ package com.stockInformation.search.repository;
 
 import com.stockInformation.search.dto.AutocompleteResult;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface SearchRepository {
 
+    /** Maximum number of results returned for one autocomplete query. */
+    int RESULT_LIMIT = 10;
+
     List<AutocompleteResult> searchByInputIgnoreCase(String query);
+
+    /**
+     * Search several queries at once.
+     *
+     * The default runs one search per distinct query; implementations backed by
+     * a remote database override it to use a single round trip.
+     *
+     * @return results per query, for every distinct input query
+     */
+    default Map<String, List<AutocompleteResult>> searchByInputsIgnoreCase(List<String> queries) {
+        Map<String, List<AutocompleteResult>> results = new LinkedHashMap<>();
+        for (String query : queries) {
+            results.computeIfAbsent(query, this::searchByInputIgnoreCase);
+        }
+        return results;
+    }
 }
\ No newline at end of file
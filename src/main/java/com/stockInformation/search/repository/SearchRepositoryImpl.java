@@ -1,25 +1,121 @@
 package com.stockInformation.search.repository;
 
+import com.stockInformation.common.query.QueryCancellation;
 import com.stockInformation.search.dto.AutocompleteResult;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * pg_trgm autocomplete search.
+ *
+ * Two execution modes, selected with {@code search.repository.execution}:
+ *  - combined (default): one statement with a ticker arm and a company arm
+ *    joined by a FULL OUTER JOIN
+ *  - split: the two arms run as independent statements concurrently on
+ *    virtual threads and are merged in Java. Each arm also computes the
+ *    other arm's score for its rows and returns its own top results by the
+ *    combined score, so the merged top results are exact. A split search
+ *    holds two pool connections at once, one per arm, so it must not run
+ *    inside a transaction: that would hold a third connection while the
+ *    arms wait for theirs (see {@code SearchService#autocomplete}).
+ *
+ * Split results are scored per ticker ({@code (s_ticker + s_company) / 2});
+ * unlike the combined statement, tickers sharing a CIK are not paired with
+ * each other, so no duplicate rows are returned.
+ */
 @Repository
 public class SearchRepositoryImpl implements SearchRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(SearchRepositoryImpl.class);
+
+    static final String EXECUTION_COMBINED = "combined";
+    static final String EXECUTION_SPLIT = "split";
+
+    private static final Comparator<AutocompleteResult> WORST_FIRST = Comparator
+        .comparingDouble(AutocompleteResult::score)
+        .thenComparing(AutocompleteResult::symbol, Comparator.reverseOrder());
+
+    private static final String TICKER_ARM_SQL = """
+            SELECT
+                t.ticker,
+                c.company_name,
+                similarity(LOWER(t.ticker), LOWER(?)) AS s_ticker,
+                CASE WHEN c.company_name_search % LOWER(?)
+                     THEN similarity(c.company_name_search, LOWER(?)) ELSE 0 END AS s_company
+            FROM ticker_summary t
+            JOIN cik_lookup c ON t.cik = c.cik
+            WHERE LOWER(t.ticker) % LOWER(?)
+            ORDER BY s_ticker + s_company DESC, t.ticker
+            LIMIT 10
+            """;
+
+    private static final String COMPANY_ARM_SQL = """
+            SELECT
+                t.ticker,
+                c.company_name,
+                CASE WHEN LOWER(t.ticker) % LOWER(?)
+                     THEN similarity(LOWER(t.ticker), LOWER(?)) ELSE 0 END AS s_ticker,
+                similarity(c.company_name_search, LOWER(?)) AS s_company
+            FROM cik_lookup c
+            JOIN ticker_summary t ON t.cik = c.cik
+            WHERE c.company_name_search % LOWER(?)
+            ORDER BY s_ticker + s_company DESC, t.ticker
+            LIMIT 10
+            """;
+
+    /** Number of {@code ?} placeholders in each arm statement, all bound to the query. */
+    private static final int ARM_PARAMETERS = 4;
+
+    private static final RowMapper<ArmRow> ARM_ROW = (rs, rowNum) -> new ArmRow(
+        rs.getString(1), rs.getString(2), rs.getDouble(3), rs.getDouble(4));
+
     private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean split;
+    private final ExecutorService armExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public SearchRepositoryImpl(EntityManager entityManager) {
+    public SearchRepositoryImpl(
+            EntityManager entityManager,
+            JdbcTemplate jdbcTemplate,
+            @Value("${search.repository.execution:" + EXECUTION_COMBINED + "}") String execution) {
         this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.split = EXECUTION_SPLIT.equalsIgnoreCase(execution);
     }
 
     @Override
     public List<AutocompleteResult> searchByInputIgnoreCase(String query) {
+        if (split) {
+            return searchSplit(query);
+        }
+
         String sql = """
                 WITH ticker_hits AS (
                     SELECT
@@ -58,8 +154,7 @@ public class SearchRepositoryImpl implements SearchRepository {
         // set positional parameter ?1
         nativeQuery.setParameter(1, query);
 
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = nativeQuery.getResultList();
+        List<Object[]> results = getResultList(nativeQuery);
 
         return results.stream()
             .map(row -> {
@@ -70,4 +165,163 @@ public class SearchRepositoryImpl implements SearchRepository {
             })
             .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the same trigram search as {@link #searchByInputIgnoreCase(String)}
+     * for every query in one statement: the queries are unnested into rows and
+     * each row is searched through a LATERAL subquery.
+     */
+    @Override
+    public Map<String, List<AutocompleteResult>> searchByInputsIgnoreCase(List<String> queries) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(queries));
+        Map<String, List<AutocompleteResult>> resultsByQuery = new LinkedHashMap<>();
+        for (String query : distinct) {
+            resultsByQuery.put(query, new ArrayList<>());
+        }
+        if (distinct.isEmpty()) return resultsByQuery;
+
+        String sql = """
+                SELECT
+                    q.ord,
+                    r.ticker,
+                    r.company_name,
+                    r.score
+                FROM unnest(CAST(?1 AS text[])) WITH ORDINALITY AS q(query, ord)
+                CROSS JOIN LATERAL (
+                    SELECT
+                        COALESCE(t.ticker, c.ticker) AS ticker,
+                        COALESCE(t.company_name, c.company_name) AS company_name,
+                        CAST((COALESCE(t.s_ticker, 0) + COALESCE(c.s_company, 0)) / 2.0 AS double precision) AS score
+                    FROM (
+                        SELECT
+                            t.cik,
+                            t.ticker,
+                            c.company_name,
+                            similarity(LOWER(t.ticker), LOWER(q.query)) AS s_ticker
+                        FROM ticker_summary t
+                        JOIN cik_lookup c ON t.cik = c.cik
+                        WHERE LOWER(t.ticker) % LOWER(q.query)
+                    ) t
+                    FULL OUTER JOIN (
+                        SELECT
+                            t.cik,
+                            t.ticker,
+                            c.company_name,
+                            similarity(company_name_search, LOWER(q.query)) AS s_company
+                        FROM cik_lookup c
+                        JOIN ticker_summary t ON t.cik = c.cik
+                        WHERE c.company_name_search % LOWER(q.query)
+                    ) c ON t.cik = c.cik
+                    ORDER BY score DESC
+                    LIMIT 10
+                ) r
+                ORDER BY q.ord, r.score DESC
+                """;
+
+        Query nativeQuery = entityManager.createNativeQuery(sql);
+        nativeQuery.setParameter(1, distinct.toArray(String[]::new));
+
+        List<Object[]> rows = getResultList(nativeQuery);
+
+        for (Object[] row : rows) {
+            String query = distinct.get(((Number) row[0]).intValue() - 1);
+            Double score = row[3] != null ? ((Number) row[3]).doubleValue() : null;
+            resultsByQuery.get(query).add(new AutocompleteResult((String) row[1], (String) row[2], score));
+        }
+        return resultsByQuery;
+    }
+
+    /**
+     * Run the query so a {@link QueryCancellation} scope of the calling thread
+     * can abort it (e.g. when a streamed autocomplete query is superseded).
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> getResultList(Query nativeQuery) {
+        // unwrapped on the calling thread: the shared EntityManager is bound to its transaction
+        Session session = entityManager.unwrap(Session.class);
+        QueryCancellation.Registration registration = QueryCancellation.register(session::cancelQuery);
+        try {
+            return nativeQuery.getResultList();
+        } finally {
+            registration.close();
+        }
+    }
+
+    private List<AutocompleteResult> searchSplit(String query) {
+        // the caller's cancellation scope also covers both arm statements
+        QueryCancellation scope = QueryCancellation.current();
+        Future<List<ArmRow>> tickerArm = armExecutor.submit(() -> runArm(scope, TICKER_ARM_SQL, query));
+        Future<List<ArmRow>> companyArm = armExecutor.submit(() -> runArm(scope, COMPANY_ARM_SQL, query));
+
+        try {
+            return mergeTopK(tickerArm.get(), companyArm.get(), RESULT_LIMIT);
+        } catch (InterruptedException e) {
+            tickerArm.cancel(true);
+            companyArm.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Autocomplete search interrupted");
+        } catch (ExecutionException e) {
+            tickerArm.cancel(true);
+            companyArm.cancel(true);
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Autocomplete search failed", e.getCause());
+        }
+    }
+
+    private List<ArmRow> runArm(QueryCancellation scope, String sql, String query) {
+        return scope == null ? queryArm(sql, query) : scope.run(() -> queryArm(sql, query));
+    }
+
+    private List<ArmRow> queryArm(String sql, String query) {
+        AtomicReference<QueryCancellation.Registration> registration = new AtomicReference<>();
+        try {
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                for (int i = 1; i <= ARM_PARAMETERS; i++) {
+                    statement.setString(i, query);
+                }
+                registration.set(QueryCancellation.register(() -> cancel(statement)));
+                return statement;
+            }, ARM_ROW);
+        } finally {
+            QueryCancellation.Registration registered = registration.get();
+            if (registered != null) registered.close();
+        }
+    }
+
+    private static void cancel(PreparedStatement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.debug("Could not cancel autocomplete statement", e);
+        }
+    }
+
+    /**
+     * Merge the two arms' rows into the top {@code limit} results by combined
+     * score, keeping a bounded heap of the best rows seen so far.
+     */
+    static List<AutocompleteResult> mergeTopK(List<ArmRow> tickerRows, List<ArmRow> companyRows, int limit) {
+        Map<String, ArmRow> byTicker = new HashMap<>();
+        for (ArmRow row : tickerRows) byTicker.putIfAbsent(row.ticker(), row);
+        for (ArmRow row : companyRows) byTicker.putIfAbsent(row.ticker(), row);
+
+        PriorityQueue<AutocompleteResult> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (ArmRow row : byTicker.values()) {
+            top.add(new AutocompleteResult(row.ticker(), row.companyName(), (row.sTicker() + row.sCompany()) / 2.0));
+            if (top.size() > limit) top.poll();
+        }
+
+        List<AutocompleteResult> results = new ArrayList<>(top);
+        results.sort(WORST_FIRST.reversed());
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        armExecutor.shutdownNow();
+    }
+
+    /** One row of an arm: both arm scores of a ticker, zero where that arm is below the threshold. */
+    record ArmRow(String ticker, String companyName, double sTicker, double sCompany) {}
+}
@@ -0,0 +1,165 @@
+package com.stockInformation.search.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.index.PrefixAutocompleteTable;
+import com.stockInformation.search.repository.SearchRepository;
+import com.stockInformation.search.utils.TrigramSimilarity;
+import com.stockInformation.search.utils.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Keystroke narrowing for autocomplete typing sessions.
+ *
+ * While a user types "appl", "apple", "apple i", ... the client sends the
+ * same {@code sessionId} with every request. The results served for each
+ * query are remembered per session; when a later query extends a remembered
+ * one whose result list was not truncated (fewer than
+ * {@link SearchRepository#RESULT_LIMIT} rows), its results are derived by
+ * re-scoring that list with {@link TrigramSimilarity} instead of querying
+ * the database.
+ *
+ * Trigram similarity is not strictly monotone in the query: a row can pass
+ * the threshold for "apple" without passing it for "appl". Such rows are
+ * missed by a derived list, so narrowing is off by default and only starts
+ * from queries longer than the precomputed prefixes
+ * ({@value PrefixAutocompleteTable#MAX_PREFIX_LENGTH} characters), whose
+ * results are not trigram matches. Enabled with {@code search.narrowing.enabled=true}.
+ *
+ * Counted as {@code search.autocomplete.narrowing} with an {@code outcome}
+ * tag of {@code derived} or {@code fetched}.
+ */
+@Component
+public class AutocompleteNarrowing {
+
+    private static final int PREFIXES_PER_SESSION = 8;
+
+    private static final Comparator<AutocompleteResult> RANKING = Comparator
+        .comparingDouble(AutocompleteResult::score).reversed()
+        .thenComparing(AutocompleteResult::symbol);
+
+    private final boolean enabled;
+    private final Cache<String, Session> sessions;
+    private final Counter derived;
+    private final Counter fetched;
+
+    public AutocompleteNarrowing(
+            MeterRegistry meterRegistry,
+            @Value("${search.narrowing.enabled:false}") boolean enabled,
+            @Value("${search.narrowing.max-sessions:100000}") long maxSessions,
+            @Value("${search.narrowing.session-ttl:PT2M}") Duration sessionTtl) {
+        this.enabled = enabled;
+        this.sessions = Caffeine.newBuilder()
+            .maximumSize(maxSessions)
+            .expireAfterAccess(sessionTtl)
+            .build();
+        this.derived = outcomeCounter(meterRegistry, "derived");
+        this.fetched = outcomeCounter(meterRegistry, "fetched");
+    }
+
+    /**
+     * Derive the results for {@code processed} from a complete result list
+     * remembered for a shorter prefix in the same session.
+     *
+     * @param sessionId client typing session, may be null
+     * @param processed query after {@code normalizeCompanyNameForSearch}
+     * @return the derived results, or empty when the query must go to the SearchRepository
+     */
+    public Optional<List<AutocompleteResult>> derive(String sessionId, String processed) {
+        if (!enabled || sessionId == null) return Optional.empty();
+
+        Session session = sessions.getIfPresent(sessionId);
+        if (session == null) return Optional.empty();
+
+        List<AutocompleteResult> superset = session.completeResultsForPrefixOf(processed);
+        if (superset == null) return Optional.empty();
+
+        derived.increment();
+        return Optional.of(rescore(processed, superset));
+    }
+
+    /**
+     * Remember the results served for a query in a session.
+     */
+    public void record(String sessionId, String query, List<AutocompleteResult> results) {
+        if (!enabled || sessionId == null || query == null || query.isBlank()) return;
+
+        String processed = utils.normalizeCompanyNameForSearch(query);
+        if (processed.length() <= PrefixAutocompleteTable.MAX_PREFIX_LENGTH) return;
+
+        sessions.get(sessionId, id -> new Session()).remember(processed, results);
+    }
+
+    /**
+     * Count a query that had to be answered by the SearchRepository.
+     */
+    public void countFetched() {
+        if (enabled) fetched.increment();
+    }
+
+    static List<AutocompleteResult> rescore(String processed, List<AutocompleteResult> superset) {
+        long[] queryTrigrams = TrigramSimilarity.trigrams(processed);
+        List<AutocompleteResult> rescored = new ArrayList<>(superset.size());
+        for (AutocompleteResult candidate : superset) {
+            double sTicker = TrigramSimilarity.armScore(queryTrigrams,
+                TrigramSimilarity.trigrams(candidate.symbol().toLowerCase(Locale.ROOT)));
+            double sCompany = TrigramSimilarity.armScore(queryTrigrams,
+                TrigramSimilarity.trigrams(utils.normalizeCompanyNameForSearch(candidate.name())));
+            if (sTicker == 0.0 && sCompany == 0.0) continue;
+            rescored.add(new AutocompleteResult(candidate.symbol(), candidate.name(), (sTicker + sCompany) / 2.0));
+        }
+        rescored.sort(RANKING);
+        return rescored;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("search.autocomplete.narrowing")
+            .description("Autocomplete misses answered by narrowing a session's earlier results vs. fetched from the SearchRepository")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * The most recent queries of one typing session, newest first.
+     */
+    private static final class Session {
+
+        private final Deque<Prefix> prefixes = new ArrayDeque<>(PREFIXES_PER_SESSION);
+
+        synchronized void remember(String processed, List<AutocompleteResult> results) {
+            prefixes.removeIf(prefix -> prefix.processed().equals(processed));
+            if (prefixes.size() == PREFIXES_PER_SESSION) prefixes.removeLast();
+            prefixes.addFirst(new Prefix(processed, List.copyOf(results)));
+        }
+
+        /** The results of the longest remembered, untruncated proper prefix of {@code processed}. */
+        synchronized List<AutocompleteResult> completeResultsForPrefixOf(String processed) {
+            Prefix best = null;
+            for (Prefix prefix : prefixes) {
+                if (prefix.results().size() < SearchRepository.RESULT_LIMIT
+                        && prefix.processed().length() < processed.length()
+                        && processed.startsWith(prefix.processed())
+                        && (best == null || prefix.processed().length() > best.processed().length())) {
+                    best = prefix;
+                }
+            }
+            return best == null ? null : best.results();
+        }
+    }
+
+    private record Prefix(String processed, List<AutocompleteResult> results) {}
+}
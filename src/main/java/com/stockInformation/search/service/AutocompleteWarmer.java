@@ -0,0 +1,131 @@
+package com.stockInformation.search.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the autocomplete cache warm for the heavy hitters tracked by
+ * {@link QueryHeavyHitters}.
+ *
+ * On a fixed delay shorter than the autocomplete TTL, every current heavy
+ * hitter is recomputed and written back to the cache, so popular entries are
+ * refreshed before they expire instead of being reloaded by a user request.
+ * The list is then saved in the {@code autocompleteheavyhitters} cache and
+ * the tracker's counts are decayed.
+ *
+ * On startup the saved list is read back and each query is resolved through
+ * the cached service method: entries still in Redis only fill the local
+ * cache, missing ones are loaded from the database before traffic arrives.
+ *
+ * Enabled with {@code search.heavy-hitters.enabled=true}. Failures are logged
+ * and the next run tries again.
+ */
+@Component
+public class AutocompleteWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteWarmer.class);
+
+    static final String HEAVY_HITTERS_CACHE = "autocompleteheavyhitters";
+    static final String HEAVY_HITTERS_KEY = "top";
+
+    private final SearchService searchService;
+    private final QueryHeavyHitters queryHeavyHitters;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+
+    public AutocompleteWarmer(
+            SearchService searchService,
+            QueryHeavyHitters queryHeavyHitters,
+            CacheManager cacheManager,
+            @Value("${search.heavy-hitters.enabled:false}") boolean enabled) {
+        this.searchService = searchService;
+        this.queryHeavyHitters = queryHeavyHitters;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Refresh the cache entries of the current heavy hitters and save the list.
+     */
+    @Scheduled(
+        initialDelayString = "${search.heavy-hitters.refresh-interval-ms:600000}",
+        fixedDelayString = "${search.heavy-hitters.refresh-interval-ms:600000}")
+    public void refresh() {
+        if (!enabled) return;
+
+        List<String> queries = queryHeavyHitters.topQueries();
+        int refreshed = 0;
+        for (String query : queries) {
+            try {
+                searchService.refreshAutocomplete(query);
+                refreshed++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh autocomplete cache for '{}'", query, e);
+            }
+        }
+
+        try {
+            Cache cache = cacheManager.getCache(HEAVY_HITTERS_CACHE);
+            // ArrayList keeps the JSON type information readable by the Redis serializer
+            if (cache != null) cache.put(HEAVY_HITTERS_KEY, new ArrayList<>(queries));
+        } catch (RuntimeException e) {
+            log.warn("Failed to save autocomplete heavy hitters", e);
+        }
+
+        queryHeavyHitters.decay();
+        log.debug("Refreshed {} of {} autocomplete heavy hitters", refreshed, queries.size());
+    }
+
+    /**
+     * Pre-populate the cache with the heavy hitters saved before the last restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+
+        List<String> queries;
+        try {
+            queries = savedHeavyHitters();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read saved autocomplete heavy hitters", e);
+            return;
+        }
+
+        int warmed = 0;
+        for (String query : queries) {
+            try {
+                searchService.autocomplete(query);
+                // seeds the tracker so the list survives until live traffic replaces it
+                queryHeavyHitters.record(query);
+                warmed++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to warm autocomplete cache for '{}'", query, e);
+            }
+        }
+        log.info("Warmed autocomplete cache with {} of {} saved heavy hitters", warmed, queries.size());
+    }
+
+    private List<String> savedHeavyHitters() {
+        Cache cache = cacheManager.getCache(HEAVY_HITTERS_CACHE);
+        if (cache == null) return List.of();
+
+        Cache.ValueWrapper saved = cache.get(HEAVY_HITTERS_KEY);
+        if (saved == null || !(saved.get() instanceof List<?> values)) return List.of();
+
+        List<String> queries = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof String query) queries.add(query);
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,119 @@
+package com.stockInformation.search.service;
+
+import com.stockInformation.search.dto.HeavyHittersResponse;
+import com.stockInformation.search.index.CountMinSketch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process tracker of the most frequent autocomplete queries.
+ *
+ * Every query is counted in a {@link CountMinSketch} under its cache key
+ * (the lowercased query, as in {@code SearchService}'s {@code @Cacheable}
+ * key); the {@code topK} keys with the highest estimates are kept as heavy
+ * hitters. {@link #decay()} halves all counts so the list follows current
+ * traffic rather than all-time totals.
+ *
+ * Queries are recorded by the search endpoints, since cache hits never reach
+ * the service method. Enabled with {@code search.heavy-hitters.enabled=true};
+ * while disabled nothing is recorded.
+ */
+@Component
+public class QueryHeavyHitters {
+
+    private static final Comparator<Map.Entry<String, Long>> MOST_FREQUENT =
+        Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final boolean enabled;
+    private final int topK;
+    private final CountMinSketch sketch;
+    private final Map<String, Long> heavyHitters = new HashMap<>();
+
+    // smallest tracked estimate once the list is full; cheaper queries skip the lock
+    private volatile long admissionThreshold;
+
+    public QueryHeavyHitters(
+            @Value("${search.heavy-hitters.enabled:false}") boolean enabled,
+            @Value("${search.heavy-hitters.top-k:200}") int topK,
+            @Value("${search.heavy-hitters.sketch-depth:4}") int sketchDepth,
+            @Value("${search.heavy-hitters.sketch-width:8192}") int sketchWidth) {
+        this.enabled = enabled;
+        this.topK = topK;
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+    }
+
+    public void record(String query) {
+        if (!enabled || query == null || query.isBlank()) return;
+
+        String key = query.toLowerCase();
+        long estimate = sketch.add(key);
+        if (estimate <= admissionThreshold) return;
+
+        synchronized (heavyHitters) {
+            if (heavyHitters.containsKey(key) || heavyHitters.size() < topK) {
+                heavyHitters.put(key, estimate);
+            } else {
+                Map.Entry<String, Long> weakest = weakest();
+                if (weakest != null && estimate > weakest.getValue()) {
+                    heavyHitters.remove(weakest.getKey());
+                    heavyHitters.put(key, estimate);
+                }
+            }
+            if (heavyHitters.size() >= topK) {
+                Map.Entry<String, Long> weakest = weakest();
+                admissionThreshold = weakest == null ? 0 : weakest.getValue();
+            }
+        }
+    }
+
+    /**
+     * @return the current heavy-hitter cache keys, most frequent first
+     */
+    public List<String> topQueries() {
+        return snapshot().stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Halve all counts so older traffic fades out.
+     */
+    public void decay() {
+        sketch.halve();
+        synchronized (heavyHitters) {
+            heavyHitters.replaceAll((key, count) -> count >>> 1);
+            admissionThreshold = admissionThreshold >>> 1;
+        }
+    }
+
+    public HeavyHittersResponse describe() {
+        List<HeavyHittersResponse.HeavyHitter> top = snapshot().stream()
+            .map(entry -> new HeavyHittersResponse.HeavyHitter(entry.getKey(), entry.getValue()))
+            .toList();
+        return new HeavyHittersResponse(top, new HeavyHittersResponse.SketchStats(
+            sketch.depth(), sketch.width(), sketch.memoryBytes(), sketch.total()));
+    }
+
+    private List<Map.Entry<String, Long>> snapshot() {
+        List<Map.Entry<String, Long>> entries;
+        synchronized (heavyHitters) {
+            entries = new ArrayList<>(heavyHitters.size());
+            heavyHitters.forEach((key, count) -> entries.add(Map.entry(key, count)));
+        }
+        entries.sort(MOST_FREQUENT);
+        return entries;
+    }
+
+    private Map.Entry<String, Long> weakest() {
+        Map.Entry<String, Long> weakest = null;
+        for (Map.Entry<String, Long> entry : heavyHitters.entrySet()) {
+            if (weakest == null || entry.getValue() < weakest.getValue()) weakest = entry;
+        }
+        return weakest;
+    }
+}
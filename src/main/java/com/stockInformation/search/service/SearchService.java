@@ -1,22 +1,41 @@
 package com.stockInformation.search.service;
 
+import com.stockInformation.common.cache.CacheMultiGet;
 import com.stockInformation.search.dto.AutocompleteResult;
 import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.index.PrefixAutocompleteIndex;
+import com.stockInformation.search.index.SpellingAutocompleteIndex;
 import com.stockInformation.search.repository.SearchRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import com.stockInformation.search.utils.utils;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class SearchService {
+    private static final String AUTOCOMPLETE_CACHE = "autocomplete";
+
     private final SearchRepository searchRepository;
+    private final PrefixAutocompleteIndex prefixAutocompleteIndex;
+    private final AutocompleteNarrowing autocompleteNarrowing;
+    private final SpellingAutocompleteIndex spellingAutocompleteIndex;
+    private final CacheManager cacheManager;
 
     /**
      * Autocomplete search for ticker symbols and company names.
@@ -25,19 +44,169 @@ public class SearchService {
      *  - Input: original query string
      *  - Output: AutocompleteResponse containing the original query and a list of AutocompleteResult
      *  - Error modes: returns empty results list if nothing found
+     *
+     * Joins a caller's transaction but does not start one: a transaction would
+     * hold a pool connection for the whole call, on top of the connection each
+     * arm of a split search takes (search.repository.execution=split), and
+     * enough concurrent searches would then starve the pool. Without one, a
+     * search takes a connection only while a statement runs.
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "autocomplete", key = "#query == null ? '' : #query.toLowerCase()")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Cacheable(value = "autocomplete", key = "#query == null ? '' : #query.toLowerCase()", sync = true)
     public AutocompleteResponse autocomplete(String query) {
+        return search(query, null).response();
+    }
+
+    /**
+     * Autocomplete search within a client typing session.
+     *
+     * Reads the cache entries of {@link #autocomplete(String)}; on a miss the
+     * results may be derived from an earlier, shorter query of the same
+     * session (see {@link AutocompleteNarrowing}) instead of the database.
+     * Derived results are only served to this session: they are not written
+     * to the shared cache, since another caller's query may not have been
+     * narrowed the same way. Callers record what they served with
+     * {@link AutocompleteNarrowing#record}. Transactions as for
+     * {@link #autocomplete(String)}.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public AutocompleteResponse autocomplete(String query, String sessionId) {
+        Cache cache = cacheManager.getCache(AUTOCOMPLETE_CACHE);
+        String key = query == null ? "" : cacheKey(query);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(key);
+        if (cached != null && cached.get() instanceof AutocompleteResponse response) {
+            return response;
+        }
+
+        Searched searched = search(query, sessionId);
+        if (!searched.narrowed() && cache != null) {
+            cache.put(key, searched.response());
+        }
+        return searched.response();
+    }
+
+    /**
+     * Recompute a query's results and overwrite its autocomplete cache entry,
+     * restarting the entry's TTL. Used by {@link AutocompleteWarmer} so heavy
+     * hitters never expire under load. Transactions as for
+     * {@link #autocomplete(String)}.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @CachePut(value = "autocomplete", key = "#query == null ? '' : #query.toLowerCase()")
+    public AutocompleteResponse refreshAutocomplete(String query) {
+        return search(query, null).response();
+    }
+
+    /** A response, and whether it was narrowed from the session rather than looked up. */
+    private record Searched(AutocompleteResponse response, boolean narrowed) {
+
+        static Searched of(String query, List<AutocompleteResult> results) {
+            return new Searched(new AutocompleteResponse(query, results), false);
+        }
+    }
+
+    private Searched search(String query, String sessionId) {
         // Handle null/blank queries quickly
         if (query == null || query.isBlank()) {
-            return new AutocompleteResponse(query, List.of());
+            return Searched.of(query, List.of());
         }
 
         // Sanitize the query for SQL pattern matching (moved to utils)
         String processed = utils.normalizeCompanyNameForSearch(query);
 
+        // Exact tickers and 1-3 character prefixes are answered from the precomputed table
+        Optional<List<AutocompleteResult>> precomputed = prefixAutocompleteIndex.lookup(query, processed);
+        if (precomputed.isPresent()) {
+            return Searched.of(query, precomputed.get());
+        }
+
+        // Longer queries typed after a short, complete result list are narrowed in memory
+        Optional<List<AutocompleteResult>> narrowed = autocompleteNarrowing.derive(sessionId, processed);
+        if (narrowed.isPresent()) {
+            return new Searched(new AutocompleteResponse(query, narrowed.get()), true);
+        }
+
+        // Longer queries, typos included, are answered by the spelling index when it finds enough candidates
+        Optional<List<AutocompleteResult>> spelled = spellingAutocompleteIndex.lookup(processed);
+        if (spelled.isPresent()) {
+            return Searched.of(query, spelled.get());
+        }
+
+        autocompleteNarrowing.countFetched();
         List<AutocompleteResult> results = searchRepository.searchByInputIgnoreCase(processed);
-        return new AutocompleteResponse(query, results);
+        return Searched.of(query, results);
+    }
+
+    /**
+     * Autocomplete several queries at once (e.g. a pasted watchlist).
+     *
+     * Contract:
+     *  - Input: list of original query strings
+     *  - Output: one AutocompleteResponse per input, in input order
+     *
+     * Cached queries are read with one multi-get on the autocomplete cache,
+     * precomputed prefixes and spelling index hits are answered in memory and all remaining queries
+     * are resolved by the SearchRepository in a single round trip. Fresh
+     * results are written back under the same keys {@link #autocomplete(String)} uses.
+     */
+    @Transactional(readOnly = true)
+    public List<AutocompleteResponse> autocompleteBatch(List<String> queries) {
+        Cache cache = cacheManager.getCache(AUTOCOMPLETE_CACHE);
+
+        Map<String, String> queryByKey = new LinkedHashMap<>();
+        for (String query : queries) {
+            if (query != null && !query.isBlank()) queryByKey.putIfAbsent(cacheKey(query), query);
+        }
+
+        Map<Object, Cache.ValueWrapper> cached = CacheMultiGet.getAll(cache, queryByKey.keySet());
+        Map<String, List<AutocompleteResult>> resultsByKey = new HashMap<>();
+        Map<String, String> processedByKey = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> entry : queryByKey.entrySet()) {
+            String key = entry.getKey();
+            Cache.ValueWrapper wrapper = cached.get(key);
+            if (wrapper != null && wrapper.get() instanceof AutocompleteResponse response) {
+                resultsByKey.put(key, response.results());
+                continue;
+            }
+
+            String processed = utils.normalizeCompanyNameForSearch(entry.getValue());
+            Optional<List<AutocompleteResult>> precomputed = prefixAutocompleteIndex.lookup(entry.getValue(), processed)
+                .or(() -> spellingAutocompleteIndex.lookup(processed));
+            if (precomputed.isPresent()) {
+                resultsByKey.put(key, precomputed.get());
+                put(cache, key, new AutocompleteResponse(entry.getValue(), precomputed.get()));
+            } else {
+                processedByKey.put(key, processed);
+            }
+        }
+
+        if (!processedByKey.isEmpty()) {
+            Map<String, List<AutocompleteResult>> searched = searchRepository.searchByInputsIgnoreCase(
+                new ArrayList<>(new LinkedHashSet<>(processedByKey.values())));
+            for (Map.Entry<String, String> entry : processedByKey.entrySet()) {
+                List<AutocompleteResult> results = searched.getOrDefault(entry.getValue(), List.of());
+                resultsByKey.put(entry.getKey(), results);
+                put(cache, entry.getKey(), new AutocompleteResponse(queryByKey.get(entry.getKey()), results));
+            }
+        }
+
+        List<AutocompleteResponse> responses = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            List<AutocompleteResult> results = query == null || query.isBlank()
+                ? List.of()
+                : resultsByKey.get(cacheKey(query));
+            responses.add(new AutocompleteResponse(query, results));
+        }
+        return responses;
+    }
+
+    /** Same key as the {@code @Cacheable} expression on {@link #autocomplete(String)}. */
+    private static String cacheKey(String query) {
+        return query.toLowerCase();
+    }
+
+    private static void put(Cache cache, String key, AutocompleteResponse response) {
+        if (cache != null) cache.put(key, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package com.stockInformation.search.utils;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Single-pass engine behind {@link utils#normalizeCompanyNameForSearch(String)}.
+ *
+ * Produces exactly the output of the original regex pipeline (NFKC, lowercase,
+ * HTML unescape, NFKD, drop everything but [a-z0-9] and whitespace, remove
+ * removal words as whole words, strip whitespace) without building regexes
+ * per call:
+ *  - removal words live in a precompiled trie walked while a token is copied
+ *  - output is written into a reusable per-thread char buffer; a removed token
+ *    is dropped by rewinding the write position to where it started
+ *  - plain ASCII input without '&' skips the Normalizer and HTML passes, which
+ *    are identities for it, and is lowercased inline
+ *
+ * After character filtering the text only holds [a-z0-9] runs separated by
+ * whitespace, so the regex word-boundary match reduces to "the whole token is
+ * a removal word". Removal words containing other characters (e.g. "inc.",
+ * "a/s") can never match there and are not added to the trie.
+ */
+final class CompanyNameNormalizer {
+
+	private static final int ALPHABET = 36;
+	private static final int INITIAL_BUFFER = 128;
+
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[INITIAL_BUFFER]);
+
+	private final int[] children;
+	private final boolean[] terminal;
+
+	CompanyNameNormalizer(Collection<String> removalWords) {
+		int capacity = 1;
+		for (String word : removalWords) capacity += word.length();
+
+		int[] nodes = new int[capacity * ALPHABET];
+		Arrays.fill(nodes, -1);
+		boolean[] ends = new boolean[capacity];
+		int used = 1;
+
+		for (String word : removalWords) {
+			if (word.isEmpty() || !isTokenWord(word)) continue;
+			int node = 0;
+			for (int i = 0; i < word.length(); i++) {
+				int slot = node * ALPHABET + slot(word.charAt(i));
+				if (nodes[slot] < 0) nodes[slot] = used++;
+				node = nodes[slot];
+			}
+			ends[node] = true;
+		}
+
+		this.children = Arrays.copyOf(nodes, used * ALPHABET);
+		this.terminal = Arrays.copyOf(ends, used);
+	}
+
+	String normalize(String companyName) {
+		if (companyName == null) return "";
+
+		if (isPlainAscii(companyName)) {
+			return scan(companyName, true);
+		}
+
+		String normalized = Normalizer.normalize(companyName, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+		if (normalized.indexOf('&') >= 0) {
+			normalized = HtmlUtils.htmlUnescape(normalized);
+		}
+		if (!isAscii(normalized)) {
+			// combining marks left by the decomposition are dropped by the scan
+			normalized = Normalizer.normalize(normalized, Normalizer.Form.NFKD);
+		}
+		// characters lowercased above must stay; uppercase produced by unescaping is dropped, as before
+		return scan(normalized, false);
+	}
+
+	private String scan(String input, boolean lowercaseAscii) {
+		int length = input.length();
+		char[] out = BUFFER.get();
+		if (out.length < length) {
+			out = new char[Math.max(length, out.length * 2)];
+			BUFFER.set(out);
+		}
+
+		int written = 0;
+		int tokenStart = -1;
+		int node = 0;
+
+		for (int i = 0; i < length; i++) {
+			char c = input.charAt(i);
+			if (lowercaseAscii && c >= 'A' && c <= 'Z') {
+				c = (char) (c + ('a' - 'A'));
+			}
+
+			if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+				if (tokenStart < 0) {
+					tokenStart = written;
+					node = 0;
+				}
+				out[written++] = c;
+				node = node < 0 ? -1 : children[node * ALPHABET + slot(c)];
+			} else if (isRegexWhitespace(c)) {
+				if (tokenStart >= 0) {
+					if (node >= 0 && terminal[node]) written = tokenStart;
+					tokenStart = -1;
+				}
+			}
+			// any other character is deleted without ending the current token
+		}
+
+		if (tokenStart >= 0 && node >= 0 && terminal[node]) {
+			written = tokenStart;
+		}
+		return new String(out, 0, written);
+	}
+
+	private static boolean isPlainAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c >= 0x80 || c == '&') return false;
+		}
+		return true;
+	}
+
+	private static boolean isAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) >= 0x80) return false;
+		}
+		return true;
+	}
+
+	/** The characters matched by {@code \s} without UNICODE_CHARACTER_CLASS. */
+	private static boolean isRegexWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isTokenWord(String word) {
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) return false;
+		}
+		return true;
+	}
+
+	private static int slot(char c) {
+		return c <= '9' ? 26 + (c - '0') : c - 'a';
+	}
+}
@@ -0,0 +1,141 @@
+package com.stockInformation.search.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Java port of the pg_trgm similarity used by the autocomplete SQL.
+ *
+ * Mirrors the extension's defaults so in-memory search paths rank rows the
+ * same way as {@code similarity(a, b)} and filter them the same way as the
+ * {@code %} operator:
+ *  - input is lowercased and split into words on non-alphanumeric characters
+ *  - every word is padded with two leading blanks and one trailing blank
+ *  - similarity is |shared trigrams| / |union of trigrams|
+ *
+ * Trigrams are packed into longs (three UTF-16 chars, 16 bits each) and kept
+ * sorted so two sets can be compared with a single merge pass.
+ */
+public final class TrigramSimilarity {
+
+	/** Default value of {@code pg_trgm.similarity_threshold}, used by the {@code %} operator. */
+	public static final double DEFAULT_THRESHOLD = 0.3;
+
+	private static final long[] EMPTY = new long[0];
+
+	private TrigramSimilarity() {
+		// utility
+	}
+
+	/**
+	 * Extract the sorted, de-duplicated trigram set of a string.
+	 */
+	public static long[] trigrams(String value) {
+		if (value == null || value.isEmpty()) return EMPTY;
+
+		String lower = value.toLowerCase(Locale.ROOT);
+		int length = lower.length();
+		// each word of n chars yields n + 1 trigrams once padded
+		long[] buffer = new long[length * 2 + 2];
+		int count = 0;
+
+		int i = 0;
+		while (i < length) {
+			while (i < length && !Character.isLetterOrDigit(lower.charAt(i))) i++;
+			int start = i;
+			while (i < length && Character.isLetterOrDigit(lower.charAt(i))) i++;
+			if (i == start) break;
+
+			// padded word: "  " + word + " "
+			char a = ' ';
+			char b = ' ';
+			for (int j = start; j <= i; j++) {
+				char c = j < i ? lower.charAt(j) : ' ';
+				if (count == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				buffer[count++] = pack(a, b, c);
+				a = b;
+				b = c;
+			}
+		}
+
+		if (count == 0) return EMPTY;
+		Arrays.sort(buffer, 0, count);
+		int unique = 1;
+		for (int k = 1; k < count; k++) {
+			if (buffer[k] != buffer[unique - 1]) buffer[unique++] = buffer[k];
+		}
+		return Arrays.copyOf(buffer, unique);
+	}
+
+	/**
+	 * Equivalent of pg_trgm {@code similarity(a, b)}.
+	 */
+	public static double similarity(String a, String b) {
+		return similarity(trigrams(a), trigrams(b));
+	}
+
+	/**
+	 * Similarity of two trigram sets produced by {@link #trigrams(String)}.
+	 */
+	public static double similarity(long[] a, long[] b) {
+		if (a.length == 0 || b.length == 0) return 0.0;
+		int shared = sharedCount(a, b);
+		return (double) shared / (a.length + b.length - shared);
+	}
+
+	/**
+	 * Number of trigrams present in both sorted sets.
+	 */
+	public static int sharedCount(long[] a, long[] b) {
+		int i = 0;
+		int j = 0;
+		int shared = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] == b[j]) {
+				shared++;
+				i++;
+				j++;
+			} else if (a[i] < b[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Score of one search arm as the SQL computes it: the similarity when the
+	 * row passes the {@code %} threshold, otherwise the arm did not match and
+	 * contributes zero.
+	 */
+	public static double armScore(long[] query, long[] candidate) {
+		double s = similarity(query, candidate);
+		return s >= DEFAULT_THRESHOLD ? s : 0.0;
+	}
+
+	/**
+	 * Autocomplete score of a row in the shape of the SQL score, the average
+	 * of the ticker's and the company name's similarity to the query, but
+	 * without the {@code %} threshold: for in-memory candidates that were not
+	 * found by trigram match, so an arm below the threshold still counts.
+	 */
+	public static double unthresholdedScore(long[] query, long[] ticker, long[] companyName) {
+		return (similarity(query, ticker) + similarity(query, companyName)) / 2.0;
+	}
+
+	/**
+	 * Render a packed trigram as a three character string (e.g. for use as an index term).
+	 */
+	public static String toTerm(long trigram) {
+		return new String(new char[] {
+				(char) ((trigram >>> 32) & 0xFFFF),
+				(char) ((trigram >>> 16) & 0xFFFF),
+				(char) (trigram & 0xFFFF)
+		});
+	}
+
+	private static long pack(char a, char b, char c) {
+		return ((long) a << 32) | ((long) b << 16) | c;
+	}
+}
@@ -1,13 +1,9 @@
 package com.stockInformation.search.utils;
 
-import org.springframework.web.util.HtmlUtils;
-
-import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
@@ -125,7 +121,9 @@ public final class utils {
 
 	private static final List<String> FINANCIAL_TERMS = Arrays.asList("etf", "etn", "reit", "spv", "spac");
 
-	private static final List<String> REMOVAL_WORDS = initRemovalWords();
+	static final List<String> REMOVAL_WORDS = initRemovalWords();
+
+	private static final CompanyNameNormalizer NORMALIZER = new CompanyNameNormalizer(REMOVAL_WORDS);
 
 	private static List<String> initRemovalWords() {
 		List<String> combined = new ArrayList<>();
@@ -152,41 +150,6 @@ public final class utils {
 	 * @return normalized string suitable for company_name_search columns
 	 */
 	public static String normalizeCompanyNameForSearch(String companyName) {
-		if (companyName == null) return "";
-
-		String normalized = Normalizer.normalize(companyName, Normalizer.Form.NFKC);
-		normalized = normalized.toLowerCase(Locale.ROOT);
-
-		// Decode common HTML entities (spring util provides this)
-		String unescaped = HtmlUtils.htmlUnescape(normalized);
-		if (unescaped != null) {
-			normalized = unescaped;
-		}
-		
-		// Decompose and remove diacritic marks
-		String decomposed = Normalizer.normalize(normalized, Normalizer.Form.NFKD);
-		normalized = decomposed.replaceAll("\\p{M}", "");		
-		// Replace ampersand with space (so 'johnson & johnson' -> 'johnson johnson')
-		normalized = normalized.replace("&", "");
-			
-		// Remove any remaining punctuation/symbols; keep letters, digits and spaces
-		normalized = normalized.replaceAll("[^a-z0-9\\s]", "");
-				
-		// Remove common removal words as whole words
-		if (!REMOVAL_WORDS.isEmpty()) {
-			String pattern = REMOVAL_WORDS.stream()
-					.map(java.util.regex.Pattern::quote)
-					.collect(Collectors.joining("|"));
-			if (!pattern.isEmpty()) {
-				normalized = normalized.replaceAll("\\b(?:(" + pattern + "))\\b", " ");
-			}
-		}
-
-		// Collapse whitespace and remove all spaces to produce the compact key
-		normalized = normalized.replaceAll("\\s+", "");
-		normalized = normalized.trim();
-
-		return normalized;
+		return NORMALIZER.normalize(companyName);
 	}
 }
-
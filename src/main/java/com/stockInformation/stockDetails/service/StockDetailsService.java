@@ -21,7 +21,7 @@ public class StockDetailsService {
     private final TickerOverviewRepository tickerOverviewRepository;
     
     @Transactional(readOnly = true)
-    @Cacheable(value = "stockdetailssummary", key = "#ticker == null ? '' : #ticker.toLowerCase()")
+    @Cacheable(value = "stockdetailssummary", key = "#ticker == null ? '' : #ticker.toLowerCase()", sync = true)
     public Optional<DetailsSummaryResponse> getStockDetailsSummaryByTicker(String ticker){
         String lowercaseTicker = ticker.toLowerCase();
 
@@ -1,16 +1,48 @@
 package com.stockInformation.tickerSummary.api.v1;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.stockInformation.tickerSummary.dto.ScreenerExpressionRequest;
+import com.stockInformation.tickerSummary.dto.ScreenerPage;
+import com.stockInformation.tickerSummary.dto.ScreenerQuery;
+import com.stockInformation.tickerSummary.dto.SparseTickerSummary;
+import com.stockInformation.tickerSummary.dto.TickerSummaryBatchRequest;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.dto.TickerSummaryLookup;
+import com.stockInformation.tickerSummary.export.ExportFormat;
+import com.stockInformation.tickerSummary.export.TickerSummaryExportWriter;
+import com.stockInformation.tickerSummary.expression.ScreenerExpression;
+import com.stockInformation.tickerSummary.expression.ScreenerExpressionCompiler;
+import com.stockInformation.tickerSummary.leaderboard.TickerSummaryLeaderboards;
 import com.stockInformation.tickerSummary.service.TickerSummaryService;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+import com.stockInformation.common.dto.CursorPageResponse;
 import com.stockInformation.common.dto.PageResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 import com.stockInformation.tickerSummary.utils.TickerSummaryValidationUtils;
 
@@ -19,24 +51,56 @@ import com.stockInformation.tickerSummary.utils.TickerSummaryValidationUtils;
 @RequiredArgsConstructor
 public class TickerSummaryController {
 
+    private static final Logger log = LoggerFactory.getLogger(TickerSummaryController.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final TickerSummaryService tickerSummaryService;
+    private final TickerSummaryLeaderboards tickerSummaryLeaderboards;
+    private final ScreenerExpressionCompiler screenerExpressionCompiler;
+    private final ObjectMapper objectMapper;
     
     /**
-     * Get ticker summary by ticker symbol
+     * Get ticker summary by ticker symbol. {@code fields} (comma-separated JSON
+     * names, e.g. {@code ticker,previousClose}) limits the response, and the
+     * columns read, to those fields.
      */
     @GetMapping("/{ticker}")
-    public ResponseEntity<TickerSummaryDTO> getTickerSummaryByTicker(@PathVariable String ticker) {
-        Optional<TickerSummaryDTO> tickerSummaryDTO = tickerSummaryService.findDTOByTicker(ticker);
+    public ResponseEntity<?> getTickerSummaryByTicker(
+        @PathVariable String ticker,
+        @RequestParam(required = false) String fields
+    ) {
+        // unknown field names are rejected with 400 by the IllegalArgumentException handler
+        TickerSummaryFields requested = TickerSummaryFields.of(fields);
+        Optional<TickerSummaryDTO> tickerSummaryDTO = tickerSummaryService.findDTOByTicker(ticker, requested);
         return tickerSummaryDTO
-                .map(ResponseEntity::ok)
+                .<ResponseEntity<?>>map(row -> ResponseEntity.ok(requested.isAll() ? row : new SparseTickerSummary(row, requested)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Get paginated and filtered list of ticker summaries
+     * Look up several tickers at once (e.g. a watchlist), at most 100.
+     * Request body: {"tickers": ["AAPL", "msft", ...]}
+     *
+     * Returns one entry per requested ticker, in request order, with
+     * {@code found=false} and no summary for tickers that do not exist.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TickerSummaryLookup>> getTickerSummariesBatch(
+            @Valid @RequestBody TickerSummaryBatchRequest request) {
+        return ResponseEntity.ok(tickerSummaryService.findDTOsByTickers(request.tickers()));
+    }
+
+    /**
+     * Get paginated and filtered list of ticker summaries. {@code fields} works
+     * as on {@code /{ticker}}; the company is joined only when its name is
+     * requested or sorted by.
+     *
+     * Rows with equal sort values are ordered by ticker ascending in either
+     * direction; NULLs of nullable fields come first ascending and last descending.
      */
     @GetMapping("/list")
-    public ResponseEntity<PageResponse<TickerSummaryDTO>> getTickerSummaryPaginatedList(
+    public ResponseEntity<PageResponse<?>> getTickerSummaryPaginatedList(
         @RequestParam(required = false) String query,
         @RequestParam(defaultValue = "0") Integer page,
         @RequestParam(defaultValue = "25") Integer pageSize,
@@ -55,7 +119,8 @@ public class TickerSummaryController {
         @RequestParam(required = false) BigDecimal minPayoutRatio,
         @RequestParam(required = false) BigDecimal maxPayoutRatio
         ,@RequestParam(required = false) BigDecimal minAnnualDividendGrowth,
-        @RequestParam(required = false) BigDecimal maxAnnualDividendGrowth
+        @RequestParam(required = false) BigDecimal maxAnnualDividendGrowth,
+        @RequestParam(required = false) String fields
     ) {
         if (!TickerSummaryValidationUtils.isValidPage(page)) {
             return ResponseEntity.badRequest().build();
@@ -108,27 +173,238 @@ public class TickerSummaryController {
 
         // PE ratios can be negative (no validation needed)
 
-        Page<TickerSummaryDTO> dtos = tickerSummaryService.getPaginatedList(
-            query, page, pageSize, sortBy, sortOrder,
-            minPreviousClose, maxPreviousClose,
-            minPe, maxPe,
-            minForwardPe, maxForwardPe,
-            minDividendYield, maxDividendYield,
-            minMarketCap, maxMarketCap,
-            minPayoutRatio, maxPayoutRatio
-            ,minAnnualDividendGrowth, maxAnnualDividendGrowth
-        );
+        TickerSummaryFields requested = TickerSummaryFields.of(fields);
+
+        // equivalent requests map to the same canonical query and cached page
+        ScreenerQuery screenerQuery = ScreenerQuery.of(
+            new TickerSummaryFilter(
+                query,
+                minPreviousClose, maxPreviousClose,
+                minPe, maxPe,
+                minForwardPe, maxForwardPe,
+                minDividendYield, maxDividendYield,
+                minMarketCap, maxMarketCap,
+                minPayoutRatio, maxPayoutRatio,
+                minAnnualDividendGrowth, maxAnnualDividendGrowth),
+            page, pageSize, sortBy, sortOrder).withFields(requested);
+        ScreenerPage screened = tickerSummaryService.getScreenerPage(screenerQuery);
 
-        PageResponse<TickerSummaryDTO> resp = new PageResponse<>(
-            dtos.getContent(),
+        return ResponseEntity.ok(pageResponse(screened, page, pageSize, sortBy, sortOrder, requested));
+    }
+
+    /**
+     * Page of the ticker summaries matching a screener expression, e.g.
+     * {@code previousClose / fiftyDayAverage > 1.05 AND NOT dividendYield IS NULL},
+     * with the paging, sort and {@code fields} of /list. Expressions are
+     * compiled once per normalized text and always screened in the database;
+     * an invalid expression is a 400 naming the position of the error.
+     */
+    @PostMapping("/screen")
+    public ResponseEntity<PageResponse<?>> screenTickerSummaries(@Valid @RequestBody ScreenerExpressionRequest request) {
+        int page = request.page() == null ? 0 : request.page();
+        int pageSize = request.pageSize() == null ? ScreenerQuery.DEFAULT_PAGE_SIZE : request.pageSize();
+        String sortBy = request.sortBy() == null ? "ticker" : request.sortBy();
+        String sortOrder = request.sortOrder() == null ? "ASC" : request.sortOrder();
+        if (!TickerSummaryValidationUtils.isValidPage(page)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidPageSize(pageSize)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortOrder(sortOrder)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortBy(sortBy)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // unknown fields and invalid expressions are rejected with 400 by the IllegalArgumentException handler
+        TickerSummaryFields requested = TickerSummaryFields.of(request.fields());
+        ScreenerExpression expression = screenerExpressionCompiler.compile(request.expression());
+
+        ScreenerQuery screenerQuery = ScreenerQuery.of(TickerSummaryFilter.NONE, page, pageSize, sortBy, sortOrder)
+            .withFields(requested)
+            .withExpression(expression);
+        ScreenerPage screened = tickerSummaryService.getScreenerPage(screenerQuery);
+
+        return ResponseEntity.ok(pageResponse(screened, page, pageSize, sortBy, sortOrder, requested));
+    }
+
+    private static PageResponse<?> pageResponse(
+            ScreenerPage screened, int page, int pageSize, String sortBy, String sortOrder, TickerSummaryFields requested) {
+        Page<TickerSummaryDTO> dtos = new PageImpl<>(
+            screened.content(),
+            PageRequest.of(page, pageSize, Sort.by(Sort.Direction.fromString(sortOrder), sortBy)),
+            screened.totalElements());
+
+        return new PageResponse<>(
+            SparseTickerSummary.of(dtos.getContent(), requested),
             dtos.getNumber(),
             dtos.getSize(),
             dtos.getTotalElements(),
             dtos.getTotalPages(),
             dtos.getNumberOfElements(),
-            dtos.getSort()
+            dtos.getSort(),
+            screened.totalExact()
         );
+    }
 
-            return ResponseEntity.ok(resp);
+    /**
+     * Keyset-paginated list of ticker summaries for clients that page through
+     * the whole universe. Takes the same filters and sort as /list; instead of
+     * a page number, pass the nextCursor of the previous response as cursor.
+     * Every page is read with a seek on the last row's sort key, so deep pages
+     * do not scan and discard the rows before them. No total count is returned.
+     */
+    @GetMapping("/list/cursor")
+    public ResponseEntity<CursorPageResponse<TickerSummaryDTO>> getTickerSummaryCursorList(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "25") Integer pageSize,
+        @RequestParam(defaultValue = "ticker") String sortBy,
+        @RequestParam(defaultValue = "ASC") String sortOrder,
+        TickerSummaryFilter filter
+    ) {
+        if (!TickerSummaryValidationUtils.isValidPageSize(pageSize)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortOrder(sortOrder)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortBy(sortBy)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidFilter(filter)) {
+            return ResponseEntity.badRequest().build();
         }
+
+        // an invalid or mismatched cursor is rejected with 400 by the IllegalArgumentException handler
+        return ResponseEntity.ok(tickerSummaryService.getCursorPage(filter, cursor, pageSize, sortBy, sortOrder));
+    }
+
+    /**
+     * Histograms of the filterable columns for the filters of /list, for the
+     * screener's sliders: each column's buckets count the rows matching all
+     * other filters, and total the rows matching every filter.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<TickerSummaryFacets> getTickerSummaryFacets(TickerSummaryFilter filter) {
+        if (!TickerSummaryValidationUtils.isValidFilter(filter)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // equivalent filters map to the same canonical query and cached facets
+        return ResponseEntity.ok(tickerSummaryService.getFacets(ScreenerQuery.of(filter, null, null, null, null)));
+    }
+
+    /**
+     * First {@code limit} ticker summaries of the unfiltered list in one sort
+     * order, e.g. largest market cap or lowest forward PE, with the NULL
+     * placement of /list. Served from the in-memory leaderboards when they
+     * are enabled and loaded, otherwise from the (cached) list query.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<TickerSummaryDTO>> getTickerSummaryLeaderboard(
+        @RequestParam String sortBy,
+        @RequestParam(defaultValue = "DESC") String sortOrder,
+        @RequestParam(defaultValue = "10") Integer limit
+    ) {
+        if (!TickerSummaryValidationUtils.isValidSortOrder(sortOrder)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortBy(sortBy)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidLeaderboardLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean ascending = Sort.Direction.fromString(sortOrder).isAscending();
+        List<TickerSummaryDTO> top = tickerSummaryLeaderboards.top(TickerSummarySortField.of(sortBy), ascending, limit)
+            .orElseGet(() -> tickerSummaryService.getScreenerPage(
+                ScreenerQuery.of(TickerSummaryFilter.NONE, 0, limit, sortBy, sortOrder)).content());
+        return ResponseEntity.ok(top);
+    }
+
+    /**
+     * Stream every ticker summary matching the filters of /list, as NDJSON
+     * (default) or CSV, in the order of /list/cursor. Rows go from a database
+     * cursor straight to the response, so memory use does not grow with the
+     * result. The body is gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickerSummaries(
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(defaultValue = "ticker") String sortBy,
+        @RequestParam(defaultValue = "ASC") String sortOrder,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        TickerSummaryFilter filter
+    ) {
+        Optional<ExportFormat> exportFormat = ExportFormat.of(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortOrder(sortOrder)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidSortBy(sortBy)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TickerSummaryValidationUtils.isValidFilter(filter)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            // sync flush, so every flush of the writer reaches the client
+            OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true) : out;
+            try (TickerSummaryExportWriter writer = exportFormat.get().open(target, objectMapper)) {
+                long rows = tickerSummaryService.export(filter, sortBy, sortOrder, writer);
+                log.debug("Exported {} ticker summaries as {}", rows, exportFormat.get());
+            } catch (IOException e) {
+                // the client went away; the export's cursor and transaction are already closed
+                log.debug("Ticker summary export aborted: {}", e.toString());
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(exportFormat.get().mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(exportFormat.get().fileName()).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Whether an Accept-Encoding header accepts gzip: listed as {@code gzip}
+     * (or {@code x-gzip}), or covered by {@code *}, with a q-value above 0.
+     * An explicit gzip entry wins over {@code *}; a malformed q-value counts as 0.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (!param.startsWith("q=")) continue;
+                try {
+                    q = Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    q = 0.0;
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = (gzip != null && gzip) || q > 0;
+            } else if (coding.equals("*")) {
+                wildcard = q > 0;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
 }
@@ -4,10 +4,12 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import com.stockInformation.common.dto.ScaledDecimal;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
 import com.stockInformation.tickerSummary.entity.TickerSummary;
 
 import org.mapstruct.MappingTarget;
+import java.math.BigDecimal;
 import java.util.List;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
@@ -25,4 +27,12 @@ public interface TickerSummaryMapper {
     // Update existing entity from DTO
     @Mapping(target = "cikLookup", ignore = true)
     void updateEntityFromDTO(TickerSummaryDTO dto, @MappingTarget TickerSummary entity);
+
+    default ScaledDecimal toScaledDecimal(BigDecimal value) {
+        return ScaledDecimal.of(value);
+    }
+
+    default BigDecimal toBigDecimal(ScaledDecimal value) {
+        return value == null ? null : value.toBigDecimal();
+    }
 }
@@ -0,0 +1,38 @@
+package com.stockInformation.tickerSummary.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "A page of the ticker summaries matching a screener expression", example = """
+{
+    "expression": "previousClose / fiftyDayAverage > 1.05 AND (peRatio < 15 OR peRatio IS NULL)",
+    "page": 0,
+    "pageSize": 25,
+    "sortBy": "market_cap",
+    "sortOrder": "DESC",
+    "fields": "ticker,companyName,previousClose"
+}
+""")
+public record ScreenerExpressionRequest(
+
+    @Schema(description = "Condition over the numeric fields: AND, OR, NOT, comparisons, + - * /, IS [NOT] NULL")
+    @NotBlank(message = "An expression is required")
+    @Size(max = 1000, message = "The expression must not be longer than 1000 characters")
+    String expression,
+
+    @Schema(description = "Page number, from 0", defaultValue = "0")
+    Integer page,
+
+    @Schema(description = "Rows per page", defaultValue = "25")
+    Integer pageSize,
+
+    @Schema(description = "Sort field, as on /list", defaultValue = "ticker")
+    String sortBy,
+
+    @Schema(description = "ASC or DESC", defaultValue = "ASC")
+    String sortOrder,
+
+    @Schema(description = "Sparse fieldset, as on /list")
+    String fields
+){}
@@ -0,0 +1,14 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.util.List;
+
+/**
+ * Cached result of a {@link ScreenerQuery}: the rows of the page and the
+ * total. The page metadata (number, size, sort) is derived from the request.
+ */
+public record ScreenerPage(
+    List<TickerSummaryDTO> content,
+    long totalElements,
+    boolean totalExact
+) {
+}
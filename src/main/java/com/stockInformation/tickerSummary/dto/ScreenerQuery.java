@@ -0,0 +1,113 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.stockInformation.tickerSummary.expression.ScreenerExpression;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+/**
+ * Canonical form of a ticker summary list request: equivalent requests
+ * (parameter order, letter case, sort aliases, {@code 1.50} vs {@code 1.5})
+ * produce equal queries with the same {@link #cacheKey()}.
+ *
+ * Build with {@link #of}, which applies the endpoint defaults and normalizes
+ * the filter: query trimmed and lowercased (blank is none), decimals without
+ * trailing zeros, sort field resolved from its aliases. The page holds every
+ * field unless a sparse fieldset is set with {@link #withFields}; a compiled
+ * screener expression, set with {@link #withExpression}, narrows the filter.
+ */
+public record ScreenerQuery(
+    TickerSummaryFilter filter,
+    int page,
+    int pageSize,
+    TickerSummarySortField sortField,
+    boolean ascending,
+    TickerSummaryFields fields,
+    ScreenerExpression expression
+) {
+
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    public static ScreenerQuery of(
+            TickerSummaryFilter filter,
+            Integer page,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder) {
+        TickerSummaryFilter canonical = new TickerSummaryFilter(
+            filter.query() == null || filter.query().isBlank() ? null : filter.query().trim().toLowerCase(Locale.ROOT),
+            canonical(filter.minPreviousClose()), canonical(filter.maxPreviousClose()),
+            canonical(filter.minPe()), canonical(filter.maxPe()),
+            canonical(filter.minForwardPe()), canonical(filter.maxForwardPe()),
+            canonical(filter.minDividendYield()), canonical(filter.maxDividendYield()),
+            filter.minMarketCap(), filter.maxMarketCap(),
+            canonical(filter.minPayoutRatio()), canonical(filter.maxPayoutRatio()),
+            canonical(filter.minAnnualDividendGrowth()), canonical(filter.maxAnnualDividendGrowth())
+        );
+        return new ScreenerQuery(
+            canonical,
+            page == null ? 0 : page,
+            pageSize == null ? DEFAULT_PAGE_SIZE : pageSize,
+            TickerSummarySortField.of(sortBy == null ? "ticker" : sortBy),
+            sortOrder == null || Sort.Direction.fromString(sortOrder).isAscending(),
+            TickerSummaryFields.ALL,
+            null);
+    }
+
+    /** This query with only {@code fields} selected. */
+    public ScreenerQuery withFields(TickerSummaryFields fields) {
+        return new ScreenerQuery(filter, page, pageSize, sortField, ascending, fields, expression);
+    }
+
+    /** This query with the rows also matching {@code expression}, or none when null. */
+    public ScreenerQuery withExpression(ScreenerExpression expression) {
+        return new ScreenerQuery(filter, page, pageSize, sortField, ascending, fields, expression);
+    }
+
+    /** Page request of this query, sorted by the canonical name of the sort field. */
+    public Pageable pageable() {
+        String property = sortField.name().toLowerCase(Locale.ROOT);
+        return PageRequest.of(page, pageSize, Sort.by(ascending ? Sort.Direction.ASC : Sort.Direction.DESC, property));
+    }
+
+    /** Stable text of every field, for cache keys. */
+    public String cacheKey() {
+        StringJoiner key = new StringJoiner("|")
+            .add(filterKey())
+            .add(Integer.toString(page))
+            .add(Integer.toString(pageSize))
+            .add(sortField.name())
+            .add(ascending ? "asc" : "desc");
+        // full pages keep the keys they had before sparse fieldsets
+        if (!fields.isAll()) key.add(fields.key());
+        if (expression != null) key.add("where " + expression.text());
+        return key.toString();
+    }
+
+    /** Stable text of the filter alone, for results that do not depend on the page or sort. */
+    public String filterKey() {
+        StringJoiner key = new StringJoiner("|");
+        key.add(filter.query() == null ? "" : filter.query());
+        for (Object value : new Object[] {
+                filter.minPreviousClose(), filter.maxPreviousClose(),
+                filter.minPe(), filter.maxPe(),
+                filter.minForwardPe(), filter.maxForwardPe(),
+                filter.minDividendYield(), filter.maxDividendYield(),
+                filter.minMarketCap(), filter.maxMarketCap(),
+                filter.minPayoutRatio(), filter.maxPayoutRatio(),
+                filter.minAnnualDividendGrowth(), filter.maxAnnualDividendGrowth() }) {
+            key.add(value == null ? "" : value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+        }
+        return key.toString();
+    }
+
+    private static BigDecimal canonical(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros();
+    }
+}
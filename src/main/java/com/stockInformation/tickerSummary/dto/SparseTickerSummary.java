@@ -0,0 +1,42 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A {@link TickerSummaryDTO} written with only the fields of a sparse
+ * fieldset, in component order; requested fields that are NULL are written
+ * as {@code null}, as in the full row.
+ */
+@JsonSerialize(using = SparseTickerSummary.Serializer.class)
+public record SparseTickerSummary(TickerSummaryDTO row, TickerSummaryFields fields) {
+
+    /** The rows as they are written for {@code fields}: unchanged for all fields. */
+    public static List<?> of(List<TickerSummaryDTO> rows, TickerSummaryFields fields) {
+        if (fields.isAll()) return rows;
+        return rows.stream().map(row -> new SparseTickerSummary(row, fields)).toList();
+    }
+
+    static final class Serializer extends StdSerializer<SparseTickerSummary> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(SparseTickerSummary.class);
+        }
+
+        @Override
+        public void serialize(SparseTickerSummary value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            for (TickerSummaryField field : value.fields().fields()) {
+                provider.defaultSerializeField(field.jsonName(), field.valueOf(value.row()), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.stockInformation.tickerSummary.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "Several tickers looked up in one request, e.g. a watchlist", example = """
+{
+    "tickers": ["AAPL", "msft", "BRK.B"]
+}
+""")
+public record TickerSummaryBatchRequest(
+
+    @Schema(description = "Ticker symbols (case-insensitive), answered in the same order", example = "[\"AAPL\", \"msft\"]")
+    @NotEmpty(message = "At least one ticker is required")
+    @Size(max = 100, message = "At most 100 tickers can be looked up per request")
+    List<@NotBlank(message = "Tickers must not be blank") String> tickers
+){}
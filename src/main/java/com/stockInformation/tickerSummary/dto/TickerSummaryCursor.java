@@ -0,0 +1,67 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+/**
+ * Continuation token of the keyset-paginated ticker summary list: the sort
+ * it belongs to and the sort key of the last row served (its sort value,
+ * possibly NULL, and its ticker as the tiebreaker).
+ *
+ * Clients receive it as an opaque URL-safe Base64 string.
+ */
+public record TickerSummaryCursor(
+    TickerSummarySortField sortField,
+    boolean ascending,
+    String ticker,
+    String value
+) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "0";
+    private static final String PRESENT_VALUE = "1";
+
+    /**
+     * Cursor positioned after {@code row} in the given sort.
+     */
+    public static TickerSummaryCursor after(TickerSummarySortField sortField, boolean ascending, TickerSummaryDTO row) {
+        return new TickerSummaryCursor(sortField, ascending, row.ticker(), sortField.format(sortField.valueOf(row)));
+    }
+
+    public String encode() {
+        String text = String.join(SEPARATOR,
+            sortField.name(),
+            ascending ? "ASC" : "DESC",
+            ticker,
+            value == null ? NULL_VALUE : PRESENT_VALUE + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} was not produced by {@link #encode()}
+     */
+    public static TickerSummaryCursor decode(String token) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the value goes last so it may contain the separator
+            String[] parts = text.split(SEPARATOR, 4);
+            if (parts.length != 4 || parts[2].isEmpty() || parts[3].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            boolean ascending = switch (parts[1]) {
+                case "ASC" -> true;
+                case "DESC" -> false;
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+            String value = parts[3].startsWith(PRESENT_VALUE) ? parts[3].substring(1) : null;
+            if (value == null && !parts[3].equals(NULL_VALUE)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TickerSummaryCursor(TickerSummarySortField.valueOf(parts[0]), ascending, parts[2], value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
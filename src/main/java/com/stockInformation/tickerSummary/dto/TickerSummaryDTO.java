@@ -1,11 +1,16 @@
 package com.stockInformation.tickerSummary.dto;
 
+import com.stockInformation.common.dto.ScaledDecimal;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 
 /**
- * Data Transfer Object for TickerSummary API responses and requests
+ * Data Transfer Object for TickerSummary API responses and requests.
+ *
+ * The NUMERIC(p,2) columns are {@link ScaledDecimal}s; they serialize as the
+ * same JSON numbers as the {@code BigDecimal}s of the entity.
  */
 @Schema(description = "Stock ticker summary with financial metrics and company information")
 public record TickerSummaryDTO(
@@ -25,48 +30,48 @@ public record TickerSummaryDTO(
     @Schema(description = "Previous day's closing price", example = "150.25")
     @NotNull(message = "Previous close is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Previous close must be positive")
-    BigDecimal previousClose,
+    ScaledDecimal previousClose,
 
     @Schema(description = "Price-to-Earnings ratio", example = "25.5")
     @DecimalMin(value = "0.0", message = "PE ratio must be non-negative")
-    BigDecimal peRatio,
+    ScaledDecimal peRatio,
 
     @Schema(description = "Forward Price-to-Earnings ratio (estimated)", example = "22.3")
     @DecimalMin(value = "0.0", message = "Forward PE ratio must be non-negative")
-    BigDecimal forwardPeRatio,
+    ScaledDecimal forwardPeRatio,
 
     @Schema(description = "Dividend yield as percentage", example = "0.82", maximum = "99.99")
     @DecimalMin(value = "0.0", message = "Dividend yield must be non-negative")
     @DecimalMax(value = "99.99", message = "Dividend yield cannot exceed 99.99%")
-    BigDecimal dividendYield,
+    ScaledDecimal dividendYield,
 
     @Schema(description = "Dividend payout ratio as percentage", example = "25.5", maximum = "99.99")
     @DecimalMin(value = "0.0", message = "Payout ratio must be non-negative")
     @DecimalMax(value = "99.99", message = "Payout ratio cannot exceed 99.99%")
-    BigDecimal payoutRatio,
+    ScaledDecimal payoutRatio,
 
     @Schema(description = "Annual dividend growth as percentage", example = "5.25", maximum = "999.99")
     @DecimalMin(value = "0.0", message = "Annual dividend growth must be non-negative")
     @DecimalMax(value = "999.99", message = "Annual dividend growth cannot exceed 999.99%")
-    BigDecimal annualDividendGrowth,
+    ScaledDecimal annualDividendGrowth,
 
     @Schema(description = "Five-year average dividend yield as percentage", example = "2.05", maximum = "999.99")
     @DecimalMin(value = "0.0", message = "Five-year average dividend yield must be non-negative")
     @DecimalMax(value = "999.99", message = "Five-year average dividend yield cannot exceed 999.99%")
-    BigDecimal fiveYearAvgDividendYield,
+    ScaledDecimal fiveYearAvgDividendYield,
 
     @Schema(description = "50-day moving average price", example = "145.67")
     @DecimalMin(value = "0.0", message = "50-day average must be non-negative")
-    BigDecimal fiftyDayAverage,
+    ScaledDecimal fiftyDayAverage,
 
     @Schema(description = "200-day moving average price", example = "140.23")
     @DecimalMin(value = "0.0", message = "200-day average must be non-negative")
-    BigDecimal twoHundredDayAverage
+    ScaledDecimal twoHundredDayAverage
 
 ) {
 
     // Custom constructor for test convenience
     public TickerSummaryDTO(String ticker, BigDecimal previousClose) {
-        this(ticker, null, null, previousClose, null, null, null, null, null, null, null, null);
+        this(ticker, null, null, ScaledDecimal.of(previousClose), null, null, null, null, null, null, null, null);
     }
 }
@@ -0,0 +1,30 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Histograms of the filterable columns for a filter of the ticker summary
+ * list. Each column's histogram counts the rows matching every other
+ * condition of the filter (its own range is ignored, so a slider shows what
+ * moving it would match); {@code total} counts the rows matching all of them.
+ */
+@Schema(description = "Bucketed counts of every filterable column, each ignoring its own filter")
+public record TickerSummaryFacets(
+
+    @Schema(description = "Rows matching the whole filter", example = "1234")
+    long total,
+
+    @Schema(description = "Histogram by column, keyed by the sortBy name of the column")
+    Map<String, Histogram> facets
+
+) {
+
+    public record Histogram(List<Bucket> buckets, long nullCount) {}
+
+    /** Rows with {@code from <= value < to}; a null bound is open. */
+    public record Bucket(BigDecimal from, BigDecimal to, long count) {}
+}
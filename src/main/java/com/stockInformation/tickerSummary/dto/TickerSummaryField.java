@@ -0,0 +1,39 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.util.function.Function;
+
+/**
+ * Fields of a {@link TickerSummaryDTO}, in component order, under their JSON
+ * names; the vocabulary of the {@code fields} request parameter.
+ */
+public enum TickerSummaryField {
+
+    TICKER("ticker", TickerSummaryDTO::ticker),
+    COMPANY_NAME("companyName", TickerSummaryDTO::companyName),
+    MARKET_CAP("marketCap", TickerSummaryDTO::marketCap),
+    PREVIOUS_CLOSE("previousClose", TickerSummaryDTO::previousClose),
+    PE_RATIO("peRatio", TickerSummaryDTO::peRatio),
+    FORWARD_PE_RATIO("forwardPeRatio", TickerSummaryDTO::forwardPeRatio),
+    DIVIDEND_YIELD("dividendYield", TickerSummaryDTO::dividendYield),
+    PAYOUT_RATIO("payoutRatio", TickerSummaryDTO::payoutRatio),
+    ANNUAL_DIVIDEND_GROWTH("annualDividendGrowth", TickerSummaryDTO::annualDividendGrowth),
+    FIVE_YEAR_AVG_DIVIDEND_YIELD("fiveYearAvgDividendYield", TickerSummaryDTO::fiveYearAvgDividendYield),
+    FIFTY_DAY_AVERAGE("fiftyDayAverage", TickerSummaryDTO::fiftyDayAverage),
+    TWO_HUNDRED_DAY_AVERAGE("twoHundredDayAverage", TickerSummaryDTO::twoHundredDayAverage);
+
+    private final String jsonName;
+    private final Function<TickerSummaryDTO, Object> value;
+
+    TickerSummaryField(String jsonName, Function<TickerSummaryDTO, Object> value) {
+        this.jsonName = jsonName;
+        this.value = value;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public Object valueOf(TickerSummaryDTO row) {
+        return value.apply(row);
+    }
+}
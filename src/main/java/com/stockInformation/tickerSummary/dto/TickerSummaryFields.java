@@ -0,0 +1,89 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset of a ticker summary response: the {@link TickerSummaryField}s
+ * a client asked for with {@code fields=ticker,companyName,...}. The ticker
+ * is always included, as the row's identity.
+ *
+ * Instances are interned per set of fields, so they can key caches of
+ * anything derived from the shape (such as its query projection) and be
+ * compared by identity.
+ */
+public final class TickerSummaryFields {
+
+    private static final Map<String, TickerSummaryField> BY_NAME = Arrays.stream(TickerSummaryField.values())
+        .collect(Collectors.toUnmodifiableMap(field -> field.jsonName().toLowerCase(Locale.ROOT), Function.identity()));
+
+    private static final Map<Set<TickerSummaryField>, TickerSummaryFields> INTERNED = new ConcurrentHashMap<>();
+
+    public static final TickerSummaryFields ALL = intern(EnumSet.allOf(TickerSummaryField.class));
+
+    private final Set<TickerSummaryField> fields;
+    private final String key;
+
+    private TickerSummaryFields(Set<TickerSummaryField> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+        StringJoiner key = new StringJoiner(",");
+        fields.forEach(field -> key.add(field.jsonName()));
+        this.key = key.toString();
+    }
+
+    /**
+     * Fields of a comma-separated list of JSON names (case-insensitive);
+     * {@link #ALL} when {@code names} is null or blank.
+     *
+     * @throws IllegalArgumentException if a name is not a field
+     */
+    public static TickerSummaryFields of(String names) {
+        if (names == null || names.isBlank()) return ALL;
+        EnumSet<TickerSummaryField> fields = EnumSet.of(TickerSummaryField.TICKER);
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            TickerSummaryField field = BY_NAME.get(trimmed.toLowerCase(Locale.ROOT));
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed);
+            }
+            fields.add(field);
+        }
+        return intern(fields);
+    }
+
+    private static TickerSummaryFields intern(EnumSet<TickerSummaryField> fields) {
+        return INTERNED.computeIfAbsent(fields, TickerSummaryFields::new);
+    }
+
+    public boolean contains(TickerSummaryField field) {
+        return fields.contains(field);
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /** The fields in component order. */
+    public Set<TickerSummaryField> fields() {
+        return fields;
+    }
+
+    /** Stable text of the fields in component order, for cache keys. */
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
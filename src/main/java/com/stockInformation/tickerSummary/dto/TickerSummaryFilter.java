@@ -0,0 +1,31 @@
+package com.stockInformation.tickerSummary.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters of the ticker summary list endpoints; every null field is ignored.
+ *
+ * Bound from the request parameters of the same names.
+ */
+public record TickerSummaryFilter(
+    String query,
+    BigDecimal minPreviousClose,
+    BigDecimal maxPreviousClose,
+    BigDecimal minPe,
+    BigDecimal maxPe,
+    BigDecimal minForwardPe,
+    BigDecimal maxForwardPe,
+    BigDecimal minDividendYield,
+    BigDecimal maxDividendYield,
+    Long minMarketCap,
+    Long maxMarketCap,
+    BigDecimal minPayoutRatio,
+    BigDecimal maxPayoutRatio,
+    BigDecimal minAnnualDividendGrowth,
+    BigDecimal maxAnnualDividendGrowth
+) {
+
+    /** No filter: every ticker. */
+    public static final TickerSummaryFilter NONE = new TickerSummaryFilter(
+        null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+}
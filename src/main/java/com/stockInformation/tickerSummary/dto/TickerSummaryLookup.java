@@ -0,0 +1,12 @@
+package com.stockInformation.tickerSummary.dto;
+
+/**
+ * Result of one ticker of a batch lookup: the ticker as requested, whether
+ * it exists, and its summary (null when it does not).
+ */
+public record TickerSummaryLookup(String ticker, boolean found, TickerSummaryDTO summary) {
+
+    public static TickerSummaryLookup of(String ticker, TickerSummaryDTO summary) {
+        return new TickerSummaryLookup(ticker, summary != null, summary);
+    }
+}
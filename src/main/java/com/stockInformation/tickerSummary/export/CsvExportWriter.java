@@ -0,0 +1,92 @@
+package com.stockInformation.tickerSummary.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+
+/**
+ * CSV export (RFC 4180): a header row, CRLF line ends, empty fields for
+ * NULLs, plain (non-scientific) decimals, and fields holding a comma, quote
+ * or line break quoted.
+ */
+final class CsvExportWriter implements TickerSummaryExportWriter {
+
+    static final String HEADER = String.join(",",
+        "ticker", "company_name", "market_cap", "previous_close", "pe_ratio", "forward_pe_ratio",
+        "dividend_yield", "payout_ratio", "annual_dividend_growth", "five_year_avg_dividend_yield",
+        "fifty_day_average", "two_hundred_day_average");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    CsvExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(TickerSummaryDTO row) throws IOException {
+        text(row.ticker());
+        writer.write(',');
+        text(row.companyName());
+        writer.write(',');
+        if (row.marketCap() != null) writer.write(Long.toString(row.marketCap()));
+        writer.write(',');
+        decimal(row.previousClose());
+        writer.write(',');
+        decimal(row.peRatio());
+        writer.write(',');
+        decimal(row.forwardPeRatio());
+        writer.write(',');
+        decimal(row.dividendYield());
+        writer.write(',');
+        decimal(row.payoutRatio());
+        writer.write(',');
+        decimal(row.annualDividendGrowth());
+        writer.write(',');
+        decimal(row.fiveYearAvgDividendYield());
+        writer.write(',');
+        decimal(row.fiftyDayAverage());
+        writer.write(',');
+        decimal(row.twoHundredDayAverage());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void decimal(ScaledDecimal value) throws IOException {
+        if (value != null) writer.write(value.toString());
+    }
+
+    private void text(String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
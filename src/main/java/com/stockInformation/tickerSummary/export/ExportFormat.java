@@ -0,0 +1,55 @@
+package com.stockInformation.tickerSummary.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Formats of the ticker summary export, selected with its {@code format} parameter.
+ */
+public enum ExportFormat {
+
+    /** One JSON object per line, serialized like the list endpoints. */
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson"),
+
+    /** RFC 4180 CSV with a header row of snake_case column names. */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static Optional<ExportFormat> of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) return Optional.of(format);
+        }
+        return Optional.empty();
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileName() {
+        return "ticker-summary." + extension;
+    }
+
+    /**
+     * Writer of this format on {@code out}; closing the writer closes {@code out}.
+     */
+    public TickerSummaryExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonExportWriter(out, objectMapper);
+            case CSV -> new CsvExportWriter(out);
+        };
+    }
+}
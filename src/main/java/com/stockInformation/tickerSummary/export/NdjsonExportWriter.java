@@ -0,0 +1,44 @@
+package com.stockInformation.tickerSummary.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+
+/**
+ * NDJSON export: every row through one generator, so the rows share its
+ * buffer and nothing is flushed between them.
+ */
+final class NdjsonExportWriter implements TickerSummaryExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // rows are separated by the line breaks, not by the default space between root values
+        generator.setRootValueSeparator(null);
+        this.rowWriter = objectMapper.writerFor(TickerSummaryDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(TickerSummaryDTO row) throws IOException {
+        rowWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
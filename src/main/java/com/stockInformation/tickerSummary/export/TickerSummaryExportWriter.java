@@ -0,0 +1,18 @@
+package com.stockInformation.tickerSummary.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+
+/**
+ * Row-at-a-time writer of a ticker summary export. Output is buffered until
+ * {@link #flush()} or {@link #close()}; an {@link IOException} from either
+ * usually means the client went away.
+ */
+public sealed interface TickerSummaryExportWriter extends Closeable permits NdjsonExportWriter, CsvExportWriter {
+
+    void write(TickerSummaryDTO row) throws IOException;
+
+    void flush() throws IOException;
+}
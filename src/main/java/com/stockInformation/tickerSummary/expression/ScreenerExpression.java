@@ -0,0 +1,19 @@
+package com.stockInformation.tickerSummary.expression;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+
+/**
+ * A compiled screener expression: its normalized text, which equivalent
+ * spellings share (letter case, spacing, aliases, {@code 1.50} vs
+ * {@code 1.5}), and the Querydsl predicate over
+ * {@link com.stockInformation.tickerSummary.entity.QTickerSummary#tickerSummary}.
+ *
+ * Obtain through {@link ScreenerExpressionCompiler#compile}.
+ */
+public record ScreenerExpression(String text, BooleanExpression predicate) {
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
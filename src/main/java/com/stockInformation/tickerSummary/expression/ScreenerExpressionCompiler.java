@@ -0,0 +1,52 @@
+package com.stockInformation.tickerSummary.expression;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Compiles screener expressions such as
+ * {@code previousClose / fiftyDayAverage > 1.05 AND (peRatio < 15 OR peRatio IS NULL)}
+ * into Querydsl predicates (see {@link ScreenerExpressionParser} for the
+ * language).
+ *
+ * Compiled expressions are kept in a bounded in-process cache keyed by their
+ * normalized text, so a repeated screen, in any spelling, is only tokenized:
+ * parsing, validation and building the predicate happen once per distinct
+ * expression. Expressions that fail to compile are not cached. Sized with
+ * {@code ticker-summary.expression.cache-size}.
+ */
+@Component
+public class ScreenerExpressionCompiler {
+
+    public static final int MAX_LENGTH = 1000;
+
+    private final Cache<String, ScreenerExpression> compiled;
+
+    public ScreenerExpressionCompiler(@Value("${ticker-summary.expression.cache-size:10000}") long cacheSize) {
+        this.compiled = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .build();
+    }
+
+    /**
+     * Compiled form of {@code source}.
+     *
+     * @throws IllegalArgumentException if it is blank, too long, or not a valid condition over the numeric fields
+     */
+    public ScreenerExpression compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression must not be empty");
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Expression must not be longer than " + MAX_LENGTH + " characters");
+        }
+        List<ScreenerExpressionParser.Token> tokens = ScreenerExpressionParser.tokenize(source);
+        String text = ScreenerExpressionParser.normalize(tokens);
+        return compiled.get(text, key -> new ScreenerExpression(key, ScreenerExpressionParser.parse(tokens)));
+    }
+}
@@ -0,0 +1,354 @@
+package com.stockInformation.tickerSummary.expression;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.stockInformation.tickerSummary.dto.TickerSummaryField;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+
+/**
+ * Lexer and recursive-descent parser of the screener expression language.
+ *
+ * <pre>
+ * condition  = and { OR and }
+ * and        = not { AND not }
+ * not        = NOT not | comparison
+ * comparison = sum [ ( &lt; | &lt;= | &gt; | &gt;= | = | != ) sum | IS [ NOT ] NULL ]
+ * sum        = product { ( + | - ) product }
+ * product    = unary { ( * | / ) unary }
+ * unary      = - unary | number | field | ( condition )
+ * </pre>
+ *
+ * Fields are the numeric {@link TickerSummaryField}s under their JSON names,
+ * case-insensitive; keywords are case-insensitive too, {@code ==} is an
+ * alias of {@code =} and {@code <>} of {@code !=}. Comparisons follow SQL:
+ * a comparison involving a NULL field is unknown, so neither it nor its
+ * negation matches the row; division by zero yields NULL rather than an error.
+ */
+final class ScreenerExpressionParser {
+
+    static final int MAX_DEPTH = 32;
+
+    private static final Map<String, TickerSummaryField> FIELDS = Arrays.stream(TickerSummaryField.values())
+        .collect(Collectors.toUnmodifiableMap(field -> field.jsonName().toLowerCase(Locale.ROOT), Function.identity()));
+
+    private static final NumberExpression<BigDecimal> ZERO = Expressions.asNumber(BigDecimal.ZERO);
+
+    enum Kind { NUMBER, FIELD, KEYWORD, OPERATOR, OPEN, CLOSE }
+
+    /** A token in its normalized spelling, at its offset in the source text. */
+    record Token(Kind kind, String text, int position) {
+
+        boolean is(String normalized) {
+            return (kind == Kind.KEYWORD || kind == Kind.OPERATOR || kind == Kind.OPEN || kind == Kind.CLOSE)
+                && text.equals(normalized);
+        }
+    }
+
+    private final List<Token> tokens;
+    private int next;
+    private int depth;
+
+    private ScreenerExpressionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Tokens of {@code source} in their normalized spelling.
+     *
+     * @throws IllegalArgumentException on a character, number or name that is not part of the language
+     */
+    static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < source.length()) {
+            char ch = source.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (Character.isDigit(ch) || ch == '.') {
+                while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) i++;
+                tokens.add(new Token(Kind.NUMBER, number(source.substring(start, i), start), start));
+            } else if (Character.isLetter(ch)) {
+                while (i < source.length() && Character.isLetterOrDigit(source.charAt(i))) i++;
+                tokens.add(word(source.substring(start, i), start));
+            } else if (ch == '(' || ch == ')') {
+                i++;
+                tokens.add(new Token(ch == '(' ? Kind.OPEN : Kind.CLOSE, String.valueOf(ch), start));
+            } else {
+                String two = i + 1 < source.length() ? source.substring(i, i + 2) : "";
+                String operator = switch (two) {
+                    case "<=", ">=", "!=" -> two;
+                    case "<>" -> "!=";
+                    case "==" -> "=";
+                    default -> null;
+                };
+                if (operator != null) {
+                    i += 2;
+                } else if ("+-*/<>=".indexOf(ch) >= 0) {
+                    operator = String.valueOf(ch);
+                    i++;
+                } else {
+                    throw error("Unexpected character '" + ch + "'", start);
+                }
+                tokens.add(new Token(Kind.OPERATOR, operator, start));
+            }
+        }
+        return tokens;
+    }
+
+    /** Normalized text of the tokens: single spaces, none inside parentheses. */
+    static String normalize(List<Token> tokens) {
+        StringBuilder text = new StringBuilder();
+        Token previous = null;
+        for (Token token : tokens) {
+            if (previous != null && previous.kind() != Kind.OPEN && token.kind() != Kind.CLOSE) {
+                text.append(' ');
+            }
+            text.append(token.text());
+            previous = token;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Predicate of the tokens over {@link QTickerSummary#tickerSummary}.
+     *
+     * @throws IllegalArgumentException if the tokens are not a condition
+     */
+    static BooleanExpression parse(List<Token> tokens) {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Expression must not be empty");
+        }
+        ScreenerExpressionParser parser = new ScreenerExpressionParser(tokens);
+        Node condition = parser.condition();
+        if (parser.next < tokens.size()) {
+            throw parser.unexpected();
+        }
+        return condition.bool();
+    }
+
+    private Node condition() {
+        Node left = and();
+        while (accept("OR")) {
+            left = Node.of(left.bool().or(and().bool()), left.position());
+        }
+        return left;
+    }
+
+    private Node and() {
+        Node left = not();
+        while (accept("AND")) {
+            left = Node.of(left.bool().and(not().bool()), left.position());
+        }
+        return left;
+    }
+
+    private Node not() {
+        Token token = peek();
+        if (accept("NOT")) {
+            enter(token);
+            Node negated = Node.of(not().bool().not(), token.position());
+            depth--;
+            return negated;
+        }
+        return comparison();
+    }
+
+    private Node comparison() {
+        Node left = sum();
+        Token token = peek();
+        if (accept("IS")) {
+            boolean negated = accept("NOT");
+            expect("NULL");
+            NumberExpression<BigDecimal> value = left.number();
+            return Node.of(negated ? value.isNotNull() : value.isNull(), left.position());
+        }
+        if (token == null || token.kind() != Kind.OPERATOR || "+-*/".contains(token.text())) {
+            return left;
+        }
+        next++;
+        NumberExpression<BigDecimal> l = left.number();
+        NumberExpression<BigDecimal> r = sum().number();
+        BooleanExpression compared = switch (token.text()) {
+            case "<" -> l.lt(r);
+            case "<=" -> l.loe(r);
+            case ">" -> l.gt(r);
+            case ">=" -> l.goe(r);
+            case "=" -> l.eq(r);
+            default -> l.ne(r);
+        };
+        return Node.of(compared, left.position());
+    }
+
+    private Node sum() {
+        Node left = product();
+        while (true) {
+            if (accept("+")) {
+                left = Node.of(left.number().add(product().number()), left.position());
+            } else if (accept("-")) {
+                left = Node.of(left.number().subtract(product().number()), left.position());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node product() {
+        Node left = unary();
+        while (true) {
+            if (accept("*")) {
+                left = Node.of(left.number().multiply(unary().number()), left.position());
+            } else if (accept("/")) {
+                NumberExpression<BigDecimal> divisor = unary().number();
+                left = Node.of(left.number().divide(
+                    Expressions.numberOperation(BigDecimal.class, Ops.NULLIF, divisor, ZERO)), left.position());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node unary() {
+        Token token = peek();
+        if (token == null) {
+            throw error("Expected a number, field or '('", -1);
+        }
+        if (accept("-")) {
+            enter(token);
+            Node negated = Node.of(unary().number().negate(), token.position());
+            depth--;
+            return negated;
+        }
+        if (accept("(")) {
+            enter(token);
+            Node inner = condition();
+            expect(")");
+            depth--;
+            return new Node(inner.expression(), token.position());
+        }
+        next++;
+        return switch (token.kind()) {
+            case NUMBER -> Node.of(Expressions.asNumber(new BigDecimal(token.text())), token.position());
+            case FIELD -> Node.of(column(FIELDS.get(token.text().toLowerCase(Locale.ROOT))), token.position());
+            default -> {
+                next--;
+                throw unexpected();
+            }
+        };
+    }
+
+    private static NumberExpression<BigDecimal> column(TickerSummaryField field) {
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        return switch (field) {
+            // cast, so that dividing market caps is not an integer division
+            case MARKET_CAP -> t.marketCap.castToNum(BigDecimal.class);
+            case PREVIOUS_CLOSE -> t.previousClose;
+            case PE_RATIO -> t.peRatio;
+            case FORWARD_PE_RATIO -> t.forwardPeRatio;
+            case DIVIDEND_YIELD -> t.dividendYield;
+            case PAYOUT_RATIO -> t.payoutRatio;
+            case ANNUAL_DIVIDEND_GROWTH -> t.annualDividendGrowth;
+            case FIVE_YEAR_AVG_DIVIDEND_YIELD -> t.fiveYearAvgDividendYield;
+            case FIFTY_DAY_AVERAGE -> t.fiftyDayAverage;
+            case TWO_HUNDRED_DAY_AVERAGE -> t.twoHundredDayAverage;
+            case TICKER, COMPANY_NAME -> throw new IllegalStateException("Not a numeric field: " + field);
+        };
+    }
+
+    private void enter(Token token) {
+        if (++depth > MAX_DEPTH) {
+            throw error("Expression is nested more than " + MAX_DEPTH + " levels deep", token.position());
+        }
+    }
+
+    private Token peek() {
+        return next < tokens.size() ? tokens.get(next) : null;
+    }
+
+    private boolean accept(String normalized) {
+        Token token = peek();
+        if (token != null && token.is(normalized)) {
+            next++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String normalized) {
+        if (!accept(normalized)) {
+            Token token = peek();
+            throw error("Expected '" + normalized + "'", token == null ? -1 : token.position());
+        }
+    }
+
+    private IllegalArgumentException unexpected() {
+        Token token = tokens.get(next);
+        return error("Unexpected '" + token.text() + "'", token.position());
+    }
+
+    private static String number(String text, int position) {
+        try {
+            // plain digits only: no exponent, sign or second point
+            if (text.chars().filter(c -> c == '.').count() > 1 || text.equals(".")) {
+                throw new NumberFormatException();
+            }
+            BigDecimal value = new BigDecimal(text).stripTrailingZeros();
+            return (value.scale() < 0 ? value.setScale(0) : value).toPlainString();
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + text + "'", position);
+        }
+    }
+
+    private static Token word(String text, int position) {
+        String upper = text.toUpperCase(Locale.ROOT);
+        switch (upper) {
+            case "AND", "OR", "NOT", "IS", "NULL" -> {
+                return new Token(Kind.KEYWORD, upper, position);
+            }
+            default -> { }
+        }
+        TickerSummaryField field = FIELDS.get(text.toLowerCase(Locale.ROOT));
+        if (field == null) {
+            throw error("Unknown field '" + text + "'", position);
+        }
+        if (field == TickerSummaryField.TICKER || field == TickerSummaryField.COMPANY_NAME) {
+            throw error("Field '" + field.jsonName() + "' is not numeric", position);
+        }
+        return new Token(Kind.FIELD, field.jsonName(), position);
+    }
+
+    private static IllegalArgumentException error(String message, int position) {
+        return new IllegalArgumentException(position < 0 ? message + " at end of expression" : message + " at position " + (position + 1));
+    }
+
+    /** A parsed operand, a condition or a number, with the position it starts at. */
+    private record Node(Expression<?> expression, int position) {
+
+        static Node of(Expression<?> expression, int position) {
+            return new Node(expression, position);
+        }
+
+        BooleanExpression bool() {
+            if (expression instanceof BooleanExpression condition) return condition;
+            throw error("Expected a condition", position);
+        }
+
+        @SuppressWarnings("unchecked")
+        NumberExpression<BigDecimal> number() {
+            if (expression instanceof NumberExpression<?> number) return (NumberExpression<BigDecimal>) number;
+            throw error("Expected a number", position);
+        }
+    }
+}
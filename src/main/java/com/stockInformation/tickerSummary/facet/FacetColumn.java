@@ -0,0 +1,130 @@
+package com.stockInformation.tickerSummary.facet;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+
+/**
+ * Filterable columns of the ticker summary list with the bucket bounds of
+ * their facet histograms.
+ *
+ * The bounds are fixed, so a histogram keeps its buckets whatever the filter:
+ * bucket 0 is below the first bound, bucket {@code i} is
+ * {@code [bounds[i-1], bounds[i])} and the last is from the last bound up.
+ * Counts of a column are laid out as its buckets followed by the NULL count.
+ */
+public enum FacetColumn {
+
+    PREVIOUS_CLOSE("previous_close", t -> t.previousClose,
+        bounds("5", "10", "20", "50", "100", "200", "500", "1000")),
+    PE("pe", t -> t.peRatio,
+        bounds("0", "5", "10", "15", "20", "25", "30", "40", "50", "75", "100")),
+    FORWARD_PE("forward_pe", t -> t.forwardPeRatio,
+        bounds("0", "5", "10", "15", "20", "25", "30", "40", "50", "75", "100")),
+    DIVIDEND_YIELD("dividend_yield", t -> t.dividendYield,
+        bounds("0.01", "1", "2", "3", "4", "5", "6", "8", "10", "15")),
+    // nano, micro, small, mid, large and mega caps
+    MARKET_CAP("market_cap", t -> t.marketCap,
+        bounds("50000000", "300000000", "2000000000", "10000000000", "200000000000")),
+    PAYOUT_RATIO("payout_ratio", t -> t.payoutRatio,
+        bounds("0.01", "20", "40", "60", "80", "100", "150", "200")),
+    ANNUAL_DIVIDEND_GROWTH("annual_dividend_growth", t -> t.annualDividendGrowth,
+        bounds("0", "2", "5", "10", "15", "20", "30", "50"));
+
+    private final String key;
+    private final Function<QTickerSummary, NumberPath<?>> expression;
+    private final BigDecimal[] bounds;
+
+    FacetColumn(String key, Function<QTickerSummary, NumberPath<?>> expression, BigDecimal[] bounds) {
+        this.key = key;
+        this.expression = expression;
+        this.bounds = bounds;
+    }
+
+    /** Name of the column in the response (its sortBy name). */
+    public String key() {
+        return key;
+    }
+
+    public BigDecimal[] bounds() {
+        return bounds.clone();
+    }
+
+    /** Number of buckets, not counting NULLs. */
+    public int buckets() {
+        return bounds.length + 1;
+    }
+
+    /** {@code filter} without this column's own range. */
+    public TickerSummaryFilter without(TickerSummaryFilter f) {
+        return new TickerSummaryFilter(f.query(),
+            unlessThis(PREVIOUS_CLOSE, f.minPreviousClose()), unlessThis(PREVIOUS_CLOSE, f.maxPreviousClose()),
+            unlessThis(PE, f.minPe()), unlessThis(PE, f.maxPe()),
+            unlessThis(FORWARD_PE, f.minForwardPe()), unlessThis(FORWARD_PE, f.maxForwardPe()),
+            unlessThis(DIVIDEND_YIELD, f.minDividendYield()), unlessThis(DIVIDEND_YIELD, f.maxDividendYield()),
+            unlessThis(MARKET_CAP, f.minMarketCap()), unlessThis(MARKET_CAP, f.maxMarketCap()),
+            unlessThis(PAYOUT_RATIO, f.minPayoutRatio()), unlessThis(PAYOUT_RATIO, f.maxPayoutRatio()),
+            unlessThis(ANNUAL_DIVIDEND_GROWTH, f.minAnnualDividendGrowth()),
+            unlessThis(ANNUAL_DIVIDEND_GROWTH, f.maxAnnualDividendGrowth()));
+    }
+
+    /** {@code bound} of {@code column}, or null when that column is this one. */
+    private <T> T unlessThis(FacetColumn column, T bound) {
+        return this == column ? null : bound;
+    }
+
+    /** Conditions selecting each bucket, then NULL, in the order of the counts. */
+    public List<Predicate> bucketPredicates(QTickerSummary t) {
+        NumberPath<?> column = expression.apply(t);
+        List<Predicate> predicates = new ArrayList<>(buckets() + 1);
+        for (int i = 0; i <= bounds.length; i++) {
+            Predicate lower = i == 0 ? null : ExpressionUtils.predicate(Ops.GOE, column, constant(bounds[i - 1]));
+            Predicate upper = i == bounds.length ? null : ExpressionUtils.predicate(Ops.LT, column, constant(bounds[i]));
+            predicates.add(lower == null ? upper : upper == null ? lower : ExpressionUtils.and(lower, upper));
+        }
+        predicates.add(column.isNull());
+        return predicates;
+    }
+
+    /**
+     * Facets response from the counts of every column (laid out as in
+     * {@link #bucketPredicates}, indexed by ordinal).
+     */
+    public static TickerSummaryFacets facets(long total, long[][] counts) {
+        Map<String, TickerSummaryFacets.Histogram> facets = new LinkedHashMap<>();
+        for (FacetColumn column : values()) {
+            long[] columnCounts = counts[column.ordinal()];
+            List<TickerSummaryFacets.Bucket> buckets = new ArrayList<>(column.buckets());
+            for (int i = 0; i <= column.bounds.length; i++) {
+                buckets.add(new TickerSummaryFacets.Bucket(
+                    i == 0 ? null : column.bounds[i - 1],
+                    i == column.bounds.length ? null : column.bounds[i],
+                    columnCounts[i]));
+            }
+            facets.put(column.key, new TickerSummaryFacets.Histogram(buckets, columnCounts[column.buckets()]));
+        }
+        return new TickerSummaryFacets(total, facets);
+    }
+
+    private Expression<?> constant(BigDecimal bound) {
+        return this == MARKET_CAP ? ConstantImpl.create(bound.longValueExact()) : ConstantImpl.create(bound);
+    }
+
+    private static BigDecimal[] bounds(String... values) {
+        return Arrays.stream(values).map(BigDecimal::new).toArray(BigDecimal[]::new);
+    }
+}
@@ -0,0 +1,146 @@
+package com.stockInformation.tickerSummary.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.repository.TextCollation;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+/**
+ * The first rows of the ticker summary list in one sort order, kept in a
+ * bounded sorted set and updated with the rows that changed between two
+ * reloads of the table.
+ *
+ * The order is the list's: NULLs first ascending and last descending (as in
+ * {@code SortOrderTransformer}), ties by ticker ascending; text in the
+ * {@link TextCollation} of the latest update.
+ *
+ * The set always holds a prefix of that order, and up to twice the served
+ * size, so rows dropping out of the top are usually replaced from the set.
+ * Only when it falls below the served size is it rebuilt from all rows.
+ * Rows that did not change stay where they were (in the set or after its
+ * last row), so an update costs O(c log k) for c changed rows and a set of
+ * k rows, plus a pass over the set; a rebuild costs O(n log k).
+ * Updates must come from a single thread; {@link #top} can be read from any.
+ */
+final class Leaderboard {
+
+    private final TickerSummarySortField field;
+    private final boolean ascending;
+    private final int size;
+    private final int capacity;
+    private TextCollation collation = TextCollation.CODE_UNIT;
+    private Comparator<TickerSummaryDTO> order;
+    private TreeSet<TickerSummaryDTO> top;
+    private final Map<String, TickerSummaryDTO> members = new HashMap<>();
+    // whether top holds every row (the table has at most capacity rows)
+    private boolean complete = true;
+    private volatile List<TickerSummaryDTO> published = List.of();
+
+    Leaderboard(TickerSummarySortField field, boolean ascending, int size) {
+        this.field = field;
+        this.ascending = ascending;
+        this.order = order(field, ascending, collation);
+        this.size = size;
+        this.capacity = 2 * size;
+        this.top = new TreeSet<>(order);
+    }
+
+    /** The first {@code limit} rows (at most the board's size), in constant time. */
+    List<TickerSummaryDTO> top(int limit) {
+        List<TickerSummaryDTO> rows = published;
+        return rows.subList(0, Math.min(limit, rows.size()));
+    }
+
+    /**
+     * Bring the board up to date with a reload of all rows: members that were
+     * removed or changed leave the set, and changed or new rows are offered.
+     *
+     * @param rows every row of the reload, read only if the board is rebuilt
+     * @param changed the rows of the reload that are new or differ from the previous reload
+     * @param tickers the tickers of {@code rows}
+     * @param collation order of the text of {@code rows}
+     * @return true if the board had to be rebuilt from all rows
+     */
+    boolean update(List<TickerSummaryDTO> rows, List<TickerSummaryDTO> changed, Set<String> tickers, TextCollation collation) {
+        // members leave under the order they were added with: a changed or removed row's text may not be in the new collation
+        for (Iterator<TickerSummaryDTO> it = members.values().iterator(); it.hasNext(); ) {
+            TickerSummaryDTO member = it.next();
+            if (!tickers.contains(member.ticker())) {
+                top.remove(member);
+                it.remove();
+            }
+        }
+        List<TickerSummaryDTO> offered = new ArrayList<>(changed.size());
+        for (TickerSummaryDTO row : changed) {
+            TickerSummaryDTO member = members.get(row.ticker());
+            if (row.equals(member)) continue;
+            if (member != null) {
+                top.remove(member);
+                members.remove(member.ticker());
+            }
+            offered.add(row);
+        }
+
+        // the remaining members are rows of this reload, and a collation never reorders the values it shares with another
+        if (collation != this.collation) {
+            this.collation = collation;
+            this.order = order(field, ascending, collation);
+            TreeSet<TickerSummaryDTO> reordered = new TreeSet<>(order);
+            reordered.addAll(top);
+            top = reordered;
+        }
+        for (TickerSummaryDTO row : offered) offer(row);
+
+        boolean rebuilt = !complete && top.size() < size;
+        if (rebuilt) {
+            top.clear();
+            members.clear();
+            complete = true;
+            for (TickerSummaryDTO row : rows) offer(row);
+        }
+
+        List<TickerSummaryDTO> first = new ArrayList<>(Math.min(size, top.size()));
+        for (TickerSummaryDTO row : top) {
+            if (first.size() == size) break;
+            first.add(row);
+        }
+        published = List.copyOf(first);
+        return rebuilt;
+    }
+
+    private void offer(TickerSummaryDTO row) {
+        // an incomplete set is a prefix of the order: a row after its last one stays out
+        if (!complete && (top.isEmpty() || order.compare(row, top.last()) > 0)) return;
+        top.add(row);
+        members.put(row.ticker(), row);
+        if (top.size() > capacity) {
+            members.remove(top.pollLast().ticker());
+            complete = false;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Comparator<TickerSummaryDTO> order(TickerSummarySortField field, boolean ascending, TextCollation collation) {
+        Comparator<TickerSummaryDTO> byTicker = Comparator.comparing(TickerSummaryDTO::ticker, collation.tickers());
+        if (field == TickerSummarySortField.TICKER) {
+            return ascending ? byTicker : byTicker.reversed();
+        }
+        if (field == TickerSummarySortField.COMPANY_NAME) {
+            Comparator<String> names = ascending ? collation.companyNames() : collation.companyNames().reversed();
+            return Comparator.comparing(TickerSummaryDTO::companyName, ascending ? Comparator.nullsFirst(names) : Comparator.nullsLast(names))
+                .thenComparing(byTicker);
+        }
+        Comparator<Comparable> values = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        Comparator<Comparable> withNulls = ascending ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+        return Comparator.comparing((TickerSummaryDTO row) -> (Comparable) field.valueOf(row), withNulls)
+            .thenComparing(byTicker);
+    }
+}
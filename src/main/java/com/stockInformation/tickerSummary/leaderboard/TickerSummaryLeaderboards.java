@@ -0,0 +1,132 @@
+package com.stockInformation.tickerSummary.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTable;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+import com.stockInformation.tickerSummary.utils.TickerSummaryValidationUtils;
+
+/**
+ * Top {@value TickerSummaryValidationUtils#MAX_LEADERBOARD_LIMIT} rows of the
+ * unfiltered ticker summary list for every allowed sort field and direction
+ * ("largest market cap", "lowest forward PE", ...), so these lists are read
+ * from memory instead of a sorted query per request.
+ *
+ * The boards are updated on a fixed delay, and only when the
+ * {@link TickerSummaryDataVersion} moved since the last update (every time
+ * where it is unknown): all rows are read once, compared with the previous
+ * reload, and every board applies only the rows that changed. The version
+ * covers the company names of cik_lookup as well as ticker_summary, so a
+ * reload of either table reaches the boards. Enabled with
+ * {@code ticker-summary.leaderboard.enabled=true}; while disabled or not yet
+ * loaded, {@link #top} is empty and callers query the list instead.
+ */
+@Component
+public class TickerSummaryLeaderboards {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerSummaryLeaderboards.class);
+
+    private final TickerSummaryRepository tickerSummaryRepository;
+    private final TickerSummaryDataVersion dataVersion;
+    private final boolean enabled;
+    // by sort field, then ascending (0) / descending (1); null for fields the list does not sort by
+    private final Leaderboard[][] boards = new Leaderboard[TickerSummarySortField.values().length][];
+
+    private volatile boolean loaded;
+    private long loadedVersion = TickerSummaryDataVersion.UNKNOWN;
+    // rows of the last applied reload, by ticker
+    private Map<String, TickerSummaryDTO> loadedRows = Map.of();
+
+    public TickerSummaryLeaderboards(
+            TickerSummaryRepository tickerSummaryRepository,
+            TickerSummaryDataVersion dataVersion,
+            @Value("${ticker-summary.leaderboard.enabled:false}") boolean enabled) {
+        this.tickerSummaryRepository = tickerSummaryRepository;
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        for (String sortBy : TickerSummaryValidationUtils.ALLOWED_SORT_FIELDS) {
+            TickerSummarySortField field = TickerSummarySortField.of(sortBy);
+            boards[field.ordinal()] = new Leaderboard[] {
+                new Leaderboard(field, true, TickerSummaryValidationUtils.MAX_LEADERBOARD_LIMIT),
+                new Leaderboard(field, false, TickerSummaryValidationUtils.MAX_LEADERBOARD_LIMIT)
+            };
+        }
+    }
+
+    /**
+     * The first {@code limit} rows of the list sorted by {@code field}.
+     *
+     * @return the rows, or empty when the leaderboards are disabled, not loaded or not kept for the field
+     */
+    public Optional<List<TickerSummaryDTO>> top(TickerSummarySortField field, boolean ascending, int limit) {
+        Leaderboard[] byDirection = boards[field.ordinal()];
+        if (!enabled || !loaded || byDirection == null) {
+            return Optional.empty();
+        }
+        return Optional.of(byDirection[ascending ? 0 : 1].top(limit));
+    }
+
+    /**
+     * Apply a reload of the table to every board, if the data changed.
+     */
+    @Scheduled(
+        initialDelayString = "${ticker-summary.leaderboard.initial-delay-ms:0}",
+        fixedDelayString = "${ticker-summary.leaderboard.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (!enabled) return;
+        long version = dataVersion.current();
+        if (loaded && version != TickerSummaryDataVersion.UNKNOWN && version == loadedVersion) {
+            return;
+        }
+        try {
+            TickerSummaryTable table = tickerSummaryRepository.findAllWithCollation();
+            List<TickerSummaryDTO> rows = table.rows();
+            Map<String, TickerSummaryDTO> byTicker = byTicker(rows);
+            List<TickerSummaryDTO> changed = changed(loadedRows, rows);
+
+            int rebuilt = 0;
+            for (Leaderboard[] byDirection : boards) {
+                if (byDirection == null) continue;
+                for (Leaderboard board : byDirection) {
+                    if (board.update(rows, changed, byTicker.keySet(), table.collation())) rebuilt++;
+                }
+            }
+            loadedRows = byTicker;
+            loadedVersion = version;
+            loaded = true;
+            log.info("Ticker summary leaderboards updated from {} rows, {} changed ({} rebuilt)",
+                rows.size(), changed.size(), rebuilt);
+        } catch (RuntimeException e) {
+            // keep serving the previous boards
+            log.error("Failed to update ticker summary leaderboards", e);
+        }
+    }
+
+    static Map<String, TickerSummaryDTO> byTicker(List<TickerSummaryDTO> rows) {
+        Map<String, TickerSummaryDTO> byTicker = new HashMap<>(rows.size() * 2);
+        for (TickerSummaryDTO row : rows) byTicker.put(row.ticker(), row);
+        return byTicker;
+    }
+
+    /** The rows that are new or differ from the row with the same ticker in {@code previous}. */
+    static List<TickerSummaryDTO> changed(Map<String, TickerSummaryDTO> previous, List<TickerSummaryDTO> rows) {
+        List<TickerSummaryDTO> changed = new ArrayList<>();
+        for (TickerSummaryDTO row : rows) {
+            if (!row.equals(previous.get(row.ticker()))) changed.add(row);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.stockInformation.tickerSummary.repository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order of the tickers and company names of one read of the table, as the
+ * database's collation sorts them, so rows can be sorted in memory exactly
+ * like {@code ORDER BY} sorts them (the production database collates text
+ * with en_US, which differs from {@link String#compareTo}: "alpha" sorts
+ * before "Beta" there).
+ *
+ * Values the read did not contain sort after those it did, by UTF-16 code
+ * unit; {@link #CODE_UNIT} has no values at all. Neither order accepts NULL.
+ */
+public final class TextCollation {
+
+    /** UTF-16 code unit order, as in a database using the "C" collation. */
+    public static final TextCollation CODE_UNIT = new TextCollation(List.of(), List.of());
+
+    private final Comparator<String> tickers;
+    private final Comparator<String> companyNames;
+
+    private TextCollation(List<String> tickers, List<String> companyNames) {
+        this.tickers = positional(tickers);
+        this.companyNames = positional(companyNames);
+    }
+
+    /**
+     * @param tickers distinct tickers in the database's order
+     * @param companyNames distinct company names in the database's order
+     */
+    public static TextCollation of(List<String> tickers, List<String> companyNames) {
+        return new TextCollation(tickers, companyNames);
+    }
+
+    public Comparator<String> tickers() {
+        return tickers;
+    }
+
+    public Comparator<String> companyNames() {
+        return companyNames;
+    }
+
+    private static Comparator<String> positional(List<String> ordered) {
+        Map<String, Integer> positions = new HashMap<>(ordered.size() * 2);
+        for (int i = 0; i < ordered.size(); i++) positions.put(ordered.get(i), i);
+        return Comparator.comparingInt((String value) -> positions.getOrDefault(value, Integer.MAX_VALUE))
+            .thenComparing(Comparator.naturalOrder());
+    }
+}
@@ -1,16 +1,63 @@
 package com.stockInformation.tickerSummary.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
 
 public interface TickerSummaryCompanyRepository {
 
     Page<TickerSummaryDTO> findAllWithCompanyName(Predicate predicate, Pageable pageable);
 
+    /**
+     * Page with only the columns of {@code fields} selected; the others are NULL.
+     * The company is joined only when its name is selected or sorted by.
+     */
+    Page<TickerSummaryDTO> findAllWithCompanyName(Predicate predicate, Pageable pageable, TickerSummaryFields fields);
+
+    /**
+     * First {@code limit} rows matching {@code predicate} in the given order, without an offset or count query.
+     * Keyset pagination puts its seek condition into the predicate.
+     */
+    List<TickerSummaryDTO> findAllWithCompanyName(Predicate predicate, OrderSpecifier<?>[] orderSpecifiers, int limit);
+
+    /**
+     * Rows matching {@code predicate} in the given order, read through a
+     * forward-only cursor instead of into a list. The stream must be consumed
+     * and closed inside the transaction that opened it.
+     */
+    Stream<TickerSummaryDTO> streamWithCompanyName(Predicate predicate, OrderSpecifier<?>[] orderSpecifiers);
+
+    /**
+     * Number of rows satisfying each of {@code conditions}, counted in one statement.
+     */
+    long[] countMatching(List<Predicate> conditions);
+
+    /**
+     * Every row in ticker order, with the tickers and company names in the
+     * database's collation. Loads the in-memory screener snapshot and the
+     * leaderboards, which sort text by it.
+     */
+    TickerSummaryTable findAllWithCollation();
+
     Optional<TickerSummaryDTO> findByTickerWithCompanyName(String ticker);
+
+    /**
+     * Row with only the columns of {@code fields} selected; the others are NULL.
+     */
+    Optional<TickerSummaryDTO> findByTickerWithCompanyName(String ticker, TickerSummaryFields fields);
+
+    /**
+     * Rows of the given lowercase tickers, matched case-insensitively in one
+     * {@code IN} query, in no particular order; tickers that do not exist are left out.
+     */
+    List<TickerSummaryDTO> findAllByTickersWithCompanyName(Collection<String> lowercaseTickers);
 }
\ No newline at end of file
@@ -1,103 +1,221 @@
 package com.stockInformation.tickerSummary.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.stockInformation.cikLookup.entity.QCikLookup;
+import com.stockInformation.common.dto.CountedPage;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
 import com.stockInformation.tickerSummary.entity.QTickerSummary;
 import com.stockInformation.tickerSummary.transformer.SortOrderTransformer;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
 
 @Repository
 public class TickerSummaryCompanyRepositoryImpl implements TickerSummaryCompanyRepository {
 
     private final JPAQueryFactory queryFactory;
+    private final TickerSummaryTotalCounter totalCounter;
+    private final int exportFetchSize;
 
-	public TickerSummaryCompanyRepositoryImpl(JPAQueryFactory queryFactory) {
+	public TickerSummaryCompanyRepositoryImpl(
+            JPAQueryFactory queryFactory,
+            TickerSummaryTotalCounter totalCounter,
+            @Value("${ticker-summary.export.fetch-size:1000}") int exportFetchSize) {
 		this.queryFactory = queryFactory;
+		this.totalCounter = totalCounter;
+		this.exportFetchSize = exportFetchSize;
 	}
 
 	@Override
 	public Page<TickerSummaryDTO> findAllWithCompanyName(Predicate predicate, Pageable pageable) {
+        return findAllWithCompanyName(predicate, pageable, TickerSummaryFields.ALL);
+    }
+
+    @Override
+    public Page<TickerSummaryDTO> findAllWithCompanyName(Predicate predicate, Pageable pageable, TickerSummaryFields fields) {
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
+
+        // Convert Spring Data Sort to Querydsl OrderSpecifiers, with ticker as the unique tiebreaker
+        // so pages of tied values are stable (and match the in-memory screener)
+        List<OrderSpecifier<?>> orderSpecifiers = new ArrayList<>();
+        pageable.getSort().forEach(order -> orderSpecifiers.add(SortOrderTransformer.convertToOrderSpecifier(t, c, order)));
+        if (orderSpecifiers.stream().noneMatch(order -> t.ticker.equals(order.getTarget()))) {
+            orderSpecifiers.add(t.ticker.asc());
+        }
+
+        // Execute data query with DTO projection; the company is joined only to be read or sorted by
+        TickerSummaryProjection projection = TickerSummaryProjection.of(fields);
+        JPAQuery<TickerSummaryDTO> query = queryFactory.select(projection).from(t);
+        boolean sortsByCompany = pageable.getSort().stream()
+            .anyMatch(order -> TickerSummarySortField.of(order.getProperty()) == TickerSummarySortField.COMPANY_NAME);
+        if (projection.needsCompany() || sortsByCompany) {
+            query.leftJoin(t.cikLookup, c);
+        }
+        List<TickerSummaryDTO> content = query
+            .where(predicate)
+            .orderBy(orderSpecifiers.toArray(OrderSpecifier[]::new))
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .fetch();
+
+        // Count only when the total can't be inferred from a short first/last page,
+        // and then through the total counter (cached per filter and data version)
+        boolean[] totalExact = {true};
+        Page<TickerSummaryDTO> page = PageableExecutionUtils.getPage(content, pageable, () -> {
+            TickerSummaryTotalCounter.TotalCount total = totalCounter.count(predicate, () -> {
+                Long count = queryFactory
+                    .select(t.count())
+                    .from(t)
+                    .where(predicate)
+                    .fetchOne();
+                return (count != null) ? count : 0L;
+            });
+            totalExact[0] = total.exact();
+            return total.value();
+        });
+
+        return new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), totalExact[0]);
+	}
+
+    @Override
+    public List<TickerSummaryDTO> findAllWithCompanyName(Predicate predicate, OrderSpecifier<?>[] orderSpecifiers, int limit) {
         QTickerSummary t = QTickerSummary.tickerSummary;
         QCikLookup c = QCikLookup.cikLookup;
 
-        // Convert Spring Data Sort to Querydsl OrderSpecifiers
-        OrderSpecifier<?>[] orderSpecifiers = pageable.getSort().stream()
-            .map(order -> SortOrderTransformer.convertToOrderSpecifier(t, c, order))
-            .toArray(OrderSpecifier[]::new);
-
-        // Execute data query with DTO projection
-        List<TickerSummaryDTO> content = queryFactory
-            .select(Projections.constructor(
-                TickerSummaryDTO.class,
-                t.ticker,
-                c.companyName,
-                t.marketCap,
-                t.previousClose,
-                t.peRatio,
-                t.forwardPeRatio,
-                t.dividendYield,
-                t.payoutRatio,
-                t.annualDividendGrowth,
-                t.fiveYearAvgDividendYield,
-                t.fiftyDayAverage,
-                t.twoHundredDayAverage
-            ))
+        return queryFactory
+            .select(TickerSummaryProjection.of(TickerSummaryFields.ALL))
             .from(t)
             .leftJoin(t.cikLookup, c)
             .where(predicate)
             .orderBy(orderSpecifiers)
-            .offset(pageable.getOffset())
-            .limit(pageable.getPageSize())
+            .limit(limit)
             .fetch();
+    }
+
+    @Override
+    public Stream<TickerSummaryDTO> streamWithCompanyName(Predicate predicate, OrderSpecifier<?>[] orderSpecifiers) {
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
 
-        // Execute optimized count query
-        Long total = queryFactory
-            .select(t.count())
+        // Hibernate backs the result stream with forward-only ScrollableResults; the fetch size
+        // makes the driver stream rows in batches (PostgreSQL needs the open transaction for that)
+        return queryFactory
+            .select(TickerSummaryProjection.of(TickerSummaryFields.ALL))
             .from(t)
+            .leftJoin(t.cikLookup, c)
             .where(predicate)
-            .fetchOne();
+            .orderBy(orderSpecifiers)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .stream();
+    }
 
-        long totalCount = (total != null) ? total : 0L;
+    @Override
+    public long[] countMatching(List<Predicate> conditions) {
+        QTickerSummary t = QTickerSummary.tickerSummary;
 
-        @SuppressWarnings("null")
-        Page<TickerSummaryDTO> page = new PageImpl<>(content, pageable, totalCount);
-        return page;
-	}
+        // count(case when <condition> then ticker end) per condition: one scan for all of them
+        Expression<?>[] counts = conditions.stream()
+            .map(condition -> {
+                Predicate when = condition instanceof BooleanBuilder builder ? builder.getValue() : condition;
+                // an empty condition matches every row
+                return when == null ? t.ticker.count() : new CaseBuilder()
+                    .when(when).then(t.ticker)
+                    .otherwise(Expressions.nullExpression(String.class))
+                    .count();
+            })
+            .toArray(Expression[]::new);
+
+        Tuple row = queryFactory.select(counts).from(t).fetchOne();
+        long[] result = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            Long count = row == null ? null : row.get(i, Long.class);
+            result[i] = count == null ? 0 : count;
+        }
+        return result;
+    }
 
     @Override
-    public Optional<TickerSummaryDTO> findByTickerWithCompanyName(String ticker) {
+    public TickerSummaryTable findAllWithCollation() {
         QTickerSummary t = QTickerSummary.tickerSummary;
         QCikLookup c = QCikLookup.cikLookup;
+        TickerSummaryProjection projection = TickerSummaryProjection.of(TickerSummaryFields.ALL);
+        // ranked by the same statement, so the collation covers exactly the names read
+        NumberExpression<Long> companyNameRank = Expressions.numberTemplate(Long.class, "dense_rank() over (order by {0})", c.companyName);
 
-        TickerSummaryDTO result = queryFactory
-            .select(Projections.constructor(
-                TickerSummaryDTO.class,
-                t.ticker,
-                c.companyName,
-                t.marketCap,
-                t.previousClose,
-                t.peRatio,
-                t.forwardPeRatio,
-                t.dividendYield,
-                t.payoutRatio,
-                t.annualDividendGrowth,
-                t.fiveYearAvgDividendYield,
-                t.fiftyDayAverage,
-                t.twoHundredDayAverage
-            ))
+        List<Tuple> tuples = queryFactory
+            .select(projection, companyNameRank)
             .from(t)
             .leftJoin(t.cikLookup, c)
+            .orderBy(t.ticker.asc())
+            .fetch();
+
+        List<TickerSummaryDTO> rows = new ArrayList<>(tuples.size());
+        List<String> tickers = new ArrayList<>(tuples.size());
+        TreeMap<Long, String> companyNames = new TreeMap<>();
+        for (Tuple tuple : tuples) {
+            TickerSummaryDTO row = tuple.get(projection);
+            rows.add(row);
+            tickers.add(row.ticker());
+            if (row.companyName() != null) companyNames.put(tuple.get(companyNameRank), row.companyName());
+        }
+        return new TickerSummaryTable(rows, TextCollation.of(tickers, List.copyOf(companyNames.values())));
+    }
+
+    @Override
+    public List<TickerSummaryDTO> findAllByTickersWithCompanyName(Collection<String> lowercaseTickers) {
+        if (lowercaseTickers.isEmpty()) return List.of();
+
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
+
+        return queryFactory
+            .select(TickerSummaryProjection.of(TickerSummaryFields.ALL))
+            .from(t)
+            .leftJoin(t.cikLookup, c)
+            .where(t.ticker.lower().in(lowercaseTickers))
+            .fetch();
+    }
+
+    @Override
+    public Optional<TickerSummaryDTO> findByTickerWithCompanyName(String ticker) {
+        return findByTickerWithCompanyName(ticker, TickerSummaryFields.ALL);
+    }
+
+    @Override
+    public Optional<TickerSummaryDTO> findByTickerWithCompanyName(String ticker, TickerSummaryFields fields) {
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
+
+        TickerSummaryProjection projection = TickerSummaryProjection.of(fields);
+        JPAQuery<TickerSummaryDTO> query = queryFactory.select(projection).from(t);
+        if (projection.needsCompany()) {
+            query.leftJoin(t.cikLookup, c);
+        }
+        TickerSummaryDTO result = query
             .where(t.ticker.equalsIgnoreCase(ticker))
             .fetchOne();
 
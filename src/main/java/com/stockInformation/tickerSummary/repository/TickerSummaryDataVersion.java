@@ -0,0 +1,95 @@
+package com.stockInformation.tickerSummary.repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the ticker summary data, for cache keys of results derived from
+ * it: the sum of the insert, update and delete counters in
+ * {@code pg_stat_user_tables} of {@code ticker_summary} and of
+ * {@code cik_lookup} (rows carry its company names), combined with the time
+ * the database's statistics were last reset. Any load of either table
+ * changes the version, so entries cached under an older one are never read
+ * again and expire with their TTL.
+ *
+ * The counters are statistics, not data, which limits the version in two ways:
+ * <ul>
+ *   <li>Backends report them asynchronously (at the end of a transaction, and
+ *   at most about once a second while busy), so for a moment after a load
+ *   commits the version can still be the old one; results cached in that
+ *   window are served until their TTL.</li>
+ *   <li>{@code pg_stat_reset()} sets them back to zero, after which they would
+ *   climb through versions already used. The reset time from
+ *   {@code pg_stat_database.stats_reset} keeps those apart; resetting only these
+ *   tables' counters ({@code pg_stat_reset_single_table_counters}) does not
+ *   move it, and may let stale entries be read again until their TTL.</li>
+ * </ul>
+ *
+ * The counters are probed at most once per
+ * {@code ticker-summary.count.version-check-interval}. Where they are not
+ * available (e.g. H2) the version is always {@value #UNKNOWN} and cached
+ * entries are only bounded by their TTL.
+ */
+@Component
+public class TickerSummaryDataVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerSummaryDataVersion.class);
+
+    public static final long UNKNOWN = -1;
+
+    private static final String DATA_VERSION_SQL = """
+            SELECT SUM(t.n_tup_ins + t.n_tup_upd + t.n_tup_del), d.stats_reset
+            FROM pg_stat_user_tables t, pg_stat_database d
+            WHERE t.relname IN ('ticker_summary', 'cik_lookup')
+            AND d.datname = current_database()
+            GROUP BY d.stats_reset
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long checkIntervalNanos;
+
+    private volatile long version = UNKNOWN;
+    private volatile long checkedAt;
+    private volatile boolean checked;
+
+    public TickerSummaryDataVersion(
+            JdbcTemplate jdbcTemplate,
+            @Value("${ticker-summary.count.version-check-interval:PT10S}") Duration checkInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    public long current() {
+        long now = System.nanoTime();
+        if (!checked || now - checkedAt >= checkIntervalNanos) {
+            version = probe();
+            checkedAt = now;
+            checked = true;
+        }
+        return version;
+    }
+
+    private long probe() {
+        try {
+            Long probed = jdbcTemplate.query(DATA_VERSION_SQL,
+                rs -> rs.next() ? version(rs.getLong(1), rs.getTimestamp(2)) : null);
+            return probed == null ? UNKNOWN : probed;
+        } catch (DataAccessException e) {
+            log.debug("Ticker summary data version unavailable, cached entries expire by TTL only", e);
+            return UNKNOWN;
+        }
+    }
+
+    /** The counters in the low 32 bits, the reset time (in seconds, NULL if never reset) in the high ones. */
+    private static long version(long counters, Timestamp statsReset) {
+        long resetSeconds = statsReset == null ? 0 : statsReset.getTime() / 1000;
+        return resetSeconds << 32 ^ counters;
+    }
+}
@@ -0,0 +1,108 @@
+package com.stockInformation.tickerSummary.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+import com.stockInformation.cikLookup.entity.QCikLookup;
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryField;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+
+/**
+ * Select list of a {@link TickerSummaryDTO} row with the columns of a
+ * {@link TickerSummaryFields} set (the fields left out stay NULL),
+ * converting the NUMERIC(p,2) columns to {@link ScaledDecimal}s as the rows
+ * are read, so the {@link BigDecimal}s of the JDBC result set do not outlive it.
+ *
+ * One instance per field set is built on first use and shared (see {@link #of}),
+ * so a sparse select list costs no more per query than the full one.
+ */
+final class TickerSummaryProjection extends FactoryExpressionBase<TickerSummaryDTO> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int COMPONENTS = TickerSummaryField.values().length;
+
+    private static final Map<TickerSummaryFields, TickerSummaryProjection> SHAPES = new ConcurrentHashMap<>();
+
+    // Stream.toList() returns an unmodifiable list that is serializable
+    @SuppressWarnings("serial")
+    private final List<Expression<?>> args;
+    // component of the DTO that each select list column fills
+    private final int[] components;
+    private final boolean needsCompany;
+
+    private TickerSummaryProjection(TickerSummaryFields fields) {
+        super(TickerSummaryDTO.class);
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
+        this.args = fields.fields().stream().<Expression<?>>map(field -> switch (field) {
+            case TICKER -> t.ticker;
+            case COMPANY_NAME -> c.companyName;
+            case MARKET_CAP -> t.marketCap;
+            case PREVIOUS_CLOSE -> t.previousClose;
+            case PE_RATIO -> t.peRatio;
+            case FORWARD_PE_RATIO -> t.forwardPeRatio;
+            case DIVIDEND_YIELD -> t.dividendYield;
+            case PAYOUT_RATIO -> t.payoutRatio;
+            case ANNUAL_DIVIDEND_GROWTH -> t.annualDividendGrowth;
+            case FIVE_YEAR_AVG_DIVIDEND_YIELD -> t.fiveYearAvgDividendYield;
+            case FIFTY_DAY_AVERAGE -> t.fiftyDayAverage;
+            case TWO_HUNDRED_DAY_AVERAGE -> t.twoHundredDayAverage;
+        }).toList();
+        this.components = fields.fields().stream().mapToInt(TickerSummaryField::ordinal).toArray();
+        this.needsCompany = fields.contains(TickerSummaryField.COMPANY_NAME);
+    }
+
+    /** Projection of {@link QTickerSummary#tickerSummary} left joined to {@link QCikLookup#cikLookup}. */
+    static TickerSummaryProjection of(TickerSummaryFields fields) {
+        return SHAPES.computeIfAbsent(fields, TickerSummaryProjection::new);
+    }
+
+    /** Whether the select list reads the joined company. */
+    boolean needsCompany() {
+        return needsCompany;
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public TickerSummaryDTO newInstance(Object... row) {
+        Object[] values = new Object[COMPONENTS];
+        for (int i = 0; i < components.length; i++) {
+            values[components[i]] = row[i];
+        }
+        return new TickerSummaryDTO(
+            (String) values[0],
+            (String) values[1],
+            (Long) values[2],
+            decimal(values[3]),
+            decimal(values[4]),
+            decimal(values[5]),
+            decimal(values[6]),
+            decimal(values[7]),
+            decimal(values[8]),
+            decimal(values[9]),
+            decimal(values[10]),
+            decimal(values[11]));
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    private static ScaledDecimal decimal(Object value) {
+        return ScaledDecimal.of((BigDecimal) value);
+    }
+}
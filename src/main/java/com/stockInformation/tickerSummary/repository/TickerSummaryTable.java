@@ -0,0 +1,11 @@
+package com.stockInformation.tickerSummary.repository;
+
+import java.util.List;
+
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+
+/**
+ * Every ticker summary row, in ticker order, with the collation of its text
+ * columns read in the same statement.
+ */
+public record TickerSummaryTable(List<TickerSummaryDTO> rows, TextCollation collation) {}
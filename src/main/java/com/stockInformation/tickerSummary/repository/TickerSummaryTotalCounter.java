@@ -0,0 +1,102 @@
+package com.stockInformation.tickerSummary.repository;
+
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+
+/**
+ * Total row counts of the ticker summary list, so the {@code count(*)} of a
+ * filter runs once per data change instead of once per request.
+ *
+ * Totals are cached in the {@code tickersummarycount} cache under the
+ * predicate's text (canonical, see {@code FilterPredicateTransformer}) and the
+ * current {@link TickerSummaryDataVersion}, so a data load retires them.
+ *
+ * With {@code ticker-summary.count.approximate=true}, unfiltered screens use
+ * the planner's row estimate ({@code pg_class.reltuples}) instead of a count.
+ */
+@Component
+public class TickerSummaryTotalCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerSummaryTotalCounter.class);
+
+    static final String CACHE_NAME = "tickersummarycount";
+
+    private static final String ESTIMATE_SQL = """
+            SELECT CAST(reltuples AS bigint)
+            FROM pg_class
+            WHERE relname = 'ticker_summary' AND relkind = 'r'
+            """;
+
+    /** Total of a list query; {@code exact} is false for planner estimates. */
+    public record TotalCount(long value, boolean exact) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TickerSummaryDataVersion dataVersion;
+    private final CacheManager cacheManager;
+    private final boolean approximate;
+
+    public TickerSummaryTotalCounter(
+            JdbcTemplate jdbcTemplate,
+            TickerSummaryDataVersion dataVersion,
+            ObjectProvider<CacheManager> cacheManager,
+            @Value("${ticker-summary.count.approximate:false}") boolean approximate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataVersion = dataVersion;
+        this.cacheManager = cacheManager.getIfAvailable();
+        this.approximate = approximate;
+    }
+
+    /**
+     * Total number of rows matching {@code predicate}.
+     *
+     * @param exactCount runs the {@code count(*)} query, called only when no usable total is cached
+     */
+    public TotalCount count(Predicate predicate, LongSupplier exactCount) {
+        String filterKey = canonicalKey(predicate);
+
+        if (approximate && filterKey.isEmpty()) {
+            Long estimate = estimate();
+            // a never analyzed table reports -1
+            if (estimate != null && estimate >= 0) {
+                return new TotalCount(estimate, false);
+            }
+        }
+
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return new TotalCount(exactCount.getAsLong(), true);
+        }
+        // the JSON Redis serializer reads small totals back as Integer
+        Number total = cache.get(dataVersion.current() + "|" + filterKey, () -> exactCount.getAsLong());
+        return new TotalCount(total == null ? exactCount.getAsLong() : total.longValue(), true);
+    }
+
+    static String canonicalKey(Predicate predicate) {
+        if (predicate == null) return "";
+        if (predicate instanceof BooleanBuilder builder) {
+            return builder.hasValue() ? String.valueOf(builder.getValue()) : "";
+        }
+        return predicate.toString();
+    }
+
+    private Long estimate() {
+        try {
+            return jdbcTemplate.query(ESTIMATE_SQL, rs -> rs.next() ? rs.getLong(1) : null);
+        } catch (DataAccessException e) {
+            log.debug("ticker_summary row estimate unavailable, counting", e);
+            return null;
+        }
+    }
+}
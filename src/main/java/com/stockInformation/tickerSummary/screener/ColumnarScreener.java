@@ -0,0 +1,138 @@
+package com.stockInformation.tickerSummary.screener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTable;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Holder for the current {@link ColumnarSnapshot}, consulted by the ticker
+ * summary service before querying the list from the database.
+ *
+ * The snapshot is reloaded from the database on a fixed delay and swapped in
+ * atomically, so in-memory results may lag a data load by up to
+ * {@code ticker-summary.screener.refresh-interval-ms}. Enabled with
+ * {@code ticker-summary.screener.enabled=true}; while disabled (or before the
+ * first load) every list query goes to the database.
+ *
+ * Range filters use the snapshot's bitmap indexes, which a reload updates
+ * with the changed rows only; {@code ticker-summary.screener.bitmap-indexes=false}
+ * scans the columns instead.
+ *
+ * Results served from the snapshot are cached under the data version read
+ * just before it was loaded (see {@link #dataVersion}), not the current one.
+ */
+@Component
+public class ColumnarScreener {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarScreener.class);
+
+    // a snapshot with the data version read just before it was loaded
+    private record Loaded(ColumnarSnapshot snapshot, long dataVersion) {}
+
+    private final TickerSummaryRepository tickerSummaryRepository;
+    private final TickerSummaryDataVersion tickerSummaryDataVersion;
+    private final boolean enabled;
+    private final boolean bitmapIndexes;
+    private final AtomicReference<Loaded> loaded = new AtomicReference<>();
+
+    public ColumnarScreener(
+            TickerSummaryRepository tickerSummaryRepository,
+            TickerSummaryDataVersion tickerSummaryDataVersion,
+            MeterRegistry meterRegistry,
+            @Value("${ticker-summary.screener.enabled:false}") boolean enabled,
+            @Value("${ticker-summary.screener.bitmap-indexes:true}") boolean bitmapIndexes) {
+        this.tickerSummaryRepository = tickerSummaryRepository;
+        this.tickerSummaryDataVersion = tickerSummaryDataVersion;
+        this.enabled = enabled;
+        this.bitmapIndexes = bitmapIndexes;
+        Gauge.builder("ticker-summary.screener.memory", loaded, l -> l.get() == null ? 0 : l.get().snapshot().memoryBytes())
+            .description("Heap used by the in-memory screener columns")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("ticker-summary.screener.index.memory", loaded, l -> l.get() == null ? 0 : l.get().snapshot().indexMemoryBytes())
+            .description("Heap used by the in-memory screener bitmap indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Answer a list query from the current snapshot.
+     *
+     * @return the page, or empty when the query must go to the database
+     */
+    public Optional<Page<TickerSummaryDTO>> page(TickerSummaryFilter filter, Pageable pageable) {
+        Loaded current = loaded.get();
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.snapshot().page(filter, pageable));
+    }
+
+    /**
+     * Facet histograms of a filter from the current snapshot.
+     *
+     * @return the facets, or empty when they must be counted in the database
+     */
+    public Optional<TickerSummaryFacets> facets(TickerSummaryFilter filter) {
+        Loaded current = loaded.get();
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.snapshot().facets(filter));
+    }
+
+    /**
+     * Data version to cache a page or facets of {@link #page}/{@link #facets}
+     * under: the version of the current snapshot, whose results change with
+     * the next reload rather than with the data, or the current version while
+     * queries go to the database.
+     */
+    public long dataVersion() {
+        Loaded current = loaded.get();
+        if (!enabled || current == null) {
+            return tickerSummaryDataVersion.current();
+        }
+        return current.dataVersion();
+    }
+
+    /**
+     * Reload the snapshot from the database and swap it in.
+     */
+    @Scheduled(
+        initialDelayString = "${ticker-summary.screener.initial-delay-ms:0}",
+        fixedDelayString = "${ticker-summary.screener.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!enabled) return;
+        try {
+            // read before the rows: a load in between makes the version older than the rows, never newer
+            long version = tickerSummaryDataVersion.current();
+            TickerSummaryTable table = tickerSummaryRepository.findAllWithCollation();
+            Loaded previous = loaded.get();
+            ColumnarSnapshot snapshot = ColumnarSnapshot.build(
+                table.rows(), table.collation(), previous == null ? null : previous.snapshot(), bitmapIndexes);
+            loaded.set(new Loaded(snapshot, version));
+            log.info("Ticker summary screener reloaded: {} rows, {} bytes, {} bytes of bitmap indexes",
+                snapshot.size(), snapshot.memoryBytes(), snapshot.indexMemoryBytes());
+        } catch (RuntimeException e) {
+            // keep serving the previous snapshot
+            log.error("Failed to reload ticker summary screener", e);
+        }
+    }
+}
@@ -0,0 +1,797 @@
+package com.stockInformation.tickerSummary.screener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.facet.FacetColumn;
+import com.stockInformation.tickerSummary.repository.TextCollation;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+/**
+ * Immutable column-oriented copy of {@code ticker_summary} joined with the
+ * company names, answering the list endpoint's filter, sort and page in memory.
+ *
+ * NUMERIC(p,2) columns are kept as longs scaled by 100 and
+ * {@code market_cap} as is, each with a null bitmap. With bitmap indexes,
+ * the range filters are answered by a {@link RangeBitmapIndex} per column:
+ * the bucket bitmaps of all filters are ANDed and only rows in a partially
+ * covered bucket are checked against the values. Without them, a filter is a
+ * pass of primitive comparisons per column: every range filter ANDs a 64-row
+ * word of matches into the selection, column after column, in chunks of
+ * {@value #CHUNK_ROWS} rows scanned in parallel for large tables.
+ *
+ * A ticker keeps its row id across reloads (ids of removed tickers are
+ * reused), so a reload only moves the rows whose values changed between the
+ * buckets of the previous snapshot's indexes.
+ *
+ * Every sort field has a precomputed permutation of the rows in its
+ * ascending order. A page of a broad selection is read by walking the
+ * permutation (forwards, or block of equal values by block backwards for
+ * descending) and skipping rows outside the selection, stopping once the page
+ * is full; a narrow selection is sorted by rank instead. A reload keeps the
+ * permutations of columns whose values did not change.
+ *
+ * Results follow the SQL path: range bounds are inclusive and never match
+ * NULL, the ticker query is a case-insensitive substring match, and rows are
+ * ordered like {@code SortOrderTransformer} (NULLs first ascending, last
+ * descending) with ticker ascending as the tiebreaker. Text is ordered by
+ * the {@link TextCollation} read with the rows, i.e. by the database's
+ * collation rather than {@link String#compareTo}.
+ */
+public final class ColumnarSnapshot {
+
+    static final int CHUNK_ROWS = 4096;
+    private static final int PARALLEL_THRESHOLD = 4 * CHUNK_ROWS;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    // a selection of fewer than 1/SPARSE_SELECTION of the rows is sorted rather than found along the permutation
+    private static final int SPARSE_SELECTION = 32;
+
+    // columns of TickerSummaryFilter's range filters
+    private static final Set<NumericColumn> FILTERABLE = EnumSet.of(
+        NumericColumn.MARKET_CAP, NumericColumn.PREVIOUS_CLOSE, NumericColumn.PE_RATIO,
+        NumericColumn.FORWARD_PE_RATIO, NumericColumn.DIVIDEND_YIELD, NumericColumn.PAYOUT_RATIO,
+        NumericColumn.ANNUAL_DIVIDEND_GROWTH);
+
+    /** Numeric columns of the snapshot with their scale in the database. */
+    enum NumericColumn {
+        MARKET_CAP(0, TickerSummaryDTO::marketCap),
+        PREVIOUS_CLOSE(ScaledDecimal.SCALE, TickerSummaryDTO::previousClose),
+        PE_RATIO(ScaledDecimal.SCALE, TickerSummaryDTO::peRatio),
+        FORWARD_PE_RATIO(ScaledDecimal.SCALE, TickerSummaryDTO::forwardPeRatio),
+        DIVIDEND_YIELD(ScaledDecimal.SCALE, TickerSummaryDTO::dividendYield),
+        PAYOUT_RATIO(ScaledDecimal.SCALE, TickerSummaryDTO::payoutRatio),
+        ANNUAL_DIVIDEND_GROWTH(ScaledDecimal.SCALE, TickerSummaryDTO::annualDividendGrowth),
+        FIVE_YEAR_AVG_DIVIDEND_YIELD(ScaledDecimal.SCALE, TickerSummaryDTO::fiveYearAvgDividendYield),
+        FIFTY_DAY_AVERAGE(ScaledDecimal.SCALE, TickerSummaryDTO::fiftyDayAverage),
+        TWO_HUNDRED_DAY_AVERAGE(ScaledDecimal.SCALE, TickerSummaryDTO::twoHundredDayAverage);
+
+        private final int scale;
+        private final Function<TickerSummaryDTO, Number> getter;
+
+        NumericColumn(int scale, Function<TickerSummaryDTO, Number> getter) {
+            this.scale = scale;
+            this.getter = getter;
+        }
+    }
+
+    // row ids, including ids of removed tickers (free, not live)
+    private final int size;
+    private final int liveRows;
+    private final long[] live;
+    private final Map<String, Integer> rowByTicker;
+    private final String[] tickers;
+    private final String[] tickersLower;
+    private final String[] companyNames;
+    private final Column[] columns;
+    // per numeric column, null when not filterable or not indexed
+    private final RangeBitmapIndex[] indexes;
+    // per sort field: dense rank of each row's value, 0 for NULL
+    private final int[][] sortRanks;
+    private final int[] distinctValues;
+    // per sort field: live rows in ascending order (NULLs first, ties by ticker)
+    private final int[][] permutations;
+    // live rows in ticker order
+    private final int[] rowsByTicker;
+
+    private ColumnarSnapshot(
+            Map<String, Integer> rowByTicker,
+            String[] tickers,
+            String[] companyNames,
+            Column[] columns,
+            RangeBitmapIndex[] indexes,
+            int[][] sortRanks,
+            int[] distinctValues,
+            int[][] permutations,
+            int[] rowsByTicker) {
+        this.size = tickers.length;
+        this.liveRows = rowByTicker.size();
+        this.live = new long[(size + 63) >>> 6];
+        for (int row : rowByTicker.values()) live[row >>> 6] |= 1L << row;
+        this.rowByTicker = rowByTicker;
+        this.tickers = tickers;
+        this.tickersLower = Arrays.stream(tickers).map(ticker -> ticker == null ? null : ticker.toLowerCase(Locale.ROOT)).toArray(String[]::new);
+        this.companyNames = companyNames;
+        this.columns = columns;
+        this.indexes = indexes;
+        this.sortRanks = sortRanks;
+        this.distinctValues = distinctValues;
+        this.permutations = permutations;
+        this.rowsByTicker = rowsByTicker;
+    }
+
+    /**
+     * Snapshot of {@code rows} with text in code unit order and bitmap indexes built from scratch.
+     */
+    public static ColumnarSnapshot build(List<TickerSummaryDTO> rows) {
+        return build(rows, TextCollation.CODE_UNIT, null, true);
+    }
+
+    /**
+     * Snapshot of {@code rows}, keeping the row ids of {@code previous} and
+     * updating its bitmap indexes with the rows that changed.
+     *
+     * @param collation order of the tickers and company names of {@code rows}
+     * @param previous snapshot being replaced, or null
+     * @param bitmapIndexes whether range filters use bitmap indexes instead of column scans
+     * @throws IllegalArgumentException if a ticker appears twice
+     */
+    public static ColumnarSnapshot build(
+            List<TickerSummaryDTO> rows, TextCollation collation, ColumnarSnapshot previous, boolean bitmapIndexes) {
+        Map<String, Integer> rowByTicker = assignRows(rows, previous);
+        int size = Math.max(previous == null ? 0 : previous.size, rowByTicker.size());
+        for (int row : rowByTicker.values()) size = Math.max(size, row + 1);
+
+        TickerSummaryDTO[] byRow = new TickerSummaryDTO[size];
+        for (TickerSummaryDTO row : rows) byRow[rowByTicker.get(row.ticker())] = row;
+
+        String[] tickers = new String[size];
+        String[] companyNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            if (byRow[i] == null) continue;
+            tickers[i] = byRow[i].ticker();
+            companyNames[i] = byRow[i].companyName();
+        }
+
+        Column[] columns = new Column[NumericColumn.values().length];
+        for (NumericColumn column : NumericColumn.values()) {
+            columns[column.ordinal()] = Column.of(byRow, column);
+        }
+
+        RangeBitmapIndex[] indexes = new RangeBitmapIndex[columns.length];
+        if (bitmapIndexes) {
+            for (NumericColumn column : FILTERABLE) {
+                indexes[column.ordinal()] = index(column, columns[column.ordinal()], previous);
+            }
+        }
+
+        // with the same tickers on the same rows, the orders of unchanged columns carry over
+        boolean sameRows = previous != null && previous.size == size && previous.rowByTicker.equals(rowByTicker);
+
+        int[] rowsByTicker;
+        if (sameRows) {
+            rowsByTicker = previous.rowsByTicker;
+        } else {
+            rowsByTicker = rowByTicker.values().stream().mapToInt(Integer::intValue).toArray();
+            Integer[] boxed = Arrays.stream(rowsByTicker).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, Comparator.comparing((Integer row) -> tickers[row], collation.tickers()));
+            for (int i = 0; i < boxed.length; i++) rowsByTicker[i] = boxed[i];
+        }
+
+        TickerSummarySortField[] fields = TickerSummarySortField.values();
+        int[][] sortRanks = new int[fields.length][];
+        int[] distinctValues = new int[fields.length];
+        int[][] permutations = new int[fields.length][];
+        for (TickerSummarySortField field : fields) {
+            int f = field.ordinal();
+            boolean unchanged = sameRows && switch (field) {
+                case TICKER -> true;
+                case COMPANY_NAME -> Arrays.equals(companyNames, previous.companyNames);
+                default -> columns[columnOf(field).ordinal()].sameAs(previous.columns[columnOf(field).ordinal()]);
+            };
+            if (unchanged) {
+                sortRanks[f] = previous.sortRanks[f];
+                distinctValues[f] = previous.distinctValues[f];
+                permutations[f] = previous.permutations[f];
+                continue;
+            }
+
+            int[] ranks = new int[size];
+            distinctValues[f] = switch (field) {
+                case TICKER -> {
+                    for (int i = 0; i < rowsByTicker.length; i++) ranks[rowsByTicker[i]] = i + 1;
+                    yield rowsByTicker.length;
+                }
+                case COMPANY_NAME -> rankStrings(companyNames, collation.companyNames(), ranks);
+                default -> columns[columnOf(field).ordinal()].rank(ranks);
+            };
+            sortRanks[f] = ranks;
+            permutations[f] = field == TickerSummarySortField.TICKER ? rowsByTicker : permutation(ranks, rowsByTicker);
+        }
+
+        return new ColumnarSnapshot(
+            rowByTicker, tickers, companyNames, columns, indexes, sortRanks, distinctValues, permutations, rowsByTicker);
+    }
+
+    public int size() {
+        return liveRows;
+    }
+
+    /** Approximate heap footprint of the column, null bitmap, rank and permutation arrays (strings excluded). */
+    public long memoryBytes() {
+        long bytes = (long) sortRanks.length * size * Integer.BYTES + (long) permutations.length * liveRows * Integer.BYTES;
+        for (Column column : columns) {
+            bytes += (long) column.values.length * Long.BYTES + (long) column.nulls.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /** Approximate heap footprint of the bitmap indexes. */
+    public long indexMemoryBytes() {
+        long bytes = 0;
+        for (RangeBitmapIndex index : indexes) {
+            if (index != null) bytes += index.memoryBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * The page of rows matching {@code filter}, ordered by the first order of
+     * the pageable's sort (ticker ascending when unsorted), with the exact total.
+     */
+    public Page<TickerSummaryDTO> page(TickerSummaryFilter filter, Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("ticker"));
+        TickerSummarySortField field = TickerSummarySortField.of(order.getProperty());
+        int offset = (int) Math.min(pageable.getOffset(), liveRows);
+        int limit = pageable.getPageSize();
+
+        List<Range> ranges = ranges(filter);
+        if (ranges != null && ranges.isEmpty() && needle(filter) == null) {
+            return new PageImpl<>(walk(field, order.isAscending(), null, offset, limit), pageable, liveRows);
+        }
+
+        int[] matches = scan(filter);
+        List<TickerSummaryDTO> content;
+        if ((long) matches.length * SPARSE_SELECTION < liveRows) {
+            content = sort(matches, field, order.isAscending(), offset, limit);
+        } else {
+            long[] selection = new long[live.length];
+            for (int row : matches) selection[row >>> 6] |= 1L << row;
+            content = walk(field, order.isAscending(), selection, offset, limit);
+        }
+        return new PageImpl<>(content, pageable, matches.length);
+    }
+
+    /**
+     * Rows {@code offset} to {@code offset + limit} of the selection along the
+     * field's permutation; descending visits the blocks of equal values from
+     * the last to the first (NULLs, first ascending, come last) and each block
+     * in ticker order.
+     *
+     * @param selection bitmap of the selected rows, null for all live rows
+     */
+    private List<TickerSummaryDTO> walk(TickerSummarySortField field, boolean ascending, long[] selection, int offset, int limit) {
+        int[] permutation = permutations[field.ordinal()];
+        List<TickerSummaryDTO> content = new ArrayList<>(Math.min(limit, liveRows));
+        int skip = offset;
+
+        if (ascending) {
+            for (int i = selection == null ? skip : 0; i < permutation.length && content.size() < limit; i++) {
+                int row = permutation[i];
+                if (selection != null && (selection[row >>> 6] & 1L << row) == 0) continue;
+                if (selection != null && skip > 0) {
+                    skip--;
+                    continue;
+                }
+                content.add(row(row));
+            }
+            return content;
+        }
+
+        int[] ranks = sortRanks[field.ordinal()];
+        int end = permutation.length;
+        while (end > 0 && content.size() < limit) {
+            int start = end - 1;
+            int rank = ranks[permutation[start]];
+            while (start > 0 && ranks[permutation[start - 1]] == rank) start--;
+
+            if (selection == null && end - start <= skip) {
+                skip -= end - start;
+            } else {
+                for (int i = start; i < end && content.size() < limit; i++) {
+                    int row = permutation[i];
+                    if (selection != null && (selection[row >>> 6] & 1L << row) == 0) continue;
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    content.add(row(row));
+                }
+            }
+            end = start;
+        }
+        return content;
+    }
+
+    /** Rows {@code offset} to {@code offset + limit} of {@code rows} after sorting their keys. */
+    private List<TickerSummaryDTO> sort(int[] rows, TickerSummarySortField field, boolean ascending, int offset, int limit) {
+        long[] keys = sortKeys(rows, field, ascending);
+        if (keys.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+
+        int from = Math.min(offset, keys.length);
+        int end = (int) Math.min(keys.length, (long) from + limit);
+        List<TickerSummaryDTO> content = new ArrayList<>(end - from);
+        for (int i = from; i < end; i++) {
+            content.add(row(rowsByTicker[(int) (keys[i] % liveRows)]));
+        }
+        return content;
+    }
+
+    /**
+     * Facet histograms of {@code filter} (see {@link FacetColumn}) in one pass
+     * over the rows: a row failing none of the range filters counts in every
+     * histogram and the total, a row failing exactly one only in that
+     * filter's column.
+     */
+    public TickerSummaryFacets facets(TickerSummaryFilter filter) {
+        List<Range> ranges = new ArrayList<>();
+        for (Range range : rangesByColumn(filter)) {
+            if (range != null) ranges.add(range);
+        }
+        String needle = needle(filter);
+
+        FacetColumn[] facets = FacetColumn.values();
+        Column[] facetValues = new Column[facets.length];
+        long[][] bounds = new long[facets.length][];
+        long[][] counts = new long[facets.length][];
+        for (FacetColumn facet : facets) {
+            NumericColumn column = columnOf(facet);
+            facetValues[facet.ordinal()] = columns[column.ordinal()];
+            bounds[facet.ordinal()] = Arrays.stream(facet.bounds())
+                .mapToLong(bound -> bound.movePointRight(column.scale).longValueExact())
+                .toArray();
+            counts[facet.ordinal()] = new long[facet.buckets() + 1];
+        }
+
+        long total = 0;
+        for (int w = 0; w < live.length; w++) {
+            long word = live[w];
+            while (word != 0) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (needle != null && !tickersLower[row].contains(needle)) continue;
+
+                NumericColumn failed = null;
+                int failures = 0;
+                for (int r = 0; r < ranges.size() && failures < 2; r++) {
+                    if (!ranges.get(r).test(row)) {
+                        failed = ranges.get(r).column();
+                        failures++;
+                    }
+                }
+                if (failures > 1) continue;
+                if (failures == 0) total++;
+
+                for (int f = 0; f < facets.length; f++) {
+                    if (failed != null && failed != columnOf(facets[f])) continue;
+                    Column values = facetValues[f];
+                    long[] facetCounts = counts[f];
+                    if (values.isNull(row)) {
+                        facetCounts[facetCounts.length - 1]++;
+                    } else {
+                        int at = Arrays.binarySearch(bounds[f], values.values[row]);
+                        facetCounts[at >= 0 ? at + 1 : -at - 1]++;
+                    }
+                }
+            }
+        }
+        return FacetColumn.facets(total, counts);
+    }
+
+    /** Rows matching {@code filter}, in row id order. */
+    int[] scan(TickerSummaryFilter filter) {
+        List<Range> ranges = ranges(filter);
+        if (ranges == null || liveRows == 0) return NO_ROWS;
+
+        String needle = needle(filter);
+
+        if (!ranges.isEmpty() && ranges.stream().allMatch(range -> indexes[range.column().ordinal()] != null)) {
+            return scanIndexes(ranges, needle);
+        }
+
+        int chunks = (size + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        IntStream chunkIds = IntStream.range(0, chunks);
+        if (size >= PARALLEL_THRESHOLD) {
+            chunkIds = chunkIds.parallel();
+        }
+        List<int[]> matchesByChunk = chunkIds.mapToObj(chunk -> scanChunk(chunk, ranges, needle)).toList();
+
+        int total = 0;
+        for (int[] matches : matchesByChunk) total += matches.length;
+        int[] rows = new int[total];
+        int at = 0;
+        for (int[] matches : matchesByChunk) {
+            System.arraycopy(matches, 0, rows, at, matches.length);
+            at += matches.length;
+        }
+        return rows;
+    }
+
+    /**
+     * AND of the range filters' bucket bitmaps, smallest first; rows from a
+     * partially covered bucket of any filter are then checked against all
+     * filters' values.
+     */
+    private int[] scanIndexes(List<Range> ranges, String needle) {
+        RowBitmap selection = null;
+        RowBitmap unverified = new RowBitmap();
+        List<RangeBitmapIndex.Match> matches = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            matches.add(indexes[range.column().ordinal()].match(range.min(), range.max()));
+        }
+        matches.sort(Comparator.comparingInt(match -> match.exact().cardinality() + match.candidates().cardinality()));
+        for (RangeBitmapIndex.Match match : matches) {
+            RowBitmap matching = match.exact().or(match.candidates());
+            selection = selection == null ? matching : selection.and(matching);
+            unverified = unverified.or(match.candidates());
+            if (selection.isEmpty()) return NO_ROWS;
+        }
+        unverified = unverified.and(selection);
+
+        int[] rows = new int[selection.cardinality()];
+        int[] count = {0};
+        RowBitmap refine = unverified;
+        selection.forEach(row -> {
+            if (refine.contains(row) && !ranges.stream().allMatch(range -> range.test(row))) return;
+            if (needle != null && !tickersLower[row].contains(needle)) return;
+            rows[count[0]++] = row;
+        });
+        return Arrays.copyOf(rows, count[0]);
+    }
+
+    private int[] scanChunk(int chunk, List<Range> ranges, String needle) {
+        int from = chunk * CHUNK_ROWS;
+        int to = Math.min(size, from + CHUNK_ROWS);
+        int words = (to - from + 63) >>> 6;
+
+        // CHUNK_ROWS is a multiple of 64, so chunk words line up with the row bitmaps
+        long[] selection = Arrays.copyOfRange(live, from >>> 6, (from >>> 6) + words);
+
+        for (Range range : ranges) {
+            long[] values = range.values().values;
+            long[] nulls = range.values().nulls;
+            long min = range.min;
+            long max = range.max;
+            for (int w = 0; w < words; w++) {
+                if (selection[w] == 0) continue;
+                int base = from + (w << 6);
+                int end = Math.min(to, base + 64);
+                long word = 0;
+                for (int i = base; i < end; i++) {
+                    long value = values[i];
+                    if (value >= min && value <= max) word |= 1L << (i - base);
+                }
+                selection[w] &= word & ~nulls[base >>> 6];
+            }
+        }
+
+        int[] matches = new int[to - from];
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long word = selection[w];
+            while (word != 0) {
+                int row = from + (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (needle == null || tickersLower[row].contains(needle)) {
+                    matches[count++] = row;
+                }
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Sort keys of {@code rows} for the field and direction: the rank of the
+     * row's value in that order times the row count, plus the row's ticker
+     * rank as the tiebreaker.
+     */
+    private long[] sortKeys(int[] rows, TickerSummarySortField field, boolean ascending) {
+        int[] ranks = sortRanks[field.ordinal()];
+        int[] tickerRanks = sortRanks[TickerSummarySortField.TICKER.ordinal()];
+        int distinct = distinctValues[field.ordinal()];
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            int rank = ranks[row];
+            // NULL (rank 0) sorts first ascending and last descending
+            long position = ascending ? rank : (rank == 0 ? distinct + 1 : distinct + 1 - rank);
+            keys[i] = position * liveRows + tickerRanks[row] - 1;
+        }
+        return keys;
+    }
+
+    private TickerSummaryDTO row(int row) {
+        return new TickerSummaryDTO(
+            tickers[row],
+            companyNames[row],
+            columns[NumericColumn.MARKET_CAP.ordinal()].longValue(row),
+            decimal(NumericColumn.PREVIOUS_CLOSE, row),
+            decimal(NumericColumn.PE_RATIO, row),
+            decimal(NumericColumn.FORWARD_PE_RATIO, row),
+            decimal(NumericColumn.DIVIDEND_YIELD, row),
+            decimal(NumericColumn.PAYOUT_RATIO, row),
+            decimal(NumericColumn.ANNUAL_DIVIDEND_GROWTH, row),
+            decimal(NumericColumn.FIVE_YEAR_AVG_DIVIDEND_YIELD, row),
+            decimal(NumericColumn.FIFTY_DAY_AVERAGE, row),
+            decimal(NumericColumn.TWO_HUNDRED_DAY_AVERAGE, row)
+        );
+    }
+
+    private ScaledDecimal decimal(NumericColumn column, int row) {
+        Column values = columns[column.ordinal()];
+        return values.isNull(row) ? null : ScaledDecimal.ofUnscaled(values.values[row]);
+    }
+
+    /** Permutation of the live rows in the field's ascending order. */
+    int[] permutation(TickerSummarySortField field) {
+        return permutations[field.ordinal()];
+    }
+
+    private static String needle(TickerSummaryFilter filter) {
+        return filter.query() == null || filter.query().isBlank() ? null : filter.query().trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Range conditions of the filter; null when the filter can match nothing. */
+    private List<Range> ranges(TickerSummaryFilter filter) {
+        List<Range> ranges = new ArrayList<>();
+        for (Range range : rangesByColumn(filter)) {
+            if (range == null) continue;
+            if (range.min() > range.max()) return null;
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /** Range condition of each filter, in filter order; null for a column without bounds. */
+    private Range[] rangesByColumn(TickerSummaryFilter filter) {
+        return new Range[] {
+            range(NumericColumn.PREVIOUS_CLOSE, filter.minPreviousClose(), filter.maxPreviousClose()),
+            range(NumericColumn.PE_RATIO, filter.minPe(), filter.maxPe()),
+            range(NumericColumn.FORWARD_PE_RATIO, filter.minForwardPe(), filter.maxForwardPe()),
+            range(NumericColumn.DIVIDEND_YIELD, filter.minDividendYield(), filter.maxDividendYield()),
+            range(NumericColumn.MARKET_CAP, decimal(filter.minMarketCap()), decimal(filter.maxMarketCap())),
+            range(NumericColumn.PAYOUT_RATIO, filter.minPayoutRatio(), filter.maxPayoutRatio()),
+            range(NumericColumn.ANNUAL_DIVIDEND_GROWTH, filter.minAnnualDividendGrowth(), filter.maxAnnualDividendGrowth())
+        };
+    }
+
+    /**
+     * {@code min <= value <= max} on the scaled column; an unscaled bound is
+     * rounded inwards, so e.g. {@code >= 1.005} becomes {@code >= 101}. Bounds
+     * no value can satisfy give a range with {@code min > max}.
+     */
+    private Range range(NumericColumn column, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) return null;
+        long scaledMin = min == null ? Long.MIN_VALUE : scaled(min, column.scale, RoundingMode.CEILING);
+        long scaledMax = max == null ? Long.MAX_VALUE : scaled(max, column.scale, RoundingMode.FLOOR);
+        return new Range(column, columns[column.ordinal()], scaledMin, scaledMax);
+    }
+
+    private static long scaled(BigDecimal value, int scale, RoundingMode rounding) {
+        BigDecimal scaled = value.setScale(scale, rounding).movePointRight(scale);
+        if (scaled.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) return Long.MAX_VALUE;
+        if (scaled.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) <= 0) return Long.MIN_VALUE;
+        return scaled.longValueExact();
+    }
+
+    private static BigDecimal decimal(Long value) {
+        return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    private static NumericColumn columnOf(TickerSummarySortField field) {
+        return switch (field) {
+            case PREVIOUS_CLOSE -> NumericColumn.PREVIOUS_CLOSE;
+            case PE_RATIO -> NumericColumn.PE_RATIO;
+            case FORWARD_PE_RATIO -> NumericColumn.FORWARD_PE_RATIO;
+            case DIVIDEND_YIELD -> NumericColumn.DIVIDEND_YIELD;
+            case ANNUAL_DIVIDEND_GROWTH -> NumericColumn.ANNUAL_DIVIDEND_GROWTH;
+            case MARKET_CAP -> NumericColumn.MARKET_CAP;
+            case PAYOUT_RATIO -> NumericColumn.PAYOUT_RATIO;
+            case FIFTY_DAY_AVERAGE -> NumericColumn.FIFTY_DAY_AVERAGE;
+            case TWO_HUNDRED_DAY_AVERAGE -> NumericColumn.TWO_HUNDRED_DAY_AVERAGE;
+            case TICKER, COMPANY_NAME -> throw new IllegalArgumentException("Not a numeric column: " + field);
+        };
+    }
+
+    /**
+     * The rows of {@code rowsByTicker} ordered by rank (NULL, rank 0, first),
+     * then by ticker.
+     */
+    private static int[] permutation(int[] ranks, int[] rowsByTicker) {
+        int rows = rowsByTicker.length;
+        long[] keys = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            keys[i] = (long) ranks[rowsByTicker[i]] * rows + i;
+        }
+        if (rows >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        int[] permutation = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            permutation[i] = rowsByTicker[(int) (keys[i] % rows)];
+        }
+        return permutation;
+    }
+
+    private static NumericColumn columnOf(FacetColumn facet) {
+        return switch (facet) {
+            case PREVIOUS_CLOSE -> NumericColumn.PREVIOUS_CLOSE;
+            case PE -> NumericColumn.PE_RATIO;
+            case FORWARD_PE -> NumericColumn.FORWARD_PE_RATIO;
+            case DIVIDEND_YIELD -> NumericColumn.DIVIDEND_YIELD;
+            case MARKET_CAP -> NumericColumn.MARKET_CAP;
+            case PAYOUT_RATIO -> NumericColumn.PAYOUT_RATIO;
+            case ANNUAL_DIVIDEND_GROWTH -> NumericColumn.ANNUAL_DIVIDEND_GROWTH;
+        };
+    }
+
+    /** Dense ranks (1-based, NULL = 0) of the strings in the given order; returns the number of distinct values. */
+    private static int rankStrings(String[] values, Comparator<String> collation, int[] ranks) {
+        Integer[] order = IntStream.range(0, values.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparing((Integer row) -> values[row], Comparator.nullsFirst(collation)));
+        int rank = 0;
+        String previous = null;
+        for (int row : order) {
+            String value = values[row];
+            if (value == null) continue;
+            if (rank == 0 || !value.equals(previous)) rank++;
+            ranks[row] = rank;
+            previous = value;
+        }
+        return rank;
+    }
+
+    /**
+     * Row ids for {@code rows}: a ticker of {@code previous} keeps its id, new
+     * tickers take the ids of removed ones first.
+     */
+    private static Map<String, Integer> assignRows(List<TickerSummaryDTO> rows, ColumnarSnapshot previous) {
+        Map<String, Integer> rowByTicker = new HashMap<>(rows.size() * 2);
+        List<String> added = new ArrayList<>();
+        for (TickerSummaryDTO row : rows) {
+            Integer id = previous == null ? null : previous.rowByTicker.get(row.ticker());
+            if (id != null) {
+                if (rowByTicker.put(row.ticker(), id) != null) {
+                    throw new IllegalArgumentException("Duplicate ticker: " + row.ticker());
+                }
+            } else {
+                added.add(row.ticker());
+            }
+        }
+
+        int previousSize = previous == null ? 0 : previous.size;
+        boolean[] taken = new boolean[previousSize];
+        for (int id : rowByTicker.values()) taken[id] = true;
+        int free = 0;
+        int next = previousSize;
+        for (String ticker : added) {
+            while (free < previousSize && taken[free]) free++;
+            int id = free < previousSize ? free++ : next++;
+            if (rowByTicker.putIfAbsent(ticker, id) != null) {
+                throw new IllegalArgumentException("Duplicate ticker: " + ticker);
+            }
+        }
+        return rowByTicker;
+    }
+
+    /** Index of a column, updated from the previous snapshot's when there is one. */
+    private static RangeBitmapIndex index(NumericColumn column, Column values, ColumnarSnapshot previous) {
+        int[] present = values.presentRows();
+        RangeBitmapIndex previousIndex = previous == null ? null : previous.indexes[column.ordinal()];
+        if (previousIndex == null) {
+            return RangeBitmapIndex.build(values.values, present);
+        }
+
+        Column before = previous.columns[column.ordinal()];
+        List<RangeBitmapIndex.Change> changes = new ArrayList<>();
+        for (int row = 0; row < values.values.length; row++) {
+            Long old = row < before.values.length ? before.longValue(row) : null;
+            Long current = values.longValue(row);
+            if (!Objects.equals(old, current)) {
+                changes.add(new RangeBitmapIndex.Change(row, old, current));
+            }
+        }
+        return previousIndex.update(changes, values.values, present);
+    }
+
+    private record Range(NumericColumn column, Column values, long min, long max) {
+        boolean test(int row) {
+            long value = values.values[row];
+            return !values.isNull(row) && value >= min && value <= max;
+        }
+    }
+
+    /** Scaled long values with a null bitmap (set bit = NULL). */
+    private static final class Column {
+        private final long[] values;
+        private final long[] nulls;
+
+        private Column(long[] values, long[] nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        /** Values of {@code rows} by row id; rows without a ticker (free ids) are NULL. */
+        private static Column of(TickerSummaryDTO[] rows, NumericColumn column) {
+            long[] values = new long[rows.length];
+            long[] nulls = new long[(rows.length + 63) >>> 6];
+            for (int i = 0; i < rows.length; i++) {
+                Number value = rows[i] == null ? null : column.getter.apply(rows[i]);
+                if (value == null) {
+                    nulls[i >>> 6] |= 1L << i;
+                } else if (value instanceof ScaledDecimal decimal) {
+                    values[i] = decimal.unscaled();
+                } else {
+                    values[i] = value.longValue();
+                }
+            }
+            return new Column(values, nulls);
+        }
+
+        private boolean isNull(int row) {
+            return (nulls[row >>> 6] & 1L << row) != 0;
+        }
+
+        private Long longValue(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        private boolean sameAs(Column other) {
+            return Arrays.equals(values, other.values) && Arrays.equals(nulls, other.nulls);
+        }
+
+        private int[] presentRows() {
+            return IntStream.range(0, values.length).filter(row -> !isNull(row)).toArray();
+        }
+
+        /** Dense ranks (1-based, NULL = 0) in ascending value order; returns the number of distinct values. */
+        private int rank(int[] ranks) {
+            Integer[] order = IntStream.range(0, values.length).filter(row -> !isNull(row)).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparingLong(row -> values[row]));
+            int rank = 0;
+            for (int i = 0; i < order.length; i++) {
+                if (i == 0 || values[order[i]] != values[order[i - 1]]) rank++;
+                ranks[order[i]] = rank;
+            }
+            return rank;
+        }
+    }
+}
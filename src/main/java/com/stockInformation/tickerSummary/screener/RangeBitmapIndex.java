@@ -0,0 +1,157 @@
+package com.stockInformation.tickerSummary.screener;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bucketed bitmap index over one scaled numeric column of a
+ * {@link ColumnarSnapshot}: the value range is split into about
+ * {@value #BUCKETS} equi-depth buckets, and each bucket holds the
+ * {@link RowBitmap} of its rows. NULLs are in no bucket, so they never match
+ * a range, as in SQL.
+ *
+ * A range query ORs the buckets it covers completely into the exact matches
+ * and the (at most two) buckets it cuts into the candidates, whose rows must
+ * be refined against the column values.
+ *
+ * Instances are immutable: {@link #update} returns a new index that shares
+ * every bucket the changed rows did not touch.
+ */
+final class RangeBitmapIndex {
+
+    static final int BUCKETS = 64;
+
+    // a bucket this much larger than the target depth triggers a rebuild with fresh bounds
+    private static final int MAX_SKEW = 4;
+
+    /** A row whose value moved; {@code null} for NULL or no row. */
+    record Change(int row, Long before, Long after) {}
+
+    /** Result of a range query: exact matches, and candidates to check against the values. */
+    record Match(RowBitmap exact, RowBitmap candidates) {}
+
+    // inclusive lower bound of each bucket; the first is Long.MIN_VALUE
+    private final long[] lowerBounds;
+    private final RowBitmap[] buckets;
+    private final int targetDepth;
+
+    private RangeBitmapIndex(long[] lowerBounds, RowBitmap[] buckets, int targetDepth) {
+        this.lowerBounds = lowerBounds;
+        this.buckets = buckets;
+        this.targetDepth = targetDepth;
+    }
+
+    /**
+     * @param values scaled values by row
+     * @param present rows with a non-NULL value, ascending
+     */
+    static RangeBitmapIndex build(long[] values, int[] present) {
+        long[] sorted = new long[present.length];
+        for (int i = 0; i < present.length; i++) sorted[i] = values[present[i]];
+        Arrays.sort(sorted);
+
+        // bounds at the quantiles, deduplicated so a heavy value gets one bucket
+        int targetDepth = Math.max(1, (sorted.length + BUCKETS - 1) / BUCKETS);
+        long[] bounds = new long[BUCKETS];
+        int count = 0;
+        bounds[count++] = Long.MIN_VALUE;
+        for (int i = targetDepth; i < sorted.length; i += targetDepth) {
+            if (sorted[i] > bounds[count - 1] && sorted[i] != sorted[i - 1]) {
+                bounds[count++] = sorted[i];
+            } else if (sorted[i] > bounds[count - 1]) {
+                // inside a run of equal values: start the bucket after the run
+                int next = upperBound(sorted, sorted[i]);
+                if (next < sorted.length) bounds[count++] = sorted[next];
+            }
+            if (count == BUCKETS) break;
+        }
+
+        long[] lowerBounds = Arrays.copyOf(bounds, count);
+        RowBitmap[] buckets = new RowBitmap[count];
+        for (int i = 0; i < count; i++) buckets[i] = new RowBitmap();
+        for (int row : present) {
+            buckets[bucketOf(lowerBounds, values[row])].add(row);
+        }
+        return new RangeBitmapIndex(lowerBounds, buckets, targetDepth);
+    }
+
+    /**
+     * Index with the changed rows moved between buckets; only the touched
+     * buckets are copied. Rebuilds from {@code values}/{@code present} instead
+     * when the changes skewed a bucket too far from the target depth.
+     */
+    RangeBitmapIndex update(List<Change> changes, long[] values, int[] present) {
+        if (changes.isEmpty()) return this;
+
+        RowBitmap[] updated = buckets.clone();
+        boolean[] copied = new boolean[buckets.length];
+        for (Change change : changes) {
+            if (change.before() != null) {
+                writable(updated, copied, bucketOf(lowerBounds, change.before())).remove(change.row());
+            }
+            if (change.after() != null) {
+                writable(updated, copied, bucketOf(lowerBounds, change.after())).add(change.row());
+            }
+        }
+
+        int maxDepth = Math.max(MAX_SKEW * Math.max(targetDepth, (present.length + BUCKETS - 1) / BUCKETS), MAX_SKEW);
+        for (int i = 0; i < updated.length; i++) {
+            if (copied[i] && updated[i].cardinality() > maxDepth) {
+                return build(values, present);
+            }
+        }
+        return new RangeBitmapIndex(lowerBounds, updated, targetDepth);
+    }
+
+    /** Rows with {@code min <= value <= max}. */
+    Match match(long min, long max) {
+        RowBitmap exact = new RowBitmap();
+        RowBitmap candidates = new RowBitmap();
+        int first = bucketOf(lowerBounds, min);
+        int last = bucketOf(lowerBounds, max);
+        for (int i = first; i <= last; i++) {
+            boolean coversLower = min <= lowerBounds[i];
+            boolean coversUpper = i + 1 < lowerBounds.length ? max >= lowerBounds[i + 1] - 1 : max == Long.MAX_VALUE;
+            if (coversLower && coversUpper) {
+                exact = exact.or(buckets[i]);
+            } else {
+                candidates = candidates.or(buckets[i]);
+            }
+        }
+        return new Match(exact, candidates);
+    }
+
+    int bucketCount() {
+        return buckets.length;
+    }
+
+    /** Approximate heap footprint of the bounds and bucket bitmaps. */
+    long memoryBytes() {
+        long bytes = (long) lowerBounds.length * Long.BYTES;
+        for (RowBitmap bucket : buckets) bytes += bucket.memoryBytes();
+        return bytes;
+    }
+
+    private RowBitmap writable(RowBitmap[] updated, boolean[] copied, int bucket) {
+        if (!copied[bucket]) {
+            updated[bucket] = updated[bucket].copy();
+            copied[bucket] = true;
+        }
+        return updated[bucket];
+    }
+
+    private static int bucketOf(long[] lowerBounds, long value) {
+        int at = Arrays.binarySearch(lowerBounds, value);
+        return at >= 0 ? at : -at - 2;
+    }
+
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,358 @@
+package com.stockInformation.tickerSummary.screener;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative row ids in the layout of Roaring bitmaps:
+ * ids are grouped by their high 16 bits, and each group (container) is a
+ * sorted {@code char[]} while it holds at most {@value #ARRAY_MAX} ids and a
+ * 65536-bit {@code long[]} beyond that. Sparse buckets cost two bytes per
+ * row, dense ones one bit, and AND/OR work container by container.
+ *
+ * Not thread-safe; shared bitmaps must not be modified (see {@link #copy()}).
+ */
+final class RowBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    RowBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private RowBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    static RowBitmap of(int... rows) {
+        RowBitmap bitmap = new RowBitmap();
+        for (int row : rows) bitmap.add(row);
+        return bitmap;
+    }
+
+    void add(int row) {
+        char key = (char) (row >>> 16);
+        int slot = slot(key);
+        if (slot < 0) {
+            slot = -slot - 1;
+            insert(slot, key, new ArrayContainer(new char[4], 0));
+        }
+        containers[slot] = containers[slot].add((char) row);
+    }
+
+    void remove(int row) {
+        int slot = slot((char) (row >>> 16));
+        if (slot < 0) return;
+        Container container = containers[slot].remove((char) row);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, slot + 1, keys, slot, size - slot - 1);
+            System.arraycopy(containers, slot + 1, containers, slot, size - slot - 1);
+            containers[--size] = null;
+        } else {
+            containers[slot] = container;
+        }
+    }
+
+    boolean contains(int row) {
+        int slot = slot((char) (row >>> 16));
+        return slot >= 0 && containers[slot].contains((char) row);
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) cardinality += containers[i].cardinality();
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Independent copy, safe to modify while this one is being read. */
+    RowBitmap copy() {
+        Container[] copied = new Container[containers.length];
+        for (int i = 0; i < size; i++) copied[i] = containers[i].copy();
+        return new RowBitmap(keys.clone(), copied, size);
+    }
+
+    RowBitmap and(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) result.append(keys[i], container);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    RowBitmap or(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /** Calls {@code action} for every row in ascending order. */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    int[] toArray() {
+        int[] rows = new int[cardinality()];
+        int[] at = {0};
+        forEach(row -> rows[at[0]++] = row);
+        return rows;
+    }
+
+    /** Approximate heap footprint of the keys and containers. */
+    long memoryBytes() {
+        long bytes = (long) keys.length * Character.BYTES + (long) containers.length * Integer.BYTES;
+        for (int i = 0; i < size; i++) bytes += containers[i].memoryBytes();
+        return bytes;
+    }
+
+    private int slot(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int slot, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, slot, keys, slot + 1, size - slot);
+        System.arraycopy(containers, slot, containers, slot + 1, size - slot);
+        keys[slot] = key;
+        containers[slot] = container;
+        size++;
+    }
+
+    private void append(char key, Container container) {
+        insert(size, key, container);
+    }
+
+    /** The ids of one 65536-id group, as their low 16 bits. */
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+        Container add(char value);
+        Container remove(char value);
+        boolean contains(char value);
+        int cardinality();
+        Container and(Container other);
+        Container or(Container other);
+        Container copy();
+        void forEach(int high, IntConsumer action);
+        long memoryBytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) return this;
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            at = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at < 0) return this;
+            System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+            cardinality--;
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) result[count++] = values[i];
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container or(Container other) {
+            Container result = other.copy();
+            for (int i = 0; i < cardinality; i++) result = result.add(values[i]);
+            return result;
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        public void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) action.accept(high | values[i]);
+        }
+
+        @Override
+        public long memoryBytes() {
+            return (long) values.length * Character.BYTES + 16;
+        }
+
+        private BitmapContainer toBitmap() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) words[values[i] >>> 6] |= 1L << values[i];
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | 1L << value;
+            if (before != words[value >>> 6]) cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) cardinality--;
+            return cardinality <= ARRAY_MAX ? toArrayContainer() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) return other.and(this);
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer container = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX ? container.toArrayContainer() : container;
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof ArrayContainer) return other.or(this);
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] | otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count);
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        public long memoryBytes() {
+            return (long) BITMAP_WORDS * Long.BYTES + 16;
+        }
+
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
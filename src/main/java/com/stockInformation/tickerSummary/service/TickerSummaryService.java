@@ -5,25 +5,65 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.stockInformation.cikLookup.entity.QCikLookup;
+import com.stockInformation.common.cache.CacheMultiGet;
+import com.stockInformation.common.dto.CountedPage;
+import com.stockInformation.common.dto.CursorPageResponse;
+import com.stockInformation.tickerSummary.dto.ScreenerPage;
+import com.stockInformation.tickerSummary.dto.ScreenerQuery;
+import com.stockInformation.tickerSummary.dto.TickerSummaryCursor;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.dto.TickerSummaryLookup;
 import com.stockInformation.tickerSummary.entity.QTickerSummary;
+import com.stockInformation.tickerSummary.export.TickerSummaryExportWriter;
+import com.stockInformation.tickerSummary.expression.ScreenerExpression;
+import com.stockInformation.tickerSummary.facet.FacetColumn;
 import com.stockInformation.tickerSummary.entity.TickerSummary;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
 import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.screener.ColumnarScreener;
+import com.stockInformation.tickerSummary.transformer.FilterPredicateTransformer;
+import com.stockInformation.tickerSummary.transformer.SeekPredicateTransformer;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.math.BigDecimal;
 import java.util.Objects;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class TickerSummaryService {
 
+    // rows between flushes of an export, so a client sees progress and a disconnect is noticed
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
+    private static final String TICKER_CACHE = "tickersummary";
+
     private final TickerSummaryRepository tickerSummaryRepository;
+    private final ColumnarScreener columnarScreener;
+    private final TickerSummaryDataVersion tickerSummaryDataVersion;
+    private final CacheManager cacheManager;
 
     // Controller is responsible for validating allowed sort fields; service trusts controller inputs.
 
@@ -36,16 +76,73 @@ public class TickerSummaryService {
     }
 
     /**
-     * Find ticker summary DTO by ticker symbol (case-insensitive) with company name joined
+     * Find ticker summary DTO by ticker symbol (case-insensitive) with only
+     * {@code fields} read; the company name is joined only when requested.
+     * Full rows are cached in {@code tickersummary} under the lowercase ticker
+     * and the current data version, as are misses; {@link #findDTOsByTickers}
+     * shares the entries.
      */
     @Transactional(readOnly = true)
-    public Optional<TickerSummaryDTO> findDTOByTicker(String ticker) {
-        return tickerSummaryRepository.findByTickerWithCompanyName(ticker.toLowerCase());
+    @Cacheable(value = TICKER_CACHE, key = "@tickerSummaryDataVersion.current() + '|' + #ticker.toLowerCase()",
+        condition = "#fields.isAll()", sync = true)
+    public Optional<TickerSummaryDTO> findDTOByTicker(String ticker, TickerSummaryFields fields) {
+        return tickerSummaryRepository.findByTickerWithCompanyName(ticker.toLowerCase(), fields);
+    }
+
+    /**
+     * Ticker summaries of several tickers (case-insensitive), in request order,
+     * each marked as found or not. The {@code tickersummary} entries of all
+     * tickers are read in one multi-get; only the missing tickers are read
+     * from the database, in a single {@code IN} query, and written back,
+     * including the ones that do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<TickerSummaryLookup> findDTOsByTickers(List<String> tickers) {
+        Objects.requireNonNull(tickers, "tickers must not be null");
+
+        Cache cache = cacheManager.getCache(TICKER_CACHE);
+        String version = tickerSummaryDataVersion.current() + "|";
+
+        Map<String, String> tickerByKey = new LinkedHashMap<>();
+        for (String ticker : tickers) {
+            tickerByKey.putIfAbsent(version + ticker.toLowerCase(), ticker.toLowerCase());
+        }
+
+        Map<Object, Cache.ValueWrapper> cached = CacheMultiGet.getAll(cache, tickerByKey.keySet());
+        Map<String, TickerSummaryDTO> rowsByKey = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, String> entry : tickerByKey.entrySet()) {
+            Cache.ValueWrapper wrapper = cached.get(entry.getKey());
+            if (wrapper == null) {
+                missing.add(entry.getValue());
+            } else if (wrapper.get() instanceof TickerSummaryDTO row) {
+                rowsByKey.put(entry.getKey(), row);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, TickerSummaryDTO> read = new HashMap<>();
+            for (TickerSummaryDTO row : tickerSummaryRepository.findAllByTickersWithCompanyName(missing)) {
+                read.put(row.ticker().toLowerCase(), row);
+            }
+            for (String ticker : missing) {
+                TickerSummaryDTO row = read.get(ticker);
+                if (row != null) rowsByKey.put(version + ticker, row);
+                if (cache != null) cache.put(version + ticker, row);
+            }
+        }
+
+        List<TickerSummaryLookup> lookups = new ArrayList<>(tickers.size());
+        for (String ticker : tickers) {
+            lookups.add(TickerSummaryLookup.of(ticker, rowsByKey.get(version + ticker.toLowerCase())));
+        }
+        return lookups;
     }
 
     /**
      * Build a dynamic predicate from provided filters and return a paginated Page<TickerSummaryDTO>.
-     * Uses Querydsl for optimized DTO projection with company name.
+     * Uses Querydsl for optimized DTO projection with company name, unless the
+     * in-memory screener is enabled and loaded.
      */
     @Transactional(readOnly = true)
     public Page<TickerSummaryDTO> getPaginatedList(
@@ -75,70 +172,180 @@ public class TickerSummaryService {
         Objects.requireNonNull(sortBy, "sortBy must not be null");
         Objects.requireNonNull(sortOrder, "sortOrder must not be null");
 
-        QTickerSummary t = QTickerSummary.tickerSummary;
-
         // Build dynamic predicates (business logic)
-        BooleanBuilder predicates = new BooleanBuilder();
+        TickerSummaryFilter filter = new TickerSummaryFilter(
+            query,
+            minPreviousClose, maxPreviousClose,
+            minPe, maxPe,
+            minForwardPe, maxForwardPe,
+            minDividendYield, maxDividendYield,
+            minMarketCap, maxMarketCap,
+            minPayoutRatio, maxPayoutRatio,
+            minAnnualDividendGrowth, maxAnnualDividendGrowth
+        );
 
-        if (query != null && !query.isBlank()) {
-            predicates.and(t.ticker.containsIgnoreCase(query.trim()));
-        }
+        // Build pageable with sort
+        Sort.Direction direction = Sort.Direction.fromString(sortOrder);
+        Sort sort = Sort.by(direction, sortBy);
+        Pageable pageable = PageRequest.of(page, pageSize, sort);
 
-        if (minPreviousClose != null) {
-            predicates.and(t.previousClose.goe(minPreviousClose));
-        }
-        if (maxPreviousClose != null) {
-            predicates.and(t.previousClose.loe(maxPreviousClose));
-        }
+        return findPage(filter, null, pageable, TickerSummaryFields.ALL);
+    }
 
-        if (minPe != null) {
-            predicates.and(t.peRatio.goe(minPe));
-        }
-        if (maxPe != null) {
-            predicates.and(t.peRatio.loe(maxPe));
-        }
+    /**
+     * Page of a canonical screener query, cached in {@code tickersummarypage}
+     * under the query's cache key and the data version, so equivalent
+     * requests share one entry and a data load retires them. Pages of the
+     * in-memory screener are keyed by its snapshot's version instead
+     * (see {@link ColumnarScreener#dataVersion}). With a sparse fieldset, the
+     * database reads only those columns; pages of the in-memory screener hold
+     * every field. Queries with a screener expression always read the database.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "tickersummarypage", key = "(#query.expression() == null ? @columnarScreener.dataVersion() : @tickerSummaryDataVersion.current()) + '|' + #query.cacheKey()", sync = true)
+    public ScreenerPage getScreenerPage(ScreenerQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
 
-        if (minForwardPe != null) {
-            predicates.and(t.forwardPeRatio.goe(minForwardPe));
-        }
-        if (maxForwardPe != null) {
-            predicates.and(t.forwardPeRatio.loe(maxForwardPe));
-        }
+        Page<TickerSummaryDTO> result = findPage(query.filter(), query.expression(), query.pageable(), query.fields());
+        boolean totalExact = !(result instanceof CountedPage<?> counted) || counted.isTotalExact();
+        return new ScreenerPage(new ArrayList<>(result.getContent()), result.getTotalElements(), totalExact);
+    }
 
-        if (minDividendYield != null) {
-            predicates.and(t.dividendYield.goe(minDividendYield));
-        }
-        if (maxDividendYield != null) {
-            predicates.and(t.dividendYield.loe(maxDividendYield));
-        }
+    /**
+     * Facet histograms of the query's filter (see {@link FacetColumn}), from
+     * the in-memory screener when it is loaded, otherwise counted in a single
+     * aggregate statement. Cached in {@code tickersummaryfacets} under the
+     * canonical filter and the data version they were counted at; page and sort are ignored.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "tickersummaryfacets", key = "@columnarScreener.dataVersion() + '|' + #query.filterKey()", sync = true)
+    public TickerSummaryFacets getFacets(ScreenerQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
 
-        if (minMarketCap != null) {
-            predicates.and(t.marketCap.goe(minMarketCap));
+        TickerSummaryFilter filter = query.filter();
+        Optional<TickerSummaryFacets> screened = columnarScreener.facets(filter);
+        if (screened.isPresent()) {
+            return screened.get();
         }
-        if (maxMarketCap != null) {
-            predicates.and(t.marketCap.loe(maxMarketCap));
+
+        // the whole filter for the total, then per column its buckets under the other filters
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        List<Predicate> conditions = new ArrayList<>();
+        conditions.add(FilterPredicateTransformer.toPredicate(t, filter));
+        for (FacetColumn column : FacetColumn.values()) {
+            BooleanBuilder others = FilterPredicateTransformer.toPredicate(t, column.without(filter));
+            for (Predicate bucket : column.bucketPredicates(t)) {
+                conditions.add(new BooleanBuilder(others).and(bucket));
+            }
         }
 
-        if (minPayoutRatio != null) {
-            predicates.and(t.payoutRatio.goe(minPayoutRatio));
+        long[] matching = tickerSummaryRepository.countMatching(conditions);
+        long[][] counts = new long[FacetColumn.values().length][];
+        int at = 1;
+        for (FacetColumn column : FacetColumn.values()) {
+            counts[column.ordinal()] = Arrays.copyOfRange(matching, at, at + column.buckets() + 1);
+            at += column.buckets() + 1;
         }
-        if (maxPayoutRatio != null) {
-            predicates.and(t.payoutRatio.loe(maxPayoutRatio));
+        return FacetColumn.facets(matching[0], counts);
+    }
+
+    private Page<TickerSummaryDTO> findPage(
+            TickerSummaryFilter filter, ScreenerExpression expression, Pageable pageable, TickerSummaryFields fields) {
+        if (expression == null) {
+            Optional<Page<TickerSummaryDTO>> screened = columnarScreener.page(filter, pageable);
+            if (screened.isPresent()) {
+                return screened.get();
+            }
         }
 
-        if (minAnnualDividendGrowth != null) {
-            predicates.and(t.annualDividendGrowth.goe(minAnnualDividendGrowth));
+        BooleanBuilder predicates = FilterPredicateTransformer.toPredicate(QTickerSummary.tickerSummary, filter);
+        if (expression != null) {
+            predicates.and(expression.predicate());
         }
-        if (maxAnnualDividendGrowth != null) {
-            predicates.and(t.annualDividendGrowth.loe(maxAnnualDividendGrowth));
+        return tickerSummaryRepository.findAllWithCompanyName(predicates, pageable, fields);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getPaginatedList}: returns the page
+     * after {@code cursor} (the first page when it is null) and the cursor of
+     * the following page. Each page is read with a seek condition on the
+     * last row's sort key, so deep pages cost the same as the first one.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid or belongs to another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TickerSummaryDTO> getCursorPage(
+            TickerSummaryFilter filter,
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortOrder
+    ) {
+        Objects.requireNonNull(filter, "filter must not be null");
+        Objects.requireNonNull(sortBy, "sortBy must not be null");
+        Objects.requireNonNull(sortOrder, "sortOrder must not be null");
+
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
+        TickerSummarySortField sortField = TickerSummarySortField.of(sortBy);
+        boolean ascending = Sort.Direction.fromString(sortOrder).isAscending();
+
+        BooleanBuilder predicates = FilterPredicateTransformer.toPredicate(t, filter);
+        if (cursor != null && !cursor.isBlank()) {
+            TickerSummaryCursor after = TickerSummaryCursor.decode(cursor);
+            if (after.sortField() != sortField || after.ascending() != ascending) {
+                throw new IllegalArgumentException("Cursor does not belong to sortBy=" + sortBy + " sortOrder=" + sortOrder);
+            }
+            predicates.and(SeekPredicateTransformer.seekAfter(
+                t, c, sortField, ascending, sortField.parse(after.value()), after.ticker()));
         }
 
-        // Build pageable with sort
-        Sort.Direction direction = Sort.Direction.fromString(sortOrder);
-        Sort sort = Sort.by(direction, sortBy);
-        Pageable pageable = PageRequest.of(page, pageSize, sort);
+        // one extra row tells whether a next page exists
+        List<TickerSummaryDTO> rows = tickerSummaryRepository.findAllWithCompanyName(
+            predicates, SeekPredicateTransformer.orderSpecifiers(t, c, sortField, ascending), pageSize + 1);
 
-        return tickerSummaryRepository.findAllWithCompanyName(predicates, pageable);
+        boolean hasNext = rows.size() > pageSize;
+        List<TickerSummaryDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext
+            ? TickerSummaryCursor.after(sortField, ascending, content.get(content.size() - 1)).encode()
+            : null;
+
+        return new CursorPageResponse<>(List.copyOf(content), pageSize, content.size(), nextCursor, hasNext);
+    }
+
+    /**
+     * Write every row matching {@code filter} to {@code writer}, in the order
+     * of the keyset-paginated list, without materializing a page: rows are
+     * read through a forward-only database cursor and written one at a time.
+     * Always reads the database, even when the in-memory screener is enabled.
+     *
+     * @return the number of rows written
+     * @throws IOException if writing fails (typically a client disconnect); the cursor is closed
+     */
+    @Transactional(readOnly = true)
+    public long export(TickerSummaryFilter filter, String sortBy, String sortOrder, TickerSummaryExportWriter writer) throws IOException {
+        Objects.requireNonNull(filter, "filter must not be null");
+        Objects.requireNonNull(sortBy, "sortBy must not be null");
+        Objects.requireNonNull(sortOrder, "sortOrder must not be null");
+
+        QTickerSummary t = QTickerSummary.tickerSummary;
+        QCikLookup c = QCikLookup.cikLookup;
+        BooleanBuilder predicates = FilterPredicateTransformer.toPredicate(t, filter);
+        boolean ascending = Sort.Direction.fromString(sortOrder).isAscending();
+
+        long rows = 0;
+        try (Stream<TickerSummaryDTO> stream = tickerSummaryRepository.streamWithCompanyName(
+                predicates, SeekPredicateTransformer.orderSpecifiers(t, c, TickerSummarySortField.of(sortBy), ascending))) {
+            Iterator<TickerSummaryDTO> cursor = stream.iterator();
+            while (cursor.hasNext()) {
+                writer.write(cursor.next());
+                if (++rows % EXPORT_FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
     }
 
     /**
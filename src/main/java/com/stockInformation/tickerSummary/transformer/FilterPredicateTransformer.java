@@ -0,0 +1,82 @@
+package com.stockInformation.tickerSummary.transformer;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import com.querydsl.core.BooleanBuilder;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+
+/**
+ * Utility to convert TickerSummaryFilter to a Querydsl predicate
+ *
+ * The predicate is canonical: conditions are always added in the same order
+ * and values are normalized (query trimmed and lowercased, decimals without
+ * trailing zeros), so equivalent filters produce the same predicate text.
+ * TickerSummaryTotalCounter keys its cached totals on that text.
+ */
+public final class FilterPredicateTransformer {
+
+    public static BooleanBuilder toPredicate(QTickerSummary t, TickerSummaryFilter filter) {
+        BooleanBuilder predicates = new BooleanBuilder();
+
+        if (filter.query() != null && !filter.query().isBlank()) {
+            predicates.and(t.ticker.containsIgnoreCase(filter.query().trim().toLowerCase(Locale.ROOT)));
+        }
+
+        if (filter.minPreviousClose() != null) {
+            predicates.and(t.previousClose.goe(canonical(filter.minPreviousClose())));
+        }
+        if (filter.maxPreviousClose() != null) {
+            predicates.and(t.previousClose.loe(canonical(filter.maxPreviousClose())));
+        }
+
+        if (filter.minPe() != null) {
+            predicates.and(t.peRatio.goe(canonical(filter.minPe())));
+        }
+        if (filter.maxPe() != null) {
+            predicates.and(t.peRatio.loe(canonical(filter.maxPe())));
+        }
+
+        if (filter.minForwardPe() != null) {
+            predicates.and(t.forwardPeRatio.goe(canonical(filter.minForwardPe())));
+        }
+        if (filter.maxForwardPe() != null) {
+            predicates.and(t.forwardPeRatio.loe(canonical(filter.maxForwardPe())));
+        }
+
+        if (filter.minDividendYield() != null) {
+            predicates.and(t.dividendYield.goe(canonical(filter.minDividendYield())));
+        }
+        if (filter.maxDividendYield() != null) {
+            predicates.and(t.dividendYield.loe(canonical(filter.maxDividendYield())));
+        }
+
+        if (filter.minMarketCap() != null) {
+            predicates.and(t.marketCap.goe(filter.minMarketCap()));
+        }
+        if (filter.maxMarketCap() != null) {
+            predicates.and(t.marketCap.loe(filter.maxMarketCap()));
+        }
+
+        if (filter.minPayoutRatio() != null) {
+            predicates.and(t.payoutRatio.goe(canonical(filter.minPayoutRatio())));
+        }
+        if (filter.maxPayoutRatio() != null) {
+            predicates.and(t.payoutRatio.loe(canonical(filter.maxPayoutRatio())));
+        }
+
+        if (filter.minAnnualDividendGrowth() != null) {
+            predicates.and(t.annualDividendGrowth.goe(canonical(filter.minAnnualDividendGrowth())));
+        }
+        if (filter.maxAnnualDividendGrowth() != null) {
+            predicates.and(t.annualDividendGrowth.loe(canonical(filter.maxAnnualDividendGrowth())));
+        }
+
+        return predicates;
+    }
+
+    private static BigDecimal canonical(BigDecimal value) {
+        return value.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,69 @@
+package com.stockInformation.tickerSummary.transformer;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.stockInformation.cikLookup.entity.QCikLookup;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+import static com.stockInformation.tickerSummary.utils.utils.applyNullHandling;
+
+/**
+ * Utility to build the ORDER BY and the seek (WHERE) clause of keyset pagination.
+ *
+ * Rows are ordered by the sort field with the NULL placement of
+ * {@link SortOrderTransformer} (NULLs first ascending, last descending),
+ * then by ticker ascending as the unique tiebreaker. The seek predicate
+ * selects exactly the rows after a given (value, ticker) in that order, so a
+ * page is read directly instead of skipping an offset.
+ */
+public final class SeekPredicateTransformer {
+
+    public static OrderSpecifier<?>[] orderSpecifiers(QTickerSummary t, QCikLookup c, TickerSummarySortField field, boolean ascending) {
+        Order direction = ascending ? Order.ASC : Order.DESC;
+        if (field == TickerSummarySortField.TICKER) {
+            return new OrderSpecifier<?>[] { new OrderSpecifier<>(direction, t.ticker) };
+        }
+
+        OrderSpecifier<?> key = new OrderSpecifier<>(direction, field.expression(t, c));
+        if (field.nullable()) {
+            key = applyNullHandling(key, ascending);
+        }
+        return new OrderSpecifier<?>[] { key, t.ticker.asc() };
+    }
+
+    /**
+     * Rows strictly after ({@code lastValue}, {@code lastTicker}) in the
+     * order of {@link #orderSpecifiers}; {@code lastValue} may be null.
+     */
+    public static Predicate seekAfter(
+            QTickerSummary t, QCikLookup c, TickerSummarySortField field, boolean ascending,
+            Object lastValue, String lastTicker) {
+        if (field == TickerSummarySortField.TICKER) {
+            return ascending ? t.ticker.gt(lastTicker) : t.ticker.lt(lastTicker);
+        }
+
+        ComparableExpressionBase<?> key = field.expression(t, c);
+        BooleanExpression laterTicker = t.ticker.gt(lastTicker);
+
+        if (lastValue == null) {
+            // within the NULL block only the tiebreaker moves; ascending, all values follow the NULLs
+            BooleanBuilder seek = new BooleanBuilder(key.isNull().and(laterTicker));
+            if (ascending) seek.or(key.isNotNull());
+            return seek;
+        }
+
+        BooleanBuilder seek = new BooleanBuilder(
+            ExpressionUtils.predicate(ascending ? Ops.GT : Ops.LT, key, ConstantImpl.create(lastValue)));
+        seek.or(ExpressionUtils.and(
+            ExpressionUtils.predicate(Ops.EQ, key, ConstantImpl.create(lastValue)), laterTicker));
+        // descending, the NULLs come after every value
+        if (!ascending && field.nullable()) seek.or(key.isNull());
+        return seek;
+    }
+}
@@ -10,25 +10,19 @@ import static com.stockInformation.tickerSummary.utils.utils.applyNullHandling;
 
 /**
  * Utility to convert Spring Data Sort.Order to Querydsl OrderSpecifier
+ *
+ * NULLs of nullable columns (the company name included) sort first ascending
+ * and last descending, whatever the database's default; ties are broken by
+ * the caller. Properties are resolved by {@link TickerSummarySortField#of},
+ * unknown ones sorting by ticker.
  */
 public final class SortOrderTransformer {
 
     public static OrderSpecifier<?> convertToOrderSpecifier(QTickerSummary t, QCikLookup c, Sort.Order order) {
         Order direction = order.isAscending() ? Order.ASC : Order.DESC;
-        String prop = order.getProperty().toLowerCase();
+        TickerSummarySortField field = TickerSummarySortField.of(order.getProperty());
 
-        return switch (prop) {
-            case "companyname", "company_name" -> new OrderSpecifier<>(direction, c.companyName);
-            case "previousclose", "previous_close" -> new OrderSpecifier<>(direction, t.previousClose);
-            case "peratio", "pe", "pe_ratio" -> applyNullHandling(new OrderSpecifier<>(direction, t.peRatio), order.isAscending());
-            case "forwardperatio", "forward_pe", "forward_pe_ratio" -> applyNullHandling(new OrderSpecifier<>(direction, t.forwardPeRatio), order.isAscending());
-            case "dividendyield", "dividend_yield" -> applyNullHandling(new OrderSpecifier<>(direction, t.dividendYield), order.isAscending());
-            case "annualdividendgrowth", "annual_dividend_growth" -> applyNullHandling(new OrderSpecifier<>(direction, t.annualDividendGrowth), order.isAscending());
-            case "marketcap", "market_cap" -> new OrderSpecifier<>(direction, t.marketCap);
-            case "payoutratio", "payout_ratio" -> applyNullHandling(new OrderSpecifier<>(direction, t.payoutRatio), order.isAscending());
-            case "fiftydayaverage", "fifty_day_average" -> new OrderSpecifier<>(direction, t.fiftyDayAverage);
-            case "twohundreddayaverage", "two_hundred_day_average" -> new OrderSpecifier<>(direction, t.twoHundredDayAverage);
-            default -> new OrderSpecifier<>(direction, t.ticker); // default to ticker
-        };
+        OrderSpecifier<?> specifier = new OrderSpecifier<>(direction, field.expression(t, c));
+        return field.nullable() ? applyNullHandling(specifier, order.isAscending()) : specifier;
     }
 }
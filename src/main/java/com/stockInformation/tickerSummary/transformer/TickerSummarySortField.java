@@ -0,0 +1,88 @@
+package com.stockInformation.tickerSummary.transformer;
+
+import java.math.BigDecimal;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.stockInformation.cikLookup.entity.QCikLookup;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+
+/**
+ * Sortable ticker summary fields with what keyset pagination needs to seek
+ * past a row: the sorted expression, the value of a result row, how to read
+ * the value back from a cursor and whether it can be NULL.
+ *
+ * {@link #of} holds the property aliases of every sort, including those of
+ * {@link SortOrderTransformer}.
+ */
+public enum TickerSummarySortField {
+
+    TICKER(false, (t, c) -> t.ticker, TickerSummaryDTO::ticker, value -> value),
+    COMPANY_NAME(true, (t, c) -> c.companyName, TickerSummaryDTO::companyName, value -> value),
+    PREVIOUS_CLOSE(false, (t, c) -> t.previousClose, TickerSummaryDTO::previousClose, BigDecimal::new),
+    PE_RATIO(true, (t, c) -> t.peRatio, TickerSummaryDTO::peRatio, BigDecimal::new),
+    FORWARD_PE_RATIO(true, (t, c) -> t.forwardPeRatio, TickerSummaryDTO::forwardPeRatio, BigDecimal::new),
+    DIVIDEND_YIELD(true, (t, c) -> t.dividendYield, TickerSummaryDTO::dividendYield, BigDecimal::new),
+    ANNUAL_DIVIDEND_GROWTH(true, (t, c) -> t.annualDividendGrowth, TickerSummaryDTO::annualDividendGrowth, BigDecimal::new),
+    MARKET_CAP(false, (t, c) -> t.marketCap, TickerSummaryDTO::marketCap, Long::valueOf),
+    PAYOUT_RATIO(true, (t, c) -> t.payoutRatio, TickerSummaryDTO::payoutRatio, BigDecimal::new),
+    FIFTY_DAY_AVERAGE(false, (t, c) -> t.fiftyDayAverage, TickerSummaryDTO::fiftyDayAverage, BigDecimal::new),
+    TWO_HUNDRED_DAY_AVERAGE(false, (t, c) -> t.twoHundredDayAverage, TickerSummaryDTO::twoHundredDayAverage, BigDecimal::new);
+
+    private final boolean nullable;
+    private final BiFunction<QTickerSummary, QCikLookup, ComparableExpressionBase<?>> expression;
+    private final Function<TickerSummaryDTO, Object> value;
+    private final Function<String, Object> parser;
+
+    TickerSummarySortField(
+            boolean nullable,
+            BiFunction<QTickerSummary, QCikLookup, ComparableExpressionBase<?>> expression,
+            Function<TickerSummaryDTO, Object> value,
+            Function<String, Object> parser) {
+        this.nullable = nullable;
+        this.expression = expression;
+        this.value = value;
+        this.parser = parser;
+    }
+
+    public static TickerSummarySortField of(String property) {
+        return switch (property.toLowerCase()) {
+            case "companyname", "company_name" -> COMPANY_NAME;
+            case "previousclose", "previous_close" -> PREVIOUS_CLOSE;
+            case "peratio", "pe", "pe_ratio" -> PE_RATIO;
+            case "forwardperatio", "forward_pe", "forward_pe_ratio" -> FORWARD_PE_RATIO;
+            case "dividendyield", "dividend_yield" -> DIVIDEND_YIELD;
+            case "annualdividendgrowth", "annual_dividend_growth" -> ANNUAL_DIVIDEND_GROWTH;
+            case "marketcap", "market_cap" -> MARKET_CAP;
+            case "payoutratio", "payout_ratio" -> PAYOUT_RATIO;
+            case "fiftydayaverage", "fifty_day_average" -> FIFTY_DAY_AVERAGE;
+            case "twohundreddayaverage", "two_hundred_day_average" -> TWO_HUNDRED_DAY_AVERAGE;
+            default -> TICKER; // default to ticker
+        };
+    }
+
+    public boolean nullable() {
+        return nullable;
+    }
+
+    public ComparableExpressionBase<?> expression(QTickerSummary t, QCikLookup c) {
+        return expression.apply(t, c);
+    }
+
+    public Object valueOf(TickerSummaryDTO row) {
+        return value.apply(row);
+    }
+
+    /** Cursor text of a sort value; null stays null. */
+    public String format(Object sortValue) {
+        if (sortValue == null) return null;
+        return sortValue instanceof BigDecimal decimal ? decimal.toPlainString() : sortValue.toString();
+    }
+
+    /** Inverse of {@link #format(Object)}. */
+    public Object parse(String text) {
+        return text == null ? null : parser.apply(text);
+    }
+}
@@ -3,6 +3,8 @@ package com.stockInformation.tickerSummary.utils;
 import java.math.BigDecimal;
 import java.util.Set;
 
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+
 public class TickerSummaryValidationUtils {
 
     public static final Set<Integer> PAGE_SIZES = Set.of(5, 10, 25, 50);
@@ -18,6 +20,8 @@ public class TickerSummaryValidationUtils {
         "ASC", "DESC"
     );
 
+    public static final int MAX_LEADERBOARD_LIMIT = 50;
+
     public static final BigDecimal MAX_PERCENTAGE = new BigDecimal("999.99");
 
     public static boolean isValidPage(int page) {
@@ -28,6 +32,10 @@ public class TickerSummaryValidationUtils {
         return PAGE_SIZES.contains(pageSize);
     }
 
+    public static boolean isValidLeaderboardLimit(int limit) {
+        return limit >= 1 && limit <= MAX_LEADERBOARD_LIMIT;
+    }
+
     public static boolean isValidSortOrder(String sortOrder) {
         return SORT_DIRECTIONS.contains(sortOrder);
     }
@@ -48,4 +56,18 @@ public class TickerSummaryValidationUtils {
         return percentage == null || (percentage.compareTo(BigDecimal.ZERO) >= 0 && percentage.compareTo(MAX_PERCENTAGE) <= 0);
     }
 
+    public static boolean isValidFilter(TickerSummaryFilter filter) {
+        // PE ratios can be negative (no validation needed)
+        return isValidMarketCap(filter.minMarketCap())
+            && isValidMarketCap(filter.maxMarketCap())
+            && isValidPreviousClose(filter.minPreviousClose())
+            && isValidPreviousClose(filter.maxPreviousClose())
+            && isValidPercentage(filter.minDividendYield())
+            && isValidPercentage(filter.maxDividendYield())
+            && isValidPercentage(filter.minPayoutRatio())
+            && isValidPercentage(filter.maxPayoutRatio())
+            && isValidPercentage(filter.minAnnualDividendGrowth())
+            && isValidPercentage(filter.maxAnnualDividendGrowth());
+    }
+
 }
\ No newline at end of file
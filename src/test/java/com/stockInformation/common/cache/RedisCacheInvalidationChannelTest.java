@@ -0,0 +1,63 @@
+package com.stockInformation.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheInvalidationChannelTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    void testOwnMessagesAreIgnored() {
+        // Given
+        RedisCacheInvalidationChannel channel = new RedisCacheInvalidationChannel(redisTemplate, "invalidation");
+        List<CacheInvalidation> received = new ArrayList<>();
+        channel.subscribe(received::add);
+
+        // When
+        channel.publish(CacheInvalidation.evict("autocomplete", "aapl"));
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("invalidation"), sent.capture());
+        channel.onMessage(message(sent.getValue()), null);
+
+        // Then
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void testMessagesFromOtherPublishersAreDelivered() {
+        // Given
+        RedisCacheInvalidationChannel channel = new RedisCacheInvalidationChannel(redisTemplate, "invalidation");
+        List<CacheInvalidation> received = new ArrayList<>();
+        channel.subscribe(received::add);
+
+        // When
+        channel.onMessage(message("ingestion|C|autocomplete"), null);
+        channel.onMessage(message("other-node|E|autocomplete|apple|inc"), null);
+        channel.onMessage(message("garbage"), null);
+
+        // Then
+        assertThat(received).containsExactly(
+            CacheInvalidation.clear("autocomplete"),
+            CacheInvalidation.evict("autocomplete", "apple|inc"));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("invalidation".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,86 @@
+package com.stockInformation.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheManagerTest {
+
+    private static final int CALLERS = 32;
+
+    @Test
+    void testConcurrentMissesRunOneLoader() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Cache cache = new SingleFlightCacheManager(new ConcurrentMapCacheManager("autocomplete"), meterRegistry)
+            .getCache("autocomplete");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> cache.get("aapl", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "Apple";
+                })));
+            }
+            // let every caller reach the cache before the single load completes
+            waitForCoalescedCallers(meterRegistry, CALLERS - 1);
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Apple");
+            }
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("cache.singleflight.coalesced", "cache", "autocomplete").count())
+            .isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void testFailedLoadIsRethrownAndNotCached() {
+        // Given
+        Cache cache = new SingleFlightCacheManager(new ConcurrentMapCacheManager("autocomplete"), null)
+            .getCache("autocomplete");
+
+        // When / Then
+        assertThatThrownBy(() -> cache.get("aapl", () -> { throw new IllegalStateException("db down"); }))
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("aapl")).isNull();
+        assertThat(cache.get("aapl", () -> "Apple")).isEqualTo("Apple");
+    }
+
+    @Test
+    void testUnknownCacheIsNull() {
+        // Given
+        ConcurrentMapCacheManager delegate = new ConcurrentMapCacheManager("autocomplete");
+
+        // When / Then
+        assertThat(new SingleFlightCacheManager(delegate, null).getCache("other")).isNull();
+    }
+
+    private static void waitForCoalescedCallers(SimpleMeterRegistry meterRegistry, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("cache.singleflight.coalesced", "cache", "autocomplete").count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
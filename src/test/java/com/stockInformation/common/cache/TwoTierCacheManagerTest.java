@@ -0,0 +1,232 @@
+package com.stockInformation.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheManagerTest {
+
+    private CountingCache remote;
+    private SimpleCacheManager remoteManager;
+    private List<InMemoryChannel> bus;
+
+    @BeforeEach
+    void setUp() {
+        remote = new CountingCache("autocomplete");
+        remoteManager = new SimpleCacheManager();
+        remoteManager.setCaches(List.of(remote));
+        remoteManager.afterPropertiesSet();
+        bus = new ArrayList<>();
+    }
+
+    @Test
+    void testHitIsServedFromLocalLayer() {
+        // Given
+        Cache cache = node(properties(true)).getCache("autocomplete");
+        cache.put("aapl", "Apple");
+
+        // When
+        Object first = cache.get("aapl").get();
+        Object second = cache.get("aapl").get();
+
+        // Then
+        assertThat(first).isEqualTo("Apple");
+        assertThat(second).isEqualTo("Apple");
+        assertThat(remote.gets.get()).isZero();
+    }
+
+    @Test
+    void testColdInstanceIsPopulatedFromRemote() {
+        // Given
+        remote.put("msft", "Microsoft");
+        Cache cache = node(properties(true)).getCache("autocomplete");
+
+        // When
+        cache.get("msft");
+        Object value = cache.get("msft").get();
+
+        // Then
+        assertThat(value).isEqualTo("Microsoft");
+        assertThat(remote.gets.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testMultiGetReadsLocalHitsAndOnlyFetchesMisses() {
+        // Given
+        Cache cache = node(properties(true)).getCache("autocomplete");
+        cache.put("aapl", "Apple");
+        remote.put("msft", "Microsoft");
+
+        // When
+        Map<Object, Cache.ValueWrapper> found = CacheMultiGet.getAll(cache, List.of("aapl", "msft", "none"));
+        Object msft = cache.get("msft").get();
+
+        // Then
+        assertThat(found).containsOnlyKeys("aapl", "msft");
+        assertThat(found.get("msft").get()).isEqualTo("Microsoft");
+        assertThat(msft).isEqualTo("Microsoft");
+        // one remote read per missing key (the concurrent map has no native multi-get), none for the local hit
+        assertThat(remote.gets.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testCachedNullIsServedLocally() {
+        // Given
+        Cache cache = node(properties(true)).getCache("autocomplete");
+
+        // When
+        Object loaded = cache.get("none", () -> null);
+        Cache.ValueWrapper wrapper = cache.get("none");
+
+        // Then
+        assertThat(loaded).isNull();
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isNull();
+    }
+
+    @Test
+    void testEvictIsBroadcastToOtherInstances() {
+        // Given
+        Cache nodeA = node(properties(true)).getCache("autocomplete");
+        Cache nodeB = node(properties(true)).getCache("autocomplete");
+        nodeA.put("aapl", "Apple");
+        nodeB.get("aapl");
+
+        // When
+        nodeA.evict("aapl");
+
+        // Then
+        assertThat(nodeB.get("aapl")).isNull();
+    }
+
+    @Test
+    void testPutIsBroadcastToOtherInstances() {
+        // Given
+        Cache nodeA = node(properties(true)).getCache("autocomplete");
+        Cache nodeB = node(properties(true)).getCache("autocomplete");
+        nodeA.put("aapl", "Apple");
+        nodeB.get("aapl");
+
+        // When
+        nodeA.put("aapl", "Apple Inc.");
+
+        // Then
+        assertThat(nodeB.get("aapl").get()).isEqualTo("Apple Inc.");
+    }
+
+    @Test
+    void testNoSubscriptionBeforeInitialization() {
+        // Given
+        InMemoryChannel channel = new InMemoryChannel(bus);
+
+        // When
+        new TwoTierCacheManager(remoteManager, properties(true), channel, new SimpleMeterRegistry());
+
+        // Then
+        assertThat(channel.listeners).isEmpty();
+    }
+
+    @Test
+    void testClearIsBroadcastToOtherInstances() {
+        // Given
+        Cache nodeA = node(properties(true)).getCache("autocomplete");
+        Cache nodeB = node(properties(true)).getCache("autocomplete");
+        nodeA.put("aapl", "Apple");
+        nodeB.get("aapl");
+
+        // When
+        nodeA.clear();
+        // the next writer stores the refreshed value in the shared layer
+        remote.put("aapl", "Apple Inc.");
+
+        // Then
+        assertThat(nodeB.get("aapl").get()).isEqualTo("Apple Inc.");
+    }
+
+    @Test
+    void testDisabledReturnsRemoteCache() {
+        // Given
+        TwoTierCacheManager manager = node(properties(false));
+
+        // When
+        Cache cache = manager.getCache("autocomplete");
+
+        // Then
+        assertThat(cache).isSameAs(remote);
+    }
+
+    @Test
+    void testPerCacheSizeOverrideOfZeroBypassesLocalLayer() {
+        // Given
+        LocalCacheProperties properties = new LocalCacheProperties(true, 100, Duration.ofMinutes(1), "test",
+            Map.of("autocomplete", new LocalCacheProperties.Spec(0L, null)));
+
+        // When
+        Cache cache = node(properties).getCache("autocomplete");
+
+        // Then
+        assertThat(cache).isSameAs(remote);
+    }
+
+    private TwoTierCacheManager node(LocalCacheProperties properties) {
+        InMemoryChannel channel = new InMemoryChannel(bus);
+        bus.add(channel);
+        TwoTierCacheManager manager = new TwoTierCacheManager(remoteManager, properties, channel, new SimpleMeterRegistry());
+        manager.afterPropertiesSet();
+        return manager;
+    }
+
+    private static LocalCacheProperties properties(boolean enabled) {
+        return new LocalCacheProperties(enabled, 100, Duration.ofMinutes(1), "test", null);
+    }
+
+    private static final class CountingCache extends ConcurrentMapCache {
+
+        private final AtomicInteger gets = new AtomicInteger();
+
+        CountingCache(String name) {
+            super(name);
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            gets.incrementAndGet();
+            return super.get(key);
+        }
+    }
+
+    /** Delivers each message to every other channel on the same bus. */
+    private static final class InMemoryChannel implements CacheInvalidationChannel {
+
+        private final List<InMemoryChannel> bus;
+        private final List<Consumer<CacheInvalidation>> listeners = new ArrayList<>();
+
+        InMemoryChannel(List<InMemoryChannel> bus) {
+            this.bus = bus;
+        }
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            for (InMemoryChannel other : bus) {
+                if (other != this) other.listeners.forEach(listener -> listener.accept(invalidation));
+            }
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+            listeners.add(listener);
+        }
+    }
+}
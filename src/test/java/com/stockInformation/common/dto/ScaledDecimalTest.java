@@ -0,0 +1,64 @@
+package com.stockInformation.common.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScaledDecimalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testJsonMatchesBigDecimalOfTheColumn() throws Exception {
+        // Given: values as read from a NUMERIC(p,2) column
+        Random random = new Random(3);
+        long[] unscaled = new long[1_000];
+        for (int i = 0; i < unscaled.length; i++) {
+            unscaled[i] = i < 10 ? i - 5 : random.nextLong() >> random.nextInt(64);
+        }
+
+        for (long value : unscaled) {
+            BigDecimal decimal = BigDecimal.valueOf(value, 2);
+
+            // When
+            String json = objectMapper.writeValueAsString(ScaledDecimal.ofUnscaled(value));
+
+            // Then
+            assertThat(json).isEqualTo(objectMapper.writeValueAsString(decimal));
+            assertThat(ScaledDecimal.ofUnscaled(value)).hasToString(decimal.toPlainString());
+            assertThat(objectMapper.readValue(json, ScaledDecimal.class)).isEqualTo(ScaledDecimal.of(decimal));
+        }
+        assertThat(ScaledDecimal.ofUnscaled(Long.MIN_VALUE)).hasToString(BigDecimal.valueOf(Long.MIN_VALUE, 2).toPlainString());
+    }
+
+    @Test
+    void testRowRoundTripsThroughTheCacheSerializer() {
+        // Given
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        TickerSummaryDTO row = new TickerSummaryDTO("AAPL", "Apple Inc.", 3_000_000_000_000L, ScaledDecimal.of("150.25"),
+            ScaledDecimal.of("25.5"), null, ScaledDecimal.of("0.82"), null, null, null, ScaledDecimal.of("145"), null);
+
+        // When
+        Object read = serializer.deserialize(serializer.serialize(row));
+
+        // Then
+        assertThat(read).isEqualTo(row);
+    }
+
+    @Test
+    void testRejectsMoreThanTwoFractionDigits() {
+        assertThat(ScaledDecimal.of("1.50")).isEqualTo(ScaledDecimal.ofUnscaled(150));
+        assertThat(ScaledDecimal.of("1.500")).isEqualTo(ScaledDecimal.ofUnscaled(150));
+        assertThatThrownBy(() -> ScaledDecimal.of("1.005")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("1.005", ScaledDecimal.class))
+            .hasMessageContaining("fraction digits");
+    }
+}
@@ -0,0 +1,71 @@
+package com.stockInformation.common.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryCancellationTest {
+
+    @Test
+    void testCancelAbortsRegisteredStatement() {
+        // Given
+        QueryCancellation scope = new QueryCancellation();
+        AtomicInteger cancelCalls = new AtomicInteger();
+
+        // When
+        scope.run(() -> {
+            QueryCancellation.Registration registration = QueryCancellation.register(cancelCalls::incrementAndGet);
+            try {
+                // another thread supersedes the query while the statement runs
+                scope.cancel();
+            } finally {
+                registration.close();
+            }
+            return null;
+        });
+
+        // Then
+        assertThat(cancelCalls).hasValue(1);
+        assertThat(scope.isCancelled()).isTrue();
+    }
+
+    @Test
+    void testCancelledScopeRefusesNewStatements() {
+        // Given
+        QueryCancellation scope = new QueryCancellation();
+        scope.cancel();
+
+        // When / Then
+        assertThatThrownBy(() -> scope.run(() -> QueryCancellation.register(() -> { })))
+            .isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void testFinishedStatementIsNotCancelled() {
+        // Given
+        QueryCancellation scope = new QueryCancellation();
+        AtomicInteger cancelCalls = new AtomicInteger();
+        scope.run(() -> {
+            QueryCancellation.register(cancelCalls::incrementAndGet).close();
+            return null;
+        });
+
+        // When
+        scope.cancel();
+
+        // Then
+        assertThat(cancelCalls).hasValue(0);
+    }
+
+    @Test
+    void testRegisterOutsideScopeIsNoOp() {
+        // When / Then
+        try (QueryCancellation.Registration registration = QueryCancellation.register(() -> { throw new AssertionError(); })) {
+            assertThat(registration).isNotNull();
+        }
+    }
+}
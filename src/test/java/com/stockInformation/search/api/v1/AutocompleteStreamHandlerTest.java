@@ -0,0 +1,156 @@
+package com.stockInformation.search.api.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockInformation.common.query.QueryCancellation;
+import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.service.AutocompleteNarrowing;
+import com.stockInformation.search.service.QueryHeavyHitters;
+import com.stockInformation.search.service.SearchService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteStreamHandlerTest {
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private AutocompleteNarrowing autocompleteNarrowing;
+
+    @Mock
+    private QueryHeavyHitters queryHeavyHitters;
+
+    @Mock
+    private WebSocketSession session;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutocompleteStreamHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new AutocompleteStreamHandler(
+            searchService, autocompleteNarrowing, queryHeavyHitters, new ObjectMapper(), meterRegistry);
+        when(session.getId()).thenReturn("ws-1");
+        handler.afterConnectionEstablished(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    void testSupersededQueryIsCancelledAndOnlyLatestIsSent() throws Exception {
+        // Given
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowCancelled = new CountDownLatch(1);
+        AtomicBoolean statementCancelled = new AtomicBoolean();
+        when(session.isOpen()).thenReturn(true);
+        when(searchService.autocomplete("ap", "ws-1")).thenAnswer(invocation -> {
+            // simulates a running statement registered by the repository
+            QueryCancellation.Registration registration = QueryCancellation.register(() -> {
+                statementCancelled.set(true);
+                slowCancelled.countDown();
+            });
+            try {
+                slowStarted.countDown();
+                slowCancelled.await(5, TimeUnit.SECONDS);
+            } finally {
+                registration.close();
+            }
+            return new AutocompleteResponse("ap", List.of(new AutocompleteResult("AP", "Ampco-Pittsburgh", 0.5)));
+        });
+        when(searchService.autocomplete("apple", "ws-1")).thenReturn(
+            new AutocompleteResponse("apple", List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.9))));
+
+        // When
+        handler.handleTextMessage(session, new TextMessage("ap"));
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        handler.handleTextMessage(session, new TextMessage("apple"));
+
+        // Then
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, timeout(5000)).sendMessage(sent.capture());
+        assertThat(statementCancelled).isTrue();
+        assertThat((String) sent.getValue().getPayload()).contains("\"query\":\"apple\"").doesNotContain("Ampco");
+        verify(session, after(200).times(1)).sendMessage(any());
+        assertThat(meterRegistry.counter("search.autocomplete.stream.cancelled").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testQueriesArrivingDuringASearchAreCoalescedToTheLatest() throws Exception {
+        // Given: a search that does not react to cancellation
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(session.isOpen()).thenReturn(true);
+        when(searchService.autocomplete("a", "ws-1")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new AutocompleteResponse("a", List.of());
+        });
+        when(searchService.autocomplete("apple", "ws-1")).thenReturn(
+            new AutocompleteResponse("apple", List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.9))));
+        handler.handleTextMessage(session, new TextMessage("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        for (String query : List.of("ap", "app", "appl", "apple")) {
+            handler.handleTextMessage(session, new TextMessage(query));
+        }
+        release.countDown();
+
+        // Then: the intermediate queries never ran
+        verify(session, timeout(5000)).sendMessage(any());
+        verify(searchService).autocomplete("apple", "ws-1");
+        verify(searchService, after(200).times(2)).autocomplete(any(), eq("ws-1"));
+    }
+
+    @Test
+    void testClosingConnectionCancelsInFlightSearch() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        when(searchService.autocomplete("micro", "ws-1")).thenAnswer(invocation -> {
+            QueryCancellation.Registration registration = QueryCancellation.register(cancelledLatch::countDown);
+            try {
+                started.countDown();
+                cancelledLatch.await(5, TimeUnit.SECONDS);
+            } finally {
+                registration.close();
+            }
+            throw new IllegalStateException("canceling statement due to user request");
+        });
+        handler.handleTextMessage(session, new TextMessage("micro"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        // Then
+        assertThat(cancelledLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(session, after(200).never()).sendMessage(any());
+    }
+}
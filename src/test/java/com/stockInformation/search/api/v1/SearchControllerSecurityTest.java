@@ -0,0 +1,92 @@
+package com.stockInformation.search.api.v1;
+
+import com.stockInformation.config.SecurityConfig;
+import com.stockInformation.search.dto.HeavyHittersResponse;
+import com.stockInformation.search.service.AutocompleteNarrowing;
+import com.stockInformation.search.service.QueryHeavyHitters;
+import com.stockInformation.search.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The internal endpoints through the security filter chain: only tokens
+ * with the admin role get through. Role mapping keeps the token's scopes.
+ */
+@WebMvcTest(controllers = SearchController.class)
+@Import(SecurityConfig.class)
+class SearchControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SecurityConfig securityConfig;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private AutocompleteNarrowing autocompleteNarrowing;
+
+    @MockitoBean
+    private QueryHeavyHitters queryHeavyHitters;
+
+    @Test
+    void testHeavyHittersRequireAdminRole() throws Exception {
+        // Given
+        when(queryHeavyHitters.describe()).thenReturn(new HeavyHittersResponse(
+            List.of(), new HeavyHittersResponse.SketchStats(4, 8192, 262144, 0)));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search/internal/heavy-hitters"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/search/internal/heavy-hitters")
+                .with(jwt().authorities(roles(List.of("user")))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/search/internal/heavy-hitters")
+                .with(jwt().authorities(roles(List.of("user", "admin")))))
+                .andExpect(status().isOk());
+        verify(queryHeavyHitters).describe();
+    }
+
+    @Test
+    void testTokenKeepsScopeAuthoritiesAlongsideRoles() {
+        // Given
+        Jwt token = Jwt.withTokenValue("token").header("alg", "none")
+                .claim("scope", "read write").claim("roles", List.of("admin")).build();
+
+        // When
+        Collection<GrantedAuthority> authorities = authorities(token);
+
+        // Then
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("SCOPE_read", "SCOPE_write", "ROLE_ADMIN");
+    }
+
+    private Collection<GrantedAuthority> roles(List<String> roles) {
+        return authorities(Jwt.withTokenValue("token").header("alg", "none").claim("roles", roles).build());
+    }
+
+    private Collection<GrantedAuthority> authorities(Jwt token) {
+        return securityConfig.jwtAuthenticationConverter("roles").convert(token).getAuthorities();
+    }
+}
@@ -2,6 +2,9 @@ package com.stockInformation.search.api.v1;
 
 import com.stockInformation.search.dto.AutocompleteResponse;
 import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.dto.HeavyHittersResponse;
+import com.stockInformation.search.service.AutocompleteNarrowing;
+import com.stockInformation.search.service.QueryHeavyHitters;
 import com.stockInformation.search.service.SearchService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +30,12 @@ class SearchControllerTest {
     @MockitoBean
     private SearchService searchService;
 
+    @MockitoBean
+    private AutocompleteNarrowing autocompleteNarrowing;
+
+    @MockitoBean
+    private QueryHeavyHitters queryHeavyHitters;
+
     @Test
     void testSearchTickerSummaries() throws Exception {
         // Given
@@ -47,6 +56,7 @@ class SearchControllerTest {
                 .andExpect(jsonPath("$.results[0].score").value(0.99));
 
         verify(searchService).autocomplete(query);
+        verify(queryHeavyHitters).record(query);
     }
 
     @Test
@@ -66,4 +76,66 @@ class SearchControllerTest {
 
         verify(searchService).autocomplete(query);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchTickerSummariesWithSession() throws Exception {
+        // Given
+        String query = "apple";
+        List<AutocompleteResult> results = List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.99));
+        when(searchService.autocomplete(query, "s-1")).thenReturn(new AutocompleteResponse(query, results));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search/auto-complete")
+                .param("query", query)
+                .param("sessionId", "s-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].symbol").value("AAPL"));
+
+        verify(autocompleteNarrowing).record("s-1", query, results);
+        verify(searchService, never()).autocomplete(query);
+    }
+
+    @Test
+    void testSearchTickerSummariesBatch() throws Exception {
+        // Given
+        List<AutocompleteResponse> responses = List.of(
+            new AutocompleteResponse("AAPL", List.of(new AutocompleteResult("AAPL", "Apple Inc.", 1.0))),
+            new AutocompleteResponse("microsoft", List.of(new AutocompleteResult("MSFT", "Microsoft Corp", 0.8)))
+        );
+        when(searchService.autocompleteBatch(List.of("AAPL", "microsoft"))).thenReturn(responses);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/search/auto-complete/batch")
+                .contentType("application/json")
+                .content("{\"queries\": [\"AAPL\", \"microsoft\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].query").value("AAPL"))
+                .andExpect(jsonPath("$[1].results[0].symbol").value("MSFT"));
+    }
+
+    @Test
+    void testSearchTickerSummariesBatchRejectsEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/search/auto-complete/batch")
+                .contentType("application/json")
+                .content("{\"queries\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(searchService, never()).autocompleteBatch(anyList());
+    }
+
+    @Test
+    void testHeavyHitters() throws Exception {
+        // Given
+        HeavyHittersResponse response = new HeavyHittersResponse(
+            List.of(new HeavyHittersResponse.HeavyHitter("apple", 42)),
+            new HeavyHittersResponse.SketchStats(4, 8192, 262144, 100));
+        when(queryHeavyHitters.describe()).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search/internal/heavy-hitters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topQueries[0].query").value("apple"))
+                .andExpect(jsonPath("$.topQueries[0].estimatedCount").value(42))
+                .andExpect(jsonPath("$.sketch.memoryBytes").value(262144));
+    }
+}
@@ -0,0 +1,67 @@
+package com.stockInformation.search.index;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PrefixAutocompleteTableTest {
+
+    private static final List<SearchCorpusEntry> CORPUS = List.of(
+        new SearchCorpusEntry("A", "Agilent Technologies, Inc.", "agilent"),
+        new SearchCorpusEntry("AAPL", "Apple Inc.", "apple"),
+        new SearchCorpusEntry("GOOG", "Alphabet Inc.", "alphabet"),
+        new SearchCorpusEntry("GOOGL", "Alphabet Inc.", "alphabet"),
+        new SearchCorpusEntry("MSFT", "Microsoft Corporation", "microsoft")
+    );
+
+    @Test
+    void testPrefix_ranksByTrigramSimilarity() {
+        // Given
+        PrefixAutocompleteTable table = PrefixAutocompleteTable.build(CORPUS, 10);
+
+        // When
+        List<AutocompleteResult> results = table.prefix("a");
+
+        // Then: "A" matches its ticker exactly and shares one of the nine trigrams of "a" and "agilent"
+        assertThat(results).extracting(AutocompleteResult::symbol)
+            .containsExactly("A", "AAPL", "GOOG", "GOOGL");
+        assertThat(results.get(0).score()).isCloseTo((1.0 + 1.0 / 9) / 2, within(1e-9));
+    }
+
+    @Test
+    void testPrefix_outOfRangeOrUnknown() {
+        // Given
+        PrefixAutocompleteTable table = PrefixAutocompleteTable.build(CORPUS, 10);
+
+        // Then
+        assertThat(table.prefix("")).isNull();
+        assertThat(table.prefix("appl")).isNull();
+        assertThat(table.prefix("zz")).isNull();
+    }
+
+    @Test
+    void testExactTicker_includesLongerTickersWithSamePrefix() {
+        // Given
+        PrefixAutocompleteTable table = PrefixAutocompleteTable.build(CORPUS, 10);
+
+        // When
+        List<AutocompleteResult> results = table.exactTicker("goog");
+
+        // Then
+        assertThat(results).extracting(AutocompleteResult::symbol).containsExactly("GOOG", "GOOGL");
+    }
+
+    @Test
+    void testBuild_respectsLimit() {
+        // Given
+        PrefixAutocompleteTable table = PrefixAutocompleteTable.build(CORPUS, 2);
+
+        // Then
+        assertThat(table.prefix("a")).hasSize(2);
+    }
+}
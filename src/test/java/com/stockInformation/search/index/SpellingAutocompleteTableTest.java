@@ -0,0 +1,78 @@
+package com.stockInformation.search.index;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpellingAutocompleteTableTest {
+
+    private static final List<SearchCorpusEntry> CORPUS = List.of(
+        new SearchCorpusEntry("AAPL", "Apple Inc.", "apple"),
+        new SearchCorpusEntry("APLE", "Apple Hospitality REIT, Inc.", "applehospitalityreit"),
+        new SearchCorpusEntry("MSFT", "Microsoft Corporation", "microsoft"),
+        new SearchCorpusEntry("NVDA", "NVIDIA Corporation", "nvidia"),
+        new SearchCorpusEntry("BRK.B", "Berkshire Hathaway Inc.", "berkshirehathaway")
+    );
+
+    @Test
+    void testLookup_findsTranspositionWithinDistanceOne() {
+        // Given
+        SpellingAutocompleteTable table = SpellingAutocompleteTable.build(CORPUS);
+
+        // When
+        List<AutocompleteResult> results = table.lookup("appel", 10);
+
+        // Then: "appel" is one transposition from "apple" and from the start of "applehospitalityreit",
+        // and ranked by trigram similarity: "aapl" shares 1 of 10 trigrams, "apple" 3 of 9
+        assertThat(results).extracting(AutocompleteResult::symbol).containsExactly("AAPL", "APLE");
+        assertThat(results.get(0).score()).isCloseTo((1.0 / 10 + 3.0 / 9) / 2, within(1e-9));
+    }
+
+    @Test
+    void testLookup_findsTwoEditsForLongerQueries() {
+        // Given
+        SpellingAutocompleteTable table = SpellingAutocompleteTable.build(CORPUS);
+
+        // Then
+        assertThat(table.lookup("mircosoft", 10)).extracting(AutocompleteResult::symbol).containsExactly("MSFT");
+        assertThat(table.lookup("berkshrie", 10)).extracting(AutocompleteResult::symbol).containsExactly("BRK.B");
+    }
+
+    @Test
+    void testLookup_matchesTickerArm() {
+        // Given
+        SpellingAutocompleteTable table = SpellingAutocompleteTable.build(CORPUS);
+
+        // When
+        List<AutocompleteResult> results = table.lookup("nvdia", 10);
+
+        // Then: within distance 1 of the "nvidia" name and of the "nvda" ticker
+        assertThat(results).extracting(AutocompleteResult::symbol).containsExactly("NVDA");
+        assertThat(results.get(0).score()).isCloseTo((3.0 / 8 + 4.0 / 9) / 2, within(1e-9));
+    }
+
+    @Test
+    void testLookup_rejectsShortOrDistantQueries() {
+        // Given
+        SpellingAutocompleteTable table = SpellingAutocompleteTable.build(CORPUS);
+
+        // Then
+        assertThat(table.lookup("app", 10)).isEmpty();
+        assertThat(table.lookup("xyzzy", 10)).isEmpty();
+        assertThat(table.lookup("micxxxxft", 10)).isEmpty();
+        assertThat(SpellingAutocompleteTable.empty().lookup("apple", 10)).isEmpty();
+    }
+
+    @Test
+    void testPrefixDistance() {
+        assertThat(SpellingAutocompleteTable.prefixDistance("appel", "apple", 1)).isEqualTo(1);
+        assertThat(SpellingAutocompleteTable.prefixDistance("micro", "microsoft", 1)).isZero();
+        assertThat(SpellingAutocompleteTable.prefixDistance("mcro", "microsoft", 1)).isEqualTo(1);
+        assertThat(SpellingAutocompleteTable.prefixDistance("mxxro", "microsoft", 1)).isEqualTo(2);
+    }
+}
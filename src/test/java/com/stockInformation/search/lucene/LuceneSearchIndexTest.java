@@ -0,0 +1,113 @@
+package com.stockInformation.search.lucene;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.index.SearchCorpusEntry;
+import com.stockInformation.search.utils.TrigramSimilarity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LuceneSearchIndexTest {
+
+    private static final List<SearchCorpusEntry> CORPUS = List.of(
+        new SearchCorpusEntry("AAPL", "Apple Inc.", "apple"),
+        new SearchCorpusEntry("AAP", "Advance Auto Parts, Inc.", "advanceautoparts"),
+        new SearchCorpusEntry("MSFT", "Microsoft Corporation", "microsoft"),
+        new SearchCorpusEntry("APLE", "Apple Hospitality REIT, Inc.", "applehospitality")
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSearch_beforeFirstBuild_returnsEmpty() throws Exception {
+        try (LuceneSearchIndex index = new LuceneSearchIndex(tempDir)) {
+            assertThat(index.isReady()).isFalse();
+            assertThat(index.search("apple", 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void testSearch_scoresLikeSqlAverageOfArms() throws Exception {
+        try (LuceneSearchIndex index = new LuceneSearchIndex(tempDir)) {
+            // Given
+            index.rebuild(CORPUS);
+
+            // When
+            Optional<List<AutocompleteResult>> results = index.search("apple", 10);
+
+            // Then
+            assertThat(results).isPresent();
+            AutocompleteResult top = results.get().get(0);
+            assertThat(top.symbol()).isEqualTo("AAPL");
+            // ticker arm misses the threshold, company arm is an exact match
+            assertThat(top.score()).isCloseTo(0.5, within(1e-9));
+
+            // "aple" passes the ticker threshold, "applehospitality" misses the company threshold
+            double expectedAple = TrigramSimilarity.similarity("apple", "aple") / 2.0;
+            assertThat(results.get())
+                .extracting(AutocompleteResult::symbol)
+                .containsExactly("AAPL", "APLE");
+            assertThat(results.get().get(1).score()).isCloseTo(expectedAple, within(1e-9));
+        }
+    }
+
+    @Test
+    void testSearch_tickerArmMatch() throws Exception {
+        try (LuceneSearchIndex index = new LuceneSearchIndex(tempDir)) {
+            // Given
+            index.rebuild(CORPUS);
+
+            // When
+            List<AutocompleteResult> results = index.search("aap", 10).orElseThrow();
+
+            // Then
+            assertThat(results).extracting(AutocompleteResult::symbol).containsExactly("AAP", "AAPL");
+        }
+    }
+
+    @Test
+    void testRebuild_swapsGeneration() throws Exception {
+        try (LuceneSearchIndex index = new LuceneSearchIndex(tempDir)) {
+            // Given
+            index.rebuild(CORPUS);
+
+            // When
+            index.rebuild(List.of(new SearchCorpusEntry("NVDA", "NVIDIA Corporation", "nvidia")));
+
+            // Then
+            assertThat(index.search("apple", 10).orElseThrow()).isEmpty();
+            assertThat(index.search("nvidia", 10).orElseThrow())
+                .extracting(AutocompleteResult::symbol)
+                .containsExactly("NVDA");
+        }
+    }
+
+    @Test
+    void testSearch_mapsEveryHitToItsOwnEntry() throws Exception {
+        try (LuceneSearchIndex index = new LuceneSearchIndex(tempDir)) {
+            // Given
+            List<SearchCorpusEntry> corpus = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                String name = "company" + i;
+                corpus.add(new SearchCorpusEntry("T" + i, name, name));
+            }
+            index.rebuild(corpus);
+
+            // When / Then
+            for (int i = 0; i < corpus.size(); i += 97) {
+                List<AutocompleteResult> results = index.search("company" + i, 1).orElseThrow();
+                assertThat(results).extracting(AutocompleteResult::symbol).containsExactly("T" + i);
+                assertThat(results.get(0).name()).isEqualTo("company" + i);
+            }
+        }
+    }
+}
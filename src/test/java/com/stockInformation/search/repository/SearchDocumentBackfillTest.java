@@ -0,0 +1,54 @@
+package com.stockInformation.search.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchDocumentBackfillTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBackfillNormalizesCompanyNamesWithJavaNormalizer() throws Exception {
+        // Given
+        when(resultSet.getString(1)).thenReturn("BRK.B");
+        when(resultSet.getInt(2)).thenReturn(1067983);
+        when(resultSet.getString(3)).thenReturn("Berkshire Hathaway Inc.");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            RowMapper<Object[]> mapper = invocation.getArgument(1);
+            return List.<Object[]>of(mapper.mapRow(resultSet, 0));
+        });
+        SearchDocumentBackfill backfill = new SearchDocumentBackfill(jdbcTemplate, false);
+
+        // When
+        int written = backfill.backfill();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(SearchDocumentBackfill.UPSERT_SQL), batch.capture());
+        assertThat(written).isEqualTo(1);
+        assertThat(batch.getValue()).singleElement()
+            .satisfies(row -> assertThat(row).containsExactly(
+                "BRK.B", 1067983, "Berkshire Hathaway Inc.", "brk.b", "berkshirehathaway"));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM search_document"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.stockInformation.search.repository;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.repository.SearchRepositoryImpl.ArmRow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchRepositoryImplTest {
+
+    @Test
+    void testMergeCombinesArmScoresAndDeduplicates() {
+        // Given
+        List<ArmRow> tickerRows = List.of(
+            new ArmRow("AAPL", "Apple Inc.", 0.6, 0.5),
+            new ArmRow("AAP", "Advance Auto Parts, Inc.", 0.5, 0.0)
+        );
+        List<ArmRow> companyRows = List.of(
+            new ArmRow("AAPL", "Apple Inc.", 0.6, 0.5),
+            new ArmRow("APLE", "Apple Hospitality REIT, Inc.", 0.0, 0.4)
+        );
+
+        // When
+        List<AutocompleteResult> merged = SearchRepositoryImpl.mergeTopK(tickerRows, companyRows, 10);
+
+        // Then
+        assertThat(merged).containsExactly(
+            new AutocompleteResult("AAPL", "Apple Inc.", 0.55),
+            new AutocompleteResult("AAP", "Advance Auto Parts, Inc.", 0.25),
+            new AutocompleteResult("APLE", "Apple Hospitality REIT, Inc.", 0.2)
+        );
+    }
+
+    @Test
+    void testMergeKeepsOnlyTopKWithTickerTieBreak() {
+        // Given
+        List<ArmRow> tickerRows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) tickerRows.add(new ArmRow("T" + i, "Ticker " + i, 0.3 + i * 0.01, 0.0));
+        List<ArmRow> companyRows = List.of(
+            new ArmRow("C1", "Company 1", 0.0, 0.9),
+            new ArmRow("C0", "Company 0", 0.0, 0.9)
+        );
+
+        // When
+        List<AutocompleteResult> merged = SearchRepositoryImpl.mergeTopK(tickerRows, companyRows, 3);
+
+        // Then
+        assertThat(merged).extracting(AutocompleteResult::symbol).containsExactly("C0", "C1", "T9");
+    }
+}
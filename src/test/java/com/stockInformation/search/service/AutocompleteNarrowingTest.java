@@ -0,0 +1,83 @@
+package com.stockInformation.search.service;
+
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.utils.TrigramSimilarity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AutocompleteNarrowingTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutocompleteNarrowing narrowing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        narrowing = new AutocompleteNarrowing(meterRegistry, true, 100, Duration.ofMinutes(2));
+    }
+
+    @Test
+    void testDerivesFromCompleteShorterPrefix() {
+        // Given
+        narrowing.record("s", "appl", List.of(
+            new AutocompleteResult("AAPL", "Apple Inc.", 0.6),
+            new AutocompleteResult("APLE", "Apple Hospitality REIT, Inc.", 0.3),
+            new AutocompleteResult("APP", "AppLovin Corporation", 0.25)
+        ));
+
+        // When
+        Optional<List<AutocompleteResult>> derived = narrowing.derive("s", "applehosp");
+
+        // Then
+        assertThat(derived).isPresent();
+        assertThat(derived.get()).extracting(AutocompleteResult::symbol).first().isEqualTo("APLE");
+        AutocompleteResult aple = derived.get().get(0);
+        double expected = TrigramSimilarity.armScore(
+            TrigramSimilarity.trigrams("applehosp"), TrigramSimilarity.trigrams("applehospitality")) / 2.0;
+        assertThat(aple.score()).isCloseTo(expected, within(1e-9));
+        assertThat(derived.get()).allMatch(result -> result.score() > 0);
+        assertThat(meterRegistry.counter("search.autocomplete.narrowing", "outcome", "derived").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testTruncatedPrefixIsNotUsed() {
+        // Given
+        List<AutocompleteResult> full = new ArrayList<>();
+        for (int i = 0; i < 10; i++) full.add(new AutocompleteResult("T" + i, "Apple " + i, 0.5));
+        narrowing.record("s", "appl", full);
+
+        // When / Then
+        assertThat(narrowing.derive("s", "apple")).isEmpty();
+    }
+
+    @Test
+    void testShortPrefixesAndOtherSessionsAreNotUsed() {
+        // Given
+        narrowing.record("s", "app", List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.6)));
+        narrowing.record("other", "appl", List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.6)));
+
+        // When / Then
+        assertThat(narrowing.derive("s", "apple")).isEmpty();
+        assertThat(narrowing.derive(null, "apple")).isEmpty();
+    }
+
+    @Test
+    void testDisabledNeverDerives() {
+        // Given
+        AutocompleteNarrowing disabled = new AutocompleteNarrowing(meterRegistry, false, 100, Duration.ofMinutes(2));
+        disabled.record("s", "appl", List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.6)));
+
+        // When / Then
+        assertThat(disabled.derive("s", "apple")).isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+package com.stockInformation.search.service;
+
+import com.stockInformation.search.dto.HeavyHittersResponse;
+import com.stockInformation.search.index.CountMinSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryHeavyHittersTest {
+
+    @Test
+    void testTopQueriesOrderedByFrequency() {
+        // Given
+        QueryHeavyHitters heavyHitters = new QueryHeavyHitters(true, 2, 4, 1024);
+
+        // When
+        IntStream.range(0, 5).forEach(i -> heavyHitters.record("Apple"));
+        IntStream.range(0, 3).forEach(i -> heavyHitters.record("msft"));
+        heavyHitters.record("tsla");
+
+        // Then
+        assertThat(heavyHitters.topQueries()).containsExactly("apple", "msft");
+    }
+
+    @Test
+    void testNewHeavyHitterDisplacesWeakest() {
+        // Given
+        QueryHeavyHitters heavyHitters = new QueryHeavyHitters(true, 2, 4, 1024);
+        IntStream.range(0, 3).forEach(i -> heavyHitters.record("apple"));
+        heavyHitters.record("msft");
+
+        // When
+        IntStream.range(0, 4).forEach(i -> heavyHitters.record("nvda"));
+
+        // Then
+        assertThat(heavyHitters.topQueries()).containsExactly("nvda", "apple");
+    }
+
+    @Test
+    void testDecayHalvesCounts() {
+        // Given
+        QueryHeavyHitters heavyHitters = new QueryHeavyHitters(true, 10, 4, 1024);
+        IntStream.range(0, 8).forEach(i -> heavyHitters.record("apple"));
+
+        // When
+        heavyHitters.decay();
+
+        // Then
+        HeavyHittersResponse response = heavyHitters.describe();
+        assertThat(response.topQueries()).containsExactly(new HeavyHittersResponse.HeavyHitter("apple", 4));
+        assertThat(response.sketch().totalCount()).isEqualTo(4);
+        assertThat(response.sketch().memoryBytes()).isEqualTo(4L * 1024 * Long.BYTES);
+    }
+
+    @Test
+    void testBlankAndDisabledAreIgnored() {
+        QueryHeavyHitters heavyHitters = new QueryHeavyHitters(true, 10, 4, 1024);
+        heavyHitters.record(" ");
+        heavyHitters.record(null);
+        assertThat(heavyHitters.topQueries()).isEmpty();
+
+        QueryHeavyHitters disabled = new QueryHeavyHitters(false, 10, 4, 1024);
+        disabled.record("apple");
+        assertThat(disabled.topQueries()).isEmpty();
+    }
+
+    @Test
+    void testSketchWidthRoundedToPowerOfTwo() {
+        assertThat(new CountMinSketch(2, 1).width()).isEqualTo(1);
+        assertThat(new CountMinSketch(2, 1000).width()).isEqualTo(1024);
+        assertThat(new CountMinSketch(2, 1024).width()).isEqualTo(1024);
+    }
+}
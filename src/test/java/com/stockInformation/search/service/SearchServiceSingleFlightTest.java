@@ -0,0 +1,112 @@
+package com.stockInformation.search.service;
+
+import com.stockInformation.common.cache.SingleFlightCacheManager;
+import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.index.PrefixAutocompleteIndex;
+import com.stockInformation.search.index.SpellingAutocompleteIndex;
+import com.stockInformation.search.repository.SearchRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Thundering herd on an expired autocomplete key: concurrent requests
+ * through the caching proxy cause a single repository (database) call.
+ */
+@SpringJUnitConfig
+class SearchServiceSingleFlightTest {
+
+    private static final int CALLERS = 50;
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new SingleFlightCacheManager(new ConcurrentMapCacheManager("autocomplete"), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        SearchService searchService(
+                SearchRepository searchRepository,
+                PrefixAutocompleteIndex prefixAutocompleteIndex,
+                AutocompleteNarrowing autocompleteNarrowing,
+                SpellingAutocompleteIndex spellingAutocompleteIndex,
+                CacheManager cacheManager) {
+            return new SearchService(
+                searchRepository, prefixAutocompleteIndex, autocompleteNarrowing, spellingAutocompleteIndex, cacheManager);
+        }
+    }
+
+    @MockitoBean
+    private SearchRepository searchRepository;
+
+    @MockitoBean
+    private PrefixAutocompleteIndex prefixAutocompleteIndex;
+
+    @MockitoBean
+    private AutocompleteNarrowing autocompleteNarrowing;
+
+    @MockitoBean
+    private SpellingAutocompleteIndex spellingAutocompleteIndex;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Test
+    void testThunderingHerdCausesOneDatabaseCall() throws Exception {
+        // Given
+        CountDownLatch allStarted = new CountDownLatch(CALLERS);
+        when(prefixAutocompleteIndex.lookup(anyString(), anyString())).thenReturn(Optional.empty());
+        when(autocompleteNarrowing.derive(any(), anyString())).thenReturn(Optional.empty());
+        when(searchRepository.searchByInputIgnoreCase("apple")).thenAnswer(invocation -> {
+            // hold the load until every caller has issued its request
+            allStarted.await(5, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            return List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.99));
+        });
+
+        // When
+        List<Future<AutocompleteResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                String query = i % 2 == 0 ? "Apple" : "APPLE";
+                responses.add(executor.submit(() -> {
+                    allStarted.countDown();
+                    return searchService.autocomplete(query);
+                }));
+            }
+
+            // Then
+            for (Future<AutocompleteResponse> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS).results())
+                    .extracting(AutocompleteResult::symbol).containsExactly("AAPL");
+            }
+        }
+        verify(searchRepository, times(1)).searchByInputIgnoreCase("apple");
+    }
+}
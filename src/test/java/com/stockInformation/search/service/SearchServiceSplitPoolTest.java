@@ -0,0 +1,131 @@
+package com.stockInformation.search.service;
+
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.dto.AutocompleteResult;
+import com.stockInformation.search.index.PrefixAutocompleteIndex;
+import com.stockInformation.search.index.SpellingAutocompleteIndex;
+import com.stockInformation.search.repository.SearchRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTotalCounter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Split autocomplete searches through the transactional service against a
+ * pool of two connections: each search takes one connection per arm and
+ * holds none while waiting for them, so more concurrent searches than
+ * connections queue for the pool instead of starving it.
+ *
+ * H2 cannot run the pg_trgm arm statements, so the repository is stood in
+ * for by one that takes its connections the same way: one statement per
+ * arm, each on its own virtual thread through the {@link JdbcTemplate}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:splitPool;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=2000"
+})
+@Import({
+    QuerydslConfig.class, TickerSummaryDataVersion.class, TickerSummaryTotalCounter.class,
+    SearchService.class, SearchServiceSplitPoolTest.SplitArms.class
+})
+class SearchServiceSplitPoolTest {
+
+    private static final int SEARCHES = 8;
+
+    @Autowired
+    private SearchService searchService;
+
+    @MockitoBean
+    private PrefixAutocompleteIndex prefixAutocompleteIndex;
+
+    @MockitoBean
+    private AutocompleteNarrowing autocompleteNarrowing;
+
+    @MockitoBean
+    private SpellingAutocompleteIndex spellingAutocompleteIndex;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Test
+    void testConcurrentSplitSearchesDoNotStarveThePool() throws Exception {
+        // Given
+        ExecutorService callers = Executors.newFixedThreadPool(SEARCHES);
+        List<Future<AutocompleteResponse>> responses = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < SEARCHES; i++) {
+                String query = "apple " + i;
+                responses.add(callers.submit(() -> searchService.autocomplete(query, "session-" + query)));
+            }
+
+            // Then: every search completes, none waits out the connection timeout
+            for (Future<AutocompleteResponse> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS).results()).hasSize(2);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    /** Runs a ticker and a company "arm" concurrently, as the split mode of {@code SearchRepositoryImpl} does. */
+    static class SplitArms implements SearchRepository {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final ExecutorService armExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        SplitArms(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Override
+        public List<AutocompleteResult> searchByInputIgnoreCase(String query) {
+            Future<AutocompleteResult> tickerArm = armExecutor.submit(() -> arm("TICKER", query));
+            Future<AutocompleteResult> companyArm = armExecutor.submit(() -> arm("COMPANY", query));
+            try {
+                return List.of(tickerArm.get(), companyArm.get());
+            } catch (Exception e) {
+                throw new IllegalStateException("Autocomplete search failed", e);
+            }
+        }
+
+        private AutocompleteResult arm(String symbol, String query) {
+            Double score = jdbcTemplate.execute((ConnectionCallback<Double>) connection -> {
+                // hold the connection long enough for the arms of concurrent searches to overlap
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 0.5;
+            });
+            return new AutocompleteResult(symbol, query, score);
+        }
+    }
+}
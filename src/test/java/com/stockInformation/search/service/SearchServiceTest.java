@@ -2,15 +2,21 @@ package com.stockInformation.search.service;
 
 import com.stockInformation.search.dto.AutocompleteResult;
 import com.stockInformation.search.dto.AutocompleteResponse;
+import com.stockInformation.search.index.PrefixAutocompleteIndex;
+import com.stockInformation.search.index.SpellingAutocompleteIndex;
 import com.stockInformation.search.repository.SearchRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -21,6 +27,18 @@ class SearchServiceTest {
     @Mock
     private SearchRepository searchRepository;
 
+    @Mock
+    private PrefixAutocompleteIndex prefixAutocompleteIndex;
+
+    @Mock
+    private AutocompleteNarrowing autocompleteNarrowing;
+
+    @Mock
+    private SpellingAutocompleteIndex spellingAutocompleteIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private SearchService searchService;
 
@@ -59,4 +77,106 @@ class SearchServiceTest {
         assertThat(response.results()).isEqualTo(results);
         verify(searchRepository).searchByInputIgnoreCase("apple");
     }
+
+    @Test
+    void testAutocompleteServedFromPrefixTable() {
+        // Given
+        String query = "AA";
+        List<AutocompleteResult> results = List.of(
+            new AutocompleteResult("AA", "Alcoa Corporation", 1.0)
+        );
+        when(prefixAutocompleteIndex.lookup(query, "aa")).thenReturn(Optional.of(results));
+
+        // When
+        AutocompleteResponse response = searchService.autocomplete(query);
+
+        // Then
+        assertThat(response.results()).isEqualTo(results);
+        verifyNoInteractions(searchRepository);
+    }
+
+    @Test
+    void testAutocompleteNarrowedFromSession() {
+        // Given
+        String query = "Apple Hosp";
+        List<AutocompleteResult> narrowed = List.of(
+            new AutocompleteResult("APLE", "Apple Hospitality REIT, Inc.", 0.4)
+        );
+        ConcurrentMapCache cache = new ConcurrentMapCache("autocomplete");
+        when(cacheManager.getCache("autocomplete")).thenReturn(cache);
+        when(autocompleteNarrowing.derive("session-1", "applehosp")).thenReturn(Optional.of(narrowed));
+
+        // When
+        AutocompleteResponse response = searchService.autocomplete(query, "session-1");
+
+        // Then: served to the session, but not shared through the cache
+        assertThat(response.results()).isEqualTo(narrowed);
+        assertThat(cache.get("apple hosp")).isNull();
+        verifyNoInteractions(searchRepository);
+        verify(autocompleteNarrowing, never()).countFetched();
+    }
+
+    @Test
+    void testSessionAutocompleteCachesLookedUpResults() {
+        // Given
+        String query = "Apple";
+        List<AutocompleteResult> results = List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.99));
+        ConcurrentMapCache cache = new ConcurrentMapCache("autocomplete");
+        when(cacheManager.getCache("autocomplete")).thenReturn(cache);
+        when(searchRepository.searchByInputIgnoreCase("apple")).thenReturn(results);
+
+        // When
+        AutocompleteResponse first = searchService.autocomplete(query, "session-1");
+        AutocompleteResponse second = searchService.autocomplete(query, "session-2");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(cache.get("apple", AutocompleteResponse.class)).isSameAs(first);
+        verify(searchRepository, times(1)).searchByInputIgnoreCase("apple");
+    }
+
+    @Test
+    void testAutocompleteServedFromSpellingIndex() {
+        // Given
+        String query = "mircosoft";
+        List<AutocompleteResult> spelled = List.of(
+            new AutocompleteResult("MSFT", "Microsoft Corporation", 0.39)
+        );
+        when(spellingAutocompleteIndex.lookup("mircosoft")).thenReturn(Optional.of(spelled));
+
+        // When
+        AutocompleteResponse response = searchService.autocomplete(query);
+
+        // Then
+        assertThat(response.results()).isEqualTo(spelled);
+        verifyNoInteractions(searchRepository);
+    }
+
+    @Test
+    void testAutocompleteBatchUsesCacheAndOneRepositoryCall() {
+        // Given
+        ConcurrentMapCache cache = new ConcurrentMapCache("autocomplete");
+        List<AutocompleteResult> cachedResults = List.of(new AutocompleteResult("AAPL", "Apple Inc.", 0.99));
+        cache.put("apple", new AutocompleteResponse("apple", cachedResults));
+        when(cacheManager.getCache("autocomplete")).thenReturn(cache);
+
+        List<AutocompleteResult> msft = List.of(new AutocompleteResult("MSFT", "Microsoft Corp", 0.8));
+        List<AutocompleteResult> brk = List.of(new AutocompleteResult("BRK.B", "Berkshire Hathaway Inc.", 0.7));
+        when(searchRepository.searchByInputsIgnoreCase(List.of("microsoft", "berkshire")))
+            .thenReturn(Map.of("microsoft", msft, "berkshire", brk));
+
+        // When
+        List<AutocompleteResponse> responses = searchService.autocompleteBatch(
+            Arrays.asList("Microsoft Corp", "APPLE", " ", "berkshire", "microsoft corp"));
+
+        // Then
+        assertThat(responses).extracting(AutocompleteResponse::query)
+            .containsExactly("Microsoft Corp", "APPLE", " ", "berkshire", "microsoft corp");
+        assertThat(responses).extracting(AutocompleteResponse::results)
+            .containsExactly(msft, cachedResults, List.of(), brk, msft);
+        verify(searchRepository, times(1)).searchByInputsIgnoreCase(anyList());
+        verify(searchRepository, never()).searchByInputIgnoreCase(anyString());
+        assertThat(cache.get("microsoft corp")).isNotNull();
+        assertThat(cache.get("berkshire")).isNotNull();
+    }
 }
@@ -0,0 +1,64 @@
+package com.stockInformation.search.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation rate of the regex normalizer vs the single-pass one
+ * over the SEC company name corpus. Not run by surefire; run the main method
+ * from the test classpath (e.g. from the IDE) after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompanyNameNormalizerBenchmark {
+
+	private String[] names;
+
+	@Setup
+	public void loadNames() throws IOException {
+		List<String> corpus = CompanyNameNormalizerTest.loadCorpus();
+		names = corpus.toArray(String[]::new);
+	}
+
+	@Benchmark
+	public void legacy(Blackhole blackhole) {
+		for (String name : names) {
+			blackhole.consume(LegacyCompanyNameNormalizer.normalize(name));
+		}
+	}
+
+	@Benchmark
+	public void singlePass(Blackhole blackhole) {
+		for (String name : names) {
+			blackhole.consume(utils.normalizeCompanyNameForSearch(name));
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(CompanyNameNormalizerBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,129 @@
+package com.stockInformation.search.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential test: the single-pass normalizer must produce exactly the
+ * output of the original regex pipeline.
+ */
+class CompanyNameNormalizerTest {
+
+	private static final int FUZZ_CASES = 100_000;
+
+	private static final String[] FRAGMENTS = {
+			"Apple", "MICROSOFT", "berkshire", "Nestlé", "Société", "Générale", "Zürich", "Ørsted", "Mærsk",
+			"Inc", "Inc.", "inc", "CORP", "Corp.", "Co", "co.", "Ltd", "L.L.C.", "LLC", "plc", "N.V.", "S.A.",
+			"A/S", "AG", "SE", "Holdings", "Group", "Trust", "Fund", "ETF", "reit", "SPAC", "the", "and", "of",
+			"&", "&amp;", "&AMP;", "&#65;", "&#x41;", "&#233;", "&eacute;", "&nbsp;", "&lt;", "&bogus;", "&",
+			"İstanbul", "Straße", "ﬁnance", "Ⅷ", "①", "ＡＢＣ", "ｃｏｒｐ", "™", "®", "½",
+			"3M", "180", "2U", "7-Eleven", "O'Reilly", "AT&T", "S&P", "JD.com", "Yum!", "/DE/", "\\DE\\",
+			"(BTC)", "-", ",", ".", "/", "'", "_", "__", "co_op", "é", " ", " ", "​",
+			"İ", "ß", "ﬀ", "𝐀", "𝔸𝕡𝕡𝕝𝕖"
+	};
+
+	private static final String[] SEPARATORS = {" ", " ", " ", "  ", "\t", "\n", "\r\n", "\u000B", "\f", "", "-", " ", "　"};
+
+	@Test
+	void testMatchesLegacyOnSecCompanyNames() throws IOException {
+		// Given
+		List<String> names = loadCorpus();
+
+		// When / Then
+		assertThat(names).hasSizeGreaterThan(500);
+		for (String name : names) {
+			assertSameAsLegacy(name);
+			assertSameAsLegacy(name.toUpperCase());
+			assertSameAsLegacy(name.toLowerCase());
+		}
+	}
+
+	@Test
+	void testMatchesLegacyOnRandomizedInputs() {
+		// Given
+		Random random = new Random(20240611L);
+
+		// When / Then
+		for (int i = 0; i < FUZZ_CASES; i++) {
+			assertSameAsLegacy(randomName(random));
+		}
+	}
+
+	@Test
+	void testMatchesLegacyOnEdgeCases() {
+		for (String input : List.of("", " ", "\t\n", "inc", "inc inc", "co co co", "company", "incorporated",
+				"the the", "apple inc", "inc apple", "apple-inc", "apple_inc", "apple\u000Binc", "apple inc",
+				"&amp;inc", "&amp; inc", "apple &amp; co", "&#73;nc", "&#105;nc", "caf&eacute;", "ÅNGSTRÖM",
+				"ﬁ", "İnc", "ß", "𝐈𝐧𝐜", "ｉｎｃ", "\uD800", "a\uDC00b")) {
+			assertSameAsLegacy(input);
+		}
+	}
+
+	@Test
+	void testNullIsEmpty() {
+		assertThat(utils.normalizeCompanyNameForSearch(null)).isEmpty();
+	}
+
+	private static void assertSameAsLegacy(String input) {
+		assertThat(utils.normalizeCompanyNameForSearch(input))
+				.as("normalize(%s)", escape(input))
+				.isEqualTo(LegacyCompanyNameNormalizer.normalize(input));
+	}
+
+	private static String randomName(Random random) {
+		StringBuilder name = new StringBuilder();
+		int parts = 1 + random.nextInt(6);
+		for (int i = 0; i < parts; i++) {
+			if (i > 0) name.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+			if (random.nextInt(10) == 0) {
+				name.append(randomChars(random));
+			} else {
+				String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+				name.append(random.nextBoolean() ? fragment : fragment.toUpperCase());
+			}
+		}
+		return name.toString();
+	}
+
+	private static String randomChars(Random random) {
+		StringBuilder chars = new StringBuilder();
+		int length = 1 + random.nextInt(5);
+		for (int i = 0; i < length; i++) {
+			chars.append((char) (random.nextBoolean() ? 0x20 + random.nextInt(0x5F) : random.nextInt(0x3000)));
+		}
+		return chars.toString();
+	}
+
+	static List<String> loadCorpus() throws IOException {
+		List<String> names = new ArrayList<>();
+		try (InputStream in = Objects.requireNonNull(
+				CompanyNameNormalizerTest.class.getResourceAsStream("/search/sec_company_names.txt"));
+				BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isBlank()) names.add(line);
+			}
+		}
+		return names;
+	}
+
+	private static String escape(String value) {
+		StringBuilder escaped = new StringBuilder();
+		for (char c : value.toCharArray()) {
+			if (c >= 0x20 && c < 0x7F) escaped.append(c);
+			else escaped.append(String.format("\\u%04X", (int) c));
+		}
+		return escaped.toString();
+	}
+}
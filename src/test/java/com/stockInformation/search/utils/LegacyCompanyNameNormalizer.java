@@ -0,0 +1,55 @@
+package com.stockInformation.search.utils;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The original regex implementation of {@link utils#normalizeCompanyNameForSearch(String)},
+ * kept verbatim as the reference for the differential test and the benchmark.
+ */
+final class LegacyCompanyNameNormalizer {
+
+	private LegacyCompanyNameNormalizer() {
+	}
+
+	static String normalize(String companyName) {
+		if (companyName == null) return "";
+
+		String normalized = Normalizer.normalize(companyName, Normalizer.Form.NFKC);
+		normalized = normalized.toLowerCase(Locale.ROOT);
+
+		// Decode common HTML entities (spring util provides this)
+		String unescaped = HtmlUtils.htmlUnescape(normalized);
+		if (unescaped != null) {
+			normalized = unescaped;
+		}
+
+		// Decompose and remove diacritic marks
+		String decomposed = Normalizer.normalize(normalized, Normalizer.Form.NFKD);
+		normalized = decomposed.replaceAll("\\p{M}", "");
+		// Replace ampersand with space (so 'johnson & johnson' -> 'johnson johnson')
+		normalized = normalized.replace("&", "");
+
+		// Remove any remaining punctuation/symbols; keep letters, digits and spaces
+		normalized = normalized.replaceAll("[^a-z0-9\\s]", "");
+
+		// Remove common removal words as whole words
+		if (!utils.REMOVAL_WORDS.isEmpty()) {
+			String pattern = utils.REMOVAL_WORDS.stream()
+					.map(java.util.regex.Pattern::quote)
+					.collect(Collectors.joining("|"));
+			if (!pattern.isEmpty()) {
+				normalized = normalized.replaceAll("\\b(?:(" + pattern + "))\\b", " ");
+			}
+		}
+
+		// Collapse whitespace and remove all spaces to produce the compact key
+		normalized = normalized.replaceAll("\\s+", "");
+		normalized = normalized.trim();
+
+		return normalized;
+	}
+}
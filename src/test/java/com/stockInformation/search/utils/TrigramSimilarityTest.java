@@ -0,0 +1,71 @@
+package com.stockInformation.search.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrigramSimilarityTest {
+
+    @Test
+    void testTrigrams_padsWordsLikePgTrgm() {
+        // Given / When
+        long[] trigrams = TrigramSimilarity.trigrams("cat");
+
+        // Then: "  c", " ca", "cat", "at "
+        assertThat(trigrams).hasSize(4);
+    }
+
+    @Test
+    void testTrigrams_splitsOnNonAlphanumeric() {
+        // Given / When
+        long[] dotted = TrigramSimilarity.trigrams("brk.b");
+        long[] words = TrigramSimilarity.trigrams("brk b");
+
+        // Then
+        assertThat(dotted).isEqualTo(words);
+    }
+
+    @Test
+    void testSimilarity_matchesPostgresReferenceValues() {
+        // Values as returned by pg_trgm's similarity()
+        assertThat(TrigramSimilarity.similarity("word", "two words")).isCloseTo(0.363636, within(1e-6));
+        assertThat(TrigramSimilarity.similarity("aapl", "aap")).isCloseTo(0.5, within(1e-9));
+        assertThat(TrigramSimilarity.similarity("apple", "APPLE")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testSimilarity_withEmptyInput() {
+        assertThat(TrigramSimilarity.similarity("", "apple")).isEqualTo(0.0);
+        assertThat(TrigramSimilarity.similarity(null, "apple")).isEqualTo(0.0);
+    }
+
+    @Test
+    void testTrigrams_collapseRepeatsAndSeparators() {
+        assertThat(TrigramSimilarity.trigrams("Two  Words!")).isEqualTo(TrigramSimilarity.trigrams("two words"));
+        assertThat(TrigramSimilarity.similarity("aaa", "aaa aaa")).isEqualTo(1.0);
+        assertThat(TrigramSimilarity.similarity("--", "--")).isEqualTo(0.0);
+    }
+
+    @Test
+    void testUnthresholdedScore_countsArmsBelowThreshold() {
+        // Given
+        long[] query = TrigramSimilarity.trigrams("a");
+        long[] ticker = TrigramSimilarity.trigrams("aapl");
+        long[] company = TrigramSimilarity.trigrams("a");
+
+        // When / Then: the ticker arm (1/6) is below the threshold but still counts
+        assertThat(TrigramSimilarity.unthresholdedScore(query, ticker, company)).isCloseTo((1.0 / 6 + 1.0) / 2, within(1e-9));
+        assertThat(TrigramSimilarity.unthresholdedScore(query, ticker, new long[0])).isCloseTo(1.0 / 12, within(1e-9));
+    }
+
+    @Test
+    void testArmScore_belowThresholdIsZero() {
+        // Given
+        long[] query = TrigramSimilarity.trigrams("a");
+        long[] ticker = TrigramSimilarity.trigrams("aapl");
+
+        // When / Then: similarity is 1/6, below the 0.3 default threshold
+        assertThat(TrigramSimilarity.armScore(query, ticker)).isEqualTo(0.0);
+    }
+}
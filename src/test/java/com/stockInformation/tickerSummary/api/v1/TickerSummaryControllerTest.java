@@ -1,24 +1,43 @@
 package com.stockInformation.tickerSummary.api.v1;
 
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.common.dto.CursorPageResponse;
+import com.stockInformation.tickerSummary.dto.ScreenerPage;
+import com.stockInformation.tickerSummary.dto.ScreenerQuery;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.dto.TickerSummaryLookup;
+import com.stockInformation.tickerSummary.export.TickerSummaryExportWriter;
+import com.stockInformation.tickerSummary.expression.ScreenerExpressionCompiler;
+import com.stockInformation.tickerSummary.leaderboard.TickerSummaryLeaderboards;
 import com.stockInformation.tickerSummary.service.TickerSummaryService;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,7 +45,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = TickerSummaryController.class)
 @AutoConfigureMockMvc(addFilters = false)
 @Import({
-    com.stockInformation.tickerSummary.api.v1.TickerSummaryMapperImpl.class
+    com.stockInformation.tickerSummary.api.v1.TickerSummaryMapperImpl.class,
+    ScreenerExpressionCompiler.class
 })
 class TickerSummaryControllerTest {
 
@@ -36,18 +56,15 @@ class TickerSummaryControllerTest {
     @MockitoBean
     private TickerSummaryService tickerSummaryService;
 
+    @MockitoBean
+    private TickerSummaryLeaderboards tickerSummaryLeaderboards;
+
     @Test
     void testGetAllTickerSummaries() throws Exception {
-        TickerSummaryDTO dto1 = new TickerSummaryDTO("AAPL", "Apple Inc.", 2000000000000L, new BigDecimal("150.00"), null, null, null, null, null, null, null, null);
-        TickerSummaryDTO dto2 = new TickerSummaryDTO("MSFT", "Microsoft Corporation", 2000000000000L, new BigDecimal("300.00"), null, null, null, null, null, null, null, null);
+        TickerSummaryDTO dto1 = new TickerSummaryDTO("AAPL", "Apple Inc.", 2000000000000L, ScaledDecimal.of("150.00"), null, null, null, null, null, null, null, null);
+        TickerSummaryDTO dto2 = new TickerSummaryDTO("MSFT", "Microsoft Corporation", 2000000000000L, ScaledDecimal.of("300.00"), null, null, null, null, null, null, null, null);
         List<TickerSummaryDTO> dtos = List.of(dto1, dto2);
-        Page<TickerSummaryDTO> page = new PageImpl<>(dtos, PageRequest.of(0, 20), dtos.size());
-
-        when(tickerSummaryService.getPaginatedList(
-            any(), any(), any(), any(), any(),
-            any(), any(), any(), any(), any(), any(),
-            any(), any(), any(), any(), any(), any(), any(), any()
-        )).thenReturn(page);
+        when(tickerSummaryService.getScreenerPage(any())).thenReturn(new ScreenerPage(dtos, dtos.size(), true));
 
         mockMvc.perform(get("/api/v1/ticker-summary/list")
                 .param("page", "0")
@@ -56,37 +73,195 @@ class TickerSummaryControllerTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(2))
                 .andExpect(jsonPath("$.content[0].ticker").value("AAPL"))
-                .andExpect(jsonPath("$.content[1].ticker").value("MSFT"));
+                .andExpect(jsonPath("$.content[1].ticker").value("MSFT"))
+                .andExpect(jsonPath("$.totalExact").value(true));
 
-        verify(tickerSummaryService).getPaginatedList(
-            any(), any(), any(), any(), any(),
-            any(), any(), any(), any(), any(), any(),
-            any(), any(), any(), any(), any(), any(), any(), any()
-        );
+        verify(tickerSummaryService).getScreenerPage(any());
+    }
+
+    @Test
+    void testEquivalentListRequestsUseSameScreenerQuery() throws Exception {
+        when(tickerSummaryService.getScreenerPage(any())).thenReturn(new ScreenerPage(List.of(), 0, true));
+
+        mockMvc.perform(get("/api/v1/ticker-summary/list")
+                .param("query", " Aap ")
+                .param("sortBy", "pe")
+                .param("sortOrder", "DESC")
+                .param("minPe", "10.50"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/ticker-summary/list")
+                .param("minPe", "10.5")
+                .param("sortOrder", "DESC")
+                .param("sortBy", "pe")
+                .param("query", "aap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageSize").value(25));
+
+        ArgumentCaptor<ScreenerQuery> queries = ArgumentCaptor.forClass(ScreenerQuery.class);
+        verify(tickerSummaryService, times(2)).getScreenerPage(queries.capture());
+        assertThat(queries.getAllValues().get(0)).isEqualTo(queries.getAllValues().get(1));
+        assertThat(queries.getAllValues().get(0).cacheKey()).isEqualTo(queries.getAllValues().get(1).cacheKey());
     }
 
     @Test
     void testGetTickerSummaryByTicker() throws Exception {
         TickerSummaryDTO tickerDTO = new TickerSummaryDTO("AAPL", new BigDecimal("150.00"));
 
-        when(tickerSummaryService.findDTOByTicker("AAPL")).thenReturn(Optional.of(tickerDTO));
+        when(tickerSummaryService.findDTOByTicker("AAPL", TickerSummaryFields.ALL)).thenReturn(Optional.of(tickerDTO));
 
         mockMvc.perform(get("/api/v1/ticker-summary/AAPL"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.ticker").value("AAPL"))
                 .andExpect(jsonPath("$.previousClose").value(150.00));
 
-        verify(tickerSummaryService).findDTOByTicker("AAPL");
+        verify(tickerSummaryService).findDTOByTicker("AAPL", TickerSummaryFields.ALL);
     }
 
     @Test
     void testGetTickerSummaryByTickerNotFound() throws Exception {
-        when(tickerSummaryService.findDTOByTicker("INVALID")).thenReturn(Optional.empty());
+        when(tickerSummaryService.findDTOByTicker("INVALID", TickerSummaryFields.ALL)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/v1/ticker-summary/INVALID"))
                 .andExpect(status().isNotFound());
 
-        verify(tickerSummaryService).findDTOByTicker("INVALID");
+        verify(tickerSummaryService).findDTOByTicker("INVALID", TickerSummaryFields.ALL);
+    }
+
+    @Test
+    void testGetTickerSummariesBatch() throws Exception {
+        // Given
+        List<String> tickers = List.of("msft", "NOPE", "AAPL");
+        when(tickerSummaryService.findDTOsByTickers(tickers)).thenReturn(List.of(
+            TickerSummaryLookup.of("msft", new TickerSummaryDTO("MSFT", new BigDecimal("300.00"))),
+            TickerSummaryLookup.of("NOPE", null),
+            TickerSummaryLookup.of("AAPL", new TickerSummaryDTO("AAPL", new BigDecimal("150.00")))));
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/ticker-summary/batch")
+                .contentType("application/json")
+                .content("{\"tickers\": [\"msft\", \"NOPE\", \"AAPL\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].ticker").value("msft"))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].summary.ticker").value("MSFT"))
+                .andExpect(jsonPath("$[1].ticker").value("NOPE"))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].summary").value(nullValue()))
+                .andExpect(jsonPath("$[2].summary.previousClose").value(150.00));
+    }
+
+    @Test
+    void testGetTickerSummariesBatchInvalid() throws Exception {
+        mockMvc.perform(post("/api/v1/ticker-summary/batch")
+                .contentType("application/json")
+                .content("{\"tickers\": []}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/ticker-summary/batch")
+                .contentType("application/json")
+                .content("{\"tickers\": [\"AAPL\", \" \"]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/ticker-summary/batch")
+                .contentType("application/json")
+                .content("{\"tickers\": [" + "\"T\",".repeat(100) + "\"T\"]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryService);
+    }
+
+    @Test
+    void testGetTickerSummariesWithSparseFields() throws Exception {
+        // Given
+        TickerSummaryDTO dto = new TickerSummaryDTO("AAPL", "Apple Inc.", 2000000000000L, ScaledDecimal.of("150.00"), null, null, null, null, null, null, null, null);
+        when(tickerSummaryService.getScreenerPage(any())).thenReturn(new ScreenerPage(List.of(dto), 1, true));
+
+        // When
+        mockMvc.perform(get("/api/v1/ticker-summary/list")
+                .param("fields", "previousClose, PERATIO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].ticker").value("AAPL"))
+                .andExpect(jsonPath("$.content[0].previousClose").value(150.00))
+                .andExpect(jsonPath("$.content[0].peRatio").value(nullValue()))
+                .andExpect(jsonPath("$.content[0].companyName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].marketCap").doesNotExist());
+
+        // Then
+        ArgumentCaptor<ScreenerQuery> query = ArgumentCaptor.forClass(ScreenerQuery.class);
+        verify(tickerSummaryService).getScreenerPage(query.capture());
+        assertThat(query.getValue().fields().key()).isEqualTo("ticker,previousClose,peRatio");
+        assertThat(query.getValue().cacheKey()).isNotEqualTo(query.getValue().withFields(TickerSummaryFields.ALL).cacheKey());
+    }
+
+    @Test
+    void testGetTickerSummaryByTickerWithSparseFields() throws Exception {
+        // Given
+        TickerSummaryFields fields = TickerSummaryFields.of("marketCap");
+        when(tickerSummaryService.findDTOByTicker("AAPL", fields))
+            .thenReturn(Optional.of(new TickerSummaryDTO("AAPL", null, 2000000000000L, null, null, null, null, null, null, null, null, null)));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/ticker-summary/AAPL").param("fields", "marketCap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticker").value("AAPL"))
+                .andExpect(jsonPath("$.marketCap").value(2000000000000L))
+                .andExpect(jsonPath("$.previousClose").doesNotExist());
+    }
+
+    @Test
+    void testUnknownFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/ticker-summary/AAPL").param("fields", "bogus"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/ticker-summary/list").param("fields", "ticker,bogus"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryService);
+    }
+
+    @Test
+    void testScreenWithExpression() throws Exception {
+        // Given
+        TickerSummaryDTO dto = new TickerSummaryDTO("AAPL", "Apple Inc.", 2000000000000L, ScaledDecimal.of("150.00"), null, null, null, null, null, null, null, null);
+        when(tickerSummaryService.getScreenerPage(any())).thenReturn(new ScreenerPage(List.of(dto), 1, true));
+
+        // When
+        mockMvc.perform(post("/api/v1/ticker-summary/screen")
+                .contentType("application/json")
+                .content("""
+                    {"expression": "previousclose / fiftyDayAverage>1.050 and not peRatio is null",
+                     "pageSize": 10, "sortBy": "market_cap", "sortOrder": "DESC", "fields": "previousClose"}
+                    """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].ticker").value("AAPL"))
+                .andExpect(jsonPath("$.content[0].previousClose").value(150.00))
+                .andExpect(jsonPath("$.content[0].companyName").doesNotExist())
+                .andExpect(jsonPath("$.pageSize").value(10));
+
+        // Then
+        ArgumentCaptor<ScreenerQuery> query = ArgumentCaptor.forClass(ScreenerQuery.class);
+        verify(tickerSummaryService).getScreenerPage(query.capture());
+        assertThat(query.getValue().expression().text())
+            .isEqualTo("previousClose / fiftyDayAverage > 1.05 AND NOT peRatio IS NULL");
+        assertThat(query.getValue().sortField()).isEqualTo(TickerSummarySortField.MARKET_CAP);
+        assertThat(query.getValue().cacheKey()).endsWith("|where previousClose / fiftyDayAverage > 1.05 AND NOT peRatio IS NULL");
+    }
+
+    @Test
+    void testScreenWithInvalidExpression() throws Exception {
+        mockMvc.perform(post("/api/v1/ticker-summary/screen")
+                .contentType("application/json")
+                .content("{\"expression\": \"price > 1\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown field 'price' at position 1"));
+        mockMvc.perform(post("/api/v1/ticker-summary/screen")
+                .contentType("application/json")
+                .content("{\"expression\": \" \"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/ticker-summary/screen")
+                .contentType("application/json")
+                .content("{\"expression\": \"peRatio > 1\", \"pageSize\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryService);
     }
 
     @Test
@@ -214,4 +389,229 @@ class TickerSummaryControllerTest {
 
         verifyNoInteractions(tickerSummaryService);
     }
+
+    @Test
+    void testGetTickerSummaryCursorList() throws Exception {
+        TickerSummaryDTO dto = new TickerSummaryDTO("AAPL", new BigDecimal("150.00"));
+        CursorPageResponse<TickerSummaryDTO> page = new CursorPageResponse<>(List.of(dto), 5, 1, "next-token", true);
+
+        when(tickerSummaryService.getCursorPage(any(TickerSummaryFilter.class), eq("token"), eq(5), eq("pe"), eq("DESC")))
+            .thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/ticker-summary/list/cursor")
+                .param("cursor", "token")
+                .param("pageSize", "5")
+                .param("sortBy", "pe")
+                .param("sortOrder", "DESC")
+                .param("minPe", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].ticker").value("AAPL"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(tickerSummaryService).getCursorPage(
+            eq(new TickerSummaryFilter(null, null, null, new BigDecimal("10"), null, null, null, null, null, null, null, null, null, null, null)),
+            eq("token"), eq(5), eq("pe"), eq("DESC"));
+    }
+
+    @Test
+    void testGetTickerSummaryCursorListInvalidFilter() throws Exception {
+        mockMvc.perform(get("/api/v1/ticker-summary/list/cursor")
+                .param("maxDividendYield", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryService);
+    }
+
+    @Test
+    void testGetTickerSummaryCursorListInvalidCursor() throws Exception {
+        when(tickerSummaryService.getCursorPage(any(), any(), any(Integer.class), any(), any()))
+            .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/ticker-summary/list/cursor")
+                .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportStreamsCsv() throws Exception {
+        // Given
+        TickerSummaryDTO dto = new TickerSummaryDTO("AAPL", "Apple Inc.", 2000000000000L, ScaledDecimal.of("150.00"), null, null, null, null, null, null, null, null);
+        when(tickerSummaryService.export(any(TickerSummaryFilter.class), eq("pe"), eq("DESC"), any(TickerSummaryExportWriter.class)))
+            .thenAnswer(invocation -> {
+                invocation.getArgument(3, TickerSummaryExportWriter.class).write(dto);
+                return 1L;
+            });
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/ticker-summary/export")
+                .param("format", "csv")
+                .param("sortBy", "pe")
+                .param("sortOrder", "DESC")
+                .param("minPe", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"ticker-summary.csv\""))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        assertThat(started.getResponse().getContentAsString(StandardCharsets.UTF_8).lines())
+            .hasSize(2)
+            .last().isEqualTo("AAPL,Apple Inc.,2000000000000,150.00,,,,,,,,");
+
+        ArgumentCaptor<TickerSummaryFilter> filter = ArgumentCaptor.forClass(TickerSummaryFilter.class);
+        verify(tickerSummaryService).export(filter.capture(), eq("pe"), eq("DESC"), any());
+        assertThat(filter.getValue().minPe()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void testExportGzipsNdjsonWhenAccepted() throws Exception {
+        // Given
+        when(tickerSummaryService.export(any(), any(), any(), any())).thenAnswer(invocation -> {
+            TickerSummaryExportWriter writer = invocation.getArgument(3);
+            writer.write(new TickerSummaryDTO("AAPL", new BigDecimal("150.00")));
+            writer.write(new TickerSummaryDTO("MSFT", new BigDecimal("300.00")));
+            return 2L;
+        });
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/ticker-summary/export")
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")));
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(started.getResponse().getContentAsByteArray())).readAllBytes();
+        assertThat(new String(body, StandardCharsets.UTF_8).lines())
+            .hasSize(2)
+            .allMatch(line -> line.startsWith("{\"ticker\":"));
+    }
+
+    @Test
+    void testExportHonoursAcceptEncodingQValues() throws Exception {
+        // Given
+        when(tickerSummaryService.export(any(), any(), any(), any())).thenReturn(0L);
+
+        for (String acceptEncoding : List.of("gzip;q=0, identity", "GZIP; Q=0.0", "br, *;q=0", "*, gzip;q=0")) {
+            // When
+            MvcResult started = mockMvc.perform(get("/api/v1/ticker-summary/export")
+                    .header("Accept-Encoding", acceptEncoding))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"));
+        }
+        for (String acceptEncoding : List.of("gzip;q=0.5", "br;q=1.0, *;q=0.1", "x-gzip")) {
+            // When
+            MvcResult started = mockMvc.perform(get("/api/v1/ticker-summary/export")
+                    .header("Accept-Encoding", acceptEncoding))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"));
+        }
+    }
+
+    @Test
+    void testExportInvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/ticker-summary/export")
+                .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryService);
+    }
+
+    @Test
+    void testLeaderboardServedFromMemory() throws Exception {
+        // Given
+        TickerSummaryDTO dto = new TickerSummaryDTO("AAPL", "Apple Inc.", 3000000000000L, ScaledDecimal.of("150.00"), null, null, null, null, null, null, null, null);
+        when(tickerSummaryLeaderboards.top(TickerSummarySortField.MARKET_CAP, false, 5)).thenReturn(Optional.of(List.of(dto)));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/ticker-summary/leaderboard")
+                .param("sortBy", "market_cap")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].ticker").value("AAPL"));
+
+        verifyNoInteractions(tickerSummaryService);
+    }
+
+    @Test
+    void testLeaderboardFallsBackToListQuery() throws Exception {
+        // Given: leaderboards disabled or not loaded yet
+        TickerSummaryDTO dto = new TickerSummaryDTO("KO", new BigDecimal("60.00"));
+        when(tickerSummaryLeaderboards.top(any(), anyBoolean(), anyInt())).thenReturn(Optional.empty());
+        when(tickerSummaryService.getScreenerPage(any())).thenReturn(new ScreenerPage(List.of(dto), 1, true));
+
+        // When
+        mockMvc.perform(get("/api/v1/ticker-summary/leaderboard")
+                .param("sortBy", "forward_pe")
+                .param("sortOrder", "ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticker").value("KO"));
+
+        // Then: the first page of the unfiltered list in the same order
+        ArgumentCaptor<ScreenerQuery> query = ArgumentCaptor.forClass(ScreenerQuery.class);
+        verify(tickerSummaryService).getScreenerPage(query.capture());
+        assertThat(query.getValue()).isEqualTo(ScreenerQuery.of(TickerSummaryFilter.NONE, 0, 10, "forward_pe", "ASC"));
+    }
+
+    @Test
+    void testLeaderboardInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/ticker-summary/leaderboard")
+                .param("sortBy", "pe")
+                .param("limit", "51"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryLeaderboards, tickerSummaryService);
+    }
+
+    @Test
+    void testFacetsUseCanonicalFilter() throws Exception {
+        // Given
+        TickerSummaryFacets facets = new TickerSummaryFacets(3, Map.of(
+            "pe", new TickerSummaryFacets.Histogram(List.of(new TickerSummaryFacets.Bucket(null, new BigDecimal("10"), 3)), 1)));
+        when(tickerSummaryService.getFacets(any())).thenReturn(facets);
+
+        // When
+        mockMvc.perform(get("/api/v1/ticker-summary/facets")
+                .param("query", " AA ")
+                .param("minDividendYield", "2.50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.facets.pe.buckets[0].count").value(3))
+                .andExpect(jsonPath("$.facets.pe.nullCount").value(1));
+
+        // Then
+        ArgumentCaptor<ScreenerQuery> query = ArgumentCaptor.forClass(ScreenerQuery.class);
+        verify(tickerSummaryService).getFacets(query.capture());
+        assertThat(query.getValue().filterKey())
+            .isEqualTo(ScreenerQuery.of(new TickerSummaryFilter("aa", null, null, null, null, null, null,
+                new BigDecimal("2.5"), null, null, null, null, null, null, null), null, null, null, null).filterKey());
+    }
+
+    @Test
+    void testFacetsInvalidFilter() throws Exception {
+        mockMvc.perform(get("/api/v1/ticker-summary/facets")
+                .param("maxPayoutRatio", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tickerSummaryService);
+    }
 }
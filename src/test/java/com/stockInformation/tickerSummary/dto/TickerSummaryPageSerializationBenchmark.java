@@ -0,0 +1,105 @@
+package com.stockInformation.tickerSummary.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.stockInformation.common.dto.ScaledDecimal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation rate of serializing a 50-row list page whose
+ * NUMERIC(p,2) columns are {@link BigDecimal}s (the former DTO) vs
+ * {@link ScaledDecimal}s. Each invocation materializes the page from scaled
+ * longs, as the in-memory screener does, then writes it to a discarding
+ * stream. Not run by surefire; run the main method from the test classpath
+ * (e.g. from the IDE) after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickerSummaryPageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int DECIMALS = 9;
+
+    /** The list row with BigDecimal columns, as it was serialized before. */
+    public record BigDecimalRow(
+        String ticker, String companyName, Long marketCap, BigDecimal previousClose, BigDecimal peRatio,
+        BigDecimal forwardPeRatio, BigDecimal dividendYield, BigDecimal payoutRatio, BigDecimal annualDividendGrowth,
+        BigDecimal fiveYearAvgDividendYield, BigDecimal fiftyDayAverage, BigDecimal twoHundredDayAverage) {}
+
+    private final ObjectWriter writer = new ObjectMapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    private String[] tickers;
+    private long[][] values;
+
+    @Setup
+    public void generatePage() {
+        Random random = new Random(7);
+        tickers = new String[PAGE_SIZE];
+        values = new long[PAGE_SIZE][DECIMALS];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            tickers[i] = "T" + i;
+            for (int j = 0; j < DECIMALS; j++) values[i][j] = random.nextInt(5_000_000);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal() throws IOException {
+        List<BigDecimalRow> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long[] v = values[i];
+            page.add(new BigDecimalRow(tickers[i], "Company " + tickers[i], 1_000_000L * i,
+                BigDecimal.valueOf(v[0], 2), BigDecimal.valueOf(v[1], 2), BigDecimal.valueOf(v[2], 2),
+                BigDecimal.valueOf(v[3], 2), BigDecimal.valueOf(v[4], 2), BigDecimal.valueOf(v[5], 2),
+                BigDecimal.valueOf(v[6], 2), BigDecimal.valueOf(v[7], 2), BigDecimal.valueOf(v[8], 2)));
+        }
+        writer.writeValue(discard, page);
+    }
+
+    @Benchmark
+    public void scaledDecimal() throws IOException {
+        List<TickerSummaryDTO> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long[] v = values[i];
+            page.add(new TickerSummaryDTO(tickers[i], "Company " + tickers[i], 1_000_000L * i,
+                ScaledDecimal.ofUnscaled(v[0]), ScaledDecimal.ofUnscaled(v[1]), ScaledDecimal.ofUnscaled(v[2]),
+                ScaledDecimal.ofUnscaled(v[3]), ScaledDecimal.ofUnscaled(v[4]), ScaledDecimal.ofUnscaled(v[5]),
+                ScaledDecimal.ofUnscaled(v[6]), ScaledDecimal.ofUnscaled(v[7]), ScaledDecimal.ofUnscaled(v[8])));
+        }
+        writer.writeValue(discard, page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TickerSummaryPageSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.stockInformation.tickerSummary.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickerSummaryExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final TickerSummaryDTO quoted = new TickerSummaryDTO(
+        "ACME", "Acme, \"The\" Company", 1_500_000L, ScaledDecimal.of("1E+2"), null, ScaledDecimal.of("12.5"),
+        null, null, null, null, null, null);
+    private final TickerSummaryDTO plain = new TickerSummaryDTO("ZZZ", new BigDecimal("3.25"));
+
+    @Test
+    void testCsvQuotesFieldsAndWritesPlainDecimals() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (TickerSummaryExportWriter writer = ExportFormat.CSV.open(out, objectMapper)) {
+            writer.write(quoted);
+            writer.write(plain);
+        }
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            CsvExportWriter.HEADER + "\r\n"
+            + "ACME,\"Acme, \"\"The\"\" Company\",1500000,100.00,,12.50,,,,,,\r\n"
+            + "ZZZ,,,3.25,,,,,,,,\r\n");
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (TickerSummaryExportWriter writer = ExportFormat.NDJSON.open(out, objectMapper)) {
+            writer.write(quoted);
+            writer.write(plain);
+        }
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("companyName").asText()).isEqualTo("Acme, \"The\" Company");
+        assertThat(first.get("forwardPeRatio").decimalValue()).isEqualByComparingTo("12.50");
+        assertThat(objectMapper.readValue(lines.get(1), TickerSummaryDTO.class)).isEqualTo(plain);
+    }
+
+    @Test
+    void testFormatIsResolvedCaseInsensitively() {
+        assertThat(ExportFormat.of("CSV")).contains(ExportFormat.CSV);
+        assertThat(ExportFormat.of("ndjson")).contains(ExportFormat.NDJSON);
+        assertThat(ExportFormat.of("xlsx")).isEmpty();
+    }
+}
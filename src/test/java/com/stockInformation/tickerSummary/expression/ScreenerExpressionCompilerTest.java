@@ -0,0 +1,63 @@
+package com.stockInformation.tickerSummary.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScreenerExpressionCompilerTest {
+
+    private final ScreenerExpressionCompiler compiler = new ScreenerExpressionCompiler(100);
+
+    @Test
+    void testEquivalentSpellingsShareOneCompiledExpression() {
+        // Given
+        ScreenerExpression first = compiler.compile("previousClose / fiftyDayAverage > 1.050 and (peratio < 15 or peRatio is null)");
+
+        // When
+        ScreenerExpression second = compiler.compile("  PREVIOUSCLOSE/FIFTYDAYAVERAGE>1.05   AND(peRatio<15.0 OR peRatio IS NULL)");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.text()).isEqualTo("previousClose / fiftyDayAverage > 1.05 AND (peRatio < 15 OR peRatio IS NULL)");
+    }
+
+    @Test
+    void testPrecedenceAndAliases() {
+        // When
+        ScreenerExpression expression = compiler.compile("NOT marketCap == 1 + 2 * 3 OR dividendYield <> 2 AND payoutRatio >= 0");
+
+        // Then: NOT binds tighter than AND, AND tighter than OR, * tighter than +
+        assertThat(expression.text()).isEqualTo("NOT marketCap = 1 + 2 * 3 OR dividendYield != 2 AND payoutRatio >= 0");
+        assertThat(expression.predicate().toString())
+            .isEqualTo("!(cast(tickerSummary.marketCap,class java.math.BigDecimal) = 1 + 2 * 3) || tickerSummary.dividendYield != 2 && tickerSummary.payoutRatio >= 0");
+    }
+
+    @Test
+    void testInvalidExpressionsNameTheError() {
+        assertThatThrownBy(() -> compiler.compile(" "))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Expression must not be empty");
+        assertThatThrownBy(() -> compiler.compile("price > 1"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Unknown field 'price' at position 1");
+        assertThatThrownBy(() -> compiler.compile("ticker > 1"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Field 'ticker' is not numeric at position 1");
+        assertThatThrownBy(() -> compiler.compile("peRatio > 1.2.3"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid number '1.2.3' at position 11");
+        assertThatThrownBy(() -> compiler.compile("peRatio > 1 AND"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Expected a number, field or '(' at end of expression");
+        assertThatThrownBy(() -> compiler.compile("peRatio + 1"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Expected a condition at position 1");
+        assertThatThrownBy(() -> compiler.compile("(peRatio > 1) * 2 > 1"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Expected a number at position 1");
+        assertThatThrownBy(() -> compiler.compile("1 < peRatio < 2"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Unexpected '<' at position 13");
+        assertThatThrownBy(() -> compiler.compile("(peRatio > 1"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Expected ')' at end of expression");
+        assertThatThrownBy(() -> compiler.compile("peRatio > 1 ; drop"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Unexpected character ';' at position 13");
+        assertThatThrownBy(() -> compiler.compile("(".repeat(40) + "peRatio > 1" + ")".repeat(40)))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageStartingWith("Expression is nested more than 32 levels deep");
+        assertThatThrownBy(() -> compiler.compile("peRatio > 1 OR ".repeat(100) + "peRatio > 1"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessage("Expression must not be longer than 1000 characters");
+    }
+}
@@ -0,0 +1,102 @@
+package com.stockInformation.tickerSummary.expression;
+
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTotalCounter;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs compiled screener expressions on H2 and compares the matching tickers
+ * with the same conditions evaluated row by row in Java, with SQL's NULL
+ * semantics: a comparison with a NULL operand (or a division by zero) matches
+ * neither itself nor its negation.
+ */
+@DataJpaTest
+@Import({QuerydslConfig.class, TickerSummaryDataVersion.class, TickerSummaryTotalCounter.class})
+class ScreenerExpressionQueryTest {
+
+    private static final BigDecimal[] RATIOS = { null, new BigDecimal("8.00"), new BigDecimal("15.50"), new BigDecimal("22.25") };
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryRepository tickerSummaryRepository;
+
+    private final ScreenerExpressionCompiler compiler = new ScreenerExpressionCompiler(100);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 30; i++) {
+            TickerSummary summary = new TickerSummary(String.format("E%02d", i), new BigDecimal(90 + i));
+            summary.setMarketCap(500_000L * i);
+            summary.setPeRatio(RATIOS[i % RATIOS.length]);
+            summary.setDividendYield(RATIOS[(i / 2) % RATIOS.length]);
+            // every fifth fifty-day average is zero
+            summary.setFiftyDayAverage(new BigDecimal(i % 5 == 0 ? 0 : 95 + i % 7));
+            summary.setTwoHundredDayAverage(new BigDecimal(100));
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExpressionsMatchRowByRowEvaluation() {
+        Map<String, Predicate<TickerSummaryDTO>> expressions = Map.of(
+            "previousClose / fiftyDayAverage > 1.05",
+            row -> row.fiftyDayAverage().unscaled() != 0
+                && value(row.previousClose()).divide(value(row.fiftyDayAverage()), 10, RoundingMode.HALF_UP)
+                    .compareTo(new BigDecimal("1.05")) > 0,
+            "NOT peRatio > 10 OR peRatio IS NULL",
+            row -> row.peRatio() == null || value(row.peRatio()).compareTo(BigDecimal.TEN) <= 0,
+            "marketCap / 1000000 >= 2.5",
+            row -> row.marketCap() >= 2_500_000L,
+            "-(peRatio - 20) * 2 > 10 AND dividendYield IS NOT NULL",
+            row -> row.peRatio() != null && row.dividendYield() != null
+                && value(row.peRatio()).subtract(BigDecimal.valueOf(20)).negate().multiply(BigDecimal.TWO).compareTo(BigDecimal.TEN) > 0,
+            "peRatio + dividendYield != 30.50 AND (previousClose < 100 OR twoHundredDayAverage = 100.00)",
+            row -> row.peRatio() != null && row.dividendYield() != null
+                && value(row.peRatio()).add(value(row.dividendYield())).compareTo(new BigDecimal("30.5")) != 0);
+
+        List<TickerSummaryDTO> all = tickerSummaryRepository.findAllWithCompanyName(
+            compiler.compile("previousClose > 0").predicate(), PageRequest.of(0, 100, Sort.by("ticker"))).getContent();
+        assertThat(all).hasSize(30);
+
+        expressions.forEach((source, oracle) -> {
+            // When
+            List<String> matched = tickerSummaryRepository.findAllWithCompanyName(
+                    compiler.compile(source).predicate(), PageRequest.of(0, 100, Sort.by("ticker")))
+                .map(TickerSummaryDTO::ticker).getContent();
+
+            // Then
+            List<String> expected = all.stream().filter(oracle).map(TickerSummaryDTO::ticker).toList();
+            assertThat(expected).as(source).isNotEmpty();
+            assertThat(matched).as(source).isEqualTo(expected);
+        });
+    }
+
+    private static BigDecimal value(ScaledDecimal decimal) {
+        return decimal.toBigDecimal();
+    }
+}
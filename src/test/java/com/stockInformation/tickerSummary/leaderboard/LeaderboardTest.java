@@ -0,0 +1,125 @@
+package com.stockInformation.tickerSummary.leaderboard;
+
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.repository.TextCollation;
+import com.stockInformation.tickerSummary.screener.ColumnarSnapshot;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+import com.stockInformation.tickerSummary.utils.TickerSummaryValidationUtils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies a series of reloads (changed values, NULLs, removed and added
+ * tickers) to the leaderboards of every allowed sort field and direction and
+ * compares them after each reload with the first page of the in-memory
+ * screener, whose order is checked against SQL in its own test.
+ *
+ * Text is collated by number ("T9" before "T10"), unlike code unit order,
+ * and every reload brings a new collation.
+ */
+class LeaderboardTest {
+
+    private static final int SIZE = 10;
+
+    @Test
+    void testIncrementalUpdatesMatchFullSort() {
+        // Given
+        Random random = new Random(17);
+        List<TickerSummaryDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 400; i++) rows.add(generated(random, "T" + i));
+        List<Leaderboard> boards = new ArrayList<>();
+        List<Sort> sorts = new ArrayList<>();
+        for (String sortBy : TickerSummaryValidationUtils.ALLOWED_SORT_FIELDS) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                boards.add(new Leaderboard(TickerSummarySortField.of(sortBy), direction.isAscending(), SIZE));
+                sorts.add(Sort.by(direction, sortBy));
+            }
+        }
+
+        int next = rows.size();
+        List<TickerSummaryDTO> previous = List.of();
+        for (int reload = 0; reload < 30; reload++) {
+            // When
+            update(boards, previous, rows, numbered(next));
+
+            // Then
+            ColumnarSnapshot expected = ColumnarSnapshot.build(rows, numbered(next), null, true);
+            for (int b = 0; b < boards.size(); b++) {
+                assertThat(boards.get(b).top(SIZE))
+                    .as("reload=%d sort=%s", reload, sorts.get(b))
+                    .isEqualTo(expected.page(TickerSummaryFilter.NONE, PageRequest.of(0, SIZE, sorts.get(b))).getContent());
+                assertThat(boards.get(b).top(3)).isEqualTo(boards.get(b).top(SIZE).subList(0, 3));
+            }
+
+            // some rows change, some go away, some arrive; every few reloads the top rows are all replaced
+            List<TickerSummaryDTO> reloaded = new ArrayList<>();
+            for (TickerSummaryDTO row : rows) {
+                int roll = random.nextInt(100);
+                if (roll < 3) continue;
+                reloaded.add(roll < 10 || reload % 7 == 6 ? generated(random, row.ticker()) : row);
+            }
+            for (int i = 0; i < 8; i++) reloaded.add(generated(random, "T" + next++));
+            previous = rows;
+            rows = reloaded;
+        }
+    }
+
+    @Test
+    void testSmallTableIsKeptWhole() {
+        // Given: fewer rows than the board size
+        Random random = new Random(5);
+        List<TickerSummaryDTO> rows = List.of(generated(random, "A"), generated(random, "B"), generated(random, "C"));
+        Leaderboard board = new Leaderboard(TickerSummarySortField.PE_RATIO, true, SIZE);
+
+        // When
+        boolean rebuilt = board.update(rows, rows, Set.of("A", "B", "C"), TextCollation.CODE_UNIT);
+        board.update(rows.subList(0, 2), List.of(), Set.of("A", "B"), TextCollation.CODE_UNIT);
+
+        // Then
+        assertThat(rebuilt).isFalse();
+        assertThat(board.top(SIZE)).extracting(TickerSummaryDTO::ticker).containsExactlyInAnyOrder("A", "B");
+    }
+
+    private static void update(
+            List<Leaderboard> boards, List<TickerSummaryDTO> previous, List<TickerSummaryDTO> rows, TextCollation collation) {
+        Set<String> tickers = rows.stream().map(TickerSummaryDTO::ticker).collect(Collectors.toCollection(HashSet::new));
+        List<TickerSummaryDTO> changed = TickerSummaryLeaderboards.changed(TickerSummaryLeaderboards.byTicker(previous), rows);
+        for (Leaderboard board : boards) board.update(rows, changed, tickers, collation);
+    }
+
+    /** Tickers T0 to T{@code tickers - 1} and the generated company names, in numeric order. */
+    private static TextCollation numbered(int tickers) {
+        return TextCollation.of(
+            IntStream.range(0, tickers).mapToObj(i -> "T" + i).toList(),
+            IntStream.range(0, 40).mapToObj(i -> "Company " + i).toList());
+    }
+
+    private static TickerSummaryDTO generated(Random random, String ticker) {
+        return new TickerSummaryDTO(ticker, random.nextInt(6) == 0 ? null : "Company " + random.nextInt(40),
+            1_000L * random.nextInt(30), decimal(random, 50), nullable(random, 40), nullable(random, 40), nullable(random, 8),
+            nullable(random, 90), nullable(random, 20), null, decimal(random, 3), decimal(random, 3));
+    }
+
+    private static ScaledDecimal decimal(Random random, int max) {
+        // quarters, with frequent ties
+        return ScaledDecimal.ofUnscaled(random.nextInt(max * 4 + 1) * 25L);
+    }
+
+    private static ScaledDecimal nullable(Random random, int max) {
+        return random.nextInt(4) == 0 ? null : decimal(random, max);
+    }
+}
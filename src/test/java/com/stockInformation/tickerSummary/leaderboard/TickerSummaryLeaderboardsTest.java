@@ -0,0 +1,52 @@
+package com.stockInformation.tickerSummary.leaderboard;
+
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.repository.TextCollation;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTable;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TickerSummaryLeaderboardsTest {
+
+    @Test
+    void testCompanyRenameReachesTheBoardsWhenTheVersionMoves() {
+        // Given
+        TickerSummaryRepository repository = mock(TickerSummaryRepository.class);
+        TickerSummaryDataVersion dataVersion = mock(TickerSummaryDataVersion.class);
+        when(repository.findAllWithCollation()).thenReturn(
+            table(row("AAPL", "Apple Computer"), row("MSFT", "Microsoft")),
+            table(row("AAPL", "Apple Inc."), row("MSFT", "Microsoft")));
+        // a cik_lookup reload moves the version without touching ticker_summary
+        when(dataVersion.current()).thenReturn(7L, 7L, 8L);
+        TickerSummaryLeaderboards leaderboards = new TickerSummaryLeaderboards(repository, dataVersion, true);
+
+        // When
+        leaderboards.refresh();
+        leaderboards.refresh();
+        leaderboards.refresh();
+
+        // Then: one read per version, and the new name is served
+        verify(repository, times(2)).findAllWithCollation();
+        assertThat(leaderboards.top(TickerSummarySortField.COMPANY_NAME, true, 2).orElseThrow())
+            .extracting(TickerSummaryDTO::companyName)
+            .containsExactly("Apple Inc.", "Microsoft");
+    }
+
+    private static TickerSummaryTable table(TickerSummaryDTO... rows) {
+        return new TickerSummaryTable(List.of(rows), TextCollation.CODE_UNIT);
+    }
+
+    private static TickerSummaryDTO row(String ticker, String companyName) {
+        return new TickerSummaryDTO(ticker, companyName, 1_000L, ScaledDecimal.of("100.00"),
+            null, null, null, null, null, null, ScaledDecimal.of("1.00"), ScaledDecimal.of("1.00"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.stockInformation.tickerSummary.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.stockInformation.cikLookup.entity.CikLookup;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.NullOrdering;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order of the {@code /list} page query: ties by ticker ascending in either
+ * direction, and NULL company names first ascending and last descending.
+ *
+ * H2 runs with PostgreSQL's default NULL ordering (NULLs sort high), and
+ * Hibernate is told so, since it leaves out a {@code NULLS FIRST/LAST} it
+ * believes to be the default; the NULL placement asserted here is then the
+ * query's own, not the database's.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:nullsHigh;DB_CLOSE_DELAY=-1;DEFAULT_NULL_ORDERING=HIGH",
+    "spring.jpa.database-platform=com.stockInformation.tickerSummary.repository.TickerSummaryListOrderTest$NullsHighH2Dialect"
+})
+@Import({QuerydslConfig.class, TickerSummaryDataVersion.class, TickerSummaryTotalCounter.class})
+class TickerSummaryListOrderTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryRepository tickerSummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        CikLookup alpha = new CikLookup(1, "Alpha Corp");
+        CikLookup beta = new CikLookup(2, "Beta Inc");
+        entityManager.persist(alpha);
+        entityManager.persist(beta);
+        // persisted out of ticker order, so ties are not resolved by insertion order
+        persist("DDD", "30", alpha);
+        persist("BBB", "30", null);
+        persist("EEE", "10", null);
+        persist("CCC", "20", beta);
+        persist("AAA", "20", alpha);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testCompanyNameSortPlacesNullsAndBreaksTiesByTicker() {
+        assertThat(tickers(Sort.Direction.ASC, "company_name")).containsExactly("BBB", "EEE", "AAA", "DDD", "CCC");
+        assertThat(tickers(Sort.Direction.DESC, "company_name")).containsExactly("CCC", "AAA", "DDD", "BBB", "EEE");
+    }
+
+    @Test
+    void testTiesAreBrokenByTickerAscending() {
+        assertThat(tickers(Sort.Direction.DESC, "previous_close")).containsExactly("BBB", "DDD", "AAA", "CCC", "EEE");
+        assertThat(tickers(Sort.Direction.DESC, "ticker")).containsExactly("EEE", "DDD", "CCC", "BBB", "AAA");
+    }
+
+    private List<String> tickers(Sort.Direction direction, String sortBy) {
+        return tickerSummaryRepository.findAllWithCompanyName(new BooleanBuilder(), PageRequest.of(0, 10, Sort.by(direction, sortBy)))
+            .getContent().stream().map(TickerSummaryDTO::ticker).toList();
+    }
+
+    private void persist(String ticker, String previousClose, CikLookup company) {
+        TickerSummary summary = new TickerSummary(ticker, new BigDecimal(previousClose));
+        summary.setCikLookup(company);
+        summary.setMarketCap(1_000_000L);
+        summary.setFiftyDayAverage(BigDecimal.ONE);
+        summary.setTwoHundredDayAverage(BigDecimal.ONE);
+        entityManager.persist(summary);
+    }
+
+    public static class NullsHighH2Dialect extends H2Dialect {
+        @Override
+        public NullOrdering getNullOrdering() {
+            return NullOrdering.GREATEST;
+        }
+    }
+}
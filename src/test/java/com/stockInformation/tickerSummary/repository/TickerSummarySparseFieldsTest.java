@@ -0,0 +1,106 @@
+package com.stockInformation.tickerSummary.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.stockInformation.cikLookup.entity.CikLookup;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryField;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sparse fieldsets on H2: the projected fields equal those of the full row,
+ * the others are NULL, and pages keep the full rows' order (also when the
+ * company is sorted by without being selected).
+ */
+@DataJpaTest
+@Import({QuerydslConfig.class, TickerSummaryDataVersion.class, TickerSummaryTotalCounter.class})
+class TickerSummarySparseFieldsTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryRepository tickerSummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        CikLookup alpha = new CikLookup(1, "Alpha Corp");
+        CikLookup beta = new CikLookup(2, "Beta Inc");
+        entityManager.persist(alpha);
+        entityManager.persist(beta);
+        for (int i = 0; i < 12; i++) {
+            TickerSummary summary = new TickerSummary(String.format("S%02d", (i * 5) % 12), new BigDecimal(20 + i % 4));
+            summary.setCikLookup(i % 3 == 0 ? null : i % 3 == 1 ? alpha : beta);
+            summary.setMarketCap(1_000_000L * (i % 5));
+            summary.setPeRatio(i % 2 == 0 ? null : new BigDecimal("12.50"));
+            summary.setFiftyDayAverage(new BigDecimal(i % 3));
+            summary.setTwoHundredDayAverage(new BigDecimal(i % 2));
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSparsePagesMatchFullPages() {
+        for (TickerSummaryFields fields : List.of(
+                TickerSummaryFields.of("previousClose,peRatio"),
+                TickerSummaryFields.of("companyName, marketCap"))) {
+            for (String sortBy : List.of("ticker", "previous_close", "company_name")) {
+                for (int page = 0; page < 3; page++) {
+                    // Given
+                    Pageable pageable = PageRequest.of(page, 5, Sort.by(Sort.Direction.DESC, sortBy));
+
+                    // When
+                    Page<TickerSummaryDTO> full = tickerSummaryRepository.findAllWithCompanyName(new BooleanBuilder(), pageable);
+                    Page<TickerSummaryDTO> sparse = tickerSummaryRepository.findAllWithCompanyName(new BooleanBuilder(), pageable, fields);
+
+                    // Then
+                    assertThat(sparse.getTotalElements()).isEqualTo(full.getTotalElements());
+                    assertThat(sparse.getContent()).hasSameSizeAs(full.getContent());
+                    for (int i = 0; i < full.getContent().size(); i++) {
+                        assertSparse(sparse.getContent().get(i), full.getContent().get(i), fields);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSparseRowByTicker() {
+        // Given
+        TickerSummaryFields fields = TickerSummaryFields.of("previousClose");
+        TickerSummaryDTO full = tickerSummaryRepository.findByTickerWithCompanyName("s01").orElseThrow();
+
+        // When
+        TickerSummaryDTO sparse = tickerSummaryRepository.findByTickerWithCompanyName("s01", fields).orElseThrow();
+
+        // Then
+        assertSparse(sparse, full, fields);
+        assertThat(full.companyName()).isNotNull();
+    }
+
+    private static void assertSparse(TickerSummaryDTO sparse, TickerSummaryDTO full, TickerSummaryFields fields) {
+        for (TickerSummaryField field : TickerSummaryField.values()) {
+            Object expected = fields.contains(field) ? field.valueOf(full) : null;
+            assertThat(field.valueOf(sparse)).as("%s of %s with fields=%s", field, full.ticker(), fields).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.stockInformation.tickerSummary.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+import com.stockInformation.tickerSummary.transformer.FilterPredicateTransformer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TickerSummaryTotalCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @Test
+    void testEquivalentFiltersShareCachedTotal() {
+        // Given
+        TickerSummaryTotalCounter counter = counter(false);
+        givenDataVersion(7L);
+
+        // When
+        TickerSummaryTotalCounter.TotalCount first = counter.count(predicate(" AAP ", new BigDecimal("1.50")), this::countRows);
+        TickerSummaryTotalCounter.TotalCount second = counter.count(predicate("aap", new BigDecimal("1.5")), this::countRows);
+
+        // Then
+        assertThat(first).isEqualTo(new TickerSummaryTotalCounter.TotalCount(42, true));
+        assertThat(second).isEqualTo(first);
+        assertThat(counts).hasValue(1);
+    }
+
+    @Test
+    void testDataVersionChangeRecounts() {
+        // Given
+        TickerSummaryTotalCounter counter = counter(false);
+        givenDataVersion(7L, 8L);
+        counter.count(predicate("aap", null), this::countRows);
+
+        // When
+        counter.count(predicate("aap", null), this::countRows);
+
+        // Then
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void testApproximateModeEstimatesUnfilteredScreens() {
+        // Given
+        TickerSummaryTotalCounter counter = counter(true);
+        givenDataVersion(7L);
+        when(jdbcTemplate.query(contains("reltuples"), ArgumentMatchers.<ResultSetExtractor<Long>>any())).thenReturn(1000L);
+
+        // When
+        TickerSummaryTotalCounter.TotalCount unfiltered = counter.count(new BooleanBuilder(), this::countRows);
+        TickerSummaryTotalCounter.TotalCount filtered = counter.count(predicate("aap", null), this::countRows);
+
+        // Then
+        assertThat(unfiltered).isEqualTo(new TickerSummaryTotalCounter.TotalCount(1000, false));
+        assertThat(filtered).isEqualTo(new TickerSummaryTotalCounter.TotalCount(42, true));
+        assertThat(counts).hasValue(1);
+    }
+
+    @Test
+    void testApproximateModeCountsNeverAnalyzedTable() {
+        // Given
+        TickerSummaryTotalCounter counter = counter(true);
+        givenDataVersion(7L);
+        when(jdbcTemplate.query(contains("reltuples"), ArgumentMatchers.<ResultSetExtractor<Long>>any())).thenReturn(-1L);
+
+        // When
+        TickerSummaryTotalCounter.TotalCount total = counter.count(new BooleanBuilder(), this::countRows);
+
+        // Then
+        assertThat(total).isEqualTo(new TickerSummaryTotalCounter.TotalCount(42, true));
+    }
+
+    private TickerSummaryTotalCounter counter(boolean approximate) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<CacheManager> cacheManager = mock(ObjectProvider.class);
+        when(cacheManager.getIfAvailable()).thenReturn(new ConcurrentMapCacheManager());
+        // probe the data version on every count
+        return new TickerSummaryTotalCounter(
+            jdbcTemplate, new TickerSummaryDataVersion(jdbcTemplate, Duration.ZERO), cacheManager, approximate);
+    }
+
+    private void givenDataVersion(Long version, Long... next) {
+        when(jdbcTemplate.query(contains("pg_stat_user_tables"), ArgumentMatchers.<ResultSetExtractor<Long>>any())).thenReturn(version, next);
+    }
+
+    private long countRows() {
+        counts.incrementAndGet();
+        return 42;
+    }
+
+    private static BooleanBuilder predicate(String query, BigDecimal minPe) {
+        return FilterPredicateTransformer.toPredicate(QTickerSummary.tickerSummary, new TickerSummaryFilter(
+            query, null, null, minPe, null, null, null, null, null, null, null, null, null, null, null));
+    }
+}
@@ -0,0 +1,39 @@
+package com.stockInformation.tickerSummary.screener;
+
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.repository.TextCollation;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ColumnarScreenerTest {
+
+    @Test
+    void testDataVersionIsTheSnapshotsUntilTheNextReload() {
+        // Given
+        TickerSummaryRepository repository = mock(TickerSummaryRepository.class);
+        TickerSummaryDataVersion dataVersion = mock(TickerSummaryDataVersion.class);
+        when(repository.findAllWithCollation()).thenReturn(new TickerSummaryTable(
+            List.of(new TickerSummaryDTO("AAPL", new BigDecimal("150.00"))), TextCollation.CODE_UNIT));
+        when(dataVersion.current()).thenReturn(4L, 5L, 6L);
+        ColumnarScreener screener = new ColumnarScreener(repository, dataVersion, new SimpleMeterRegistry(), true, true);
+
+        // When / Then: the current version until the first load, then the version read before each load
+        assertThat(screener.dataVersion()).isEqualTo(4L);
+        screener.refresh();
+        assertThat(screener.dataVersion()).isEqualTo(5L);
+        assertThat(screener.dataVersion()).isEqualTo(5L);
+        screener.refresh();
+        assertThat(screener.dataVersion()).isEqualTo(6L);
+    }
+}
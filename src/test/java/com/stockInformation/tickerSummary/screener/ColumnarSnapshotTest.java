@@ -0,0 +1,297 @@
+package com.stockInformation.tickerSummary.screener;
+
+import com.querydsl.core.BooleanBuilder;
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.cikLookup.entity.CikLookup;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.entity.QTickerSummary;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+import com.stockInformation.tickerSummary.repository.TextCollation;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTable;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTotalCounter;
+import com.stockInformation.tickerSummary.transformer.FilterPredicateTransformer;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential test of the in-memory screener against the SQL list query on
+ * H2: every filter, sort field, direction and page must return the same rows
+ * in the same order with the same total.
+ *
+ * The database collates text in English, like the production one (en_US),
+ * so text sorted by {@link String#compareTo} instead would not match.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:collated;DB_CLOSE_DELAY=-1;INIT=SET COLLATION ENGLISH")
+@Import({QuerydslConfig.class, TickerSummaryDataVersion.class, TickerSummaryTotalCounter.class})
+class ColumnarSnapshotTest {
+
+    private static final String[] COMPANY_NAMES = { "Alpha Corp", "Beta Inc", "Gamma Holdings", "alpha labs" };
+    private static final List<String> SORT_FIELDS = List.of(
+        "ticker", "company_name", "previous_close", "pe", "forward_pe", "dividend_yield",
+        "market_cap", "payout_ratio", "annual_dividend_growth", "fifty_day_average", "two_hundred_day_average");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryRepository tickerSummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<CikLookup> companies = new ArrayList<>();
+        for (int i = 0; i < COMPANY_NAMES.length; i++) {
+            companies.add(new CikLookup(i + 1, COMPANY_NAMES[i]));
+            entityManager.persist(companies.get(i));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            TickerSummary summary = new TickerSummary(ticker(i), decimal(random, 1, 500));
+            // some tickers have no company (NULL company name through the left join)
+            summary.setCikLookup(random.nextInt(5) == 0 ? null : companies.get(random.nextInt(companies.size())));
+            summary.setMarketCap(1_000_000L * random.nextInt(20));
+            summary.setPeRatio(nullable(random, 0, 40));
+            summary.setForwardPeRatio(nullable(random, 0, 40));
+            summary.setDividendYield(nullable(random, 0, 8));
+            summary.setPayoutRatio(nullable(random, 0, 90));
+            summary.setAnnualDividendGrowth(nullable(random, 0, 20));
+            summary.setFiveYearAvgDividendYield(nullable(random, 0, 8));
+            summary.setFiftyDayAverage(decimal(random, 0, 3));
+            summary.setTwoHundredDayAverage(decimal(random, 0, 3));
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testPagesMatchSqlForEveryFilterAndSort() {
+        TickerSummaryTable table = tickerSummaryRepository.findAllWithCollation();
+        ColumnarSnapshot indexed = ColumnarSnapshot.build(table.rows(), table.collation(), null, true);
+        ColumnarSnapshot scanned = ColumnarSnapshot.build(table.rows(), table.collation(), null, false);
+        assertThat(indexed.size()).isEqualTo(300);
+
+        List<TickerSummaryFilter> filters = List.of(
+            filter(null, null, null, null, null, null),
+            filter(" b1 ", null, null, null, null, null),
+            filter("Q", new BigDecimal("10"), new BigDecimal("25.5"), null, null, null),
+            filter(null, new BigDecimal("10.005"), new BigDecimal("10.014"), null, null, null),
+            filter(null, null, null, new BigDecimal("1.5"), 3_000_000L, 12_000_000L),
+            filter("a", null, null, null, 5_000_000L, null),
+            filter(null, new BigDecimal("30"), new BigDecimal("20"), null, null, null),
+            new TickerSummaryFilter(null, new BigDecimal("100"), new BigDecimal("400.00"), null, null,
+                new BigDecimal("5"), null, null, null, null, null, null, new BigDecimal("60"), new BigDecimal("2.50"), null));
+
+        for (TickerSummaryFilter filter : filters) {
+            BooleanBuilder predicate = FilterPredicateTransformer.toPredicate(QTickerSummary.tickerSummary, filter);
+            for (String sortBy : SORT_FIELDS) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    for (int page = 0; page < 3; page++) {
+                        Pageable pageable = PageRequest.of(page, 40, Sort.by(direction, sortBy));
+                        Page<TickerSummaryDTO> expected = tickerSummaryRepository.findAllWithCompanyName(predicate, pageable);
+
+                        for (ColumnarSnapshot snapshot : List.of(indexed, scanned)) {
+                            Page<TickerSummaryDTO> actual = snapshot.page(filter, pageable);
+
+                            assertThat(actual.getContent())
+                                .as("filter=%s sortBy=%s %s page=%d", filter, sortBy, direction, page)
+                                .containsExactlyElementsOf(expected.getContent());
+                            assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTextIsOrderedByTheDatabaseCollation() {
+        // Given: "alpha labs" sorts after "Alpha Corp" in English, but after "Gamma Holdings" by code unit
+        TickerSummaryTable table = tickerSummaryRepository.findAllWithCollation();
+        Pageable pageable = PageRequest.of(0, 300, Sort.by("company_name"));
+        List<TickerSummaryDTO> expected = tickerSummaryRepository.findAllWithCompanyName(new BooleanBuilder(), pageable).getContent();
+
+        // When
+        List<TickerSummaryDTO> collated = ColumnarSnapshot.build(table.rows(), table.collation(), null, true)
+            .page(TickerSummaryFilter.NONE, pageable).getContent();
+        List<TickerSummaryDTO> codeUnit = ColumnarSnapshot.build(table.rows())
+            .page(TickerSummaryFilter.NONE, pageable).getContent();
+
+        // Then
+        assertThat(expected.stream().map(TickerSummaryDTO::companyName).distinct())
+            .containsExactly(null, "Alpha Corp", "alpha labs", "Beta Inc", "Gamma Holdings");
+        assertThat(collated).containsExactlyElementsOf(expected);
+        assertThat(codeUnit).isNotEqualTo(expected);
+    }
+
+    @Test
+    void testParallelColumnScanMatchesRowByRowFilter() {
+        // Given: enough rows for several chunks scanned in parallel, with a partial last word
+        Random random = new Random(11);
+        List<TickerSummaryDTO> rows = IntStream.range(0, 5 * ColumnarSnapshot.CHUNK_ROWS + 37)
+            .mapToObj(i -> generated(random, i))
+            .toList();
+        ColumnarSnapshot snapshot = ColumnarSnapshot.build(rows, TextCollation.CODE_UNIT, null, false);
+        TickerSummaryFilter filter = filter("1", new BigDecimal("5"), new BigDecimal("30.25"), new BigDecimal("2"), 10_000L, null);
+
+        // When
+        int[] matches = snapshot.scan(filter);
+
+        // Then
+        String[] expected = rows.stream()
+            .filter(row -> row.ticker().toLowerCase().contains("1"))
+            .filter(row -> within(row.peRatio(), filter.minPe(), filter.maxPe()))
+            .filter(row -> within(row.dividendYield(), filter.minDividendYield(), null))
+            .filter(row -> row.marketCap() >= filter.minMarketCap())
+            .map(TickerSummaryDTO::ticker)
+            .sorted()
+            .toArray(String[]::new);
+        Page<TickerSummaryDTO> all = snapshot.page(filter, PageRequest.of(0, rows.size()));
+        assertThat(matches).hasSize(expected.length);
+        assertThat(all.getContent().stream().map(TickerSummaryDTO::ticker).toArray(String[]::new))
+            .containsExactly(expected);
+        assertThat(Arrays.stream(matches).sorted().toArray()).containsExactly(matches);
+    }
+
+    @Test
+    void testReloadUpdatesBitmapIndexesWithChangedRows() {
+        // Given: a snapshot, then a reload where rows changed value or NULL-ness, and tickers were removed and added
+        Random random = new Random(3);
+        List<TickerSummaryDTO> before = IntStream.range(0, 2_000).mapToObj(i -> generated(random, i)).toList();
+        ColumnarSnapshot previous = ColumnarSnapshot.build(before, TextCollation.CODE_UNIT, null, true);
+
+        List<TickerSummaryDTO> after = new ArrayList<>();
+        for (int i = 0; i < before.size(); i++) {
+            if (i % 10 == 0) continue;
+            after.add(i % 7 == 0 ? generated(random, i) : before.get(i));
+        }
+        IntStream.range(2_000, 2_300).mapToObj(i -> generated(random, i)).forEach(after::add);
+
+        // When
+        ColumnarSnapshot reloaded = ColumnarSnapshot.build(after, TextCollation.CODE_UNIT, previous, true);
+
+        // Then: same pages as a snapshot built from scratch and as the column scan
+        ColumnarSnapshot rebuilt = ColumnarSnapshot.build(after, TextCollation.CODE_UNIT, null, true);
+        ColumnarSnapshot scanned = ColumnarSnapshot.build(after, TextCollation.CODE_UNIT, null, false);
+        assertThat(reloaded.size()).isEqualTo(after.size());
+        for (TickerSummaryFilter filter : List.of(
+                filter(null, new BigDecimal("10"), new BigDecimal("25.5"), null, null, null),
+                filter("1", null, new BigDecimal("12.25"), new BigDecimal("2"), 10_000L, 30_000L),
+                filter(null, new BigDecimal("0"), null, new BigDecimal("0.5"), null, null))) {
+            for (String sortBy : List.of("ticker", "pe", "market_cap")) {
+                Pageable pageable = PageRequest.of(0, after.size(), Sort.by(Sort.Direction.DESC, sortBy));
+                List<TickerSummaryDTO> expected = scanned.page(filter, pageable).getContent();
+                assertThat(expected).isNotEmpty();
+                assertThat(reloaded.page(filter, pageable).getContent()).as("filter=%s", filter).isEqualTo(expected);
+                assertThat(rebuilt.page(filter, pageable).getContent()).as("filter=%s", filter).isEqualTo(expected);
+            }
+        }
+        assertThat(reloaded.indexMemoryBytes()).isPositive();
+    }
+
+    @Test
+    void testReloadKeepsSortPermutationsOfUnchangedColumns() {
+        // Given: a reload where only some PE ratios changed
+        Random random = new Random(5);
+        List<TickerSummaryDTO> before = IntStream.range(0, 1_000).mapToObj(i -> generated(random, i)).toList();
+        ColumnarSnapshot previous = ColumnarSnapshot.build(before, TextCollation.CODE_UNIT, null, true);
+        List<TickerSummaryDTO> after = IntStream.range(0, before.size())
+            .mapToObj(i -> {
+                TickerSummaryDTO row = before.get(i);
+                return i % 3 != 0 ? row : new TickerSummaryDTO(row.ticker(), row.companyName(), row.marketCap(),
+                    row.previousClose(), scaled(nullable(random, 0, 40)), null, row.dividendYield(), null, null, null,
+                    row.fiftyDayAverage(), row.twoHundredDayAverage());
+            })
+            .toList();
+
+        // When
+        ColumnarSnapshot reloaded = ColumnarSnapshot.build(after, TextCollation.CODE_UNIT, previous, true);
+
+        // Then: unchanged orders are shared, and every page (walked or sorted) matches a fresh build
+        assertThat(reloaded.permutation(TickerSummarySortField.MARKET_CAP)).isSameAs(previous.permutation(TickerSummarySortField.MARKET_CAP));
+        assertThat(reloaded.permutation(TickerSummarySortField.TICKER)).isSameAs(previous.permutation(TickerSummarySortField.TICKER));
+        assertThat(reloaded.permutation(TickerSummarySortField.PE_RATIO)).isNotSameAs(previous.permutation(TickerSummarySortField.PE_RATIO));
+
+        ColumnarSnapshot rebuilt = ColumnarSnapshot.build(after, TextCollation.CODE_UNIT, null, true);
+        for (TickerSummaryFilter filter : List.of(
+                filter(null, null, null, null, null, null),
+                filter(null, new BigDecimal("5"), null, null, null, null),
+                filter("7", null, new BigDecimal("20"), null, null, null))) {
+            for (String sortBy : List.of("ticker", "pe", "market_cap", "dividend_yield")) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    for (int page : new int[] {0, 3, 19}) {
+                        Pageable pageable = PageRequest.of(page, 50, Sort.by(direction, sortBy));
+                        Page<TickerSummaryDTO> expected = rebuilt.page(filter, pageable);
+                        Page<TickerSummaryDTO> actual = reloaded.page(filter, pageable);
+
+                        assertThat(actual.getContent())
+                            .as("filter=%s sortBy=%s %s page=%d", filter, sortBy, direction, page)
+                            .isEqualTo(expected.getContent());
+                        assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+                    }
+                }
+            }
+        }
+    }
+
+    private static TickerSummaryDTO generated(Random random, int i) {
+        return new TickerSummaryDTO(ticker(i), null, 1_000L * random.nextInt(50), scaled(decimal(random, 1, 100)),
+            scaled(nullable(random, 0, 40)), null, scaled(nullable(random, 0, 8)), null, null, null,
+            scaled(decimal(random, 0, 3)), scaled(decimal(random, 0, 3)));
+    }
+
+    private static TickerSummaryFilter filter(
+            String query, BigDecimal minPe, BigDecimal maxPe, BigDecimal minDividendYield, Long minMarketCap, Long maxMarketCap) {
+        return new TickerSummaryFilter(query, null, null, minPe, maxPe, null, null,
+            minDividendYield, null, minMarketCap, maxMarketCap, null, null, null, null);
+    }
+
+    private static boolean within(ScaledDecimal value, BigDecimal min, BigDecimal max) {
+        return value != null
+            && (min == null || value.toBigDecimal().compareTo(min) >= 0)
+            && (max == null || value.toBigDecimal().compareTo(max) <= 0);
+    }
+
+    private static String ticker(int i) {
+        return String.format("%c%c%d", 'A' + i % 26, 'A' + (i / 26) % 26, i);
+    }
+
+    private static BigDecimal decimal(Random random, int min, int max) {
+        // cents, with frequent ties
+        return BigDecimal.valueOf(min * 100L + random.nextInt((max - min) * 4 + 1) * 25L, 2);
+    }
+
+    private static ScaledDecimal scaled(BigDecimal value) {
+        return ScaledDecimal.of(value);
+    }
+
+    private static BigDecimal nullable(Random random, int min, int max) {
+        return random.nextInt(4) == 0 ? null : decimal(random, min, max);
+    }
+}
@@ -0,0 +1,71 @@
+package com.stockInformation.tickerSummary.screener;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowBitmapTest {
+
+    @Test
+    void testAddAndRemoveAcrossContainerKinds() {
+        // Given: one sparse group, and one group growing past the array container limit
+        RowBitmap bitmap = RowBitmap.of(5, 3, 70_000);
+        for (int row = 0; row <= RowBitmap.ARRAY_MAX * 2; row += 2) bitmap.add(200_000 + row);
+
+        // When
+        for (int row = 0; row <= RowBitmap.ARRAY_MAX * 2; row += 4) bitmap.remove(200_000 + row);
+        bitmap.remove(70_000);
+
+        // Then
+        assertThat(bitmap.cardinality()).isEqualTo(2 + RowBitmap.ARRAY_MAX / 2);
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(70_000)).isFalse();
+        assertThat(bitmap.contains(200_002)).isTrue();
+        assertThat(bitmap.contains(200_004)).isFalse();
+        assertThat(bitmap.toArray()).startsWith(3, 5, 200_002, 200_006).isSorted();
+    }
+
+    @Test
+    void testAndOrMatchBitSet() {
+        Random random = new Random(5);
+        for (int density : new int[] { 2, 50, 5000 }) {
+            // Given
+            BitSet left = new BitSet();
+            BitSet right = new BitSet();
+            RowBitmap leftBitmap = new RowBitmap();
+            RowBitmap rightBitmap = new RowBitmap();
+            for (int row = 0; row < 200_000; row++) {
+                if (random.nextInt(10_000) < density) { left.set(row); leftBitmap.add(row); }
+                if (random.nextInt(10_000) < density) { right.set(row); rightBitmap.add(row); }
+            }
+
+            // When
+            RowBitmap and = leftBitmap.and(rightBitmap);
+            RowBitmap or = leftBitmap.or(rightBitmap);
+
+            // Then
+            BitSet expectedAnd = (BitSet) left.clone();
+            expectedAnd.and(right);
+            BitSet expectedOr = (BitSet) left.clone();
+            expectedOr.or(right);
+            assertThat(and.toArray()).containsExactly(expectedAnd.stream().toArray());
+            assertThat(or.toArray()).containsExactly(expectedOr.stream().toArray());
+            assertThat(leftBitmap.toArray()).containsExactly(left.stream().toArray());
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        RowBitmap original = RowBitmap.of(1, 2, 3);
+
+        RowBitmap copy = original.copy();
+        copy.remove(2);
+        copy.add(4);
+
+        assertThat(original.toArray()).containsExactly(1, 2, 3);
+        assertThat(copy.toArray()).containsExactly(1, 3, 4);
+    }
+}
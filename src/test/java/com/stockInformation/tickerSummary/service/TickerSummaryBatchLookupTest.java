@@ -0,0 +1,73 @@
+package com.stockInformation.tickerSummary.service;
+
+import com.stockInformation.cikLookup.entity.CikLookup;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.dto.TickerSummaryLookup;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTotalCounter;
+import com.stockInformation.tickerSummary.screener.ColumnarScreener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch lookups on H2: tickers match case-insensitively through the IN
+ * query, and every requested ticker gets one entry, in request order.
+ */
+@DataJpaTest
+@Import({QuerydslConfig.class, TickerSummaryTotalCounter.class, SimpleMeterRegistry.class, ColumnarScreener.class, TickerSummaryService.class})
+class TickerSummaryBatchLookupTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryService tickerSummaryService;
+
+    @MockitoBean(name = "tickerSummaryDataVersion")
+    private TickerSummaryDataVersion tickerSummaryDataVersion;
+
+    @BeforeEach
+    void setUp() {
+        CikLookup apple = new CikLookup(320193, "Apple Inc.");
+        entityManager.persist(apple);
+        for (String ticker : List.of("AAPL", "MSFT", "BRK.B")) {
+            TickerSummary summary = new TickerSummary(ticker, new BigDecimal("100.00"));
+            summary.setCikLookup(ticker.equals("AAPL") ? apple : null);
+            summary.setMarketCap(1_000_000L);
+            summary.setFiftyDayAverage(BigDecimal.ONE);
+            summary.setTwoHundredDayAverage(BigDecimal.ONE);
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testBatchFollowsRequestOrderWithNotFoundEntries() {
+        // When
+        List<TickerSummaryLookup> lookups = tickerSummaryService.findDTOsByTickers(List.of("brk.b", "NOPE", "aapl", "MSFT", "AAPL"));
+
+        // Then
+        assertThat(lookups).extracting(TickerSummaryLookup::ticker).containsExactly("brk.b", "NOPE", "aapl", "MSFT", "AAPL");
+        assertThat(lookups).extracting(TickerSummaryLookup::found).containsExactly(true, false, true, true, true);
+        assertThat(lookups.get(1).summary()).isNull();
+        assertThat(lookups.get(0).summary().ticker()).isEqualTo("BRK.B");
+        assertThat(lookups.get(2).summary()).isEqualTo(lookups.get(4).summary())
+            .isEqualTo(tickerSummaryService.findDTOByTicker("aapl", TickerSummaryFields.ALL).orElseThrow());
+        assertThat(lookups.get(2).summary().companyName()).isEqualTo("Apple Inc.");
+    }
+}
@@ -0,0 +1,171 @@
+package com.stockInformation.tickerSummary.service;
+
+import com.stockInformation.cikLookup.entity.CikLookup;
+import com.stockInformation.common.dto.CursorPageResponse;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+import com.stockInformation.tickerSummary.export.ExportFormat;
+import com.stockInformation.tickerSummary.export.TickerSummaryExportWriter;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTotalCounter;
+import com.stockInformation.tickerSummary.screener.ColumnarScreener;
+import com.stockInformation.tickerSummary.transformer.TickerSummarySortField;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Walks the keyset-paginated list page by page on H2 and compares the
+ * concatenated pages with the full result sorted in memory, for every sort
+ * field and direction (ties and NULLs included), and checks that the
+ * streaming export returns the same rows in the same order.
+ */
+@DataJpaTest
+@Import({QuerydslConfig.class, TickerSummaryDataVersion.class, TickerSummaryTotalCounter.class, SimpleMeterRegistry.class, ColumnarScreener.class, TickerSummaryService.class})
+class TickerSummaryCursorPaginationTest {
+
+    private static final TickerSummaryFilter NO_FILTER = new TickerSummaryFilter(
+        null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+    private static final String[] COMPANY_NAMES = { "Alpha Corp", "Beta Inc", "Gamma Holdings" };
+    private static final BigDecimal[] RATIOS = { null, new BigDecimal("10.00"), new BigDecimal("15.50"), new BigDecimal("20.00") };
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryService tickerSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        List<CikLookup> companies = new ArrayList<>();
+        for (int i = 0; i < COMPANY_NAMES.length; i++) {
+            companies.add(new CikLookup(i + 1, COMPANY_NAMES[i]));
+            entityManager.persist(companies.get(i));
+        }
+        for (int i = 0; i < 37; i++) {
+            TickerSummary summary = new TickerSummary(String.format("T%02d", (i * 17) % 37), new BigDecimal(10 + i % 5));
+            // every fourth ticker has no company (NULL company name through the left join)
+            summary.setCikLookup(i % 4 == 0 ? null : companies.get(i % COMPANY_NAMES.length));
+            summary.setMarketCap(1_000_000L * (i % 6));
+            summary.setPeRatio(RATIOS[i % RATIOS.length]);
+            summary.setForwardPeRatio(RATIOS[(i + 1) % RATIOS.length]);
+            summary.setDividendYield(RATIOS[(i / 2) % RATIOS.length]);
+            summary.setPayoutRatio(RATIOS[(i / 3) % RATIOS.length]);
+            summary.setAnnualDividendGrowth(RATIOS[(i + 2) % RATIOS.length]);
+            summary.setFiftyDayAverage(new BigDecimal(i % 3));
+            summary.setTwoHundredDayAverage(new BigDecimal(i % 2));
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testCursorWalkMatchesFullSortForEverySortField() {
+        List<TickerSummaryDTO> all = walk("ticker", "ASC", 50);
+        assertThat(all).hasSize(37);
+
+        for (String sortBy : List.of(
+                "ticker", "company_name", "previous_close", "pe", "forward_pe", "dividend_yield",
+                "market_cap", "payout_ratio", "annual_dividend_growth", "fifty_day_average", "two_hundred_day_average")) {
+            for (String sortOrder : List.of("ASC", "DESC")) {
+                List<TickerSummaryDTO> expected = new ArrayList<>(all);
+                expected.sort(expectedOrder(TickerSummarySortField.of(sortBy), "ASC".equals(sortOrder)));
+
+                assertThat(walk(sortBy, sortOrder, 5))
+                    .as("sortBy=%s sortOrder=%s", sortBy, sortOrder)
+                    .extracting(TickerSummaryDTO::ticker)
+                    .containsExactlyElementsOf(expected.stream().map(TickerSummaryDTO::ticker).toList());
+            }
+        }
+    }
+
+    @Test
+    void testCursorOfAnotherSortIsRejected() {
+        CursorPageResponse<TickerSummaryDTO> first = tickerSummaryService.getCursorPage(NO_FILTER, null, 5, "pe", "ASC");
+
+        assertThatThrownBy(() -> tickerSummaryService.getCursorPage(NO_FILTER, first.nextCursor(), 5, "pe", "DESC"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tickerSummaryService.getCursorPage(NO_FILTER, "not-a-cursor", 5, "pe", "ASC"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testExportStreamsRowsInCursorOrder() throws IOException {
+        // Given
+        TickerSummaryFilter minPe = new TickerSummaryFilter(
+            null, null, null, new BigDecimal("15"), null, null, null, null, null, null, null, null, null, null, null);
+
+        for (String sortOrder : List.of("ASC", "DESC")) {
+            List<String> expected = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPageResponse<TickerSummaryDTO> page = tickerSummaryService.getCursorPage(minPe, cursor, 5, "pe", sortOrder);
+                page.content().forEach(row -> expected.add(row.ticker()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            // When
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long rows;
+            try (TickerSummaryExportWriter writer = ExportFormat.CSV.open(out, new ObjectMapper())) {
+                rows = tickerSummaryService.export(minPe, "pe", sortOrder, writer);
+            }
+
+            // Then
+            List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(rows).isEqualTo(expected.size());
+            assertThat(lines).hasSize(expected.size() + 1);
+            assertThat(lines.subList(1, lines.size()))
+                .as("sortOrder=%s", sortOrder)
+                .extracting(line -> line.substring(0, line.indexOf(',')))
+                .containsExactlyElementsOf(expected);
+        }
+    }
+
+    private List<TickerSummaryDTO> walk(String sortBy, String sortOrder, int pageSize) {
+        List<TickerSummaryDTO> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<TickerSummaryDTO> page = tickerSummaryService.getCursorPage(NO_FILTER, cursor, pageSize, sortBy, sortOrder);
+            rows.addAll(page.content());
+            assertThat(page.hasNext()).isEqualTo(page.nextCursor() != null);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<TickerSummaryDTO> expectedOrder(TickerSummarySortField field, boolean ascending) {
+        if (field == TickerSummarySortField.TICKER) {
+            Comparator<TickerSummaryDTO> byTicker = Comparator.comparing(TickerSummaryDTO::ticker);
+            return ascending ? byTicker : byTicker.reversed();
+        }
+        Comparator<Comparable> values = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        // NULLs first ascending, last descending, as in SortOrderTransformer
+        Comparator<Comparable> withNulls = ascending ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+        return Comparator.comparing((TickerSummaryDTO row) -> (Comparable) field.valueOf(row), withNulls)
+            .thenComparing(TickerSummaryDTO::ticker);
+    }
+}
@@ -0,0 +1,173 @@
+package com.stockInformation.tickerSummary.service;
+
+import com.stockInformation.common.dto.ScaledDecimal;
+import com.stockInformation.cikLookup.entity.CikLookup;
+import com.stockInformation.config.QuerydslConfig;
+import com.stockInformation.tickerSummary.dto.ScreenerQuery;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFacets;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.entity.TickerSummary;
+import com.stockInformation.tickerSummary.facet.FacetColumn;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.repository.TickerSummaryTotalCounter;
+import com.stockInformation.tickerSummary.screener.ColumnarScreener;
+import com.stockInformation.tickerSummary.screener.ColumnarSnapshot;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Facet histograms counted by the single aggregate SQL statement on H2 and
+ * by the in-memory snapshot, compared with a row-by-row count.
+ */
+@DataJpaTest
+@Import({QuerydslConfig.class, TickerSummaryTotalCounter.class, TickerSummaryService.class})
+class TickerSummaryFacetsTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TickerSummaryRepository tickerSummaryRepository;
+
+    @Autowired
+    private TickerSummaryService tickerSummaryService;
+
+    @MockitoBean(name = "tickerSummaryDataVersion")
+    private TickerSummaryDataVersion dataVersion;
+
+    // not loaded: the service counts in SQL
+    @MockitoBean(name = "columnarScreener")
+    private ColumnarScreener columnarScreener;
+
+    @BeforeEach
+    void setUp() {
+        CikLookup company = new CikLookup(1, "Alpha Corp");
+        entityManager.persist(company);
+        Random random = new Random(23);
+        for (int i = 0; i < 250; i++) {
+            TickerSummary summary = new TickerSummary(String.format("F%03d", i), BigDecimal.valueOf(1 + random.nextInt(150_000), 2));
+            summary.setCikLookup(i % 3 == 0 ? null : company);
+            summary.setMarketCap(10_000_000L * random.nextInt(3_000));
+            summary.setFiftyDayAverage(BigDecimal.ONE);
+            summary.setTwoHundredDayAverage(BigDecimal.ONE);
+            summary.setPeRatio(nullable(random, 0, 12_000));
+            summary.setForwardPeRatio(nullable(random, 0, 8_000));
+            summary.setDividendYield(nullable(random, 0, 2_000));
+            summary.setPayoutRatio(nullable(random, 0, 25_000));
+            summary.setAnnualDividendGrowth(nullable(random, 0, 6_000));
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSqlAndSnapshotFacetsMatchRowByRowCounts() {
+        List<TickerSummaryDTO> rows = tickerSummaryRepository.findAllWithCollation().rows();
+        ColumnarSnapshot snapshot = ColumnarSnapshot.build(rows);
+
+        for (TickerSummaryFilter filter : List.of(
+                TickerSummaryFilter.NONE,
+                new TickerSummaryFilter(" f1 ", null, null, new BigDecimal("10"), new BigDecimal("30"), null, null,
+                    null, null, null, null, null, null, null, null),
+                new TickerSummaryFilter(null, new BigDecimal("20"), null, null, null, null, new BigDecimal("40"),
+                    new BigDecimal("1.5"), null, 1_000_000_000L, null, null, new BigDecimal("100"), null, null),
+                // unsatisfiable PE range: the PE histogram ignores it, every other one is empty
+                new TickerSummaryFilter(null, null, null, new BigDecimal("30"), new BigDecimal("20"), null, null,
+                    null, null, null, null, null, null, null, null))) {
+            // Given
+            TickerSummaryFacets expected = rowByRow(rows, filter);
+
+            // When
+            TickerSummaryFacets counted = tickerSummaryService.getFacets(ScreenerQuery.of(filter, null, null, null, null));
+            TickerSummaryFacets screened = snapshot.facets(filter);
+
+            // Then
+            assertThat(counted).as("SQL, filter=%s", filter).isEqualTo(expected);
+            assertThat(screened).as("snapshot, filter=%s", filter).isEqualTo(expected);
+        }
+    }
+
+    private static TickerSummaryFacets rowByRow(List<TickerSummaryDTO> rows, TickerSummaryFilter filter) {
+        long[][] counts = new long[FacetColumn.values().length][];
+        for (FacetColumn column : FacetColumn.values()) {
+            long[] columnCounts = new long[column.buckets() + 1];
+            TickerSummaryFilter others = column.without(filter);
+            for (TickerSummaryDTO row : rows) {
+                if (!matches(row, others)) continue;
+                BigDecimal value = value(column, row);
+                if (value == null) {
+                    columnCounts[column.buckets()]++;
+                    continue;
+                }
+                int bucket = 0;
+                for (BigDecimal bound : column.bounds()) {
+                    if (value.compareTo(bound) >= 0) bucket++;
+                }
+                columnCounts[bucket]++;
+            }
+            counts[column.ordinal()] = columnCounts;
+        }
+        long total = rows.stream().filter(row -> matches(row, filter)).count();
+        return FacetColumn.facets(total, counts);
+    }
+
+    private static boolean matches(TickerSummaryDTO row, TickerSummaryFilter f) {
+        if (f.query() != null && !row.ticker().toLowerCase(Locale.ROOT).contains(f.query().trim().toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        return within(decimal(row.previousClose()), f.minPreviousClose(), f.maxPreviousClose())
+            && within(decimal(row.peRatio()), f.minPe(), f.maxPe())
+            && within(decimal(row.forwardPeRatio()), f.minForwardPe(), f.maxForwardPe())
+            && within(decimal(row.dividendYield()), f.minDividendYield(), f.maxDividendYield())
+            && within(decimal(row.marketCap()), decimal(f.minMarketCap()), decimal(f.maxMarketCap()))
+            && within(decimal(row.payoutRatio()), f.minPayoutRatio(), f.maxPayoutRatio())
+            && within(decimal(row.annualDividendGrowth()), f.minAnnualDividendGrowth(), f.maxAnnualDividendGrowth());
+    }
+
+    private static boolean within(BigDecimal value, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) return true;
+        return value != null && (min == null || value.compareTo(min) >= 0) && (max == null || value.compareTo(max) <= 0);
+    }
+
+    private static BigDecimal value(FacetColumn column, TickerSummaryDTO row) {
+        Function<TickerSummaryDTO, BigDecimal> getter = switch (column) {
+            case PREVIOUS_CLOSE -> r -> decimal(r.previousClose());
+            case PE -> r -> decimal(r.peRatio());
+            case FORWARD_PE -> r -> decimal(r.forwardPeRatio());
+            case DIVIDEND_YIELD -> r -> decimal(r.dividendYield());
+            case MARKET_CAP -> r -> decimal(r.marketCap());
+            case PAYOUT_RATIO -> r -> decimal(r.payoutRatio());
+            case ANNUAL_DIVIDEND_GROWTH -> r -> decimal(r.annualDividendGrowth());
+        };
+        return getter.apply(row);
+    }
+
+    private static BigDecimal decimal(Long value) {
+        return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    private static BigDecimal decimal(ScaledDecimal value) {
+        return value == null ? null : value.toBigDecimal();
+    }
+
+    private static BigDecimal nullable(Random random, int minCents, int maxCents) {
+        return random.nextInt(5) == 0 ? null : BigDecimal.valueOf(minCents + random.nextInt(maxCents - minCents), 2);
+    }
+}
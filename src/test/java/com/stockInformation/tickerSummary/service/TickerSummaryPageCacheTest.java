@@ -0,0 +1,146 @@
+package com.stockInformation.tickerSummary.service;
+
+import com.stockInformation.tickerSummary.dto.ScreenerPage;
+import com.stockInformation.tickerSummary.dto.ScreenerQuery;
+import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFilter;
+import com.stockInformation.tickerSummary.dto.TickerSummaryLookup;
+import com.stockInformation.tickerSummary.repository.TickerSummaryDataVersion;
+import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.screener.ColumnarScreener;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Screener pages and ticker lookups through the caching proxy: equivalent
+ * requests share an entry, a new data version reads the page again, and a
+ * batch lookup reads only the tickers that are not cached.
+ */
+@SpringJUnitConfig
+class TickerSummaryPageCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("tickersummarypage", "tickersummary");
+        }
+
+        @Bean
+        TickerSummaryService tickerSummaryService(
+                TickerSummaryRepository tickerSummaryRepository,
+                ColumnarScreener columnarScreener,
+                TickerSummaryDataVersion tickerSummaryDataVersion,
+                CacheManager cacheManager) {
+            return new TickerSummaryService(tickerSummaryRepository, columnarScreener, tickerSummaryDataVersion, cacheManager);
+        }
+    }
+
+    @MockitoBean
+    private TickerSummaryRepository tickerSummaryRepository;
+
+    @MockitoBean(name = "columnarScreener")
+    private ColumnarScreener columnarScreener;
+
+    @MockitoBean(name = "tickerSummaryDataVersion")
+    private TickerSummaryDataVersion tickerSummaryDataVersion;
+
+    @Autowired
+    private TickerSummaryService tickerSummaryService;
+
+    @Test
+    void testEquivalentQueriesShareCachedPageUntilDataChanges() {
+        // Given
+        List<TickerSummaryDTO> rows = List.of(new TickerSummaryDTO("AAPL", new BigDecimal("150.00")));
+        when(columnarScreener.page(any(), any())).thenReturn(Optional.empty());
+        when(columnarScreener.dataVersion()).thenAnswer(invocation -> tickerSummaryDataVersion.current());
+        when(tickerSummaryRepository.findAllWithCompanyName(any(), any(Pageable.class), any(TickerSummaryFields.class)))
+            .thenAnswer(invocation -> new PageImpl<>(rows, invocation.getArgument(1), 1));
+        when(tickerSummaryDataVersion.current()).thenReturn(1L, 1L, 2L);
+
+        // When
+        ScreenerPage first = tickerSummaryService.getScreenerPage(query(" AAPL ", "1.50", "previousClose", "desc"));
+        ScreenerPage second = tickerSummaryService.getScreenerPage(query("aapl", "1.5", "previous_close", "DESC"));
+        ScreenerPage afterLoad = tickerSummaryService.getScreenerPage(query("aapl", "1.5", "previous_close", "DESC"));
+
+        // Then
+        assertThat(first).isEqualTo(new ScreenerPage(rows, 1, true));
+        assertThat(second).isSameAs(first);
+        assertThat(afterLoad).isEqualTo(first).isNotSameAs(first);
+        verify(tickerSummaryRepository, times(2)).findAllWithCompanyName(any(), any(Pageable.class), any(TickerSummaryFields.class));
+    }
+
+    @Test
+    void testScreenedPagesAreKeyedBySnapshotVersion() {
+        // Given: the data moved on, but the snapshot was loaded at version 1 and then at version 3
+        List<TickerSummaryDTO> rows = List.of(new TickerSummaryDTO("MSFT", new BigDecimal("300.00")));
+        when(columnarScreener.page(any(), any())).thenAnswer(invocation -> Optional.of(new PageImpl<>(rows, invocation.getArgument(1), 1)));
+        when(columnarScreener.dataVersion()).thenReturn(1L, 1L, 3L);
+        when(tickerSummaryDataVersion.current()).thenReturn(2L);
+
+        // When
+        ScreenerPage first = tickerSummaryService.getScreenerPage(query("msft", "1", "ticker", "asc"));
+        ScreenerPage second = tickerSummaryService.getScreenerPage(query("msft", "1", "ticker", "asc"));
+        ScreenerPage afterReload = tickerSummaryService.getScreenerPage(query("msft", "1", "ticker", "asc"));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(afterReload).isEqualTo(first).isNotSameAs(first);
+        verify(columnarScreener, times(2)).page(any(), any());
+        verifyNoMoreInteractions(tickerSummaryRepository);
+    }
+
+    @Test
+    void testBatchLookupReadsOnlyUncachedTickers() {
+        // Given
+        TickerSummaryDTO aapl = new TickerSummaryDTO("AAPL", new BigDecimal("150.00"));
+        TickerSummaryDTO msft = new TickerSummaryDTO("MSFT", new BigDecimal("300.00"));
+        when(tickerSummaryDataVersion.current()).thenReturn(1L);
+        when(tickerSummaryRepository.findByTickerWithCompanyName("aapl", TickerSummaryFields.ALL)).thenReturn(Optional.of(aapl));
+        when(tickerSummaryRepository.findAllByTickersWithCompanyName(any())).thenReturn(List.of(msft));
+        tickerSummaryService.findDTOByTicker("AAPL", TickerSummaryFields.ALL);
+
+        // When
+        List<TickerSummaryLookup> first = tickerSummaryService.findDTOsByTickers(List.of("msft", "AAPL", "ZZZZ", "Msft"));
+        List<TickerSummaryLookup> second = tickerSummaryService.findDTOsByTickers(List.of("zzzz", "aapl", "MSFT"));
+
+        // Then
+        assertThat(first).containsExactly(
+            TickerSummaryLookup.of("msft", msft), TickerSummaryLookup.of("AAPL", aapl),
+            TickerSummaryLookup.of("ZZZZ", null), TickerSummaryLookup.of("Msft", msft));
+        assertThat(second).containsExactly(
+            TickerSummaryLookup.of("zzzz", null), TickerSummaryLookup.of("aapl", aapl), TickerSummaryLookup.of("MSFT", msft));
+        assertThat(tickerSummaryService.findDTOByTicker("msft", TickerSummaryFields.ALL)).contains(msft);
+        verify(tickerSummaryRepository).findAllByTickersWithCompanyName(List.of("msft", "zzzz"));
+        verify(tickerSummaryRepository).findByTickerWithCompanyName("aapl", TickerSummaryFields.ALL);
+        verifyNoMoreInteractions(tickerSummaryRepository);
+    }
+
+    private static ScreenerQuery query(String query, String minPreviousClose, String sortBy, String sortOrder) {
+        return ScreenerQuery.of(
+            new TickerSummaryFilter(query, new BigDecimal(minPreviousClose), null, null, null, null, null,
+                null, null, null, null, null, null, null, null),
+            0, 25, sortBy, sortOrder);
+    }
+}
@@ -12,7 +12,9 @@ import org.springframework.data.domain.Pageable;
 
 import com.stockInformation.tickerSummary.entity.TickerSummary;
 import com.stockInformation.tickerSummary.dto.TickerSummaryDTO;
+import com.stockInformation.tickerSummary.dto.TickerSummaryFields;
 import com.stockInformation.tickerSummary.repository.TickerSummaryRepository;
+import com.stockInformation.tickerSummary.screener.ColumnarScreener;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -28,6 +30,9 @@ class TickerSummaryServiceTest {
     @Mock
     private TickerSummaryRepository tickerSummaryRepository;
 
+    @Mock
+    private ColumnarScreener columnarScreener;
+
     @InjectMocks
     private TickerSummaryService tickerSummaryService;
 
@@ -70,7 +75,7 @@ class TickerSummaryServiceTest {
         List<TickerSummaryDTO> content = List.of(new TickerSummaryDTO("AAPL", new BigDecimal("150.00")));
         Page<TickerSummaryDTO> page = new PageImpl<>(content, pageable, 1);
 
-        when(tickerSummaryRepository.findAllWithCompanyName(any(), any(Pageable.class))).thenReturn(page);
+        when(tickerSummaryRepository.findAllWithCompanyName(any(), any(Pageable.class), any(TickerSummaryFields.class))).thenReturn(page);
 
         // When
         Page<TickerSummaryDTO> result = tickerSummaryService.getPaginatedList(
@@ -82,6 +87,6 @@ class TickerSummaryServiceTest {
 
         // Then
         assertThat(result).isEqualTo(page);
-        verify(tickerSummaryRepository).findAllWithCompanyName(any(), any(Pageable.class));
+        verify(tickerSummaryRepository).findAllWithCompanyName(any(), any(Pageable.class), any(TickerSummaryFields.class));
     }
 }
\ No newline at end of file